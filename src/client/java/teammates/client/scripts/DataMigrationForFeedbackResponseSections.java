@@ -0,0 +1,83 @@
+package teammates.client.scripts;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+
+import org.datanucleus.store.appengine.query.JDOCursorHelper;
+
+import teammates.client.remoteapi.RemoteApiClient;
+import teammates.storage.datastore.Datastore;
+import teammates.storage.entity.FeedbackResponse;
+
+import com.google.appengine.api.datastore.Cursor;
+
+/**
+ * Script to populate the denormalised sections field of all feedback responses,
+ * which is used to fetch the responses of a section with a single query.
+ *
+ * Responses are processed in batches, resuming from a query cursor.
+ * Set app.feedbackresponse.sectionindex to true only after this script has been run.
+ *
+ */
+public class DataMigrationForFeedbackResponseSections extends RemoteApiClient {
+
+    private static final boolean isPreview = true;
+
+    private static final int BATCH_SIZE = 500;
+
+    public static void main(String[] args) throws IOException {
+        DataMigrationForFeedbackResponseSections migrator = new DataMigrationForFeedbackResponseSections();
+        migrator.doOperationRemotely();
+    }
+
+    @Override
+    protected void doOperation() {
+        Datastore.initialize();
+
+        int numberOfResponsesToMigrate = 0;
+        int numberOfResponsesChecked = 0;
+        Cursor cursor = null;
+
+        do {
+            PersistenceManager pm = Datastore.getPersistenceManager();
+            Query q = pm.newQuery(FeedbackResponse.class);
+            if (cursor != null) {
+                Map<String, Object> extensions = new HashMap<String, Object>();
+                extensions.put(JDOCursorHelper.CURSOR_EXTENSION, cursor);
+                q.setExtensions(extensions);
+            }
+            q.setRange(0, BATCH_SIZE);
+
+            @SuppressWarnings("unchecked")
+            List<FeedbackResponse> responses = (List<FeedbackResponse>) q.execute();
+
+            for (FeedbackResponse response : responses) {
+                if (response.getSections() == null) {
+                    numberOfResponsesToMigrate++;
+                    if (!isPreview) {
+                        response.keepUpdateTimestamp = true;
+                        response.updateSections();
+                    }
+                }
+            }
+            numberOfResponsesChecked += responses.size();
+
+            cursor = responses.size() < BATCH_SIZE ? null : JDOCursorHelper.getCursor(responses);
+
+            // writes the changes of this batch
+            pm.close();
+
+            System.out.println("Checked " + numberOfResponsesChecked + " responses, "
+                               + numberOfResponsesToMigrate + " without sections so far");
+        } while (cursor != null);
+
+        System.out.println((isPreview ? "Responses to migrate: " : "Responses migrated: ")
+                           + numberOfResponsesToMigrate);
+    }
+
+}
@@ -0,0 +1,106 @@
+package teammates.benchmark;
+
+import java.text.DateFormat;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.datatransfer.FeedbackMcqResponseDetails;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.JsonCodecs;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Compares building a {@link Gson} for each conversion (the old {@code Utils.getTeammatesGson()})
+ * against the shared instances of {@link JsonCodecs} with their hand-written type adapters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonCodecsBenchmark {
+
+    private static final Gson REFLECTIVE_GSON = new Gson();
+
+    private StudentAttributes student;
+    private String studentJson;
+    private String responseDetailsJson;
+
+    @Setup
+    public void setUp() {
+        student = new StudentAttributes("google.id", "student@email.com", "Student Name",
+                                        "comments", "course.id", "Team 1", "Section 1");
+        student.key = "abcdef";
+        studentJson = REFLECTIVE_GSON.toJson(student);
+        responseDetailsJson = "{\"answer\":\"Other\",\"isOther\":true,\"otherFieldContent\":\"my option\","
+                              + "\"questionType\":\"MCQ\"}";
+    }
+
+    @Benchmark
+    public String studentToJsonWithNewGson() {
+        return newTeammatesGson().toJson(student);
+    }
+
+    @Benchmark
+    public String studentToJsonWithReflectiveGson() {
+        return REFLECTIVE_GSON.toJson(student);
+    }
+
+    @Benchmark
+    public String studentToJsonWithCodecs() {
+        return JsonCodecs.getCompactGson().toJson(student);
+    }
+
+    @Benchmark
+    public StudentAttributes studentFromJsonWithNewGson() {
+        return newTeammatesGson().fromJson(studentJson, StudentAttributes.class);
+    }
+
+    @Benchmark
+    public StudentAttributes studentFromJsonWithReflectiveGson() {
+        return REFLECTIVE_GSON.fromJson(studentJson, StudentAttributes.class);
+    }
+
+    @Benchmark
+    public StudentAttributes studentFromJsonWithCodecs() {
+        return JsonCodecs.getCompactGson().fromJson(studentJson, StudentAttributes.class);
+    }
+
+    @Benchmark
+    public FeedbackMcqResponseDetails responseDetailsFromJsonWithNewGson() {
+        return newTeammatesGson().fromJson(responseDetailsJson, FeedbackMcqResponseDetails.class);
+    }
+
+    @Benchmark
+    public FeedbackMcqResponseDetails responseDetailsFromJsonWithReflectiveGson() {
+        return REFLECTIVE_GSON.fromJson(responseDetailsJson, FeedbackMcqResponseDetails.class);
+    }
+
+    @Benchmark
+    public FeedbackMcqResponseDetails responseDetailsFromJsonWithCodecs() {
+        return JsonCodecs.getTeammatesGson().fromJson(responseDetailsJson, FeedbackMcqResponseDetails.class);
+    }
+
+    private static Gson newTeammatesGson() {
+        return new GsonBuilder()
+                .setDateFormat(DateFormat.FULL)
+                .setDateFormat(Const.SystemParams.DEFAULT_DATE_TIME_FORMAT)
+                .setPrettyPrinting()
+                .create();
+    }
+
+}
@@ -0,0 +1,123 @@
+package teammates.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import teammates.common.util.Const;
+import teammates.common.util.Templates;
+import teammates.common.util.Templates.EmailTemplates;
+import teammates.common.util.Templates.FeedbackQuestion.FormTemplates;
+import teammates.common.util.Templates.FeedbackQuestion.Slots;
+
+/**
+ * Compares populating templates with one {@link String#replace} pass per value (the old
+ * {@code Templates.populateTemplate}) against populating their compiled form in a single pass,
+ * for a session closing email and for a rubric question submission form and one of its cells.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TemplatesBenchmark {
+
+    private String[] emailValues;
+    private String[] rubricFormValues;
+    private String[] rubricCellValues;
+
+    @Setup
+    public void setUp() {
+        emailValues = new String[] {
+                "${userName}", "Student Name",
+                "${courseName}", "Software Engineering",
+                "${courseId}", "CS2103T-AY1617S1",
+                "${feedbackSessionName}", "Second team feedback",
+                "${deadline}", "Sun, 30 Oct 2016, 11:59 PM",
+                "${instructorFragment}", "",
+                "${submitUrl}", "https://teammatesv4.appspot.com/page/studentFeedbackSubmissionEditPage"
+                                + "?courseid=CS2103T-AY1617S1&fsname=Second+team+feedback&key=0123456789abcdef",
+                "${reportUrl}", "https://teammatesv4.appspot.com/page/studentFeedbackResultsPage"
+                                + "?courseid=CS2103T-AY1617S1&fsname=Second+team+feedback&key=0123456789abcdef",
+                "${supportEmail}", "teammates@comp.nus.edu.sg",
+                "${status}", "is closing soon",
+        };
+
+        rubricCellValues = new String[] {
+                Slots.QUESTION_INDEX, "3",
+                Slots.RESPONSE_INDEX, "12",
+                Slots.COL, "2",
+                Slots.ROW, "4",
+                Slots.DISABLED, "",
+                Slots.DESCRIPTION, "Contributes to most of the team discussions",
+                Slots.CHECKED, "checked",
+                Slots.RUBRIC_PARAM_CHOICE, Const.ParamsNames.FEEDBACK_QUESTION_RUBRIC_CHOICE,
+        };
+
+        // a form for 5 sub-questions of 5 choices each
+        StringBuilder tableBody = new StringBuilder();
+        for (int i = 0; i < 25; i++) {
+            tableBody.append(populateByReplacing(FormTemplates.RUBRIC_SUBMISSION_FORM_BODY_FRAGMENT, rubricCellValues));
+        }
+        rubricFormValues = new String[] {
+                Slots.QUESTION_INDEX, "3",
+                Slots.RESPONSE_INDEX, "12",
+                Slots.CURRENT_ROWS, "5",
+                Slots.CURRENT_COLS, "5",
+                Slots.TABLE_HEADER_ROW_FRAGMENT_HTML, "<th>Strongly Agree</th><th>Agree</th><th>Neutral</th>"
+                                                      + "<th>Disagree</th><th>Strongly Disagree</th>",
+                Slots.TABLE_BODY_HTML, tableBody.toString(),
+                Slots.MOBILE_HTML, tableBody.toString(),
+                Slots.FEEDBACK_RESPONSE_TEXT, Const.ParamsNames.FEEDBACK_RESPONSE_TEXT,
+        };
+    }
+
+    @Benchmark
+    public String closingEmailByReplacing() {
+        return populateByReplacing(EmailTemplates.USER_FEEDBACK_SESSION_CLOSING, emailValues);
+    }
+
+    @Benchmark
+    public String closingEmailCompiled() {
+        return Templates.populateTemplate(EmailTemplates.USER_FEEDBACK_SESSION_CLOSING, emailValues);
+    }
+
+    @Benchmark
+    public String rubricFormByReplacing() {
+        return populateByReplacing(FormTemplates.RUBRIC_SUBMISSION_FORM, rubricFormValues);
+    }
+
+    @Benchmark
+    public String rubricFormCompiled() {
+        return Templates.populateTemplate(FormTemplates.RUBRIC_SUBMISSION_FORM, rubricFormValues);
+    }
+
+    @Benchmark
+    public String rubricCellByReplacing() {
+        return populateByReplacing(FormTemplates.RUBRIC_SUBMISSION_FORM_BODY_FRAGMENT, rubricCellValues);
+    }
+
+    @Benchmark
+    public String rubricCellCompiled() {
+        return Templates.populateTemplate(FormTemplates.RUBRIC_SUBMISSION_FORM_BODY_FRAGMENT, rubricCellValues);
+    }
+
+    private static String populateByReplacing(String template, String... values) {
+        String populatedTemplate = template;
+        for (int i = 0; i < values.length; i += 2) {
+            populatedTemplate = populatedTemplate.replace(values[i], values[i + 1]);
+        }
+        return populatedTemplate;
+    }
+
+}
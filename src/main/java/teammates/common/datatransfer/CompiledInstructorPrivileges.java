@@ -0,0 +1,159 @@
+package teammates.common.datatransfer;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+
+/**
+ * The privileges of an instructor compiled for lookup, equivalent to the maps of
+ * {@link InstructorPrivileges} they are built from.<br>
+ * The privileges at each level are held as bits indexed by {@link Privilege}, and the privileges
+ * which apply to each section and session with special settings are resolved when this is built,
+ * so that a lookup does not go through the levels above it.
+ */
+final class CompiledInstructorPrivileges {
+
+    /**
+     * The privileges an instructor can be given, each of which is one bit of a privilege set.
+     */
+    enum Privilege {
+        MODIFY_COURSE(Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_COURSE),
+        MODIFY_INSTRUCTOR(Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_INSTRUCTOR),
+        MODIFY_SESSION(Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_SESSION),
+        MODIFY_STUDENT(Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_STUDENT),
+        VIEW_STUDENT_IN_SECTIONS(Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_STUDENT_IN_SECTIONS),
+        VIEW_COMMENT_IN_SECTIONS(Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_COMMENT_IN_SECTIONS),
+        GIVE_COMMENT_IN_SECTIONS(Const.ParamsNames.INSTRUCTOR_PERMISSION_GIVE_COMMENT_IN_SECTIONS),
+        MODIFY_COMMENT_IN_SECTIONS(Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_COMMENT_IN_SECTIONS),
+        VIEW_SESSION_IN_SECTIONS(Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS),
+        SUBMIT_SESSION_IN_SECTIONS(Const.ParamsNames.INSTRUCTOR_PERMISSION_SUBMIT_SESSION_IN_SECTIONS),
+        MODIFY_SESSION_COMMENT_IN_SECTIONS(Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_SESSION_COMMENT_IN_SECTIONS);
+
+        private static final Map<String, Privilege> PRIVILEGES_BY_NAME = new HashMap<String, Privilege>();
+
+        static {
+            for (Privilege privilege : values()) {
+                PRIVILEGES_BY_NAME.put(privilege.privilegeName, privilege);
+            }
+        }
+
+        private final String privilegeName;
+
+        Privilege(String privilegeName) {
+            this.privilegeName = privilegeName;
+        }
+
+        int getBit() {
+            return 1 << ordinal();
+        }
+
+        /**
+         * @return null if there is no privilege with the given name.
+         */
+        static Privilege fromName(String privilegeName) {
+            return PRIVILEGES_BY_NAME.get(privilegeName);
+        }
+    }
+
+    private final int courseLevel;
+
+    /** Privileges of the sections with special settings */
+    private final Map<String, Integer> sectionLevel = new HashMap<String, Integer>();
+
+    /** Privileges of the sessions with special settings, by section */
+    private final Map<String, Map<String, Integer>> sessionLevel = new HashMap<String, Map<String, Integer>>();
+
+    /** Privileges allowed in any section for a session without special settings in any section */
+    private final int anySectionLevel;
+
+    /** Privileges allowed in any section for each session with special settings in some section */
+    private final Map<String, Integer> anySectionLevelForSessions = new HashMap<String, Integer>();
+
+    CompiledInstructorPrivileges(Map<String, Boolean> courseLevelPrivileges,
+                                 Map<String, HashMap<String, Boolean>> sectionLevelPrivileges,
+                                 Map<String, HashMap<String, HashMap<String, Boolean>>> sessionLevelPrivileges) {
+        courseLevel = toBits(courseLevelPrivileges);
+        for (Map.Entry<String, HashMap<String, Boolean>> section : sectionLevelPrivileges.entrySet()) {
+            sectionLevel.put(section.getKey(), toBits(section.getValue()));
+        }
+
+        Set<String> sessionsWithSpecialSettings = new HashSet<String>();
+        for (Map.Entry<String, HashMap<String, HashMap<String, Boolean>>> section : sessionLevelPrivileges.entrySet()) {
+            Map<String, Integer> sessions = new HashMap<String, Integer>();
+            for (Map.Entry<String, HashMap<String, Boolean>> session : section.getValue().entrySet()) {
+                sessions.put(session.getKey(), toBits(session.getValue()));
+            }
+            sessionLevel.put(section.getKey(), sessions);
+            sessionsWithSpecialSettings.addAll(sessions.keySet());
+        }
+
+        Set<String> sectionsWithSpecialSettings = new HashSet<String>(sectionLevel.keySet());
+        sectionsWithSpecialSettings.addAll(sessionLevel.keySet());
+
+        int allowedInAnySection = 0;
+        for (String sectionName : sectionsWithSpecialSettings) {
+            allowedInAnySection |= getBits(sectionName);
+        }
+        anySectionLevel = allowedInAnySection;
+
+        for (String sessionName : sessionsWithSpecialSettings) {
+            int allowedInAnySectionForSession = 0;
+            for (String sectionName : sectionsWithSpecialSettings) {
+                allowedInAnySectionForSession |= getBits(sectionName, sessionName);
+            }
+            anySectionLevelForSessions.put(sessionName, allowedInAnySectionForSession);
+        }
+    }
+
+    boolean isAllowed(String privilegeName) {
+        return (courseLevel & getBit(privilegeName)) != 0;
+    }
+
+    boolean isAllowed(String sectionName, String privilegeName) {
+        return (getBits(sectionName) & getBit(privilegeName)) != 0;
+    }
+
+    boolean isAllowed(String sectionName, String sessionName, String privilegeName) {
+        return (getBits(sectionName, sessionName) & getBit(privilegeName)) != 0;
+    }
+
+    /**
+     * @return whether the privilege is allowed for the session in any of the sections with special settings.
+     */
+    boolean isAllowedInAnySection(String sessionName, String privilegeName) {
+        Integer bits = anySectionLevelForSessions.get(sessionName);
+        return ((bits == null ? anySectionLevel : bits) & getBit(privilegeName)) != 0;
+    }
+
+    private int getBits(String sectionName) {
+        Integer bits = sectionLevel.get(sectionName);
+        return bits == null ? courseLevel : bits;
+    }
+
+    private int getBits(String sectionName, String sessionName) {
+        Map<String, Integer> sessions = sessionLevel.get(sectionName);
+        Integer bits = sessions == null ? null : sessions.get(sessionName);
+        return bits == null ? getBits(sectionName) : bits;
+    }
+
+    private static int getBit(String privilegeName) {
+        Privilege privilege = Privilege.fromName(privilegeName);
+        Assumption.assertTrue(privilege != null);
+        return privilege.getBit();
+    }
+
+    private static int toBits(Map<String, Boolean> privileges) {
+        int bits = 0;
+        for (Map.Entry<String, Boolean> privilege : privileges.entrySet()) {
+            Privilege allowedPrivilege = Privilege.fromName(privilege.getKey());
+            if (allowedPrivilege != null && Boolean.TRUE.equals(privilege.getValue())) {
+                bits |= allowedPrivilege.getBit();
+            }
+        }
+        return bits;
+    }
+}
@@ -64,6 +64,17 @@ public class CourseAttributes extends EntityAttributes implements Comparable<Cou
         }
     }
 
+    private CourseAttributes(CourseAttributes other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.createdAt = other.createdAt;
+        this.isArchived = other.isArchived;
+    }
+    
+    public CourseAttributes getCopy() {
+        return new CourseAttributes(this);
+    }
+
     public String getId() {
         return id;
     }
@@ -1,86 +1,217 @@
 package teammates.common.datatransfer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Contains a list of students and instructors in a course. Useful for caching
  * a copy of student and instructor details of a course instead of reading
- * them from the database multiple times.
+ * them from the database multiple times.<br>
+ * A roster is immutable once built: participants are kept in arrays, indexed by email,
+ * and the members of each team and the teams of each section are computed once.
+ * Rosters may be shared between requests, so the attributes they contain must not be modified.
  */
 public class CourseRoster {
-    
-    Map<String, StudentAttributes> studentListByEmail = new HashMap<String, StudentAttributes>();
-    Map<String, InstructorAttributes> instructorListByEmail = new HashMap<String, InstructorAttributes>();
-    
+
+    /** Version of the course's participants this roster was built from, or -1 if it is not versioned */
+    private final long version;
+
+    private final StudentAttributes[] students;
+    private final InstructorAttributes[] instructors;
+
+    private final Map<String, Integer> studentIndexByEmail = new HashMap<String, Integer>();
+    private final Map<String, Integer> instructorIndexByEmail = new HashMap<String, Integer>();
+
+    private final Map<String, List<StudentAttributes>> studentsByTeam;
+    private final Map<String, Set<String>> teamsBySection;
+
+    private final List<StudentAttributes> studentList;
+    private final List<InstructorAttributes> instructorList;
+
+    private volatile ParticipantIndex participantIndex;
+
     public CourseRoster(List<StudentAttributes> students, List<InstructorAttributes> instructors) {
-        populateStuentListByEmail(students);
-        populateInstructorListByEmail(instructors);
+        this(students, instructors, -1);
+    }
+
+    public CourseRoster(List<StudentAttributes> students, List<InstructorAttributes> instructors, long version) {
+        this.version = version;
+        this.students = getStudentsByEmail(students).values().toArray(new StudentAttributes[0]);
+        this.instructors = getInstructorsByEmail(instructors).values().toArray(new InstructorAttributes[0]);
+
+        for (int i = 0; i < this.students.length; i++) {
+            studentIndexByEmail.put(this.students[i].email, i);
+        }
+        for (int i = 0; i < this.instructors.length; i++) {
+            instructorIndexByEmail.put(this.instructors[i].email, i);
+        }
+
+        studentList = Collections.unmodifiableList(Arrays.asList(this.students));
+        instructorList = Collections.unmodifiableList(Arrays.asList(this.instructors));
+        studentsByTeam = buildStudentsByTeam(this.students);
+        teamsBySection = buildTeamsBySection(this.students);
+    }
+
+    /**
+     * @return the version this roster was built from, or -1 if the roster was not built from a snapshot.
+     */
+    public long getVersion() {
+        return version;
     }
-    
+
+    /**
+     * @return an unmodifiable list of the students of the course.
+     */
     public List<StudentAttributes> getStudents() {
-        return new ArrayList<StudentAttributes>(studentListByEmail.values());
+        return studentList;
     }
-    
+
+    /**
+     * @return an unmodifiable list of the instructors of the course.
+     */
     public List<InstructorAttributes> getInstructors() {
-        return new ArrayList<InstructorAttributes>(instructorListByEmail.values());
+        return instructorList;
     }
-    
+
+    /**
+     * @return an unmodifiable list of the students in {@code teamName}, empty if there is no such team.
+     */
+    public List<StudentAttributes> getStudentsInTeam(String teamName) {
+        List<StudentAttributes> members = studentsByTeam.get(teamName);
+        return members == null ? Collections.<StudentAttributes>emptyList() : members;
+    }
+
+    /**
+     * @return an unmodifiable set of the names of the teams in the course.
+     */
+    public Set<String> getTeamNames() {
+        return Collections.unmodifiableSet(studentsByTeam.keySet());
+    }
+
+    /**
+     * @return an unmodifiable set of the names of the teams in {@code sectionName},
+     *         empty if there is no such section.
+     */
+    public Set<String> getTeamsInSection(String sectionName) {
+        Set<String> teams = teamsBySection.get(sectionName);
+        return teams == null ? Collections.<String>emptySet() : teams;
+    }
+
+    /**
+     * @return an unmodifiable map of section names to the names of the teams in the section.
+     */
+    public Map<String, Set<String>> getTeamsBySection() {
+        return teamsBySection;
+    }
+
     /**
      * Checks if an instructor is the instructor of a course by providing an email address.
      * @param instructorEmail email of the instructor to be checked.
      * @return true if the instructor is an instructor of the course
      */
     public boolean isInstructorOfCourse(String instructorEmail) {
-        return instructorListByEmail.containsKey(instructorEmail);
+        return instructorIndexByEmail.containsKey(instructorEmail);
     }
-    
+
     public boolean isStudentInCourse(String studentEmail) {
-        return studentListByEmail.containsKey(studentEmail);
+        return studentIndexByEmail.containsKey(studentEmail);
     }
-    
+
     public boolean isStudentInTeam(String studentEmail, String targetTeamName) {
-        StudentAttributes student = studentListByEmail.get(studentEmail);
+        StudentAttributes student = getStudentForEmail(studentEmail);
         return student != null && student.team.equals(targetTeamName);
     }
-    
+
     public boolean isStudentsInSameTeam(String studentEmail1, String studentEmail2) {
-        StudentAttributes student1 = studentListByEmail.get(studentEmail1);
-        StudentAttributes student2 = studentListByEmail.get(studentEmail2);
+        StudentAttributes student1 = getStudentForEmail(studentEmail1);
+        StudentAttributes student2 = getStudentForEmail(studentEmail2);
         return student1 != null && student2 != null
                && student1.team != null && student1.team.equals(student2.team);
     }
-    
+
     public StudentAttributes getStudentForEmail(String email) {
-        return studentListByEmail.get(email);
+        Integer index = studentIndexByEmail.get(email);
+        return index == null ? null : students[index];
     }
 
     public InstructorAttributes getInstructorForEmail(String email) {
-        return instructorListByEmail.get(email);
+        Integer index = instructorIndexByEmail.get(email);
+        return index == null ? null : instructors[index];
     }
-    
-    private void populateStuentListByEmail(List<StudentAttributes> students) {
-        
-        if (students == null) {
-            return;
+
+    /**
+     * @return the index of the participants of this roster, built on first use.
+     *         As the roster is immutable, the index can be shared by everyone who reads the same roster,
+     *         e.g. all readers of a cached {@link #getVersion() version} of the roster of a course.
+     */
+    public ParticipantIndex getParticipantIndex() {
+        if (participantIndex == null) {
+            // indexes built by concurrent readers are equivalent, so it does not matter which one is kept
+            participantIndex = new ParticipantIndex(this);
+        }
+        return participantIndex;
+    }
+
+    /**
+     * Keeps the last of the students with the same email, in the order they were first seen.
+     */
+    private static Map<String, StudentAttributes> getStudentsByEmail(List<StudentAttributes> students) {
+        Map<String, StudentAttributes> studentsByEmail = new LinkedHashMap<String, StudentAttributes>();
+        if (students != null) {
+            for (StudentAttributes s : students) {
+                studentsByEmail.put(s.email, s);
+            }
         }
-        
-        for (StudentAttributes s : students) {
-            studentListByEmail.put(s.email, s);
+        return studentsByEmail;
+    }
+
+    private static Map<String, InstructorAttributes> getInstructorsByEmail(List<InstructorAttributes> instructors) {
+        Map<String, InstructorAttributes> instructorsByEmail = new LinkedHashMap<String, InstructorAttributes>();
+        if (instructors != null) {
+            for (InstructorAttributes i : instructors) {
+                instructorsByEmail.put(i.email, i);
+            }
         }
+        return instructorsByEmail;
     }
-    
-    private void populateInstructorListByEmail(List<InstructorAttributes> instructors) {
-        
-        if (instructors == null) {
-            return;
+
+    private static Map<String, List<StudentAttributes>> buildStudentsByTeam(StudentAttributes[] students) {
+        Map<String, List<StudentAttributes>> studentsByTeam = new HashMap<String, List<StudentAttributes>>();
+        for (StudentAttributes student : students) {
+            List<StudentAttributes> members = studentsByTeam.get(student.team);
+            if (members == null) {
+                members = new ArrayList<StudentAttributes>();
+                studentsByTeam.put(student.team, members);
+            }
+            members.add(student);
+        }
+        for (Map.Entry<String, List<StudentAttributes>> entry : studentsByTeam.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        return studentsByTeam;
+    }
+
+    private static Map<String, Set<String>> buildTeamsBySection(StudentAttributes[] students) {
+        Map<String, Set<String>> teamsBySection = new HashMap<String, Set<String>>();
+        for (StudentAttributes student : students) {
+            Set<String> teams = teamsBySection.get(student.section);
+            if (teams == null) {
+                teams = new LinkedHashSet<String>();
+                teamsBySection.put(student.section, teams);
+            }
+            teams.add(student.team);
         }
-        
-        for (InstructorAttributes i : instructors) {
-            instructorListByEmail.put(i.email, i);
+        for (Map.Entry<String, Set<String>> entry : teamsBySection.entrySet()) {
+            entry.setValue(Collections.unmodifiableSet(entry.getValue()));
         }
+        return Collections.unmodifiableMap(teamsBySection);
     }
 
 }
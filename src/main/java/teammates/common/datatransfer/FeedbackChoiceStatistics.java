@@ -0,0 +1,40 @@
+package teammates.common.datatransfer;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Statistics of a MCQ or MSQ question: the number of times each choice is chosen in the responses.
+ */
+public class FeedbackChoiceStatistics implements FeedbackQuestionStatistics {
+
+    private final Map<String, Integer> answerFrequency;
+    private final int numChoicesSelected;
+    private final boolean isContainsNonEmptyResponse;
+
+    /**
+     * @param answerFrequency number of times each choice is chosen, in the order the choices are shown.
+     * @param numChoicesSelected total number of choices chosen, which the percentages are relative to.
+     * @param isContainsNonEmptyResponse whether at least one of the responses chooses a choice.
+     */
+    public FeedbackChoiceStatistics(LinkedHashMap<String, Integer> answerFrequency, int numChoicesSelected,
+                                    boolean isContainsNonEmptyResponse) {
+        this.answerFrequency = Collections.unmodifiableMap(answerFrequency);
+        this.numChoicesSelected = numChoicesSelected;
+        this.isContainsNonEmptyResponse = isContainsNonEmptyResponse;
+    }
+
+    public Map<String, Integer> getAnswerFrequency() {
+        return answerFrequency;
+    }
+
+    public int getNumChoicesSelected() {
+        return numChoicesSelected;
+    }
+
+    public boolean isContainsNonEmptyResponse() {
+        return isContainsNonEmptyResponse;
+    }
+
+}
@@ -1,11 +1,17 @@
 package teammates.common.datatransfer;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
 import teammates.common.util.Assumption;
+import teammates.common.util.JsonObjectAdapter;
 import teammates.common.util.Sanitizer;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
 public class FeedbackConstantSumResponseDetails extends
         FeedbackResponseDetails {
     private List<Integer> answers;
@@ -88,4 +94,37 @@ public class FeedbackConstantSumResponseDetails extends
         }
     }
 
+    /**
+     * Reads and writes these details as JSON without reflection.
+     */
+    public static final TypeAdapter<FeedbackConstantSumResponseDetails> JSON_ADAPTER =
+            new JsonObjectAdapter<FeedbackConstantSumResponseDetails>() {
+        @Override
+        protected FeedbackConstantSumResponseDetails newInstance() {
+            return new FeedbackConstantSumResponseDetails();
+        }
+
+        @Override
+        protected void writeFields(JsonWriter out, FeedbackConstantSumResponseDetails details)
+                throws IOException {
+            writeField(out, "answers", details.answers);
+            writeField(out, "questionType", details.questionType);
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, FeedbackConstantSumResponseDetails details)
+                throws IOException {
+            switch (name) {
+            case "answers":
+                details.answers = readIntegerList(in);
+                return true;
+            case "questionType":
+                details.questionType = readEnum(in, FeedbackQuestionType.class);
+                return true;
+            default:
+                return false;
+            }
+        }
+    };
+
 }
@@ -1,14 +1,20 @@
 package teammates.common.datatransfer;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.logging.Logger;
 
 import teammates.common.util.Const;
+import teammates.common.util.JsonObjectAdapter;
 import teammates.common.util.Sanitizer;
 import teammates.common.util.Utils;
 import teammates.logic.core.TeamEvalResult;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
 public class FeedbackContributionResponseDetails extends FeedbackResponseDetails {
     
     private static final Logger log = Utils.getLogger();
@@ -217,4 +223,38 @@ public class FeedbackContributionResponseDetails extends FeedbackResponseDetails
         
         return contribQnStats;
     }
+
+    /**
+     * Reads and writes these details as JSON without reflection.
+     */
+    public static final TypeAdapter<FeedbackContributionResponseDetails> JSON_ADAPTER =
+            new JsonObjectAdapter<FeedbackContributionResponseDetails>() {
+        @Override
+        protected FeedbackContributionResponseDetails newInstance() {
+            return new FeedbackContributionResponseDetails();
+        }
+
+        @Override
+        protected void writeFields(JsonWriter out, FeedbackContributionResponseDetails details)
+                throws IOException {
+            out.name("answer").value(details.answer);
+            writeField(out, "questionType", details.questionType);
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, FeedbackContributionResponseDetails details)
+                throws IOException {
+            switch (name) {
+            case "answer":
+                details.answer = in.nextInt();
+                return true;
+            case "questionType":
+                details.questionType = readEnum(in, FeedbackQuestionType.class);
+                return true;
+            default:
+                return false;
+            }
+        }
+    };
+
 }
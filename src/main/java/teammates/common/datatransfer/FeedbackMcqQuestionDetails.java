@@ -360,18 +360,8 @@ public class FeedbackMcqQuestionDetails extends FeedbackQuestionDetails {
     }
     
     @Override
-    public String getQuestionResultStatisticsHtml(List<FeedbackResponseAttributes> responses,
-            FeedbackQuestionAttributes question,
-            String studentEmail,
-            FeedbackSessionResultsBundle bundle,
-            String view) {
-        
-        if ("student".equals(view) || responses.isEmpty()) {
-            return "";
-        }
-        
-        StringBuilder fragments = new StringBuilder();
-        Map<String, Integer> answerFrequency = new LinkedHashMap<String, Integer>();
+    public FeedbackQuestionStatistics computeStatistics(List<FeedbackResponseAttributes> responses) {
+        LinkedHashMap<String, Integer> answerFrequency = new LinkedHashMap<String, Integer>();
         
         for (String option : mcqChoices) {
             answerFrequency.put(option, 0);
@@ -398,10 +388,25 @@ public class FeedbackMcqQuestionDetails extends FeedbackQuestionDetails {
                 answerFrequency.put(answerString, answerFrequency.get(answerString) + 1);
             }
         }
+        return new FeedbackChoiceStatistics(answerFrequency, responses.size(), true);
+    }
+
+    @Override
+    public String getQuestionResultStatisticsHtml(List<FeedbackResponseAttributes> responses,
+            FeedbackQuestionAttributes question,
+            String studentEmail,
+            FeedbackSessionResultsBundle bundle,
+            String view) {
+        
+        if ("student".equals(view) || responses.isEmpty()) {
+            return "";
+        }
         
+        StringBuilder fragments = new StringBuilder();
+        FeedbackChoiceStatistics statistics = (FeedbackChoiceStatistics) getStatistics(responses, question);
         DecimalFormat df = new DecimalFormat("#.##");
         
-        for (Entry<String, Integer> entry : answerFrequency.entrySet()) {
+        for (Entry<String, Integer> entry : statistics.getAnswerFrequency().entrySet()) {
             fragments.append(Templates.populateTemplate(FormTemplates.MCQ_RESULT_STATS_OPTIONFRAGMENT,
                     Slots.MCQ_CHOICE_VALUE, Sanitizer.sanitizeForHtml(entry.getKey()),
                     Slots.COUNT, entry.getValue().toString(),
@@ -422,37 +427,10 @@ public class FeedbackMcqQuestionDetails extends FeedbackQuestionDetails {
         }
         
         StringBuilder fragments = new StringBuilder();
-        Map<String, Integer> answerFrequency = new LinkedHashMap<String, Integer>();
-        
-        for (String option : mcqChoices) {
-            answerFrequency.put(option, 0);
-        }
-        
-        if (otherEnabled) {
-            answerFrequency.put("Other", 0);
-        }
-        
-        for (FeedbackResponseAttributes response : responses) {
-            String answerString = response.getResponseDetails().getAnswerString();
-            boolean isOtherOptionAnswer =
-                    ((FeedbackMcqResponseDetails) (response.getResponseDetails())).isOtherOptionAnswer();
-            
-            if (isOtherOptionAnswer) {
-                if (!answerFrequency.containsKey("Other")) {
-                    answerFrequency.put("Other", 0);
-                }
-                answerFrequency.put("Other", answerFrequency.get("Other") + 1);
-            } else {
-                if (!answerFrequency.containsKey(answerString)) {
-                    answerFrequency.put(answerString, 0);
-                }
-                answerFrequency.put(answerString, answerFrequency.get(answerString) + 1);
-            }
-        }
-        
+        FeedbackChoiceStatistics statistics = (FeedbackChoiceStatistics) getStatistics(responses, question);
         DecimalFormat df = new DecimalFormat("#.##");
         
-        for (Entry<String, Integer> entry : answerFrequency.entrySet()) {
+        for (Entry<String, Integer> entry : statistics.getAnswerFrequency().entrySet()) {
             fragments.append(Sanitizer.sanitizeForCsv(entry.getKey())).append(',')
                      .append(entry.getValue().toString()).append(',')
                      .append(df.format(100 * (double) entry.getValue() / responses.size())).append(Const.EOL);
@@ -1,11 +1,17 @@
 package teammates.common.datatransfer;
 
+import java.io.IOException;
 import java.util.Map;
 
 import teammates.common.util.Const;
 import teammates.common.util.HttpRequestHelper;
+import teammates.common.util.JsonObjectAdapter;
 import teammates.common.util.Sanitizer;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
 public class FeedbackMcqResponseDetails extends FeedbackResponseDetails {
     private String answer;
     private boolean isOther;
@@ -99,4 +105,46 @@ public class FeedbackMcqResponseDetails extends FeedbackResponseDetails {
         }
         return answer;
     }
+
+    /**
+     * Reads and writes these details as JSON without reflection.
+     */
+    public static final TypeAdapter<FeedbackMcqResponseDetails> JSON_ADAPTER =
+            new JsonObjectAdapter<FeedbackMcqResponseDetails>() {
+        @Override
+        protected FeedbackMcqResponseDetails newInstance() {
+            return new FeedbackMcqResponseDetails();
+        }
+
+        @Override
+        protected void writeFields(JsonWriter out, FeedbackMcqResponseDetails details)
+                throws IOException {
+            writeField(out, "answer", details.answer);
+            out.name("isOther").value(details.isOther);
+            writeField(out, "otherFieldContent", details.otherFieldContent);
+            writeField(out, "questionType", details.questionType);
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, FeedbackMcqResponseDetails details)
+                throws IOException {
+            switch (name) {
+            case "answer":
+                details.answer = in.nextString();
+                return true;
+            case "isOther":
+                details.isOther = in.nextBoolean();
+                return true;
+            case "otherFieldContent":
+                details.otherFieldContent = in.nextString();
+                return true;
+            case "questionType":
+                details.questionType = readEnum(in, FeedbackQuestionType.class);
+                return true;
+            default:
+                return false;
+            }
+        }
+    };
+
 }
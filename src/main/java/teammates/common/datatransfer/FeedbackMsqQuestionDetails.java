@@ -385,19 +385,10 @@ public class FeedbackMsqQuestionDetails extends FeedbackQuestionDetails {
     }
 
     @Override
-    public String getQuestionResultStatisticsHtml(List<FeedbackResponseAttributes> responses,
-            FeedbackQuestionAttributes question,
-            String studentEmail,
-            FeedbackSessionResultsBundle bundle,
-            String view) {
-        
-        if ("student".equals(view) || responses.isEmpty()) {
-            return "";
-        }
-        
+    public FeedbackQuestionStatistics computeStatistics(List<FeedbackResponseAttributes> responses) {
         boolean isContainsNonEmptyResponse = false; // we will only show stats if there is at least one nonempty response
 
-        Map<String, Integer> answerFrequency = new LinkedHashMap<String, Integer>();
+        LinkedHashMap<String, Integer> answerFrequency = new LinkedHashMap<String, Integer>();
         
         for (String option : msqChoices) {
             answerFrequency.put(option, 0);
@@ -447,19 +438,35 @@ public class FeedbackMsqQuestionDetails extends FeedbackQuestionDetails {
                 answerStrings.add(otherAnswer);
             }
         }
+        return new FeedbackChoiceStatistics(answerFrequency, numChoicesSelected, isContainsNonEmptyResponse);
+    }
+
+    @Override
+    public String getQuestionResultStatisticsHtml(List<FeedbackResponseAttributes> responses,
+            FeedbackQuestionAttributes question,
+            String studentEmail,
+            FeedbackSessionResultsBundle bundle,
+            String view) {
+        
+        if ("student".equals(view) || responses.isEmpty()) {
+            return "";
+        }
+        
+        FeedbackChoiceStatistics statistics = (FeedbackChoiceStatistics) getStatistics(responses, question);
         
-        if (!isContainsNonEmptyResponse) {
+        if (!statistics.isContainsNonEmptyResponse()) {
             return "";
         }
         
         DecimalFormat df = new DecimalFormat("#.##");
         
         StringBuilder fragments = new StringBuilder();
-        for (Entry<String, Integer> entry : answerFrequency.entrySet()) {
+        for (Entry<String, Integer> entry : statistics.getAnswerFrequency().entrySet()) {
             fragments.append(Templates.populateTemplate(FormTemplates.MCQ_RESULT_STATS_OPTIONFRAGMENT,
                                 Slots.MCQ_CHOICE_VALUE, entry.getKey(),
                                 Slots.COUNT, entry.getValue().toString(),
-                                Slots.PERCENTAGE, df.format(100 * (double) entry.getValue() / numChoicesSelected)));
+                                Slots.PERCENTAGE,
+                                df.format(100 * (double) entry.getValue() / statistics.getNumChoicesSelected())));
 
         }
         //Use same template as MCQ for now, until they need to be different.
@@ -475,67 +482,19 @@ public class FeedbackMsqQuestionDetails extends FeedbackQuestionDetails {
             return "";
         }
 
-        Map<String, Integer> answerFrequency = new LinkedHashMap<String, Integer>();
-        boolean isContainsNonEmptyResponse = false; // we will only show stats if there is at least one nonempty response
-        
-        for (String option : msqChoices) {
-            answerFrequency.put(option, 0);
-        }
-        
-        if (otherEnabled) {
-            answerFrequency.put("Other", 0);
-        }
-        
-        int numChoicesSelected = 0;
-        
-        for (FeedbackResponseAttributes response : responses) {
-            List<String> answerStrings =
-                    ((FeedbackMsqResponseDetails) response.getResponseDetails()).getAnswerStrings();
-            boolean isOtherOptionAnswer =
-                    ((FeedbackMsqResponseDetails) response.getResponseDetails()).isOtherOptionAnswer();
-            String otherAnswer = "";
-            
-            if (isOtherOptionAnswer) {
-                if (!answerFrequency.containsKey("Other")) {
-                    answerFrequency.put("Other", 0);
-                }
-                answerFrequency.put("Other", answerFrequency.get("Other") + 1);
-                
-                numChoicesSelected++;
-                // remove other answer temporarily to calculate stats for other options
-                otherAnswer = answerStrings.get(answerStrings.size() - 1);
-                answerStrings.remove(otherAnswer);
-            }
-            
-            for (String answerString : answerStrings) {
-                if (answerString.isEmpty()) {
-                    continue;
-                }
-                isContainsNonEmptyResponse = true;
-                numChoicesSelected++;
-                if (!answerFrequency.containsKey(answerString)) {
-                    answerFrequency.put(answerString, 0);
-                }
-                answerFrequency.put(answerString, answerFrequency.get(answerString) + 1);
-                
-            }
-            
-            // restore other answer if any
-            if (isOtherOptionAnswer) {
-                answerStrings.add(otherAnswer);
-            }
-        }
+        FeedbackChoiceStatistics statistics = (FeedbackChoiceStatistics) getStatistics(responses, question);
         
-        if (!isContainsNonEmptyResponse) {
+        if (!statistics.isContainsNonEmptyResponse()) {
             return "";
         }
         
         DecimalFormat df = new DecimalFormat("#.##");
         StringBuilder fragments = new StringBuilder();
-        for (Entry<String, Integer> entry : answerFrequency.entrySet()) {
+        for (Entry<String, Integer> entry : statistics.getAnswerFrequency().entrySet()) {
             fragments.append(Sanitizer.sanitizeForCsv(entry.getKey()) + ','
                              + entry.getValue().toString() + ','
-                             + df.format(100 * (double) entry.getValue() / numChoicesSelected) + Const.EOL);
+                             + df.format(100 * (double) entry.getValue() / statistics.getNumChoicesSelected())
+                             + Const.EOL);
         }
 
         
@@ -1,5 +1,6 @@
 package teammates.common.datatransfer;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -7,9 +8,14 @@ import java.util.Map;
 
 import teammates.common.util.Const;
 import teammates.common.util.HttpRequestHelper;
+import teammates.common.util.JsonObjectAdapter;
 import teammates.common.util.Sanitizer;
 import teammates.common.util.StringHelper;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
 public class FeedbackMsqResponseDetails extends FeedbackResponseDetails {
     public List<String> answers; // answers contain the "other" answer, if any
     private boolean isOther;
@@ -114,4 +120,45 @@ public class FeedbackMsqResponseDetails extends FeedbackResponseDetails {
         return otherFieldContent;
     }
 
+    /**
+     * Reads and writes these details as JSON without reflection.
+     */
+    public static final TypeAdapter<FeedbackMsqResponseDetails> JSON_ADAPTER =
+            new JsonObjectAdapter<FeedbackMsqResponseDetails>() {
+        @Override
+        protected FeedbackMsqResponseDetails newInstance() {
+            return new FeedbackMsqResponseDetails();
+        }
+
+        @Override
+        protected void writeFields(JsonWriter out, FeedbackMsqResponseDetails details)
+                throws IOException {
+            writeField(out, "answers", details.answers);
+            out.name("isOther").value(details.isOther);
+            writeField(out, "otherFieldContent", details.otherFieldContent);
+            writeField(out, "questionType", details.questionType);
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, FeedbackMsqResponseDetails details)
+                throws IOException {
+            switch (name) {
+            case "answers":
+                details.answers = readStringList(in);
+                return true;
+            case "isOther":
+                details.isOther = in.nextBoolean();
+                return true;
+            case "otherFieldContent":
+                details.otherFieldContent = in.nextString();
+                return true;
+            case "questionType":
+                details.questionType = readEnum(in, FeedbackQuestionType.class);
+                return true;
+            default:
+                return false;
+            }
+        }
+    };
+
 }
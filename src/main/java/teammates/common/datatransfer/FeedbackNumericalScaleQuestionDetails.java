@@ -175,20 +175,16 @@ public class FeedbackNumericalScaleQuestionDetails extends
     private String getInstructorQuestionResultsStatisticsHtml(
             List<FeedbackResponseAttributes> responses,
             FeedbackQuestionAttributes question, FeedbackSessionResultsBundle bundle) {
-        Map<String, Double> min = new HashMap<String, Double>();
-        Map<String, Double> max = new HashMap<String, Double>();
-        Map<String, Double> average = new HashMap<String, Double>();
-        Map<String, Double> averageExcludingSelf = new HashMap<String, Double>();
-        Map<String, Double> total = new HashMap<String, Double>();
-        Map<String, Double> totalExcludingSelf = new HashMap<String, Double>();
-        Map<String, Integer> numResponses = new HashMap<String, Integer>();
-        Map<String, Integer> numResponsesExcludingSelf = new HashMap<String, Integer>();
+        FeedbackNumericalScaleStatistics statistics =
+                (FeedbackNumericalScaleStatistics) getStatistics(responses, question);
+        Map<String, Double> min = statistics.getMin();
+        Map<String, Double> max = statistics.getMax();
+        Map<String, Double> average = statistics.getAverage();
+        Map<String, Double> averageExcludingSelf = statistics.getAverageExcludingSelf();
+        Map<String, Integer> numResponses = statistics.getNumResponses();
         
         // need to know which recipients are hidden since anonymised recipients will not appear in the summary table
         List<String> hiddenRecipients = getHiddenRecipients(responses, question, bundle);
-
-        populateSummaryStatisticsFromResponses(responses, min, max, average, averageExcludingSelf, total,
-                                               totalExcludingSelf, numResponses, numResponsesExcludingSelf);
         
         boolean showAvgExcludingSelf = showAverageExcludingSelf(question, averageExcludingSelf);
         
@@ -244,20 +240,17 @@ public class FeedbackNumericalScaleQuestionDetails extends
             List<FeedbackResponseAttributes> responses, String studentEmail,
             FeedbackQuestionAttributes question, FeedbackSessionResultsBundle bundle) {
        
-        Map<String, Double> min = new HashMap<String, Double>();
-        Map<String, Double> max = new HashMap<String, Double>();
-        Map<String, Double> average = new HashMap<String, Double>();
-        Map<String, Double> averageExcludingSelf = new HashMap<String, Double>();
-        Map<String, Double> total = new HashMap<String, Double>();
-        Map<String, Double> totalExcludingSelf = new HashMap<String, Double>();
-        Map<String, Integer> numResponses = new HashMap<String, Integer>();
-        Map<String, Integer> numResponsesExcludingSelf = new HashMap<String, Integer>();
+        FeedbackNumericalScaleStatistics statistics =
+                (FeedbackNumericalScaleStatistics) getStatistics(responses, question);
+        Map<String, Double> min = statistics.getMin();
+        Map<String, Double> max = statistics.getMax();
+        Map<String, Double> average = statistics.getAverage();
+        Map<String, Double> averageExcludingSelf = statistics.getAverageExcludingSelf();
+        Map<String, Integer> numResponses = statistics.getNumResponses();
         
         // need to know which recipients are hidden since anonymised recipients will not appear in the summary table
         List<String> hiddenRecipients = getHiddenRecipients(responses, question, bundle);
 
-        populateSummaryStatisticsFromResponses(responses, min, max, average, averageExcludingSelf, total,
-                                               totalExcludingSelf, numResponses, numResponsesExcludingSelf);
         boolean showAvgExcludingSelf = showAverageExcludingSelf(question, averageExcludingSelf);
 
         String fragmentTemplateToUse = showAvgExcludingSelf
@@ -447,21 +440,17 @@ public class FeedbackNumericalScaleQuestionDetails extends
             return "";
         }
         
-        Map<String, Double> min = new HashMap<String, Double>();
-        Map<String, Double> max = new HashMap<String, Double>();
-        Map<String, Double> average = new HashMap<String, Double>();
-        Map<String, Double> averageExcludingSelf = new HashMap<String, Double>();
-        Map<String, Double> total = new HashMap<String, Double>();
-        Map<String, Double> totalExcludingSelf = new HashMap<String, Double>();
-        Map<String, Integer> numResponses = new HashMap<String, Integer>();
-        Map<String, Integer> numResponsesExcludingSelf = new HashMap<String, Integer>();
+        FeedbackNumericalScaleStatistics statistics =
+                (FeedbackNumericalScaleStatistics) getStatistics(responses, question);
+        Map<String, Double> min = statistics.getMin();
+        Map<String, Double> max = statistics.getMax();
+        Map<String, Double> average = statistics.getAverage();
+        Map<String, Double> averageExcludingSelf = statistics.getAverageExcludingSelf();
+        Map<String, Integer> numResponses = statistics.getNumResponses();
         
         // need to know which recipients are hidden since anonymised recipients will not appear in the summary table
         List<String> hiddenRecipients = getHiddenRecipients(responses, question, bundle);
         
-        populateSummaryStatisticsFromResponses(responses, min, max, average, averageExcludingSelf, total,
-                                               totalExcludingSelf, numResponses, numResponsesExcludingSelf);
-        
         boolean showAvgExcludingSelf = showAverageExcludingSelf(question, averageExcludingSelf);
         
         DecimalFormat df = new DecimalFormat();
@@ -520,6 +509,23 @@ public class FeedbackNumericalScaleQuestionDetails extends
         return false;
     }
 
+    @Override
+    public FeedbackQuestionStatistics computeStatistics(List<FeedbackResponseAttributes> responses) {
+        Map<String, Double> min = new HashMap<String, Double>();
+        Map<String, Double> max = new HashMap<String, Double>();
+        Map<String, Double> average = new HashMap<String, Double>();
+        Map<String, Double> averageExcludingSelf = new HashMap<String, Double>();
+        Map<String, Double> total = new HashMap<String, Double>();
+        Map<String, Double> totalExcludingSelf = new HashMap<String, Double>();
+        Map<String, Integer> numResponses = new HashMap<String, Integer>();
+        Map<String, Integer> numResponsesExcludingSelf = new HashMap<String, Integer>();
+        
+        populateSummaryStatisticsFromResponses(responses, min, max, average, averageExcludingSelf, total,
+                                               totalExcludingSelf, numResponses, numResponsesExcludingSelf);
+        
+        return new FeedbackNumericalScaleStatistics(min, max, average, averageExcludingSelf, numResponses);
+    }
+
     private void populateSummaryStatisticsFromResponses(
             List<FeedbackResponseAttributes> responses,
             Map<String, Double> min, Map<String, Double> max,
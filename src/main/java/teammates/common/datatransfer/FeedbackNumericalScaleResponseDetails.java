@@ -1,10 +1,16 @@
 package teammates.common.datatransfer;
 
+import java.io.IOException;
 import java.util.logging.Logger;
 
+import teammates.common.util.JsonObjectAdapter;
 import teammates.common.util.StringHelper;
 import teammates.common.util.Utils;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
 public class FeedbackNumericalScaleResponseDetails extends FeedbackResponseDetails {
 
     private static final Logger log = Utils.getLogger();
@@ -53,4 +59,37 @@ public class FeedbackNumericalScaleResponseDetails extends FeedbackResponseDetai
         this.answer = answer;
     }
 
+    /**
+     * Reads and writes these details as JSON without reflection.
+     */
+    public static final TypeAdapter<FeedbackNumericalScaleResponseDetails> JSON_ADAPTER =
+            new JsonObjectAdapter<FeedbackNumericalScaleResponseDetails>() {
+        @Override
+        protected FeedbackNumericalScaleResponseDetails newInstance() {
+            return new FeedbackNumericalScaleResponseDetails();
+        }
+
+        @Override
+        protected void writeFields(JsonWriter out, FeedbackNumericalScaleResponseDetails details)
+                throws IOException {
+            out.name("answer").value(details.answer);
+            writeField(out, "questionType", details.questionType);
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, FeedbackNumericalScaleResponseDetails details)
+                throws IOException {
+            switch (name) {
+            case "answer":
+                details.answer = in.nextDouble();
+                return true;
+            case "questionType":
+                details.questionType = readEnum(in, FeedbackQuestionType.class);
+                return true;
+            default:
+                return false;
+            }
+        }
+    };
+
 }
@@ -0,0 +1,54 @@
+package teammates.common.datatransfer;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Statistics of a numerical scale question: the scores received by each recipient of the responses.
+ */
+public class FeedbackNumericalScaleStatistics implements FeedbackQuestionStatistics {
+
+    private final Map<String, Double> min;
+    private final Map<String, Double> max;
+    private final Map<String, Double> average;
+    private final Map<String, Double> averageExcludingSelf;
+    private final Map<String, Integer> numResponses;
+
+    /**
+     * All maps are keyed by recipient. {@code averageExcludingSelf} maps recipients who only
+     * responded to themselves to null.
+     */
+    public FeedbackNumericalScaleStatistics(Map<String, Double> min, Map<String, Double> max,
+                                            Map<String, Double> average, Map<String, Double> averageExcludingSelf,
+                                            Map<String, Integer> numResponses) {
+        this.min = Collections.unmodifiableMap(min);
+        this.max = Collections.unmodifiableMap(max);
+        this.average = Collections.unmodifiableMap(average);
+        this.averageExcludingSelf = Collections.unmodifiableMap(averageExcludingSelf);
+        this.numResponses = Collections.unmodifiableMap(numResponses);
+    }
+
+    public Map<String, Double> getMin() {
+        return min;
+    }
+
+    public Map<String, Double> getMax() {
+        return max;
+    }
+
+    public Map<String, Double> getAverage() {
+        return average;
+    }
+
+    public Map<String, Double> getAverageExcludingSelf() {
+        return averageExcludingSelf;
+    }
+
+    /**
+     * @return the number of responses received by each recipient, in the order the recipients are shown.
+     */
+    public Map<String, Integer> getNumResponses() {
+        return numResponses;
+    }
+
+}
@@ -9,6 +9,7 @@ import teammates.common.util.Const;
 import teammates.common.util.HttpRequestHelper;
 import teammates.common.util.Sanitizer;
 import teammates.common.util.StringHelper;
+import teammates.logic.core.FeedbackQuestionStatisticsLogic;
 import teammates.ui.template.InstructorFeedbackResultsResponseRow;
 
 /**
@@ -58,6 +59,26 @@ public abstract class FeedbackQuestionDetails {
                                                           FeedbackQuestionAttributes question,
                                                           FeedbackSessionResultsBundle bundle);
 
+    /**
+     * Computes the aggregates over the responses from which the statistics of this question are rendered.
+     * Override for question types whose statistics are aggregates of the responses, and read them
+     * through {@link #getStatistics} so that they are not computed again for the same responses.
+     *
+     * @return null if the statistics of this question type are rendered from the responses directly.
+     */
+    public FeedbackQuestionStatistics computeStatistics(List<FeedbackResponseAttributes> responses) {
+        return null;
+    }
+
+    /**
+     * Gets the statistics computed by {@link #computeStatistics} for the question and responses,
+     * reusing the statistics computed earlier for the same question and responses if there are any.
+     */
+    protected FeedbackQuestionStatistics getStatistics(List<FeedbackResponseAttributes> responses,
+                                                       FeedbackQuestionAttributes question) {
+        return FeedbackQuestionStatisticsLogic.inst().getStatistics(question, this, responses);
+    }
+
     public abstract boolean isChangesRequiresResponseDeletion(FeedbackQuestionDetails newDetails);
 
     public abstract String getCsvHeader();
@@ -0,0 +1,11 @@
+package teammates.common.datatransfer;
+
+/**
+ * Aggregates over a set of responses to a question, from which the statistics of the question are rendered.<br>
+ * Statistics are computed by {@link FeedbackQuestionDetails#computeStatistics} and shared between the
+ * requests which render the statistics of the same question and responses, so they must not be modified
+ * after they are computed.
+ */
+public interface FeedbackQuestionStatistics {
+    // marker interface for the statistics of the different question types
+}
@@ -1,5 +1,6 @@
 package teammates.common.datatransfer;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -9,9 +10,14 @@ import java.util.TreeMap;
 
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
+import teammates.common.util.JsonObjectAdapter;
 import teammates.common.util.Sanitizer;
 import teammates.common.util.StringHelper;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
 public class FeedbackRankOptionsResponseDetails extends FeedbackRankResponseDetails {
     private List<Integer> answers;
     
@@ -139,4 +145,37 @@ public class FeedbackRankOptionsResponseDetails extends FeedbackRankResponseDeta
         
     }
 
+    /**
+     * Reads and writes these details as JSON without reflection.
+     */
+    public static final TypeAdapter<FeedbackRankOptionsResponseDetails> JSON_ADAPTER =
+            new JsonObjectAdapter<FeedbackRankOptionsResponseDetails>() {
+        @Override
+        protected FeedbackRankOptionsResponseDetails newInstance() {
+            return new FeedbackRankOptionsResponseDetails();
+        }
+
+        @Override
+        protected void writeFields(JsonWriter out, FeedbackRankOptionsResponseDetails details)
+                throws IOException {
+            writeField(out, "answers", details.answers);
+            writeField(out, "questionType", details.questionType);
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, FeedbackRankOptionsResponseDetails details)
+                throws IOException {
+            switch (name) {
+            case "answers":
+                details.answers = readIntegerList(in);
+                return true;
+            case "questionType":
+                details.questionType = readEnum(in, FeedbackQuestionType.class);
+                return true;
+            default:
+                return false;
+            }
+        }
+    };
+
 }
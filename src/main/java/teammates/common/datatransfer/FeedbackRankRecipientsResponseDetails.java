@@ -1,5 +1,13 @@
 package teammates.common.datatransfer;
 
+import java.io.IOException;
+
+import teammates.common.util.JsonObjectAdapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
 public class FeedbackRankRecipientsResponseDetails extends FeedbackRankResponseDetails {
     public int answer;
     
@@ -37,4 +45,37 @@ public class FeedbackRankRecipientsResponseDetails extends FeedbackRankResponseD
         this.answer = answer;
     }
 
+    /**
+     * Reads and writes these details as JSON without reflection.
+     */
+    public static final TypeAdapter<FeedbackRankRecipientsResponseDetails> JSON_ADAPTER =
+            new JsonObjectAdapter<FeedbackRankRecipientsResponseDetails>() {
+        @Override
+        protected FeedbackRankRecipientsResponseDetails newInstance() {
+            return new FeedbackRankRecipientsResponseDetails();
+        }
+
+        @Override
+        protected void writeFields(JsonWriter out, FeedbackRankRecipientsResponseDetails details)
+                throws IOException {
+            out.name("answer").value(details.answer);
+            writeField(out, "questionType", details.questionType);
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, FeedbackRankRecipientsResponseDetails details)
+                throws IOException {
+            switch (name) {
+            case "answer":
+                details.answer = in.nextInt();
+                return true;
+            case "questionType":
+                details.questionType = readEnum(in, FeedbackQuestionType.class);
+                return true;
+            default:
+                return false;
+            }
+        }
+    };
+
 }
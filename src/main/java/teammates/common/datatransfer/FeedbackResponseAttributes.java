@@ -1,5 +1,6 @@
 package teammates.common.datatransfer;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -8,11 +9,16 @@ import java.util.List;
 
 import teammates.common.util.Const;
 import teammates.common.util.FieldValidator;
+import teammates.common.util.JsonObjectAdapter;
 import teammates.common.util.Utils;
 import teammates.storage.entity.FeedbackResponse;
 
 import com.google.appengine.api.datastore.Text;
 import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
 public class FeedbackResponseAttributes extends EntityAttributes {
     public String feedbackSessionName;
@@ -238,5 +244,88 @@ public class FeedbackResponseAttributes extends EntityAttributes {
             }
         });
     }
-    
+
+    /**
+     * Reads and writes responses as JSON without reflection.
+     */
+    public static final TypeAdapter<FeedbackResponseAttributes> JSON_ADAPTER =
+            new JsonObjectAdapter<FeedbackResponseAttributes>() {
+        @Override
+        protected FeedbackResponseAttributes newInstance() {
+            return new FeedbackResponseAttributes();
+        }
+
+        @Override
+        protected void writeFields(JsonWriter out, FeedbackResponseAttributes response) throws IOException {
+            writeField(out, "feedbackSessionName", response.feedbackSessionName);
+            writeField(out, "courseId", response.courseId);
+            writeField(out, "feedbackQuestionId", response.feedbackQuestionId);
+            writeField(out, "feedbackQuestionType", response.feedbackQuestionType);
+            writeField(out, "giver", response.giver);
+            writeField(out, "giverSection", response.giverSection);
+            writeField(out, "recipient", response.recipient);
+            writeField(out, "recipientSection", response.recipientSection);
+            if (response.responseMetaData != null) {
+                // same form as the reflective adapter of Text, which has the single field "value"
+                out.name("responseMetaData").beginObject();
+                writeField(out, "value", response.responseMetaData.getValue());
+                out.endObject();
+            }
+            writeField(out, "feedbackResponseId", response.feedbackResponseId);
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, FeedbackResponseAttributes response)
+                throws IOException {
+            switch (name) {
+            case "feedbackSessionName":
+                response.feedbackSessionName = in.nextString();
+                return true;
+            case "courseId":
+                response.courseId = in.nextString();
+                return true;
+            case "feedbackQuestionId":
+                response.feedbackQuestionId = in.nextString();
+                return true;
+            case "feedbackQuestionType":
+                response.feedbackQuestionType = readEnum(in, FeedbackQuestionType.class);
+                return true;
+            case "giver":
+                response.giver = in.nextString();
+                return true;
+            case "giverSection":
+                response.giverSection = in.nextString();
+                return true;
+            case "recipient":
+                response.recipient = in.nextString();
+                return true;
+            case "recipientSection":
+                response.recipientSection = in.nextString();
+                return true;
+            case "responseMetaData":
+                response.responseMetaData = readText(in);
+                return true;
+            case "feedbackResponseId":
+                response.feedbackResponseId = in.nextString();
+                return true;
+            default:
+                return false;
+            }
+        }
+
+        private Text readText(JsonReader in) throws IOException {
+            String value = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                if ("value".equals(in.nextName()) && in.peek() != JsonToken.NULL) {
+                    value = in.nextString();
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return new Text(value);
+        }
+    };
+
 }
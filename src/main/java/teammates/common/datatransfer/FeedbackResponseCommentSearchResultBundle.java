@@ -9,6 +9,7 @@ import java.util.Map;
 import java.util.Set;
 
 import teammates.common.util.Const;
+import teammates.common.util.JsonCodecs;
 import teammates.logic.core.FeedbackQuestionsLogic;
 import teammates.logic.core.FeedbackResponseCommentsLogic;
 import teammates.logic.core.FeedbackResponsesLogic;
@@ -70,15 +71,11 @@ public class FeedbackResponseCommentSearchResultBundle extends SearchResultBundl
         
         cursor = results.getCursor();
         List<ScoredDocument> filteredResults = filterOutCourseId(results, instructors);
-        for (ScoredDocument doc : filteredResults) {
+        for (SearchHit hit : getHitsWithExistingEntities(filteredResults)) {
+            ScoredDocument doc = hit.document;
+            
             //get FeedbackResponseComment from results
-            FeedbackResponseCommentAttributes comment = new Gson().fromJson(
-                    doc.getOnlyField(Const.SearchDocumentField.FEEDBACK_RESPONSE_COMMENT_ATTRIBUTE).getText(),
-                    FeedbackResponseCommentAttributes.class);
-            if (frcLogic.getFeedbackResponseComment(comment.getId()) == null) {
-                frcLogic.deleteDocument(comment);
-                continue;
-            }
+            FeedbackResponseCommentAttributes comment = hit.comment;
             comment.sendingState = CommentSendingState.SENT;
             List<FeedbackResponseCommentAttributes> commentList = comments.get(comment.feedbackResponseId);
             if (commentList == null) {
@@ -88,13 +85,7 @@ public class FeedbackResponseCommentSearchResultBundle extends SearchResultBundl
             commentList.add(comment);
             
             //get related response from results
-            FeedbackResponseAttributes response = new Gson().fromJson(
-                    doc.getOnlyField(Const.SearchDocumentField.FEEDBACK_RESPONSE_ATTRIBUTE).getText(),
-                    FeedbackResponseAttributes.class);
-            if (frLogic.getFeedbackResponse(response.getId()) == null) {
-                frcLogic.deleteDocument(comment);
-                continue;
-            }
+            FeedbackResponseAttributes response = hit.response;
             List<FeedbackResponseAttributes> responseList = responses.get(response.feedbackQuestionId);
             if (responseList == null) {
                 responseList = new ArrayList<FeedbackResponseAttributes>();
@@ -106,13 +97,7 @@ public class FeedbackResponseCommentSearchResultBundle extends SearchResultBundl
             }
             
             //get related question from results
-            FeedbackQuestionAttributes question = new Gson().fromJson(
-                    doc.getOnlyField(Const.SearchDocumentField.FEEDBACK_QUESTION_ATTRIBUTE).getText(),
-                    FeedbackQuestionAttributes.class);
-            if (fqLogic.getFeedbackQuestion(question.getId()) == null) {
-                frcLogic.deleteDocument(comment);
-                continue;
-            }
+            FeedbackQuestionAttributes question = hit.question;
             List<FeedbackQuestionAttributes> questionList = questions.get(question.feedbackSessionName);
             if (questionList == null) {
                 questionList = new ArrayList<FeedbackQuestionAttributes>();
@@ -124,13 +109,7 @@ public class FeedbackResponseCommentSearchResultBundle extends SearchResultBundl
             }
             
             //get related session from results
-            FeedbackSessionAttributes session = new Gson().fromJson(
-                    doc.getOnlyField(Const.SearchDocumentField.FEEDBACK_SESSION_ATTRIBUTE).getText(),
-                    FeedbackSessionAttributes.class);
-            if (fsLogic.getFeedbackSession(session.getSessionName(), session.getCourseId()) == null) {
-                frcLogic.deleteDocument(comment);
-                continue;
-            }
+            FeedbackSessionAttributes session = hit.session;
             if (!isAdded.contains(session.getFeedbackSessionName())) {
                 isAdded.add(session.getFeedbackSessionName());
                 sessions.put(session.getSessionName(), session);
@@ -167,6 +146,66 @@ public class FeedbackResponseCommentSearchResultBundle extends SearchResultBundl
         return this;
     }
     
+    /**
+     * Parses the comment, response, question and session in each of the {@code documents}, and returns
+     * those whose entities all still exist. The entities of each kind are looked up together instead of
+     * one document at a time. Documents with any entity which no longer exists are removed from the
+     * search index.
+     */
+    private List<SearchHit> getHitsWithExistingEntities(List<ScoredDocument> documents) {
+        List<SearchHit> hits = new ArrayList<SearchHit>();
+        Set<Long> commentIds = new HashSet<Long>();
+        Set<String> responseIds = new HashSet<String>();
+        Set<String> questionIds = new HashSet<String>();
+        Set<String> courseIds = new HashSet<String>();
+        for (ScoredDocument doc : documents) {
+            SearchHit hit = new SearchHit(doc);
+            hits.add(hit);
+            commentIds.add(hit.comment.getId());
+            responseIds.add(hit.response.getId());
+            questionIds.add(hit.question.getId());
+            courseIds.add(hit.session.getCourseId());
+        }
+        
+        Set<Long> existingCommentIds = new HashSet<Long>();
+        for (FeedbackResponseCommentAttributes comment : frcLogic.getFeedbackResponseCommentsForIds(commentIds)) {
+            existingCommentIds.add(comment.getId());
+        }
+        Set<String> existingResponseIds = new HashSet<String>();
+        for (FeedbackResponseAttributes response : frLogic.getFeedbackResponsesForIds(responseIds)) {
+            existingResponseIds.add(response.getId());
+        }
+        Set<String> existingQuestionIds = new HashSet<String>();
+        for (FeedbackQuestionAttributes question : fqLogic.getFeedbackQuestionsForIds(questionIds)) {
+            existingQuestionIds.add(question.getId());
+        }
+        Set<String> existingSessionIds = new HashSet<String>();
+        for (FeedbackSessionAttributes session : fsLogic.getFeedbackSessionsForCourses(courseIds)) {
+            existingSessionIds.add(getSessionId(session));
+        }
+        
+        List<SearchHit> existingHits = new ArrayList<SearchHit>();
+        List<FeedbackResponseCommentAttributes> staleComments = new ArrayList<FeedbackResponseCommentAttributes>();
+        for (SearchHit hit : hits) {
+            boolean isStale = !existingCommentIds.contains(hit.comment.getId())
+                              || !existingResponseIds.contains(hit.response.getId())
+                              || !existingQuestionIds.contains(hit.question.getId())
+                              || !existingSessionIds.contains(getSessionId(hit.session));
+            if (isStale) {
+                staleComments.add(hit.comment);
+            } else {
+                existingHits.add(hit);
+            }
+        }
+        frcLogic.deleteDocuments(staleComments);
+        
+        return existingHits;
+    }
+    
+    private static String getSessionId(FeedbackSessionAttributes session) {
+        return session.getFeedbackSessionName() + "%" + session.getCourseId();
+    }
+    
     private String getFilteredCommentGiverName(FeedbackResponseAttributes response,
                                                FeedbackResponseCommentAttributes comment, String name) {
         return isCommentGiverNameVisibleToInstructor(response, comment) ? name : "Anonymous";
@@ -252,4 +291,32 @@ public class FeedbackResponseCommentSearchResultBundle extends SearchResultBundl
     public int getResultSize() {
         return numberOfCommentFound;
     }
+    
+    /**
+     * The entities stored in a search document of a comment.
+     */
+    private static class SearchHit {
+        final ScoredDocument document;
+        final FeedbackResponseCommentAttributes comment;
+        final FeedbackResponseAttributes response;
+        final FeedbackQuestionAttributes question;
+        final FeedbackSessionAttributes session;
+        
+        SearchHit(ScoredDocument document) {
+            this.document = document;
+            Gson gson = JsonCodecs.getCompactGson();
+            comment = gson.fromJson(
+                    document.getOnlyField(Const.SearchDocumentField.FEEDBACK_RESPONSE_COMMENT_ATTRIBUTE).getText(),
+                    FeedbackResponseCommentAttributes.class);
+            response = gson.fromJson(
+                    document.getOnlyField(Const.SearchDocumentField.FEEDBACK_RESPONSE_ATTRIBUTE).getText(),
+                    FeedbackResponseAttributes.class);
+            question = gson.fromJson(
+                    document.getOnlyField(Const.SearchDocumentField.FEEDBACK_QUESTION_ATTRIBUTE).getText(),
+                    FeedbackQuestionAttributes.class);
+            session = gson.fromJson(
+                    document.getOnlyField(Const.SearchDocumentField.FEEDBACK_SESSION_ATTRIBUTE).getText(),
+                    FeedbackSessionAttributes.class);
+        }
+    }
 }
@@ -0,0 +1,29 @@
+package teammates.common.datatransfer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of feedback responses, together with the opaque cursor
+ * from which the next page can be fetched.
+ */
+public class FeedbackResponsesPage {
+    public List<FeedbackResponseAttributes> responses;
+
+    /** Cursor to pass in to fetch the next page; null if this is the last page */
+    public String nextCursor;
+
+    public FeedbackResponsesPage() {
+        responses = new ArrayList<FeedbackResponseAttributes>();
+        nextCursor = null;
+    }
+
+    public FeedbackResponsesPage(List<FeedbackResponseAttributes> responses, String nextCursor) {
+        this.responses = responses;
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean hasNextPage() {
+        return nextCursor != null;
+    }
+}
@@ -532,8 +532,7 @@ public class FeedbackRubricQuestionDetails extends FeedbackQuestionDetails {
             String view) {
 
         FeedbackRubricQuestionDetails fqd = (FeedbackRubricQuestionDetails) question.getQuestionDetails();
-        int[][] responseFrequency = calculateResponseFrequency(responses, fqd);
-        float[][] rubricStats = calculateRubricStats(responses, question);
+        FeedbackRubricStatistics statistics = (FeedbackRubricStatistics) getStatistics(responses, question);
         DecimalFormat weightFormat = new DecimalFormat("#.##");
         
         // Create table row header fragments
@@ -574,7 +573,8 @@ public class FeedbackRubricQuestionDetails extends FeedbackQuestionDetails {
                 String tableBodyCell =
                         Templates.populateTemplate(tableBodyFragmentTemplate,
                                 Slots.RUBRIC_PERCENTAGE_FREQUENCY_OR_AVERAGE,
-                                        df.format(rubricStats[j][i] * 100) + "% (" + responseFrequency[j][i] + ")");
+                                        df.format(statistics.getPercentageFrequencyOrAverage(j, i) * 100)
+                                        + "% (" + statistics.getResponseFrequency(j, i) + ")");
                 tableBodyFragmentHtml.append(tableBodyCell).append(Const.EOL);
             }
 
@@ -582,7 +582,8 @@ public class FeedbackRubricQuestionDetails extends FeedbackQuestionDetails {
                 String tableBodyAverageCell =
                         Templates.populateTemplate(tableBodyFragmentTemplate,
                                 Slots.RUBRIC_PERCENTAGE_FREQUENCY_OR_AVERAGE,
-                                        dfAverage.format(rubricStats[j][numOfRubricChoices]));
+                                        dfAverage.format(statistics.getPercentageFrequencyOrAverage(
+                                                j, numOfRubricChoices)));
                 tableBodyFragmentHtml.append(tableBodyAverageCell).append(Const.EOL);
             }
 
@@ -604,24 +605,15 @@ public class FeedbackRubricQuestionDetails extends FeedbackQuestionDetails {
     }
     
     /**
-     * Calculates the statistics for rubric question
-     * 
-     * Returns a 2D float array to indicate the percentage frequency
-     * a choice is selected for each sub-question.
-     * 
-     * e.g.
-     * pecentageFrequency[subQuestionIndex][choiceIndex]
-     *  -> is the percentage choiceIndex is chosen for subQuestionIndex, for the given question/responses.
-     *
+     * Calculates the statistics for rubric question: the frequency each choice is selected
+     * for each sub-question, and the percentage frequency which that is.
      */
-    private float[][] calculateRubricStats(List<FeedbackResponseAttributes> responses,
-            FeedbackQuestionAttributes question) {
-        FeedbackRubricQuestionDetails fqd = (FeedbackRubricQuestionDetails) question.getQuestionDetails();
-        
+    @Override
+    public FeedbackQuestionStatistics computeStatistics(List<FeedbackResponseAttributes> responses) {
         // Initialize response frequency variable, used to store frequency each choice is selected.
-        int[][] responseFrequency = calculateResponseFrequency(responses, fqd);
+        int[][] responseFrequency = calculateResponseFrequency(responses, this);
         
-        return getPercentageFrequencyAndAverage(responseFrequency, fqd);
+        return new FeedbackRubricStatistics(responseFrequency, getPercentageFrequencyAndAverage(responseFrequency, this));
     }
 
     /**
@@ -746,19 +738,19 @@ public class FeedbackRubricQuestionDetails extends FeedbackQuestionDetails {
         DecimalFormat df = new DecimalFormat("#");
         DecimalFormat dfAverage = new DecimalFormat("0.00");
 
-        int[][] responseFrequency = calculateResponseFrequency(responses, this);
-        float[][] rubricStats = calculateRubricStats(responses, question);
+        FeedbackRubricStatistics statistics = (FeedbackRubricStatistics) getStatistics(responses, question);
         
         for (int i = 0; i < rubricSubQuestions.size(); i++) {
             String alphabeticalIndex = StringHelper.integerToLowerCaseAlphabeticalIndex(i + 1);
             csv.append(Sanitizer.sanitizeForCsv(alphabeticalIndex + ") " + rubricSubQuestions.get(i)));
             for (int j = 0; j < rubricChoices.size(); j++) {
-                String percentageFrequency = df.format(rubricStats[i][j] * 100) + "%";
-                csv.append("," + percentageFrequency + " (" + responseFrequency[i][j] + ")");
+                String percentageFrequency = df.format(statistics.getPercentageFrequencyOrAverage(i, j) * 100) + "%";
+                csv.append("," + percentageFrequency + " (" + statistics.getResponseFrequency(i, j) + ")");
             }
 
             if (hasAssignedWeights) {
-                csv.append(',').append(dfAverage.format(rubricStats[i][rubricWeights.size()]));
+                csv.append(',').append(dfAverage.format(
+                        statistics.getPercentageFrequencyOrAverage(i, rubricWeights.size())));
             }
 
             csv.append(Const.EOL);
@@ -1,5 +1,6 @@
 package teammates.common.datatransfer;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
@@ -7,10 +8,15 @@ import java.util.regex.Pattern;
 
 import teammates.common.exception.TeammatesException;
 import teammates.common.util.Const;
+import teammates.common.util.JsonObjectAdapter;
 import teammates.common.util.Sanitizer;
 import teammates.common.util.StringHelper;
 import teammates.common.util.Utils;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
 public class FeedbackRubricResponseDetails extends FeedbackResponseDetails {
     
     private static final Logger log = Utils.getLogger();
@@ -118,4 +124,38 @@ public class FeedbackRubricResponseDetails extends FeedbackResponseDetails {
     public void setAnswer(int subQuestionIndex, int choice) {
         this.answer.set(subQuestionIndex, choice);
     }
+
+    /**
+     * Reads and writes these details as JSON without reflection.
+     */
+    public static final TypeAdapter<FeedbackRubricResponseDetails> JSON_ADAPTER =
+            new JsonObjectAdapter<FeedbackRubricResponseDetails>() {
+        @Override
+        protected FeedbackRubricResponseDetails newInstance() {
+            return new FeedbackRubricResponseDetails();
+        }
+
+        @Override
+        protected void writeFields(JsonWriter out, FeedbackRubricResponseDetails details)
+                throws IOException {
+            writeField(out, "answer", details.answer);
+            writeField(out, "questionType", details.questionType);
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, FeedbackRubricResponseDetails details)
+                throws IOException {
+            switch (name) {
+            case "answer":
+                details.answer = readIntegerList(in);
+                return true;
+            case "questionType":
+                details.questionType = readEnum(in, FeedbackQuestionType.class);
+                return true;
+            default:
+                return false;
+            }
+        }
+    };
+
 }
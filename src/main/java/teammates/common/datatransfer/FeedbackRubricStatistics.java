@@ -0,0 +1,35 @@
+package teammates.common.datatransfer;
+
+/**
+ * Statistics of a rubric question: how often each choice is chosen for each sub-question of the question.
+ */
+public class FeedbackRubricStatistics implements FeedbackQuestionStatistics {
+
+    private final int[][] responseFrequency;
+    private final float[][] percentageFrequencyOrAverage;
+
+    /**
+     * @param responseFrequency {@code responseFrequency[subQuestionIndex][choiceIndex]} is the number of
+     *         responses which choose the choice for the sub-question.
+     * @param percentageFrequencyOrAverage {@code percentageFrequencyOrAverage[subQuestionIndex][choiceIndex]}
+     *         is the fraction of responses to the sub-question which choose the choice. The element after
+     *         the last choice is the weighted average of the sub-question if the choices have weights.
+     */
+    public FeedbackRubricStatistics(int[][] responseFrequency, float[][] percentageFrequencyOrAverage) {
+        this.responseFrequency = responseFrequency;
+        this.percentageFrequencyOrAverage = percentageFrequencyOrAverage;
+    }
+
+    public int getResponseFrequency(int subQuestionIndex, int choiceIndex) {
+        return responseFrequency[subQuestionIndex][choiceIndex];
+    }
+
+    /**
+     * @return the fraction of responses to the sub-question which choose the choice, or the weighted
+     *         average of the sub-question if {@code choiceIndex} is the number of choices.
+     */
+    public float getPercentageFrequencyOrAverage(int subQuestionIndex, int choiceIndex) {
+        return percentageFrequencyOrAverage[subQuestionIndex][choiceIndex];
+    }
+
+}
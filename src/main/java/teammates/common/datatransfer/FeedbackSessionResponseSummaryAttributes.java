@@ -0,0 +1,193 @@
+package teammates.common.datatransfer;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import teammates.common.util.Const;
+import teammates.common.util.FieldValidator;
+import teammates.common.util.Utils;
+import teammates.storage.entity.FeedbackSessionResponseSummary;
+
+import com.google.appengine.api.datastore.Text;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * The response counts and expected respondents of a feedback session.<br>
+ * Counts are kept per question and per giver; a giver is missing if they are expected to respond
+ * and have not given any response.
+ */
+public class FeedbackSessionResponseSummaryAttributes extends EntityAttributes {
+
+    private static final Type COUNTS_TYPE = new TypeToken<HashMap<String, Integer>>(){}.getType();
+
+    public String feedbackSessionName;
+    public String courseId;
+    public Set<String> expectedStudents;
+    public Set<String> expectedInstructors;
+    public Map<String, Integer> responseCountsByQuestion;
+    public Map<String, Integer> responseCountsByGiver;
+
+    public FeedbackSessionResponseSummaryAttributes(String feedbackSessionName, String courseId,
+                                                    Set<String> expectedStudents, Set<String> expectedInstructors) {
+        this.feedbackSessionName = feedbackSessionName;
+        this.courseId = courseId;
+        this.expectedStudents = expectedStudents;
+        this.expectedInstructors = expectedInstructors;
+        this.responseCountsByQuestion = new HashMap<String, Integer>();
+        this.responseCountsByGiver = new HashMap<String, Integer>();
+    }
+
+    public FeedbackSessionResponseSummaryAttributes(FeedbackSessionResponseSummary summary) {
+        this.feedbackSessionName = summary.getFeedbackSessionName();
+        this.courseId = summary.getCourseId();
+        this.expectedStudents = summary.getExpectedStudents() == null
+                              ? new HashSet<String>()
+                              : new HashSet<String>(summary.getExpectedStudents());
+        this.expectedInstructors = summary.getExpectedInstructors() == null
+                                 ? new HashSet<String>()
+                                 : new HashSet<String>(summary.getExpectedInstructors());
+        this.responseCountsByQuestion = parseCounts(summary.getResponseCountsByQuestion());
+        this.responseCountsByGiver = parseCounts(summary.getResponseCountsByGiver());
+    }
+
+    /**
+     * Adds {@code delta} (which may be negative) to the counts of {@code feedbackQuestionId}
+     * and {@code giver}. Counts which drop to zero are removed.
+     */
+    public void addResponseCount(String feedbackQuestionId, String giver, int delta) {
+        addResponseCountForQuestion(feedbackQuestionId, delta);
+        addResponseCountFromGiver(giver, delta);
+    }
+
+    public void addResponseCountForQuestion(String feedbackQuestionId, int delta) {
+        addCount(responseCountsByQuestion, feedbackQuestionId, delta);
+    }
+
+    public void addResponseCountFromGiver(String giver, int delta) {
+        addCount(responseCountsByGiver, giver, delta);
+    }
+
+    public int getResponseCount() {
+        int total = 0;
+        for (int count : responseCountsByQuestion.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    public int getResponseCountForQuestion(String feedbackQuestionId) {
+        Integer count = responseCountsByQuestion.get(feedbackQuestionId);
+        return count == null ? 0 : count;
+    }
+
+    public int getResponseCountFromGiver(String giver) {
+        Integer count = responseCountsByGiver.get(giver);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * @return the number of expected respondents, counting a student who is also an instructor
+     *         of the course once for each role, as the response rate of the session does.
+     */
+    public int getExpectedRespondentCount() {
+        return expectedStudents.size() + expectedInstructors.size();
+    }
+
+    /**
+     * @return the sorted emails of the expected respondents who have not given any response.
+     */
+    public Set<String> getMissingRespondents() {
+        Set<String> missingRespondents = new TreeSet<String>();
+        for (String email : expectedStudents) {
+            if (getResponseCountFromGiver(email) == 0) {
+                missingRespondents.add(email);
+            }
+        }
+        for (String email : expectedInstructors) {
+            if (getResponseCountFromGiver(email) == 0) {
+                missingRespondents.add(email);
+            }
+        }
+        return missingRespondents;
+    }
+
+    @Override
+    public List<String> getInvalidityInfo() {
+        FieldValidator validator = new FieldValidator();
+        List<String> errors = new ArrayList<String>();
+
+        String error = validator.getValidityInfoForNonNullField("feedback session name", feedbackSessionName);
+        if (!error.isEmpty()) {
+            errors.add(error);
+        }
+
+        error = validator.getInvalidityInfoForCourseId(courseId);
+        if (!error.isEmpty()) {
+            errors.add(error);
+        }
+
+        return errors;
+    }
+
+    @Override
+    public Object toEntity() {
+        return new FeedbackSessionResponseSummary(feedbackSessionName, courseId,
+                                                  new HashSet<String>(expectedStudents),
+                                                  new HashSet<String>(expectedInstructors),
+                                                  getCountsAsText(responseCountsByQuestion),
+                                                  getCountsAsText(responseCountsByGiver));
+    }
+
+    @Override
+    public String getIdentificationString() {
+        return feedbackSessionName + "/" + courseId;
+    }
+
+    @Override
+    public String getEntityTypeAsString() {
+        return "Feedback Session Response Summary";
+    }
+
+    @Override
+    public String getBackupIdentifier() {
+        return Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId;
+    }
+
+    @Override
+    public String getJsonString() {
+        return Utils.getTeammatesGson().toJson(this, FeedbackSessionResponseSummaryAttributes.class);
+    }
+
+    @Override
+    public void sanitizeForSaving() {
+        // summaries are derived from validated entities and are not shown as-is to users
+    }
+
+    public static Text getCountsAsText(Map<String, Integer> counts) {
+        return new Text(Utils.getTeammatesGson().toJson(counts, COUNTS_TYPE));
+    }
+
+    public static Map<String, Integer> parseCounts(Text counts) {
+        if (counts == null) {
+            return new HashMap<String, Integer>();
+        }
+        Map<String, Integer> parsedCounts = Utils.getTeammatesGson().fromJson(counts.getValue(), COUNTS_TYPE);
+        return parsedCounts == null ? new HashMap<String, Integer>() : parsedCounts;
+    }
+
+    private static void addCount(Map<String, Integer> counts, String key, int delta) {
+        Integer count = counts.get(key);
+        int newCount = (count == null ? 0 : count) + delta;
+        if (newCount > 0) {
+            counts.put(key, newCount);
+        } else {
+            counts.remove(key);
+        }
+    }
+}
@@ -9,7 +9,6 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.logging.Logger;
 
 import teammates.common.util.Const;
@@ -39,8 +38,16 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
     public Map<String, boolean[]> visibilityTable;
     public FeedbackSessionResponseStatus responseStatus;
     public CourseRoster roster;
+    /** Shared index of the participants in {@link #roster}; the roster.*Tables are read-only views of it */
+    public ParticipantIndex participantIndex;
     public Map<String, List<FeedbackResponseCommentAttributes>> responseComments;
     public boolean isComplete;
+    
+    /**
+     * For results fetched by page, the cursor from which to fetch the next page of responses.
+     * Null if the bundle holds the last page, or was not fetched by page.
+     */
+    public String nextCursor;
 
     /**
      * Responses with identities of giver/recipients NOT hidden.
@@ -761,8 +768,9 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
         hideResponsesGiverRecipient();
         // unlike emailTeamNameTable, emailLastNameTable and emailTeamNameTable,
         // roster.*Table is populated using the CourseRoster data directly
-        this.rosterTeamNameMembersTable = getTeamNameToEmailsTableFromRoster(roster);
-        this.rosterSectionTeamNameTable = getSectionToTeamNamesFromRoster(roster);
+        this.participantIndex = roster.getParticipantIndex();
+        this.rosterTeamNameMembersTable = participantIndex.getTeamNameMembersTable();
+        this.rosterSectionTeamNameTable = participantIndex.getSectionTeamNameTable();
     }
     
 
@@ -1491,7 +1499,7 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
      */
     private List<String> getSortedListOfStudentEmails() {
         List<String> emailList = new ArrayList<String>();
-        List<StudentAttributes> students = roster.getStudents();
+        List<StudentAttributes> students = new ArrayList<StudentAttributes>(roster.getStudents());
         StudentAttributes.sortBySectionName(students);
         for (StudentAttributes student : students) {
             emailList.add(student.email);
@@ -2085,58 +2093,6 @@ public class FeedbackSessionResultsBundle implements SessionResultsBundle {
         return false;
     }
 
-    private Map<String, Set<String>> getTeamNameToEmailsTableFromRoster(CourseRoster courseroster) {
-        List<StudentAttributes> students = courseroster.getStudents();
-        Map<String, Set<String>> teamNameToEmails = new HashMap<String, Set<String>>();
-
-        for (StudentAttributes student : students) {
-            String studentTeam = student.team;
-            Set<String> studentEmails;
-
-            if (teamNameToEmails.containsKey(studentTeam)) {
-                studentEmails = teamNameToEmails.get(studentTeam);
-            } else {
-                studentEmails = new TreeSet<String>();
-            }
-
-            studentEmails.add(student.email);
-            teamNameToEmails.put(studentTeam, studentEmails);
-        }
-
-        List<InstructorAttributes> instructors = courseroster.getInstructors();
-        String instructorsTeam = Const.USER_TEAM_FOR_INSTRUCTOR;
-        Set<String> instructorEmails = new HashSet<String>();
-
-        for (InstructorAttributes instructor : instructors) {
-            instructorEmails.add(instructor.email);
-            teamNameToEmails.put(instructorsTeam, instructorEmails);
-        }
-
-        return teamNameToEmails;
-    }
-
-    private Map<String, Set<String>> getSectionToTeamNamesFromRoster(CourseRoster courseroster) {
-        List<StudentAttributes> students = courseroster.getStudents();
-        Map<String, Set<String>> sectionToTeam = new HashMap<String, Set<String>>();
-
-        for (StudentAttributes student : students) {
-            String studentSection = student.section;
-            String studentTeam = student.team;
-            Set<String> teamNames;
-
-            if (sectionToTeam.containsKey(studentSection)) {
-                teamNames = sectionToTeam.get(studentSection);
-            } else {
-                teamNames = new HashSet<String>();
-            }
-
-            teamNames.add(studentTeam);
-            sectionToTeam.put(studentSection, teamNames);
-        }
-
-        return sectionToTeam;
-    }
-
     private int compareByQuestionNumber(FeedbackResponseAttributes r1,
                                         FeedbackResponseAttributes r2) {
         FeedbackQuestionAttributes q1 = questions.get(r1.feedbackQuestionId);
@@ -58,8 +58,8 @@ public class FeedbackTextQuestionDetails extends FeedbackQuestionDetails {
                 Slots.FEEDBACK_RESPONSE_TEXT, Const.ParamsNames.FEEDBACK_RESPONSE_TEXT,
                 Slots.QUESTION_INDEX, Integer.toString(qnIdx),
                 Slots.RESPONSE_INDEX, Integer.toString(responseIdx),
-                "${recommendedLengthDisplay}", recommendedLength == 0 ? "style=\"display:none\"" : "",
-                "${recommendedLength}", Integer.toString(recommendedLength),
+                Slots.TEXT_RECOMMENDED_LENGTH_DISPLAY, recommendedLength == 0 ? "style=\"display:none\"" : "",
+                Slots.TEXT_RECOMMENDED_LENGTH, Integer.toString(recommendedLength),
                 Slots.TEXT_EXISTING_RESPONSE, Sanitizer.sanitizeForHtml(existingResponseDetails.getAnswerString()));
     }
 
@@ -72,8 +72,8 @@ public class FeedbackTextQuestionDetails extends FeedbackQuestionDetails {
                 Slots.FEEDBACK_RESPONSE_TEXT, Const.ParamsNames.FEEDBACK_RESPONSE_TEXT,
                 Slots.QUESTION_INDEX, Integer.toString(qnIdx),
                 Slots.RESPONSE_INDEX, Integer.toString(responseIdx),
-                "${recommendedLengthDisplay}", recommendedLength == 0 ? "style=\"display:none\"" : "",
-                "${recommendedLength}", Integer.toString(recommendedLength),
+                Slots.TEXT_RECOMMENDED_LENGTH_DISPLAY, recommendedLength == 0 ? "style=\"display:none\"" : "",
+                Slots.TEXT_RECOMMENDED_LENGTH, Integer.toString(recommendedLength),
                 Slots.TEXT_EXISTING_RESPONSE, "");
     }
 
@@ -81,7 +81,7 @@ public class FeedbackTextQuestionDetails extends FeedbackQuestionDetails {
     public String getQuestionSpecificEditFormHtml(int questionNumber) {
         return Templates.populateTemplate(
                 FormTemplates.TEXT_EDIT_FORM,
-                "${recommendedlength}", recommendedLength == 0 ? "" : Integer.toString(recommendedLength));
+                Slots.TEXT_RECOMMENDED_LENGTH, recommendedLength == 0 ? "" : Integer.toString(recommendedLength));
     }
     
     @Override
@@ -1,7 +1,14 @@
 package teammates.common.datatransfer;
 
+import java.io.IOException;
+
+import teammates.common.util.JsonObjectAdapter;
 import teammates.common.util.Sanitizer;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
 public class FeedbackTextResponseDetails extends
         FeedbackResponseDetails {
     
@@ -39,4 +46,37 @@ public class FeedbackTextResponseDetails extends
         return Sanitizer.sanitizeForCsv(answer);
     }
 
+    /**
+     * Reads and writes these details as JSON without reflection.
+     */
+    public static final TypeAdapter<FeedbackTextResponseDetails> JSON_ADAPTER =
+            new JsonObjectAdapter<FeedbackTextResponseDetails>() {
+        @Override
+        protected FeedbackTextResponseDetails newInstance() {
+            return new FeedbackTextResponseDetails();
+        }
+
+        @Override
+        protected void writeFields(JsonWriter out, FeedbackTextResponseDetails details)
+                throws IOException {
+            writeField(out, "answer", details.answer);
+            writeField(out, "questionType", details.questionType);
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, FeedbackTextResponseDetails details)
+                throws IOException {
+            switch (name) {
+            case "answer":
+                details.answer = in.nextString();
+                return true;
+            case "questionType":
+                details.questionType = readEnum(in, FeedbackQuestionType.class);
+                return true;
+            default:
+                return false;
+            }
+        }
+    };
+
 }
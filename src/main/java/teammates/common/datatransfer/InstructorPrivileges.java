@@ -1,11 +1,18 @@
 package teammates.common.datatransfer;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
+import teammates.common.util.JsonObjectAdapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * Representation of instructor privileges. Store the privileges of the instructor
@@ -111,6 +118,9 @@ public final class InstructorPrivileges {
     private HashMap<String, HashMap<String, Boolean>> sectionLevel;
     private HashMap<String, HashMap<String, HashMap<String, Boolean>>> sessionLevel;
     
+    /** The privileges above compiled for lookup, built on the first lookup after they are changed */
+    private transient CompiledInstructorPrivileges compiled;
+    
     public InstructorPrivileges() {
         this.courseLevel = new HashMap<String, Boolean>();
         this.sectionLevel = new HashMap<String, HashMap<String, Boolean>>();
@@ -177,6 +187,7 @@ public final class InstructorPrivileges {
     }
     
     private void setDefaultPrivileges(HashMap<String, Boolean> defaultPrivileges) {
+        compiled = null;
         for (String privilege : defaultPrivileges.keySet()) {
             courseLevel.put(privilege, defaultPrivileges.get(privilege));
         }
@@ -252,6 +263,7 @@ public final class InstructorPrivileges {
     }
     
     private void updatePrivilegeInCourseLevel(String privilegeName, boolean isAllowed) {
+        compiled = null;
         if (!isPrivilegeNameValid(privilegeName)) {
             return;
         }
@@ -259,6 +271,7 @@ public final class InstructorPrivileges {
     }
     
     private void updatePrivilegeInSectionLevel(String sectionName, String privilegeName, boolean isAllowed) {
+        compiled = null;
         if (!isPrivilegeNameValidForSectionLevel(privilegeName)) {
             return;
         }
@@ -270,6 +283,7 @@ public final class InstructorPrivileges {
     
     private void updatePrivilegeInSessionLevel(String sectionName, String sessionName,
                                                String privilegeName, boolean isAllowed) {
+        compiled = null;
         if (!isPrivilegeNameValidForSessionLevel(privilegeName)) {
             return;
         }
@@ -303,6 +317,7 @@ public final class InstructorPrivileges {
     
     @SuppressWarnings("unchecked")
     private void updatePrivilegesInSectionLevel(String sectionName, HashMap<String, Boolean> privileges) {
+        compiled = null;
         for (String privilegeName : privileges.keySet()) {
             if (!isPrivilegeNameValidForSectionLevel(privilegeName)) {
                 return;
@@ -314,6 +329,7 @@ public final class InstructorPrivileges {
     @SuppressWarnings("unchecked")
     private void updatePrivilegesInSessionLevel(String sectionName, String sessionName,
                                                 HashMap<String, Boolean> privileges) {
+        compiled = null;
         for (String privilegeName : privileges.keySet()) {
             if (!isPrivilegeNameValidForSessionLevel(privilegeName)) {
                 return;
@@ -331,6 +347,7 @@ public final class InstructorPrivileges {
     }
     
     public void addSectionWithDefaultPrivileges(String sectionName) {
+        compiled = null;
         if (this.sectionLevel.containsKey(sectionName)) {
             return;
         }
@@ -338,6 +355,7 @@ public final class InstructorPrivileges {
     }
     
     public void addSessionWithDefaultPrivileges(String sectionName, String sessionName) {
+        compiled = null;
         verifyExistenceOfsectionName(sectionName);
         if (this.sessionLevel.get(sectionName).containsKey(sessionName)) {
             return;
@@ -350,7 +368,7 @@ public final class InstructorPrivileges {
      * @return whether it is allowed for the privilege specified by privilegeName
      */
     public boolean isAllowedForPrivilege(String privilegeName) {
-        return isAllowedInCourseLevel(privilegeName);
+        return getCompiled().isAllowed(privilegeName);
     }
     
     /**
@@ -360,7 +378,7 @@ public final class InstructorPrivileges {
      * @return whether it is allowed for the privilege specified by privilegeName in sectionName
      */
     public boolean isAllowedForPrivilege(String sectionName, String privilegeName) {
-        return isAllowedInSectionLevel(sectionName, privilegeName);
+        return getCompiled().isAllowed(sectionName, privilegeName);
     }
     
     /**
@@ -371,14 +389,23 @@ public final class InstructorPrivileges {
      * @return whether it is allowed for the privilege specified by privilegeName for sessionName in sectionName
      */
     public boolean isAllowedForPrivilege(String sectionName, String sessionName, String privilegeName) {
-        return isAllowedInSessionLevel(sectionName, sessionName, privilegeName);
+        return getCompiled().isAllowed(sectionName, sessionName, privilegeName);
     }
     
     /**
      * Returns true if privilege for session is present for any section.
      */
     public boolean isAllowedForPrivilegeAnySection(String sessionName, String privilegeName) {
-        return isAllowedInSessionLevelAnySection(sessionName, privilegeName);
+        return getCompiled().isAllowedInAnySection(sessionName, privilegeName);
+    }
+    
+    private CompiledInstructorPrivileges getCompiled() {
+        CompiledInstructorPrivileges compiledPrivileges = compiled;
+        if (compiledPrivileges == null) {
+            compiledPrivileges = new CompiledInstructorPrivileges(courseLevel, sectionLevel, sessionLevel);
+            compiled = compiledPrivileges;
+        }
+        return compiledPrivileges;
     }
 
     public boolean hasCoownerPrivileges() {
@@ -441,6 +468,7 @@ public final class InstructorPrivileges {
      * @param sectionName
      */
     public void removeSectionLevelPrivileges(String sectionName) {
+        compiled = null;
         if (this.sectionLevel.containsKey(sectionName)) {
             this.sectionLevel.remove(sectionName);
         }
@@ -452,6 +480,7 @@ public final class InstructorPrivileges {
      * @param sectionName
      */
     public void removeSessionsPrivilegesForSection(String sectionName) {
+        compiled = null;
         if (this.sessionLevel.containsKey(sectionName)) {
             this.sessionLevel.remove(sectionName);
         }
@@ -463,6 +492,7 @@ public final class InstructorPrivileges {
      * @param sessionName
      */
     public void removeSessionPrivileges(String sectionName, String sessionName) {
+        compiled = null;
         if (this.sessionLevel.containsKey(sectionName) && this.sessionLevel.get(sectionName).containsKey(sessionName)) {
             this.sessionLevel.get(sectionName).remove(sessionName);
         }
@@ -492,40 +522,13 @@ public final class InstructorPrivileges {
         return this.sectionLevel.get(sectionName).get(privilegeName).booleanValue();
     }
     
-    private boolean isAllowedInSessionLevel(String sectionName, String sessionName, String privilegeName) {
-
-        Assumption.assertTrue(isPrivilegeNameValid(privilegeName));
-
-        if (!this.sessionLevel.containsKey(sectionName)
-                || !this.sessionLevel.get(sectionName).containsKey(sessionName)) {
-            return isAllowedInSectionLevel(sectionName, privilegeName);
-        }
-        if (!this.sessionLevel.get(sectionName).get(sessionName).containsKey(privilegeName)) {
-            return false;
-        }
-        return this.sessionLevel.get(sectionName).get(sessionName).get(privilegeName).booleanValue();
-    }
-    
-    private boolean isAllowedInSessionLevelAnySection(String sessionName, String privilegeName) {
-
-        Assumption.assertTrue(isPrivilegeNameValid(privilegeName));
-
-        HashSet<String> sections = new HashSet<String>(this.sessionLevel.keySet());
-        sections.addAll(this.sectionLevel.keySet());
-        for (String sectionName : sections) {
-            if (isAllowedInSessionLevel(sectionName, sessionName, privilegeName)) {
-                return true;
-            }
-        }
-        return false;
-    }
-    
     /**
      * validate the privileges in course level, section level and session level
      * make sure there is nothing wrong with privileges hierarchy by adding the
      * prerequisite privileges if they have not been granted yet
      */
     public void validatePrivileges() {
+        compiled = null;
         if (this.courseLevel.containsKey(Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_COMMENT_IN_SECTIONS)
                 && this.courseLevel.get(Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_COMMENT_IN_SECTIONS).booleanValue()) {
             this.courseLevel.put(Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_COMMENT_IN_SECTIONS, true);
@@ -606,5 +609,98 @@ public final class InstructorPrivileges {
         
         return result;
     }
-    
+
+    /**
+     * Reads and writes privileges as JSON without reflection.
+     */
+    public static final TypeAdapter<InstructorPrivileges> JSON_ADAPTER = new JsonObjectAdapter<InstructorPrivileges>() {
+        @Override
+        protected InstructorPrivileges newInstance() {
+            return new InstructorPrivileges();
+        }
+
+        @Override
+        protected void writeFields(JsonWriter out, InstructorPrivileges privileges) throws IOException {
+            if (privileges.courseLevel != null) {
+                out.name("courseLevel");
+                writePrivileges(out, privileges.courseLevel);
+            }
+            if (privileges.sectionLevel != null) {
+                out.name("sectionLevel").beginObject();
+                for (Map.Entry<String, HashMap<String, Boolean>> section : privileges.sectionLevel.entrySet()) {
+                    out.name(section.getKey());
+                    writePrivileges(out, section.getValue());
+                }
+                out.endObject();
+            }
+            if (privileges.sessionLevel != null) {
+                out.name("sessionLevel").beginObject();
+                for (Map.Entry<String, HashMap<String, HashMap<String, Boolean>>> section
+                        : privileges.sessionLevel.entrySet()) {
+                    out.name(section.getKey()).beginObject();
+                    for (Map.Entry<String, HashMap<String, Boolean>> session : section.getValue().entrySet()) {
+                        out.name(session.getKey());
+                        writePrivileges(out, session.getValue());
+                    }
+                    out.endObject();
+                }
+                out.endObject();
+            }
+        }
+
+        private void writePrivileges(JsonWriter out, HashMap<String, Boolean> privileges) throws IOException {
+            out.beginObject();
+            for (Map.Entry<String, Boolean> privilege : privileges.entrySet()) {
+                if (privilege.getValue() != null) {
+                    out.name(privilege.getKey()).value(privilege.getValue());
+                }
+            }
+            out.endObject();
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, InstructorPrivileges privileges) throws IOException {
+            privileges.compiled = null;
+            switch (name) {
+            case "courseLevel":
+                privileges.courseLevel = readPrivileges(in);
+                return true;
+            case "sectionLevel":
+                privileges.sectionLevel = new HashMap<String, HashMap<String, Boolean>>();
+                in.beginObject();
+                while (in.hasNext()) {
+                    privileges.sectionLevel.put(in.nextName(), readPrivileges(in));
+                }
+                in.endObject();
+                return true;
+            case "sessionLevel":
+                privileges.sessionLevel = new HashMap<String, HashMap<String, HashMap<String, Boolean>>>();
+                in.beginObject();
+                while (in.hasNext()) {
+                    HashMap<String, HashMap<String, Boolean>> sessions = new HashMap<String, HashMap<String, Boolean>>();
+                    privileges.sessionLevel.put(in.nextName(), sessions);
+                    in.beginObject();
+                    while (in.hasNext()) {
+                        sessions.put(in.nextName(), readPrivileges(in));
+                    }
+                    in.endObject();
+                }
+                in.endObject();
+                return true;
+            default:
+                return false;
+            }
+        }
+
+        private HashMap<String, Boolean> readPrivileges(JsonReader in) throws IOException {
+            HashMap<String, Boolean> privileges = new HashMap<String, Boolean>();
+            in.beginObject();
+            while (in.hasNext()) {
+                privileges.put(in.nextName(), in.nextBoolean());
+            }
+            in.endObject();
+            return privileges;
+        }
+    };
+
 }
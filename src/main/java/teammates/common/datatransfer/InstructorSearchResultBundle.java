@@ -6,13 +6,13 @@ import java.util.Comparator;
 import java.util.List;
 
 import teammates.common.util.Const;
+import teammates.common.util.JsonCodecs;
 import teammates.common.util.StringHelper;
 import teammates.logic.core.InstructorsLogic;
 
 import com.google.appengine.api.search.Cursor;
 import com.google.appengine.api.search.Results;
 import com.google.appengine.api.search.ScoredDocument;
-import com.google.gson.Gson;
 
 public class InstructorSearchResultBundle extends SearchResultBundle {
     
@@ -37,9 +37,9 @@ public class InstructorSearchResultBundle extends SearchResultBundle {
         cursor = results.getCursor();
         
         for (ScoredDocument doc : results) {
-            InstructorAttributes instructor =
-                    new Gson().fromJson(doc.getOnlyField(Const.SearchDocumentField.INSTRUCTOR_ATTRIBUTE).getText(),
-                                                         InstructorAttributes.class);
+            InstructorAttributes instructor = JsonCodecs.getCompactGson().fromJson(
+                    doc.getOnlyField(Const.SearchDocumentField.INSTRUCTOR_ATTRIBUTE).getText(),
+                    InstructorAttributes.class);
             
             if (instructorsLogic.getInstructorForRegistrationKey(StringHelper.encrypt(instructor.key)) == null) {
                 instructorsLogic.deleteDocument(instructor);
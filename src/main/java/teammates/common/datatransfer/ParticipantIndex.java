@@ -0,0 +1,200 @@
+package teammates.common.datatransfer;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import teammates.common.util.Const;
+
+/**
+ * Read-only index of the participants of a course, used to resolve the names and teams
+ * shown in feedback session results.<br>
+ * Participant identifiers are interned to positions in parallel name/last name/team/section columns,
+ * and the display names of each participant are computed once when the index is built.
+ * An index is built once per roster (see {@link CourseRoster#getParticipantIndex()}), so that it is shared
+ * by the results of all users and sessions that read the same cached roster of a course.
+ */
+public final class ParticipantIndex {
+
+    /** Index in the arrays returned by {@link #getNameTeamNamePair} */
+    public static final int NAME = 0;
+    public static final int LAST_NAME = 1;
+    public static final int TEAM_NAME = 2;
+
+    private final Map<String, Integer> positions = new HashMap<String, Integer>();
+
+    /** Students occupy positions [0, numberOfStudents), instructors the positions after */
+    private final int numberOfStudents;
+    private final String[] names;
+    private final String[] lastNames;
+    private final String[] teams;
+    private final String[] sections;
+
+    /** Display names of each participant, when shown as an individual and when shown as a team */
+    private final String[][] individualNamePairs;
+    private final String[][] teamNamePairs;
+
+    private final Map<String, Set<String>> teamNameMembersTable;
+    private final Map<String, Set<String>> sectionTeamNameTable;
+
+    ParticipantIndex(CourseRoster roster) {
+        List<StudentAttributes> students = roster.getStudents();
+        List<InstructorAttributes> instructors = roster.getInstructors();
+        int size = students.size() + instructors.size();
+        names = new String[size];
+        lastNames = new String[size];
+        teams = new String[size];
+        sections = new String[size];
+
+        int position = 0;
+        for (StudentAttributes student : students) {
+            positions.put(student.email, position);
+            names[position] = student.name;
+            lastNames[position] = student.lastName;
+            teams[position] = student.team;
+            sections[position] = student.section;
+            position++;
+        }
+        numberOfStudents = position;
+        for (InstructorAttributes instructor : instructors) {
+            if (positions.containsKey(instructor.email)) {
+                // a participant who is both a student and an instructor is shown as a student
+                continue;
+            }
+            positions.put(instructor.email, position);
+            names[position] = instructor.name;
+            lastNames[position] = instructor.name;
+            teams[position] = Const.USER_TEAM_FOR_INSTRUCTOR;
+            sections[position] = Const.DEFAULT_SECTION;
+            position++;
+        }
+
+        individualNamePairs = new String[position][];
+        teamNamePairs = new String[position][];
+        for (int i = 0; i < position; i++) {
+            individualNamePairs[i] = new String[] { names[i], lastNames[i], teams[i] };
+            teamNamePairs[i] = new String[] { teams[i], teams[i], "" };
+        }
+
+        teamNameMembersTable = buildTeamNameMembersTable(students, instructors);
+        sectionTeamNameTable = buildSectionTeamNameTable(students);
+    }
+
+    /**
+     * @return the position of the participant in the index, or -1 if the identifier is not the email
+     *         of a student or instructor of the course (e.g. a team name or {@link Const#GENERAL_QUESTION}).
+     */
+    public int getPosition(String participantIdentifier) {
+        Integer position = positions.get(participantIdentifier);
+        return position == null ? -1 : position;
+    }
+
+    public boolean isStudent(String participantIdentifier) {
+        int position = getPosition(participantIdentifier);
+        return position >= 0 && position < numberOfStudents;
+    }
+
+    /**
+     * @return the team of the participant, {@link Const#USER_TEAM_FOR_INSTRUCTOR} for instructors,
+     *         or null if the participant is not in the course.
+     */
+    public String getTeam(String participantIdentifier) {
+        int position = getPosition(participantIdentifier);
+        return position < 0 ? null : teams[position];
+    }
+
+    /**
+     * @return the section of the participant, {@link Const#DEFAULT_SECTION} for instructors,
+     *         or null if the participant is not in the course.
+     */
+    public String getSection(String participantIdentifier) {
+        int position = getPosition(participantIdentifier);
+        return position < 0 ? null : sections[position];
+    }
+
+    /**
+     * Returns the name (at index {@link #NAME}), last name (at index {@link #LAST_NAME})
+     * and team name (at index {@link #TEAM_NAME}) to show for a giver or recipient of {@code type}.<br>
+     * The returned array is shared and must not be modified.
+     */
+    public String[] getNameTeamNamePair(FeedbackParticipantType type, String participantIdentifier) {
+        boolean isTeamType = type == FeedbackParticipantType.TEAMS || type == FeedbackParticipantType.OWN_TEAM;
+        int position = getPosition(participantIdentifier);
+        if (position >= 0) {
+            return isTeamType ? teamNamePairs[position] : individualNamePairs[position];
+        }
+
+        if (isTeamType) {
+            // the identifier is used as the team name
+            return new String[] { participantIdentifier, participantIdentifier, "" };
+        }
+        // Const.GENERAL_QUESTION represents that there is no specific recipient.
+        // Otherwise, the identifier might be a team name or the participant has been deleted.
+        String name = Const.GENERAL_QUESTION.equals(participantIdentifier) ? Const.USER_IS_NOBODY
+                                                                             : Const.USER_IS_MISSING;
+        return new String[] { name, name, "" };
+    }
+
+    /**
+     * @return an unmodifiable map of team names to the emails of the members of the team.
+     *         Instructors are in the {@link Const#USER_TEAM_FOR_INSTRUCTOR} team.
+     */
+    public Map<String, Set<String>> getTeamNameMembersTable() {
+        return teamNameMembersTable;
+    }
+
+    /**
+     * @return an unmodifiable map of section names to the names of the teams in the section.
+     */
+    public Map<String, Set<String>> getSectionTeamNameTable() {
+        return sectionTeamNameTable;
+    }
+
+    private static Map<String, Set<String>> buildTeamNameMembersTable(List<StudentAttributes> students,
+                                                                      List<InstructorAttributes> instructors) {
+        Map<String, Set<String>> teamNameToEmails = new HashMap<String, Set<String>>();
+        for (StudentAttributes student : students) {
+            Set<String> studentEmails = teamNameToEmails.get(student.team);
+            if (studentEmails == null) {
+                studentEmails = new TreeSet<String>();
+                teamNameToEmails.put(student.team, studentEmails);
+            }
+            studentEmails.add(student.email);
+        }
+
+        if (!instructors.isEmpty()) {
+            Set<String> instructorEmails = new HashSet<String>();
+            for (InstructorAttributes instructor : instructors) {
+                instructorEmails.add(instructor.email);
+            }
+            teamNameToEmails.put(Const.USER_TEAM_FOR_INSTRUCTOR, instructorEmails);
+        }
+
+        return getUnmodifiableTable(teamNameToEmails);
+    }
+
+    private static Map<String, Set<String>> buildSectionTeamNameTable(List<StudentAttributes> students) {
+        Map<String, Set<String>> sectionToTeams = new HashMap<String, Set<String>>();
+        for (StudentAttributes student : students) {
+            Set<String> teamNames = sectionToTeams.get(student.section);
+            if (teamNames == null) {
+                teamNames = new HashSet<String>();
+                sectionToTeams.put(student.section, teamNames);
+            }
+            teamNames.add(student.team);
+        }
+        return getUnmodifiableTable(sectionToTeams);
+    }
+
+    private static Map<String, Set<String>> getUnmodifiableTable(Map<String, Set<String>> table) {
+        for (Map.Entry<String, Set<String>> entry : table.entrySet()) {
+            entry.setValue(Collections.unmodifiableSet(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(table);
+    }
+
+}
@@ -2,6 +2,7 @@ package teammates.common.datatransfer;
 
 import static teammates.common.util.Const.EOL;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -12,11 +13,16 @@ import teammates.common.util.Assumption;
 import teammates.common.util.Config;
 import teammates.common.util.Const;
 import teammates.common.util.FieldValidator;
+import teammates.common.util.JsonObjectAdapter;
 import teammates.common.util.Sanitizer;
 import teammates.common.util.StringHelper;
 import teammates.common.util.Utils;
 import teammates.storage.entity.Student;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
 public class StudentAttributes extends EntityAttributes {
     public enum UpdateStatus {
         // @formatter:off
@@ -410,4 +416,67 @@ public class StudentAttributes extends EntityAttributes {
     public boolean isTeamChanged(StudentAttributes originalStudentAttribute) {
         return this.team != null && !this.team.equals(originalStudentAttribute.team);
     }
+
+    /**
+     * Reads and writes students as JSON without reflection.
+     */
+    public static final TypeAdapter<StudentAttributes> JSON_ADAPTER = new JsonObjectAdapter<StudentAttributes>() {
+        @Override
+        protected StudentAttributes newInstance() {
+            return new StudentAttributes();
+        }
+
+        @Override
+        protected void writeFields(JsonWriter out, StudentAttributes student) throws IOException {
+            writeField(out, "googleId", student.googleId);
+            writeField(out, "name", student.name);
+            writeField(out, "lastName", student.lastName);
+            writeField(out, "email", student.email);
+            writeField(out, "course", student.course);
+            writeField(out, "comments", student.comments);
+            writeField(out, "team", student.team);
+            writeField(out, "section", student.section);
+            writeField(out, "key", student.key);
+            writeField(out, "updateStatus", student.updateStatus);
+        }
+
+        @Override
+        protected boolean readField(JsonReader in, String name, StudentAttributes student) throws IOException {
+            switch (name) {
+            case "googleId":
+                student.googleId = in.nextString();
+                return true;
+            case "name":
+                student.name = in.nextString();
+                return true;
+            case "lastName":
+                student.lastName = in.nextString();
+                return true;
+            case "email":
+                student.email = in.nextString();
+                return true;
+            case "course":
+                student.course = in.nextString();
+                return true;
+            case "comments":
+                student.comments = in.nextString();
+                return true;
+            case "team":
+                student.team = in.nextString();
+                return true;
+            case "section":
+                student.section = in.nextString();
+                return true;
+            case "key":
+                student.key = in.nextString();
+                return true;
+            case "updateStatus":
+                student.updateStatus = readEnum(in, UpdateStatus.class);
+                return true;
+            default:
+                return false;
+            }
+        }
+    };
+
 }
@@ -0,0 +1,199 @@
+package teammates.common.datatransfer;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import teammates.common.util.FieldValidator;
+import teammates.common.util.Utils;
+import teammates.storage.entity.StudentDashboard;
+
+import com.google.appengine.api.datastore.Text;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * The courses and feedback sessions shown on the home page of a student.<br>
+ * Only what depends on the roster, questions and responses of a course is kept, i.e. which sessions
+ * the student can see and whether the student has submitted them. The courses and sessions themselves
+ * are read when the dashboard is shown, so that changes to their times are shown without rebuilding it.
+ */
+public class StudentDashboardAttributes extends EntityAttributes {
+
+    private static final Type COURSES_TYPE = new TypeToken<ArrayList<CourseEntry>>(){}.getType();
+
+    public String googleId;
+    public List<CourseEntry> courses;
+
+    /** The version of the dashboard when it was read, which is 0 for a dashboard never written before */
+    public long version;
+
+    /** Whether the dashboard has been discarded, in which case it has no courses and must be rebuilt */
+    public boolean isDiscarded;
+
+    /**
+     * A course of the student, with the sessions of the course which the student can see.
+     */
+    public static class CourseEntry {
+        public String courseId;
+        public String studentEmail;
+        /** The version of the dashboards of the course when this entry was built */
+        public long courseVersion;
+        public List<SessionEntry> sessions = new ArrayList<SessionEntry>();
+
+        public CourseEntry(String courseId, String studentEmail, long courseVersion) {
+            this.courseId = courseId;
+            this.studentEmail = studentEmail;
+            this.courseVersion = courseVersion;
+        }
+
+        public SessionEntry getSession(String feedbackSessionName) {
+            for (SessionEntry session : sessions) {
+                if (session.feedbackSessionName.equals(feedbackSessionName)) {
+                    return session;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A session which the student can see, either always or once the session is visible.
+     */
+    public static class SessionEntry {
+        public String feedbackSessionName;
+        public boolean isAlwaysViewable;
+        public boolean hasSubmitted;
+
+        public SessionEntry(String feedbackSessionName, boolean isAlwaysViewable, boolean hasSubmitted) {
+            this.feedbackSessionName = feedbackSessionName;
+            this.isAlwaysViewable = isAlwaysViewable;
+            this.hasSubmitted = hasSubmitted;
+        }
+
+        public boolean isViewable(FeedbackSessionAttributes session) {
+            return isAlwaysViewable || session.isVisible();
+        }
+    }
+
+    public StudentDashboardAttributes(String googleId) {
+        this.googleId = googleId;
+        this.courses = new ArrayList<CourseEntry>();
+    }
+
+    public StudentDashboardAttributes(StudentDashboard dashboard) {
+        this.googleId = dashboard.getGoogleId();
+        this.courses = parseCourses(dashboard.getCourses());
+        this.version = dashboard.getVersion();
+        this.isDiscarded = dashboard.getCourses() == null;
+    }
+
+    public List<String> getCourseIds() {
+        List<String> courseIds = new ArrayList<String>();
+        for (CourseEntry course : courses) {
+            courseIds.add(course.courseId);
+        }
+        return courseIds;
+    }
+
+    public CourseEntry getCourse(String courseId) {
+        for (CourseEntry course : courses) {
+            if (course.courseId.equals(courseId)) {
+                return course;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param courseVersions the current versions of the dashboards of the courses of the students
+     * @return true if the dashboard was built for exactly the given student records of the account,
+     *         i.e. the student has not joined or left a course, or changed email, since, and none
+     *         of the courses has changed in a way which changes the dashboard.
+     */
+    public boolean isBuiltFor(List<StudentAttributes> studentsOfAccount, Map<String, Long> courseVersions) {
+        if (isDiscarded) {
+            return false;
+        }
+        Set<String> builtFor = new HashSet<String>();
+        for (CourseEntry course : courses) {
+            builtFor.add(course.courseId + "%" + course.studentEmail + "%" + course.courseVersion);
+        }
+        Set<String> students = new HashSet<String>();
+        for (StudentAttributes student : studentsOfAccount) {
+            students.add(student.course + "%" + student.email + "%" + courseVersions.get(student.course));
+        }
+        return builtFor.equals(students);
+    }
+
+    /**
+     * Sets whether the student has submitted the session.
+     * @return false if the session is not in the dashboard.
+     */
+    public boolean setSessionSubmitted(String courseId, String feedbackSessionName, boolean hasSubmitted) {
+        CourseEntry course = getCourse(courseId);
+        SessionEntry session = course == null ? null : course.getSession(feedbackSessionName);
+        if (session == null) {
+            return false;
+        }
+        session.hasSubmitted = hasSubmitted;
+        return true;
+    }
+
+    @Override
+    public List<String> getInvalidityInfo() {
+        FieldValidator validator = new FieldValidator();
+        List<String> errors = new ArrayList<String>();
+
+        String error = validator.getInvalidityInfoForGoogleId(googleId);
+        if (!error.isEmpty()) {
+            errors.add(error);
+        }
+
+        return errors;
+    }
+
+    @Override
+    public Object toEntity() {
+        return new StudentDashboard(googleId, version, isDiscarded ? null : getCoursesAsText(courses));
+    }
+
+    @Override
+    public String getIdentificationString() {
+        return googleId;
+    }
+
+    @Override
+    public String getEntityTypeAsString() {
+        return "Student Dashboard";
+    }
+
+    @Override
+    public String getBackupIdentifier() {
+        return "Student dashboard of " + googleId;
+    }
+
+    @Override
+    public String getJsonString() {
+        return Utils.getTeammatesGson().toJson(this, StudentDashboardAttributes.class);
+    }
+
+    @Override
+    public void sanitizeForSaving() {
+        // dashboards are derived from validated entities and are not shown as-is to users
+    }
+
+    public static Text getCoursesAsText(List<CourseEntry> courses) {
+        return new Text(Utils.getTeammatesGson().toJson(courses, COURSES_TYPE));
+    }
+
+    private static List<CourseEntry> parseCourses(Text courses) {
+        if (courses == null) {
+            return new ArrayList<CourseEntry>();
+        }
+        List<CourseEntry> parsedCourses = Utils.getTeammatesGson().fromJson(courses.getValue(), COURSES_TYPE);
+        return parsedCourses == null ? new ArrayList<CourseEntry>() : parsedCourses;
+    }
+}
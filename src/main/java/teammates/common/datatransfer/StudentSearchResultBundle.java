@@ -4,17 +4,18 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import teammates.common.util.Const;
-import teammates.common.util.StringHelper;
+import teammates.common.util.JsonCodecs;
 import teammates.logic.core.StudentsLogic;
 
 import com.google.appengine.api.search.Cursor;
 import com.google.appengine.api.search.Results;
 import com.google.appengine.api.search.ScoredDocument;
-import com.google.gson.Gson;
 
 public class StudentSearchResultBundle extends SearchResultBundle {
 
@@ -42,22 +43,7 @@ public class StudentSearchResultBundle extends SearchResultBundle {
         }
         
         List<ScoredDocument> filteredResults = filterOutCourseId(results, instructors);
-        for (ScoredDocument doc : filteredResults) {
-            StudentAttributes student = new Gson().fromJson(
-                    doc.getOnlyField(Const.SearchDocumentField.STUDENT_ATTRIBUTE).getText(),
-                    StudentAttributes.class);
-            if (student.key == null) {
-                studentsLogic.deleteDocument(student);
-                continue;
-            }
-            if (studentsLogic.getStudentForRegistrationKey(StringHelper.encrypt(student.key)) == null) {
-                studentsLogic.deleteDocument(student);
-                continue;
-            }
-            
-            studentList.add(student);
-            numberOfResults++;
-        }
+        addExistingStudents(filteredResults);
         
         sortStudentResultList();
         
@@ -79,23 +65,53 @@ public class StudentSearchResultBundle extends SearchResultBundle {
         
         cursor = results.getCursor();
         
+        List<ScoredDocument> documents = new ArrayList<ScoredDocument>();
         for (ScoredDocument doc : results) {
-            StudentAttributes student =
-                    new Gson().fromJson(doc.getOnlyField(Const.SearchDocumentField.STUDENT_ATTRIBUTE).getText(),
-                                                         StudentAttributes.class);
-            
-            if (studentsLogic.getStudentForRegistrationKey(StringHelper.encrypt(student.key)) == null) {
+            documents.add(doc);
+        }
+        addExistingStudents(documents);
+        
+        sortStudentResultList();
+        
+        return this;
+    }
+
+    /**
+     * Adds the students in {@code documents} which still exist to the result list.
+     * The students are looked up together instead of one at a time, and the documents
+     * of students which no longer exist are removed from the search index.
+     */
+    private void addExistingStudents(List<ScoredDocument> documents) {
+        List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+        List<String> keys = new ArrayList<String>();
+        for (ScoredDocument doc : documents) {
+            StudentAttributes student = JsonCodecs.getCompactGson().fromJson(
+                    doc.getOnlyField(Const.SearchDocumentField.STUDENT_ATTRIBUTE).getText(),
+                    StudentAttributes.class);
+            if (student.key == null) {
                 studentsLogic.deleteDocument(student);
                 continue;
             }
+            students.add(student);
+            keys.add(student.key);
+        }
+        
+        Set<String> existingKeys = new HashSet<String>();
+        for (StudentAttributes existingStudent : studentsLogic.getStudentsForKeys(keys)) {
+            existingKeys.add(existingStudent.key);
+        }
+        
+        List<StudentAttributes> staleStudents = new ArrayList<StudentAttributes>();
+        for (StudentAttributes student : students) {
+            if (!existingKeys.contains(student.key)) {
+                staleStudents.add(student);
+                continue;
+            }
             
             studentList.add(student);
             numberOfResults++;
         }
-        
-        sortStudentResultList();
-        
-        return this;
+        studentsLogic.deleteDocuments(staleStudents);
     }
 
     private void sortStudentResultList() {
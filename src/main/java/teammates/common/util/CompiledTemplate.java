@@ -0,0 +1,219 @@
+package teammates.common.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A template parsed once into its literal text and its <code>${...}</code> placeholders,
+ * so that it can be populated in a single pass instead of one {@link String#replace} pass per value.<br>
+ * Populating gives the same result as {@link Templates#populateTemplate} replacing the values one after
+ * another: placeholders without a value are left as they are, and placeholders in a value are replaced
+ * by the values given after it. Replacing one after another can also form placeholders out of text which
+ * ends up next to a value, e.g. a value ending with <code>$</code> followed by <code>{name}</code>;
+ * {@link #canPopulate} tells whether the template and the values can do so.
+ */
+final class CompiledTemplate {
+
+    private static final String PLACEHOLDER_START = "${";
+    private static final char PLACEHOLDER_END = '}';
+
+    /** Builders above this capacity are not kept for reuse, so that one large page does not pin memory. */
+    private static final int MAX_REUSED_BUILDER_CAPACITY = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUILDER = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder();
+        }
+    };
+
+    /** Literal text before each placeholder, followed by the literal text after the last placeholder */
+    private final String[] literals;
+    private final String[] placeholders;
+    private final int literalLength;
+    private final boolean canFormPlaceholders;
+
+    private CompiledTemplate(List<String> literals, List<String> placeholders) {
+        this.literals = literals.toArray(new String[literals.size()]);
+        this.placeholders = placeholders.toArray(new String[placeholders.size()]);
+        int length = 0;
+        boolean isAnyLiteralOpen = false;
+        for (String literal : literals) {
+            length += literal.length();
+            isAnyLiteralOpen = isAnyLiteralOpen || isOpenAtEnd(literal, 0, literal.length());
+        }
+        this.literalLength = length;
+        this.canFormPlaceholders = isAnyLiteralOpen;
+    }
+
+    public static CompiledTemplate compile(String template) {
+        List<String> literals = new ArrayList<String>();
+        List<String> placeholders = new ArrayList<String>();
+        int literalStart = 0;
+        int placeholderStart = findPlaceholderStart(template, 0);
+        while (placeholderStart != -1) {
+            int placeholderEnd = template.indexOf(PLACEHOLDER_END, placeholderStart) + 1;
+            literals.add(template.substring(literalStart, placeholderStart));
+            placeholders.add(template.substring(placeholderStart, placeholderEnd));
+            literalStart = placeholderEnd;
+            placeholderStart = findPlaceholderStart(template, literalStart);
+        }
+        literals.add(template.substring(literalStart));
+        return new CompiledTemplate(literals, placeholders);
+    }
+
+    /**
+     * @return whether the key is a single placeholder, i.e. <code>${</code> followed by a name
+     *         without <code>$</code>, <code>{</code> or <code>}</code>, followed by <code>}</code>.
+     */
+    public static boolean isPlaceholder(String key) {
+        return key.length() >= PLACEHOLDER_START.length() + 1
+               && key.startsWith(PLACEHOLDER_START)
+               && findPlaceholderStart(key, 0) == 0
+               && key.indexOf(PLACEHOLDER_END) == key.length() - 1;
+    }
+
+    /**
+     * @return whether populating with the values gives the same result as replacing them one after another,
+     *         i.e. all keys are placeholders as checked by {@link #isPlaceholder}, and neither the template
+     *         nor any value has text which can form a placeholder with the text next to it.
+     */
+    public boolean canPopulate(String... values) {
+        if (canFormPlaceholders) {
+            return false;
+        }
+        for (int i = 0; i < values.length; i += 2) {
+            if (!isPlaceholder(values[i]) || canFormPlaceholders(values[i + 1])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the distinct placeholders of the template, in the order they first appear.
+     */
+    public Set<String> getPlaceholders() {
+        Set<String> distinctPlaceholders = new LinkedHashSet<String>();
+        Collections.addAll(distinctPlaceholders, placeholders);
+        return distinctPlaceholders;
+    }
+
+    /**
+     * Populates the template with the given values.
+     * @param values even number of placeholder-value pairs, checked by {@link #canPopulate}:
+     *               { "${key1}", "val1", "${key2}", "val2", ... }
+     */
+    public String populate(String... values) {
+        StringBuilder builder = BUILDER.get();
+        builder.setLength(0);
+        builder.ensureCapacity(literalLength);
+        for (int i = 0; i < placeholders.length; i++) {
+            builder.append(literals[i]);
+            int keyIndex = findKeyIndex(placeholders[i], values, 0);
+            if (keyIndex == -1) {
+                builder.append(placeholders[i]);
+            } else {
+                appendValue(builder, values, keyIndex);
+            }
+        }
+        builder.append(literals[placeholders.length]);
+
+        String populatedTemplate = builder.toString();
+        if (builder.capacity() > MAX_REUSED_BUILDER_CAPACITY) {
+            BUILDER.remove();
+        }
+        return populatedTemplate;
+    }
+
+    /**
+     * Appends the value of the key at {@code keyIndex}, replacing the placeholders in it by the values
+     * of the keys after it, as replacing the values one after another would.
+     */
+    private static void appendValue(StringBuilder builder, String[] values, int keyIndex) {
+        String value = values[keyIndex + 1];
+        int nextKeyIndex = keyIndex + 2;
+        int placeholderStart = nextKeyIndex < values.length ? findPlaceholderStart(value, 0) : -1;
+        if (placeholderStart == -1) {
+            builder.append(value);
+            return;
+        }
+
+        int literalStart = 0;
+        while (placeholderStart != -1) {
+            int placeholderEnd = value.indexOf(PLACEHOLDER_END, placeholderStart) + 1;
+            builder.append(value, literalStart, placeholderStart);
+            int valueKeyIndex = findKeyIndex(value.substring(placeholderStart, placeholderEnd), values, nextKeyIndex);
+            if (valueKeyIndex == -1) {
+                builder.append(value, placeholderStart, placeholderEnd);
+            } else {
+                appendValue(builder, values, valueKeyIndex);
+            }
+            literalStart = placeholderEnd;
+            placeholderStart = findPlaceholderStart(value, literalStart);
+        }
+        builder.append(value, literalStart, value.length());
+    }
+
+    /**
+     * @return whether any text between the placeholders of the given text is open at its end.
+     */
+    private static boolean canFormPlaceholders(String text) {
+        int literalStart = 0;
+        int placeholderStart = findPlaceholderStart(text, 0);
+        while (placeholderStart != -1) {
+            if (isOpenAtEnd(text, literalStart, placeholderStart)) {
+                return true;
+            }
+            literalStart = text.indexOf(PLACEHOLDER_END, placeholderStart) + 1;
+            placeholderStart = findPlaceholderStart(text, literalStart);
+        }
+        return isOpenAtEnd(text, literalStart, text.length());
+    }
+
+    /**
+     * @return whether the text from {@code start} to {@code end} ends with <code>$</code>,
+     *         or has a <code>${</code> without a <code>}</code> after it, and so can form a placeholder
+     *         with the text after it.
+     */
+    private static boolean isOpenAtEnd(String text, int start, int end) {
+        if (end > start && text.charAt(end - 1) == '$') {
+            return true;
+        }
+        int lastPlaceholderStart = text.lastIndexOf(PLACEHOLDER_START, end - PLACEHOLDER_START.length());
+        return lastPlaceholderStart >= start && text.lastIndexOf(PLACEHOLDER_END, end - 1) < lastPlaceholderStart;
+    }
+
+    private static int findKeyIndex(String placeholder, String[] values, int fromIndex) {
+        for (int i = fromIndex; i < values.length; i += 2) {
+            if (placeholder.equals(values[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the index of the next placeholder from {@code fromIndex}, or -1 if there is none.
+     *         In text like <code>${a${b}</code>, only <code>${b}</code> is a placeholder.
+     */
+    private static int findPlaceholderStart(String text, int fromIndex) {
+        int start = text.indexOf(PLACEHOLDER_START, fromIndex);
+        while (start != -1) {
+            int end = text.indexOf(PLACEHOLDER_END, start);
+            if (end == -1) {
+                return -1;
+            }
+            int lastStart = text.lastIndexOf('$', end);
+            if (text.charAt(lastStart + 1) == '{' && text.lastIndexOf('{', end) == lastStart + 1) {
+                return lastStart;
+            }
+            start = text.indexOf(PLACEHOLDER_START, end + 1);
+        }
+        return -1;
+    }
+
+}
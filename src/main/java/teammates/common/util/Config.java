@@ -26,6 +26,12 @@ public final class Config {
     /** The value of the "app.persistence.checkduration" in build.properties file */
     public static final int PERSISTENCE_CHECK_DURATION;
     
+    /** The value of the "app.persistence.checkmode" in build.properties file */
+    public static final String PERSISTENCE_CHECK_MODE;
+    
+    /** The value of the "app.search.indexmode" in build.properties file */
+    public static final String SEARCH_INDEX_MODE;
+    
     /** The value of the "app.crashreport.email" in build.properties file */
     public static final String SUPPORT_EMAIL;
     
@@ -59,6 +65,21 @@ public final class Config {
     /** The value of the "app.mailjet.secretkey" in build.properties file */
     public static final String MAILJET_SECRETKEY;
     
+    /** The value of the "app.entitycache.request.kinds" in build.properties file */
+    public static final String ENTITY_CACHE_REQUEST_KINDS;
+    
+    /** The value of the "app.entitycache.shared.kinds" in build.properties file */
+    public static final String ENTITY_CACHE_SHARED_KINDS;
+    
+    /** The value of the "app.entitycache.shared.size" in build.properties file */
+    public static final int ENTITY_CACHE_SHARED_SIZE;
+    
+    /** The value of the "app.entitycache.shared.ttl" in build.properties file */
+    public static final int ENTITY_CACHE_SHARED_TTL;
+    
+    /** The value of the "app.feedbackresponse.sectionindex" in build.properties file */
+    public static final boolean FEEDBACK_RESPONSE_SECTION_INDEX_ENABLED;
+    
     static {
         Properties properties = new Properties();
         try {
@@ -71,6 +92,8 @@ public final class Config {
         GCS_BUCKETNAME = properties.getProperty("app.gcs.bucketname");
         ENCRYPTION_KEY = properties.getProperty("app.encryption.key");
         PERSISTENCE_CHECK_DURATION = Integer.valueOf(properties.getProperty("app.persistence.checkduration"));
+        PERSISTENCE_CHECK_MODE = properties.getProperty("app.persistence.checkmode", "sync");
+        SEARCH_INDEX_MODE = properties.getProperty("app.search.indexmode", "sync");
         SUPPORT_EMAIL = properties.getProperty("app.crashreport.email");
         STUDENT_MOTD_URL = properties.getProperty("app.student.motd.url");
         EMAIL_SENDEREMAIL = properties.getProperty("app.email.senderemail");
@@ -82,6 +105,14 @@ public final class Config {
         MAILGUN_DOMAINNAME = properties.getProperty("app.mailgun.domainname");
         MAILJET_APIKEY = properties.getProperty("app.mailjet.apikey");
         MAILJET_SECRETKEY = properties.getProperty("app.mailjet.secretkey");
+        ENTITY_CACHE_REQUEST_KINDS = properties.getProperty("app.entitycache.request.kinds",
+                                                            "COURSE,INSTRUCTOR,FEEDBACK_SESSION,COURSE_ROSTER,"
+                                                            + "QUESTION_STATISTICS");
+        ENTITY_CACHE_SHARED_KINDS = properties.getProperty("app.entitycache.shared.kinds", "QUESTION_STATISTICS");
+        ENTITY_CACHE_SHARED_SIZE = Integer.valueOf(properties.getProperty("app.entitycache.shared.size", "1000"));
+        ENTITY_CACHE_SHARED_TTL = Integer.valueOf(properties.getProperty("app.entitycache.shared.ttl", "60000"));
+        FEEDBACK_RESPONSE_SECTION_INDEX_ENABLED =
+                Boolean.parseBoolean(properties.getProperty("app.feedbackresponse.sectionindex", "false"));
     }
     
     private Config() {
@@ -122,6 +153,22 @@ public final class Config {
         return new AppUrl(APP_URL + relativeUrl);
     }
 
+    /**
+     * @return true if writes should wait in the request thread until they have persisted,
+     *         instead of being verified later by a task queue worker.
+     */
+    public static boolean isPersistenceCheckSynchronous() {
+        return "sync".equalsIgnoreCase(PERSISTENCE_CHECK_MODE);
+    }
+
+    /**
+     * @return true if search documents should be put into their indices in the request thread,
+     *         instead of in batches by a task queue worker.
+     */
+    public static boolean isSearchIndexingSynchronous() {
+        return "sync".equalsIgnoreCase(SEARCH_INDEX_MODE);
+    }
+
     public static boolean isUsingSendgrid() {
         return "sendgrid".equalsIgnoreCase(EMAIL_SERVICE) && SENDGRID_APIKEY != null && !SENDGRID_APIKEY.isEmpty();
     }
@@ -159,6 +159,11 @@ public final class Const {
         public static final String FEEDBACK_REMIND_EMAIL_PARTICULAR_USERS_TASK_QUEUE =
                 "feedback-remind-email-particular-users-queue";
         public static final String SEND_EMAIL_TASK_QUEUE = "send-email-queue";
+        public static final String PERSISTENCE_CHECK_TASK_QUEUE = "persistence-check-queue";
+        public static final String RESPONSE_SUMMARY_REPAIR_TASK_QUEUE = "response-summary-repair-queue";
+        public static final String STUDENT_DASHBOARD_REBUILD_TASK_QUEUE = "student-dashboard-rebuild-queue";
+        public static final String SEARCH_DOCUMENT_TASK_QUEUE = "search-document";
+        public static final String SEARCH_DOCUMENT_PULL_TASK_QUEUE = "search-document-pull";
         
         public static final String QUEUE_XML_PATH = "src/main/webapp/WEB-INF/queue.xml";
         public static final String DEFAULT_PROFILE_PICTURE_PATH = "/images/profile_picture_default.png";
@@ -626,8 +631,7 @@ public final class Const {
         public static final String ADMIN_EMAIL_EMPTY_TRASH_BIN = "emptytrashbin";
         public static final String ADMIN_EMAIL_TRASH_ACTION_REDIRECT = "redirect";
         
-        public static final String ADMIN_GROUP_RECEIVER_EMAIL_LIST_INDEX = "emaillistindex";
-        public static final String ADMIN_GROUP_RECEIVER_EMAIL_INDEX = "emailindex";
+        public static final String ADMIN_GROUP_RECEIVER_EMAIL_OFFSET = "emailoffset";
     
         public static final String FEEDBACK_SESSION_NAME = "fsname";
         public static final String FEEDBACK_SESSION_INDEX = "fsindex";
@@ -722,6 +726,7 @@ public final class Const {
         public static final String FEEDBACK_RESULTS_INDICATE_MISSING_RESPONSES = "frindicatemissingresponses";
         public static final String FEEDBACK_RESULTS_NEED_AJAX = "frneedajax";
         public static final String FEEDBACK_RESULTS_MAIN_INDEX = "frmainindex";
+        public static final String FEEDBACK_RESULTS_CURSOR = "frcursor";
 
         public static final String PREVIEWAS = "previewas";
         
@@ -792,11 +797,18 @@ public final class Const {
         public static final String SUBMISSION_REMIND_USERLIST = "usersToRemind";
         
         public static final String ENROLLMENT_DETAILS = "enrollmentdetails";
+        public static final String ADJUSTMENT_CHECKPOINT = "adjustmentcheckpoint";
         
         public static final String SEARCH_KEY = "searchkey";
         public static final String DISPLAY_ARCHIVE = "displayarchive";
         
         //Parameters for checking persistence of data during Eventual Consistency
+        public static final String CHECK_PERSISTENCE_DB_CLASS = "persistencedbclass";
+        public static final String CHECK_PERSISTENCE_ENTITY_CLASS = "persistenceentityclass";
+        public static final String CHECK_PERSISTENCE_ENTITY_JSON = "persistenceentityjson";
+        public static final String CHECK_PERSISTENCE_IS_DELETION = "persistenceisdeletion";
+        public static final String CHECK_PERSISTENCE_WRITE_TIME = "persistencewritetime";
+        public static final String SEARCH_INDEX_NAME = "searchindexname";
         public static final String CHECK_PERSISTENCE_COURSE = "persistencecourse";
         
         public static final String PROFILE_PICTURE_LEFTX = "cropboxleftx";
@@ -992,6 +1004,10 @@ public final class Const {
         public static final String FEEDBACK_REMIND_EMAIL_PARTICULAR_USERS_WORKER =
                                     "/feedbackRemindEmailParticularUsersWorker";
         public static final String SEND_EMAIL_WORKER = "/sendEmailWorker";
+        public static final String PERSISTENCE_CHECK_WORKER = "/persistenceCheckWorker";
+        public static final String RESPONSE_SUMMARY_REPAIR_WORKER = "/responseSummaryRepairWorker";
+        public static final String STUDENT_DASHBOARD_REBUILD_WORKER = "/studentDashboardRebuildWorker";
+        public static final String SEARCH_DOCUMENT_INDEX_WORKER = "/searchDocumentIndexWorker";
     }
     
     public class AutomatedActionNames {
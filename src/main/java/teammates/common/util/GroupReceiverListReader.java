@@ -0,0 +1,109 @@
+package teammates.common.util;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the email addresses of a group receiver list, i.e. a txt file of comma-separated email addresses,
+ * one address at a time, so that only the address being read is kept in memory.<br>
+ * {@link #getOffset} gives the byte offset in the file of the address after the last one read,
+ * from which a new reader can resume with {@link GoogleCloudStorageHelper#openGroupReceiverList}.
+ */
+public class GroupReceiverListReader implements Closeable {
+
+    private static final int SEPARATOR = ',';
+
+    /**
+     * Kept well below the size of around 900000 bytes, above which reading from a blob stream fails.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream stream;
+    private final ByteArrayOutputStream addressBytes = new ByteArrayOutputStream();
+
+    /** Offset of the address after the last address returned by {@link #next} */
+    private long offset;
+
+    /** Offset of the next unread byte of the stream */
+    private long readOffset;
+
+    private String nextAddress;
+    private long nextAddressEndOffset;
+    private boolean isEndOfStream;
+
+    /**
+     * @param stream stream of the file, starting from {@code offset}
+     * @param offset byte offset in the file at which the stream starts, e.g. the {@link #getOffset}
+     *               of an earlier reader of the same file
+     */
+    public GroupReceiverListReader(InputStream stream, long offset) {
+        this.stream = new BufferedInputStream(stream, BUFFER_SIZE);
+        this.offset = offset;
+        this.readOffset = offset;
+    }
+
+    /**
+     * @return true if there are more addresses in the file. Empty addresses are skipped.
+     */
+    public boolean hasNext() throws IOException {
+        while (nextAddress == null && !isEndOfStream) {
+            String address = readAddress();
+            if (!address.isEmpty()) {
+                nextAddress = address;
+                nextAddressEndOffset = readOffset;
+            }
+        }
+        return nextAddress != null;
+    }
+
+    /**
+     * @return the next address in the file
+     * @throws NoSuchElementException if there are no more addresses
+     */
+    public String next() throws IOException {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more addresses after offset " + offset);
+        }
+        String address = nextAddress;
+        nextAddress = null;
+        offset = nextAddressEndOffset;
+        return address;
+    }
+
+    /**
+     * @return the byte offset in the file of the address after the last address returned by {@link #next}
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public void close() throws IOException {
+        stream.close();
+    }
+
+    /**
+     * Reads the bytes up to and including the next separator, or up to the end of the stream.
+     * @return the bytes read without the separator, as a string
+     */
+    private String readAddress() throws IOException {
+        addressBytes.reset();
+        int nextByte = stream.read();
+        while (nextByte != -1 && nextByte != SEPARATOR) {
+            addressBytes.write(nextByte);
+            readOffset++;
+            nextByte = stream.read();
+        }
+        if (nextByte == -1) {
+            isEndOfStream = true;
+        } else {
+            readOffset++;
+        }
+        return addressBytes.toString(Const.SystemParams.ENCODING);
+    }
+
+}
@@ -0,0 +1,79 @@
+package teammates.common.util;
+
+import java.text.DateFormat;
+
+import teammates.common.datatransfer.FeedbackConstantSumResponseDetails;
+import teammates.common.datatransfer.FeedbackContributionResponseDetails;
+import teammates.common.datatransfer.FeedbackMcqResponseDetails;
+import teammates.common.datatransfer.FeedbackMsqResponseDetails;
+import teammates.common.datatransfer.FeedbackNumericalScaleResponseDetails;
+import teammates.common.datatransfer.FeedbackRankOptionsResponseDetails;
+import teammates.common.datatransfer.FeedbackRankRecipientsResponseDetails;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackRubricResponseDetails;
+import teammates.common.datatransfer.FeedbackTextResponseDetails;
+import teammates.common.datatransfer.InstructorPrivileges;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const.SystemParams;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Holds the {@link Gson} instances used in the system.<br>
+ * A {@link Gson} instance is thread-safe and keeps the type adapters it has built, so the instances
+ * are created once and shared instead of being configured for each use. The types which are converted
+ * most often are registered with hand-written type adapters which do not use reflection.
+ */
+public final class JsonCodecs {
+
+    private static final Gson TEAMMATES_GSON = registerTypeAdapters(new GsonBuilder())
+            .setDateFormat(DateFormat.FULL)
+            .setDateFormat(SystemParams.DEFAULT_DATE_TIME_FORMAT)
+            .setPrettyPrinting()
+            .create();
+
+    private static final Gson COMPACT_GSON = registerTypeAdapters(new GsonBuilder()).create();
+
+    private JsonCodecs() {
+        // utility class
+    }
+
+    /**
+     * @return a {@link Gson} which can handle the Date format we use in the Json files
+     *         and writes the Json string in pretty-print format.
+     */
+    public static Gson getTeammatesGson() {
+        return TEAMMATES_GSON;
+    }
+
+    /**
+     * @return a {@link Gson} with the default settings, which writes Json strings without whitespace.
+     *         Used where {@code new Gson()} was used before, e.g. for search documents and AJAX responses.
+     */
+    public static Gson getCompactGson() {
+        return COMPACT_GSON;
+    }
+
+    private static GsonBuilder registerTypeAdapters(GsonBuilder builder) {
+        return builder
+                .registerTypeAdapter(StudentAttributes.class, StudentAttributes.JSON_ADAPTER)
+                .registerTypeAdapter(FeedbackResponseAttributes.class, FeedbackResponseAttributes.JSON_ADAPTER)
+                .registerTypeAdapter(InstructorPrivileges.class, InstructorPrivileges.JSON_ADAPTER)
+                .registerTypeAdapter(FeedbackTextResponseDetails.class, FeedbackTextResponseDetails.JSON_ADAPTER)
+                .registerTypeAdapter(FeedbackMcqResponseDetails.class, FeedbackMcqResponseDetails.JSON_ADAPTER)
+                .registerTypeAdapter(FeedbackMsqResponseDetails.class, FeedbackMsqResponseDetails.JSON_ADAPTER)
+                .registerTypeAdapter(FeedbackNumericalScaleResponseDetails.class,
+                                     FeedbackNumericalScaleResponseDetails.JSON_ADAPTER)
+                .registerTypeAdapter(FeedbackConstantSumResponseDetails.class,
+                                     FeedbackConstantSumResponseDetails.JSON_ADAPTER)
+                .registerTypeAdapter(FeedbackContributionResponseDetails.class,
+                                     FeedbackContributionResponseDetails.JSON_ADAPTER)
+                .registerTypeAdapter(FeedbackRankOptionsResponseDetails.class,
+                                     FeedbackRankOptionsResponseDetails.JSON_ADAPTER)
+                .registerTypeAdapter(FeedbackRankRecipientsResponseDetails.class,
+                                     FeedbackRankRecipientsResponseDetails.JSON_ADAPTER)
+                .registerTypeAdapter(FeedbackRubricResponseDetails.class, FeedbackRubricResponseDetails.JSON_ADAPTER);
+    }
+
+}
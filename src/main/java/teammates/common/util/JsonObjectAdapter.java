@@ -0,0 +1,140 @@
+package teammates.common.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Base class for hand-written {@link TypeAdapter}s of objects, which read and write the fields
+ * of an object directly instead of through reflection.<br>
+ * Subclasses must produce the same JSON as Gson's reflective adapter, i.e. the fields of the class
+ * in declaration order followed by the fields of its superclasses, with null fields left out,
+ * so that JSON stored before the adapter existed can still be read.
+ */
+public abstract class JsonObjectAdapter<T> extends TypeAdapter<T> {
+
+    @Override
+    public final void write(JsonWriter out, T value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        writeFields(out, value);
+        out.endObject();
+    }
+
+    @Override
+    public final T read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        T value = newInstance();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                // null fields are never written; keep the value set by the constructor
+                in.nextNull();
+            } else if (!readField(in, name, value)) {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+    /**
+     * @return a new object with its fields set to their defaults, as after deserializing an empty JSON object
+     */
+    protected abstract T newInstance();
+
+    /**
+     * Writes the non-null fields of {@code value}.
+     */
+    protected abstract void writeFields(JsonWriter out, T value) throws IOException;
+
+    /**
+     * Reads the non-null field {@code name} into {@code value}.
+     * @return false if the field is unknown and should be skipped
+     */
+    protected abstract boolean readField(JsonReader in, String name, T value) throws IOException;
+
+    protected static void writeField(JsonWriter out, String name, String value) throws IOException {
+        if (value != null) {
+            out.name(name).value(value);
+        }
+    }
+
+    protected static void writeField(JsonWriter out, String name, Enum<?> value) throws IOException {
+        if (value != null) {
+            out.name(name).value(value.name());
+        }
+    }
+
+    protected static void writeField(JsonWriter out, String name, List<?> values) throws IOException {
+        if (values == null) {
+            return;
+        }
+        out.name(name).beginArray();
+        for (Object value : values) {
+            if (value == null) {
+                out.nullValue();
+            } else if (value instanceof Number) {
+                out.value((Number) value);
+            } else {
+                out.value(value.toString());
+            }
+        }
+        out.endArray();
+    }
+
+    /**
+     * @return the constant of {@code enumClass} with the name read, or null if there is none
+     */
+    protected static <E extends Enum<E>> E readEnum(JsonReader in, Class<E> enumClass) throws IOException {
+        String name = in.nextString();
+        try {
+            return Enum.valueOf(enumClass, name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    protected static List<Integer> readIntegerList(JsonReader in) throws IOException {
+        List<Integer> values = new ArrayList<Integer>();
+        in.beginArray();
+        while (in.hasNext()) {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                values.add(null);
+            } else {
+                values.add(in.nextInt());
+            }
+        }
+        in.endArray();
+        return values;
+    }
+
+    protected static List<String> readStringList(JsonReader in) throws IOException {
+        List<String> values = new ArrayList<String>();
+        in.beginArray();
+        while (in.hasNext()) {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                values.add(null);
+            } else {
+                values.add(in.nextString());
+            }
+        }
+        in.endArray();
+        return values;
+    }
+
+}
@@ -1,5 +1,6 @@
 package teammates.common.util;
 
+import java.io.UnsupportedEncodingException;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -307,6 +308,18 @@ public final class StringHelper {
         return result;
     }
     
+    /**
+     * @return the UTF-8 bytes of {@code value} as an upper case hexadecimal string,
+     *         e.g. to use an arbitrary string in a name which only allows letters and digits.
+     */
+    public static String toHexString(String value) {
+        try {
+            return byteArrayToHexString(value.getBytes("UTF-8"));
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+    
     private static String byteArrayToHexString(byte[] b) {
         StringBuilder sb = new StringBuilder(b.length * 2);
         for (int i = 0; i < b.length; i++) {
@@ -0,0 +1,44 @@
+package teammates.common.util;
+
+import java.util.Map;
+
+/**
+ * Represents a task to be added to a task queue and its parameters.
+ */
+public class TaskWrapper {
+
+    private final String workerUrl;
+    private final Map<String, String[]> paramMap;
+    private final long countdownMillis;
+
+    /**
+     * @param paramMap the values of each parameter; a parameter may have several values
+     * @param countdownMillis time after which the task is run, counted from when it is added
+     */
+    public TaskWrapper(String workerUrl, Map<String, String[]> paramMap, long countdownMillis) {
+        this.workerUrl = workerUrl;
+        this.paramMap = paramMap;
+        this.countdownMillis = countdownMillis;
+    }
+
+    public String getWorkerUrl() {
+        return workerUrl;
+    }
+
+    public Map<String, String[]> getParamMap() {
+        return paramMap;
+    }
+
+    /**
+     * @return the first value of the parameter {@code name}, or null if the task has no such parameter.
+     */
+    public String getParam(String name) {
+        String[] values = paramMap.get(name);
+        return values == null || values.length == 0 ? null : values[0];
+    }
+
+    public long getCountdownMillis() {
+        return countdownMillis;
+    }
+
+}
@@ -1,7 +1,18 @@
 package teammates.common.util;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 public final class Templates {
     
+    /** Compiled forms of the templates below, by their text */
+    private static final Map<String, CompiledTemplate> COMPILED_TEMPLATES =
+            new ConcurrentHashMap<String, CompiledTemplate>();
+    
     public static final String INSTRUCTOR_SAMPLE_DATA = FileHelper.readResourceFile("InstructorSampleData.json");
     
     private Templates() {
@@ -10,7 +21,11 @@ public final class Templates {
     
     /**
      * Populates the HTML templates by replacing variables in the template string
-     * with the given value string.
+     * with the given value string.<br>
+     * The values are replaced one after another, so variables in a value are replaced by
+     * the values given after it. Templates of this class are populated in a single pass from their
+     * compiled form if all variables are of the form <code>${...}</code> and no value can form
+     * a variable with the text next to it, with the same result.
      * @param template The template html to be populated
      * @param values Array of a variable, even number of key-value pairs:
      *                   { "key1", "val1", "key2", "val2", ... }
@@ -18,6 +33,10 @@ public final class Templates {
      */
     public static String populateTemplate(String template, String... values) {
         Assumption.assertTrue("The number of values passed in must be even", values.length % 2 == 0);
+        CompiledTemplate compiledTemplate = COMPILED_TEMPLATES.get(template);
+        if (compiledTemplate != null && compiledTemplate.canPopulate(values)) {
+            return compiledTemplate.populate(values);
+        }
         String populatedTemplate = template;
         for (int i = 0; i < values.length; i += 2) {
             populatedTemplate = populatedTemplate.replace(values[i], values[i + 1]);
@@ -25,183 +44,207 @@ public final class Templates {
         return populatedTemplate;
     }
     
+    /**
+     * Reads the template from the resource file and compiles it for {@link #populateTemplate}.
+     */
+    private static String loadTemplate(String file) {
+        String template = FileHelper.readResourceFile(file);
+        COMPILED_TEMPLATES.put(template, CompiledTemplate.compile(template));
+        return template;
+    }
+    
     /**
      * Collection of templates of emails to be sent by the system.
      */
     public static class EmailTemplates {
         public static final String USER_COURSE_JOIN =
-                FileHelper.readResourceFile("userEmailTemplate-courseJoin.html");
+                loadTemplate("userEmailTemplate-courseJoin.html");
         public static final String FRAGMENT_STUDENT_COURSE_JOIN =
-                FileHelper.readResourceFile("studentEmailFragment-courseJoin.html");
+                loadTemplate("studentEmailFragment-courseJoin.html");
         public static final String FRAGMENT_STUDENT_COURSE_REJOIN_AFTER_GOOGLE_ID_RESET =
-                FileHelper.readResourceFile("studentEmailFragment-googleIdReset.html");
+                loadTemplate("studentEmailFragment-googleIdReset.html");
         public static final String FRAGMENT_INSTRUCTOR_COURSE_JOIN =
-                FileHelper.readResourceFile("instructorEmailFragment-courseJoin.html");
+                loadTemplate("instructorEmailFragment-courseJoin.html");
         public static final String USER_FEEDBACK_SESSION =
-                FileHelper.readResourceFile("userEmailTemplate-feedbackSession.html");
+                loadTemplate("userEmailTemplate-feedbackSession.html");
         public static final String USER_FEEDBACK_SESSION_CLOSING =
-                FileHelper.readResourceFile("userEmailTemplate-feedbackSessionClosing.html");
+                loadTemplate("userEmailTemplate-feedbackSessionClosing.html");
         public static final String USER_FEEDBACK_SESSION_PUBLISHED =
-                FileHelper.readResourceFile("userEmailTemplate-feedbackSessionPublished.html");
+                loadTemplate("userEmailTemplate-feedbackSessionPublished.html");
         public static final String USER_FEEDBACK_SESSION_UNPUBLISHED =
-                FileHelper.readResourceFile("userEmailTemplate-feedbackSessionUnpublished.html");
+                loadTemplate("userEmailTemplate-feedbackSessionUnpublished.html");
         public static final String USER_PENDING_COMMENTS_CLEARED =
-                FileHelper.readResourceFile("userEmailTemplate-pendingCommentsCleared.html");
+                loadTemplate("userEmailTemplate-pendingCommentsCleared.html");
         public static final String SYSTEM_ERROR =
-                FileHelper.readResourceFile("systemErrorEmailTemplate.html");
+                loadTemplate("systemErrorEmailTemplate.html");
         public static final String SEVERE_ERROR_LOG_LINE =
-                FileHelper.readResourceFile("severeErrorLogLine.html");
+                loadTemplate("severeErrorLogLine.html");
         public static final String NEW_INSTRUCTOR_ACCOUNT_WELCOME =
-                FileHelper.readResourceFile("newInstructorAccountWelcome.html");
+                loadTemplate("newInstructorAccountWelcome.html");
     }
     
     public static class FeedbackQuestion {
 
         public static class FormTemplates {
             public static final String FEEDBACK_QUESTION_ADDITIONAL_INFO =
-                    FileHelper.readResourceFile("feedbackQuestionAdditionalInfoTemplate.html");
+                    loadFormTemplate("feedbackQuestionAdditionalInfoTemplate.html");
 
             public static final String TEXT_SUBMISSION_FORM =
-                    FileHelper.readResourceFile("feedbackQuestionTextSubmissionFormTemplate.html");
+                    loadFormTemplate("feedbackQuestionTextSubmissionFormTemplate.html");
             public static final String TEXT_RESULT_STATS =
-                    FileHelper.readResourceFile("feedbackQuestionTextResultStatsTemplate.html");
+                    loadFormTemplate("feedbackQuestionTextResultStatsTemplate.html");
             public static final String TEXT_EDIT_FORM =
-                    FileHelper.readResourceFile("feedbackQuestionTextEditFormTemplate.html");
+                    loadFormTemplate("feedbackQuestionTextEditFormTemplate.html");
 
             public static final String MCQ_SUBMISSION_FORM =
-                    FileHelper.readResourceFile("feedbackQuestionMcqSubmissionFormTemplate.html");
+                    loadFormTemplate("feedbackQuestionMcqSubmissionFormTemplate.html");
             public static final String MCQ_SUBMISSION_FORM_OPTIONFRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionMcqSubmissionFormOptionFragment.html");
+                    loadFormTemplate("feedbackQuestionMcqSubmissionFormOptionFragment.html");
             public static final String MCQ_SUBMISSION_FORM_OTHEROPTIONFRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionMcqSubmissionFormOtherOptionFragment.html");
+                    loadFormTemplate("feedbackQuestionMcqSubmissionFormOtherOptionFragment.html");
             public static final String MCQ_EDIT_FORM =
-                    FileHelper.readResourceFile("feedbackQuestionMcqEditFormTemplate.html");
+                    loadFormTemplate("feedbackQuestionMcqEditFormTemplate.html");
             public static final String MCQ_EDIT_FORM_OPTIONFRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionMcqEditFormOptionFragment.html");
+                    loadFormTemplate("feedbackQuestionMcqEditFormOptionFragment.html");
             public static final String MCQ_ADDITIONAL_INFO_FRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionMcqAdditionalInfoFragment.html");
+                    loadFormTemplate("feedbackQuestionMcqAdditionalInfoFragment.html");
             public static final String MCQ_ADDITIONAL_INFO =
-                    FileHelper.readResourceFile("feedbackQuestionMcqAdditionalInfoTemplate.html");
+                    loadFormTemplate("feedbackQuestionMcqAdditionalInfoTemplate.html");
             public static final String MCQ_RESULT_STATS =
-                    FileHelper.readResourceFile("feedbackQuestionMcqResultStatsTemplate.html");
+                    loadFormTemplate("feedbackQuestionMcqResultStatsTemplate.html");
             public static final String MCQ_RESULT_STATS_OPTIONFRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionMcqResultStatsOptionFragment.html");
+                    loadFormTemplate("feedbackQuestionMcqResultStatsOptionFragment.html");
 
             public static final String MSQ_SUBMISSION_FORM =
-                    FileHelper.readResourceFile("feedbackQuestionMsqSubmissionFormTemplate.html");
+                    loadFormTemplate("feedbackQuestionMsqSubmissionFormTemplate.html");
             public static final String MSQ_SUBMISSION_FORM_OPTIONFRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionMsqSubmissionFormOptionFragment.html");
+                    loadFormTemplate("feedbackQuestionMsqSubmissionFormOptionFragment.html");
             public static final String MSQ_SUBMISSION_FORM_OTHEROPTIONFRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionMsqSubmissionFormOtherOptionFragment.html");
+                    loadFormTemplate("feedbackQuestionMsqSubmissionFormOtherOptionFragment.html");
             public static final String MSQ_EDIT_FORM =
-                    FileHelper.readResourceFile("feedbackQuestionMsqEditFormTemplate.html");
+                    loadFormTemplate("feedbackQuestionMsqEditFormTemplate.html");
             public static final String MSQ_EDIT_FORM_OPTIONFRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionMsqEditFormOptionFragment.html");
+                    loadFormTemplate("feedbackQuestionMsqEditFormOptionFragment.html");
             public static final String MSQ_ADDITIONAL_INFO_FRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionMsqAdditionalInfoFragment.html");
+                    loadFormTemplate("feedbackQuestionMsqAdditionalInfoFragment.html");
             public static final String MSQ_ADDITIONAL_INFO =
-                    FileHelper.readResourceFile("feedbackQuestionMsqAdditionalInfoTemplate.html");
+                    loadFormTemplate("feedbackQuestionMsqAdditionalInfoTemplate.html");
 
             public static final String NUMSCALE_EDIT_FORM =
-                    FileHelper.readResourceFile("feedbackQuestionNumScaleEditFormTemplate.html");
+                    loadFormTemplate("feedbackQuestionNumScaleEditFormTemplate.html");
             public static final String NUMSCALE_SUBMISSION_FORM =
-                    FileHelper.readResourceFile("feedbackQuestionNumScaleSubmissionFormTemplate.html");
+                    loadFormTemplate("feedbackQuestionNumScaleSubmissionFormTemplate.html");
             public static final String NUMSCALE_RESULT_STATS =
-                    FileHelper.readResourceFile("feedbackQuestionNumScaleResultStatsTemplate.html");
+                    loadFormTemplate("feedbackQuestionNumScaleResultStatsTemplate.html");
             public static final String NUMSCALE_RESULTS_STATS_FRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionNumScaleResultsStatsFragment.html");
+                    loadFormTemplate("feedbackQuestionNumScaleResultsStatsFragment.html");
             public static final String NUMSCALE_RESULT_STATS_WITH_SELF_RESPONSE =
-                    FileHelper.readResourceFile("feedbackQuestionNumScaleResultStatsTemplateWithSelfResponse.html");
+                    loadFormTemplate("feedbackQuestionNumScaleResultStatsTemplateWithSelfResponse.html");
             public static final String NUMSCALE_RESULTS_STATS_FRAGMENT_WITH_SELF_RESPONSE =
-                    FileHelper.readResourceFile("feedbackQuestionNumScaleResultsStatsFragmentWithSelfResponse.html");
+                    loadFormTemplate("feedbackQuestionNumScaleResultsStatsFragmentWithSelfResponse.html");
 
             public static final String CONSTSUM_SUBMISSION_FORM =
-                    FileHelper.readResourceFile("feedbackQuestionConstSumSubmissionFormTemplate.html");
+                    loadFormTemplate("feedbackQuestionConstSumSubmissionFormTemplate.html");
             public static final String CONSTSUM_SUBMISSION_FORM_OPTIONFRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionConstSumSubmissionFormOptionFragment.html");
+                    loadFormTemplate("feedbackQuestionConstSumSubmissionFormOptionFragment.html");
             public static final String CONSTSUM_EDIT_FORM =
-                    FileHelper.readResourceFile("feedbackQuestionConstSumEditFormTemplate.html");
+                    loadFormTemplate("feedbackQuestionConstSumEditFormTemplate.html");
             public static final String CONSTSUM_EDIT_FORM_OPTIONFRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionConstSumEditFormOptionFragment.html");
+                    loadFormTemplate("feedbackQuestionConstSumEditFormOptionFragment.html");
             public static final String CONSTSUM_RESULT_OPTION_STATS =
-                    FileHelper.readResourceFile("feedbackQuestionConstSumResultStatsTemplate.html");
+                    loadFormTemplate("feedbackQuestionConstSumResultStatsTemplate.html");
             public static final String CONSTSUM_RESULT_STATS_OPTIONFRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionConstSumResultStatsOptionFragment.html");
+                    loadFormTemplate("feedbackQuestionConstSumResultStatsOptionFragment.html");
             public static final String CONSTSUM_RESULT_RECIPIENT_STATS =
-                    FileHelper.readResourceFile("feedbackQuestionConstSumResultStatsRecipientTemplate.html");
+                    loadFormTemplate("feedbackQuestionConstSumResultStatsRecipientTemplate.html");
             public static final String CONSTSUM_RESULT_STATS_RECIPIENTFRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionConstSumResultStatsRecipientFragment.html");
+                    loadFormTemplate("feedbackQuestionConstSumResultStatsRecipientFragment.html");
 
             public static final String CONTRIB_ADDITIONAL_INFO =
-                    FileHelper.readResourceFile("feedbackQuestionContribAdditionalInfoTemplate.html");
+                    loadFormTemplate("feedbackQuestionContribAdditionalInfoTemplate.html");
             public static final String CONTRIB_EDIT_FORM =
-                    FileHelper.readResourceFile("feedbackQuestionContribEditFormTemplate.html");
+                    loadFormTemplate("feedbackQuestionContribEditFormTemplate.html");
             public static final String CONTRIB_SUBMISSION_FORM =
-                    FileHelper.readResourceFile("feedbackQuestionContribSubmissionFormTemplate.html");
+                    loadFormTemplate("feedbackQuestionContribSubmissionFormTemplate.html");
             public static final String CONTRIB_RESULT_STATS =
-                    FileHelper.readResourceFile("feedbackQuestionContribResultStatsTemplate.html");
+                    loadFormTemplate("feedbackQuestionContribResultStatsTemplate.html");
             public static final String CONTRIB_RESULT_STATS_FRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionContribResultStatsFragment.html");
+                    loadFormTemplate("feedbackQuestionContribResultStatsFragment.html");
             public static final String CONTRIB_RESULT_STATS_STUDENT =
-                    FileHelper.readResourceFile("feedbackQuestionContribResultStatsStudentViewTemplate.html");
+                    loadFormTemplate("feedbackQuestionContribResultStatsStudentViewTemplate.html");
             public static final String CONTRIB_RESULT_STATS_STUDENT_INFO =
-                    FileHelper.readResourceFile("feedbackQuestionContribResultStatsStudentViewAdditionalInfo.html");
+                    loadFormTemplate("feedbackQuestionContribResultStatsStudentViewAdditionalInfo.html");
 
             public static final String RUBRIC_SUBMISSION_FORM =
-                    FileHelper.readResourceFile("feedbackQuestionRubricSubmissionFormTemplate.html");
+                    loadFormTemplate("feedbackQuestionRubricSubmissionFormTemplate.html");
             public static final String RUBRIC_SUBMISSION_FORM_MOBILE_PANEL_FRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionRubricSubmissionFormMobilePanelFragment.html");
+                    loadFormTemplate("feedbackQuestionRubricSubmissionFormMobilePanelFragment.html");
             public static final String RUBRIC_SUBMISSION_FORM_MOBILE_PANEL =
-                    FileHelper.readResourceFile("feedbackQuestionRubricSubmissionFormMobilePanel.html");
+                    loadFormTemplate("feedbackQuestionRubricSubmissionFormMobilePanel.html");
             public static final String RUBRIC_SUBMISSION_FORM_HEADER_FRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionRubricSubmissionFormHeaderFragment.html");
+                    loadFormTemplate("feedbackQuestionRubricSubmissionFormHeaderFragment.html");
             public static final String RUBRIC_SUBMISSION_FORM_BODY_FRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionRubricSubmissionFormBodyFragment.html");
+                    loadFormTemplate("feedbackQuestionRubricSubmissionFormBodyFragment.html");
             public static final String RUBRIC_SUBMISSION_FORM_BODY =
-                    FileHelper.readResourceFile("feedbackQuestionRubricSubmissionFormBody.html");
+                    loadFormTemplate("feedbackQuestionRubricSubmissionFormBody.html");
             public static final String RUBRIC_EDIT_FORM =
-                    FileHelper.readResourceFile("feedbackQuestionRubricEditFormTemplate.html");
+                    loadFormTemplate("feedbackQuestionRubricEditFormTemplate.html");
             public static final String RUBRIC_EDIT_FORM_HEADER_FRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionRubricEditFormHeaderFragment.html");
+                    loadFormTemplate("feedbackQuestionRubricEditFormHeaderFragment.html");
             public static final String RUBRIC_EDIT_FORM_WEIGHT_FRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionRubricEditFormWeightFragment.html");
+                    loadFormTemplate("feedbackQuestionRubricEditFormWeightFragment.html");
             public static final String RUBRIC_EDIT_FORM_BODY_FRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionRubricEditFormBodyFragment.html");
+                    loadFormTemplate("feedbackQuestionRubricEditFormBodyFragment.html");
             public static final String RUBRIC_EDIT_FORM_BODY =
-                    FileHelper.readResourceFile("feedbackQuestionRubricEditFormBody.html");
+                    loadFormTemplate("feedbackQuestionRubricEditFormBody.html");
             public static final String RUBRIC_RESULT_STATS =
-                    FileHelper.readResourceFile("feedbackQuestionRubricResultStatsTemplate.html");
+                    loadFormTemplate("feedbackQuestionRubricResultStatsTemplate.html");
             public static final String RUBRIC_RESULT_STATS_HEADER_FRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionRubricResultStatsHeaderFragment.html");
+                    loadFormTemplate("feedbackQuestionRubricResultStatsHeaderFragment.html");
             public static final String RUBRIC_RESULT_STATS_BODY_FRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionRubricResultStatsBodyFragment.html");
+                    loadFormTemplate("feedbackQuestionRubricResultStatsBodyFragment.html");
             public static final String RUBRIC_RESULT_STATS_BODY =
-                    FileHelper.readResourceFile("feedbackQuestionRubricResultStatsBody.html");
+                    loadFormTemplate("feedbackQuestionRubricResultStatsBody.html");
             public static final String RUBRIC_ADDITIONAL_INFO =
-                    FileHelper.readResourceFile("feedbackQuestionRubricAdditionalInfoTemplate.html");
+                    loadFormTemplate("feedbackQuestionRubricAdditionalInfoTemplate.html");
 
             public static final String RANK_SUBMISSION_FORM =
-                    FileHelper.readResourceFile("feedbackQuestionRankSubmissionFormTemplate.html");
+                    loadFormTemplate("feedbackQuestionRankSubmissionFormTemplate.html");
             public static final String RANK_SUBMISSION_FORM_OPTIONFRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionRankSubmissionFormOptionFragment.html");
+                    loadFormTemplate("feedbackQuestionRankSubmissionFormOptionFragment.html");
             public static final String RANK_EDIT_RECIPIENTS_FORM =
-                    FileHelper.readResourceFile("feedbackQuestionRankRecipientsEditFormTemplate.html");
+                    loadFormTemplate("feedbackQuestionRankRecipientsEditFormTemplate.html");
             public static final String RANK_EDIT_OPTIONS_FORM =
-                    FileHelper.readResourceFile("feedbackQuestionRankOptionsEditFormTemplate.html");
+                    loadFormTemplate("feedbackQuestionRankOptionsEditFormTemplate.html");
             public static final String RANK_EDIT_FORM_OPTIONFRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionRankEditFormOptionFragment.html");
+                    loadFormTemplate("feedbackQuestionRankEditFormOptionFragment.html");
             public static final String RANK_RESULT_OPTION_STATS =
-                    FileHelper.readResourceFile("feedbackQuestionRankResultStatsTemplate.html");
+                    loadFormTemplate("feedbackQuestionRankResultStatsTemplate.html");
             public static final String RANK_RESULT_STATS_OPTIONFRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionRankResultStatsOptionFragment.html");
+                    loadFormTemplate("feedbackQuestionRankResultStatsOptionFragment.html");
             public static final String RANK_RESULT_RECIPIENT_STATS =
-                    FileHelper.readResourceFile("feedbackQuestionRankResultStatsRecipientTemplate.html");
+                    loadFormTemplate("feedbackQuestionRankResultStatsRecipientTemplate.html");
             public static final String RANK_RESULT_STATS_RECIPIENTFRAGMENT =
-                    FileHelper.readResourceFile("feedbackQuestionRankResultStatsRecipientFragment.html");
+                    loadFormTemplate("feedbackQuestionRankResultStatsRecipientFragment.html");
+            
+            /**
+             * Loads a template whose placeholders must all be declared in {@link Slots},
+             * so that a template using a slot which is never populated fails when it is loaded.
+             */
+            private static String loadFormTemplate(String file) {
+                String template = loadTemplate(file);
+                for (String placeholder : COMPILED_TEMPLATES.get(template).getPlaceholders()) {
+                    Assumption.assertTrue("Template " + file + " uses undeclared slot " + placeholder,
+                                          Slots.DECLARED_SLOTS.contains(placeholder));
+                }
+                return template;
+            }
         }
         
         public static class Slots {
             
+            private static final Set<String> DECLARED_SLOTS = getDeclaredSlots();
+            
             public static final String QUESTION_INDEX = "${questionIndex}";
             public static final String RESPONSE_INDEX = "${responseIndex}";
             public static final String DISABLED = "${disabled}";
@@ -250,6 +293,11 @@ public final class Templates {
 
             // TEXT
             public static final String TEXT_EXISTING_RESPONSE = "${existingResponse}";
+            public static final String TEXT_RECOMMENDED_LENGTH = "${recommendedLength}";
+            public static final String TEXT_RECOMMENDED_LENGTH_DISPLAY = "${recommendedLengthDisplay}";
+            public static final String TEXT_AVERAGE_LENGTH = "${averageLength}";
+            public static final String TEXT_MIN_LENGTH = "${minLength}";
+            public static final String TEXT_MAX_LENGTH = "${maxLength}";
             
             // MCQ
             public static final String MCQ_CHOICE_VALUE = "${mcqChoiceValue}";
@@ -402,6 +450,20 @@ public final class Templates {
             public static final String RUBRIC_PARAM_DESCRIPTION = "${Const.ParamsNames.FEEDBACK_QUESTION_RUBRICDESCRIPTION}";
             public static final String RUBRIC_PARAM_WEIGHT = "${Const.ParamsNames.FEEDBACK_QUESTION_RUBRIC_WEIGHT}";
             public static final String RUBRIC_PARAM_CHOICE = "${Const.ParamsNames.FEEDBACK_QUESTION_RUBRICCHOICE}";
+            
+            private static Set<String> getDeclaredSlots() {
+                Set<String> declaredSlots = new HashSet<String>();
+                for (Field field : Slots.class.getFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+                        try {
+                            declaredSlots.add((String) field.get(null));
+                        } catch (IllegalAccessException e) {
+                            Assumption.fail("Slot " + field.getName() + " is not accessible");
+                        }
+                    }
+                }
+                return declaredSlots;
+            }
         }
     }
     
@@ -409,6 +471,6 @@ public final class Templates {
     // TODO: Or simply use static strings here?
     public static class FeedbackSessionTemplates {
         public static final String TEAM_EVALUATION =
-                FileHelper.readResourceFile("feedbackSessionTeamEvaluationTemplate.json");
+                loadTemplate("feedbackSessionTeamEvaluationTemplate.json");
     }
 }
@@ -1,12 +1,8 @@
 package teammates.common.util;
 
-import java.text.DateFormat;
 import java.util.logging.Logger;
 
-import teammates.common.util.Const.SystemParams;
-
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 
 public final class Utils {
 
@@ -24,15 +20,12 @@ public final class Utils {
     }
 
     /**
-     * This creates a Gson object that can handle the Date format we use in the
+     * Returns the shared Gson object that can handle the Date format we use in the
      * Json file and also reformat the Json string in pretty-print format.
+     * @see JsonCodecs
      */
     public static Gson getTeammatesGson() {
-        return new GsonBuilder()
-                .setDateFormat(DateFormat.FULL)
-                .setDateFormat(SystemParams.DEFAULT_DATE_TIME_FORMAT)
-                .setPrettyPrinting()
-                .create();
+        return JsonCodecs.getTeammatesGson();
     }
 
 }
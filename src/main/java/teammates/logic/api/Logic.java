@@ -1,5 +1,8 @@
 package teammates.logic.api;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -30,6 +33,7 @@ import teammates.common.datatransfer.InstructorPrivileges;
 import teammates.common.datatransfer.InstructorSearchResultBundle;
 import teammates.common.datatransfer.SectionDetailsBundle;
 import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentDashboardAttributes;
 import teammates.common.datatransfer.StudentProfileAttributes;
 import teammates.common.datatransfer.StudentSearchResultBundle;
 import teammates.common.datatransfer.TeamDetailsBundle;
@@ -54,6 +58,7 @@ import teammates.logic.core.FeedbackResponseCommentsLogic;
 import teammates.logic.core.FeedbackResponsesLogic;
 import teammates.logic.core.FeedbackSessionsLogic;
 import teammates.logic.core.InstructorsLogic;
+import teammates.logic.core.StudentDashboardsLogic;
 import teammates.logic.core.StudentsLogic;
 
 import com.google.appengine.api.blobstore.BlobKey;
@@ -85,6 +90,7 @@ public class Logic {
     protected static FeedbackResponsesLogic feedbackResponsesLogic = FeedbackResponsesLogic.inst();
     protected static FeedbackResponseCommentsLogic feedbackResponseCommentsLogic = FeedbackResponseCommentsLogic.inst();
     protected static AdminEmailsLogic adminEmailsLogic = AdminEmailsLogic.inst();
+    protected static StudentDashboardsLogic studentDashboardsLogic = StudentDashboardsLogic.inst();
     
 
     /**
@@ -651,6 +657,18 @@ public class Logic {
         
         return coursesLogic.getCourse(courseId);
     }
+    
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return the students and instructors of the course. The roster is shared and must not be modified.
+     */
+    public CourseRoster getCourseRoster(String courseId) {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        
+        return coursesLogic.getCourseRoster(courseId);
+    }
 
     /**
      * Returns a detailed version of course data. <br>
@@ -761,6 +779,32 @@ public class Logic {
         return coursesLogic.getCourseDetailsListForStudent(googleId);
     }
     
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * 
+     * @return Details of the courses in the dashboard of the student, which contain details
+     *         of the feedback sessions the student can see.
+     */
+    public List<CourseDetailsBundle> getCourseDetailsListForStudent(StudentDashboardAttributes dashboard) {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, dashboard);
+        return coursesLogic.getCourseDetailsListForStudent(dashboard);
+    }
+    
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * 
+     * @return the dashboard of the student, or null if it is not built yet. A task is
+     *         scheduled to build it in that case.
+     */
+    public StudentDashboardAttributes getStudentDashboard(String googleId) {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, googleId);
+        return studentDashboardsLogic.getStudentDashboard(googleId);
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -1541,6 +1585,28 @@ public class Logic {
                 feedbackSessionName, courseId, instructorEmail, section,
                 filterText, isMissingResponsesShown, isStatsShown);
     }
+
+    /**
+     * Writes summary results (without comments) in CSV format to {@code writer}, without any limit
+     * on the number of responses. <br>
+     * Preconditions: <br>
+     * * All parameters except {@code section} and {@code filterText} are non-null. <br>
+     * @param section null to include the responses of all sections
+     */
+    public void writeFeedbackSessionResultSummaryInSectionAsCsv(
+            String courseId, String feedbackSessionName, String instructorEmail,
+            String section, String filterText, boolean isMissingResponsesShown, boolean isStatsShown,
+            Writer writer)
+            throws EntityDoesNotExistException, IOException {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackSessionName);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, writer);
+
+        feedbackSessionsLogic.writeFeedbackSessionResultsSummaryInSectionAsCsv(
+                feedbackSessionName, courseId, instructorEmail, section,
+                filterText, isMissingResponsesShown, isStatsShown, writer);
+    }
     
     /**
      * Preconditions: <br>
@@ -1567,6 +1633,19 @@ public class Logic {
         return feedbackSessionsLogic.isFeedbackSessionCompletedByStudent(fsa, studentEmail);
     }
     
+    /**
+     * Adds the respondents of the session to its respondent sets, in place. Sessions are returned
+     * without their respondents, which only a few pages need. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void addRespondentsTo(FeedbackSessionAttributes fsa) {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, fsa);
+        
+        feedbackSessionsLogic.addRespondentsTo(Collections.singletonList(fsa));
+    }
+    
     /**
      * Updates the details of a feedback session <br>
      * Does not affect the questions and responses associated with it.
@@ -1924,6 +2003,67 @@ public class Logic {
         return feedbackSessionsLogic.getFeedbackSessionResultsForInstructorToSectionWithinRange(
                                         feedbackSessionName, courseId, userEmail, section, range);
     }
+    
+    /**
+     * Gets a page of the question+response bundle for questions with responses that
+     * is visible to the instructor for a feedback session in a section.
+     * Use the {@code nextCursor} of the returned bundle to get the next page.
+     * Preconditions: <br>
+     * * All parameters except {@code section} and {@code cursor} are non-null.
+     */
+    public FeedbackSessionResultsBundle getFeedbackSessionResultsForInstructorInSectionByPage(
+            String feedbackSessionName, String courseId, String userEmail, String section,
+            String cursor, int pageSize, String viewType)
+            throws EntityDoesNotExistException {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackSessionName);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, userEmail);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, viewType);
+        
+        return feedbackSessionsLogic.getFeedbackSessionResultsForInstructorInSectionByPage(
+                                        feedbackSessionName, courseId, userEmail, section, cursor, pageSize, viewType);
+    }
+    
+    /**
+     * Gets a page of the question+response bundle for questions with responses that
+     * is visible to the instructor for a feedback session from a section.
+     * Use the {@code nextCursor} of the returned bundle to get the next page.
+     * Preconditions: <br>
+     * * All parameters except {@code section} and {@code cursor} are non-null.
+     */
+    public FeedbackSessionResultsBundle getFeedbackSessionResultsForInstructorFromSectionByPage(
+            String feedbackSessionName, String courseId, String userEmail, String section,
+            String cursor, int pageSize)
+            throws EntityDoesNotExistException {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackSessionName);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, userEmail);
+
+        return feedbackSessionsLogic.getFeedbackSessionResultsForInstructorFromSectionByPage(
+                                        feedbackSessionName, courseId, userEmail, section, cursor, pageSize);
+    }
+    
+    /**
+     * Gets a page of the question+response bundle for questions with responses that
+     * is visible to the instructor for a feedback session to a section.
+     * Use the {@code nextCursor} of the returned bundle to get the next page.
+     * Preconditions: <br>
+     * * All parameters except {@code section} and {@code cursor} are non-null.
+     */
+    public FeedbackSessionResultsBundle getFeedbackSessionResultsForInstructorToSectionByPage(
+            String feedbackSessionName, String courseId, String userEmail, String section,
+            String cursor, int pageSize)
+            throws EntityDoesNotExistException {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackSessionName);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, courseId);
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, userEmail);
+
+        return feedbackSessionsLogic.getFeedbackSessionResultsForInstructorToSectionByPage(
+                                        feedbackSessionName, courseId, userEmail, section, cursor, pageSize);
+    }
 
     /**
      * Gets a question+response bundle for questions with responses that
@@ -2131,6 +2271,29 @@ public class Logic {
         feedbackResponsesLogic.deleteFeedbackResponseAndCascade(feedbackResponse);
     }
     
+    /**
+     * Creates the responses which do not exist yet and updates those which do, in one batched write.
+     * Responses which have an id must have the same giver and recipient as the response with that id.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void putFeedbackResponses(List<FeedbackResponseAttributes> feedbackResponses)
+            throws InvalidParametersException {
+        
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackResponses);
+        feedbackResponsesLogic.putFeedbackResponses(feedbackResponses);
+    }
+    
+    /**
+     * Deletes the responses and their comments, looking them up in batches.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public void deleteFeedbackResponses(List<FeedbackResponseAttributes> feedbackResponses) {
+        Assumption.assertNotNull(ERROR_NULL_PARAMETER, feedbackResponses);
+        feedbackResponsesLogic.deleteFeedbackResponsesAndCascade(feedbackResponses);
+    }
+    
     
     /**
      * Create a feedback response comment, and return the created comment
@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -15,8 +16,10 @@ import teammates.common.util.Const;
 import teammates.common.util.Const.ParamsNames;
 import teammates.common.util.Const.SystemParams;
 import teammates.common.util.GoogleCloudStorageHelper;
+import teammates.common.util.GroupReceiverListReader;
 import teammates.common.util.HttpRequestHelper;
 import teammates.logic.core.AdminEmailsLogic;
+import teammates.logic.core.TaskQueueService;
 import teammates.logic.core.TaskQueuesLogic;
 
 import com.google.appengine.api.blobstore.BlobKey;
@@ -32,8 +35,6 @@ import com.google.apphosting.api.ApiProxy;
 @SuppressWarnings("serial")
 public class AdminEmailPrepareTaskQueueWorkerServlet extends WorkerServlet {
     
-    private List<List<String>> processedReceiverEmails = new ArrayList<List<String>>();
-    
     //param needed for sending small number of emails
     private String addressReceiverListString;
     
@@ -74,24 +75,16 @@ public class AdminEmailPrepareTaskQueueWorkerServlet extends WorkerServlet {
                             req, ParamsNames.ADMIN_EMAIL_GROUP_RECEIVER_LIST_FILE_KEY);
             Assumption.assertNotNull(groupReceiverListFileKey);
             
-            String indexOfEmailListToResumeAsString =
-                    HttpRequestHelper.getValueFromRequestParameterMap(
-                            req, ParamsNames.ADMIN_GROUP_RECEIVER_EMAIL_LIST_INDEX);
-            String indexOfEmailToResumeAsString =
+            String offsetToResumeAsString =
                     HttpRequestHelper.getValueFromRequestParameterMap(
-                            req, ParamsNames.ADMIN_GROUP_RECEIVER_EMAIL_INDEX);
+                            req, ParamsNames.ADMIN_GROUP_RECEIVER_EMAIL_OFFSET);
             
-            int indexOfEmailListToResume = indexOfEmailListToResumeAsString == null
-                                           ? 0
-                                           : Integer.parseInt(indexOfEmailListToResumeAsString);
-            int indexOfEmailToResume = indexOfEmailToResumeAsString == null
-                                       ? 0
-                                       : Integer.parseInt(indexOfEmailToResumeAsString);
+            long offsetToResume = offsetToResumeAsString == null
+                                  ? 0
+                                  : Long.parseLong(offsetToResumeAsString);
   
             try {
-                processedReceiverEmails =
-                        GoogleCloudStorageHelper.getGroupReceiverList(new BlobKey(groupReceiverListFileKey));
-                addAdminEmailToTaskQueue(emailId, indexOfEmailListToResume, indexOfEmailToResume);
+                addAdminEmailToTaskQueue(emailId, offsetToResume);
     
             } catch (IOException e) {
                 log.severe("Unexpected error while adding admin email tasks" + e.getMessage());
@@ -106,14 +99,13 @@ public class AdminEmailPrepareTaskQueueWorkerServlet extends WorkerServlet {
         return timeLeftInMillis / 1000 < 100;
     }
     
-    private void pauseAndCreateAnNewTask(int indexOfEmailList, int indexOfEmail) {
+    private void pauseAndCreateAnNewTask(long offset) {
         TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
         
         HashMap<String, String> paramMap = new HashMap<String, String>();
         paramMap.put(ParamsNames.ADMIN_EMAIL_ID, emailId);
         paramMap.put(ParamsNames.ADMIN_EMAIL_GROUP_RECEIVER_LIST_FILE_KEY, groupReceiverListFileKey);
-        paramMap.put(ParamsNames.ADMIN_GROUP_RECEIVER_EMAIL_LIST_INDEX, Integer.toString(indexOfEmailList));
-        paramMap.put(ParamsNames.ADMIN_GROUP_RECEIVER_EMAIL_INDEX, Integer.toString(indexOfEmail));
+        paramMap.put(ParamsNames.ADMIN_GROUP_RECEIVER_EMAIL_OFFSET, Long.toString(offset));
         paramMap.put(ParamsNames.ADMIN_EMAIL_TASK_QUEUE_MODE, Const.ADMIN_EMAIL_TASK_QUEUE_GROUP_MODE);
         
         taskQueueLogic.createAndAddTask(SystemParams.ADMIN_PREPARE_EMAIL_TASK_QUEUE,
@@ -125,7 +117,6 @@ public class AdminEmailPrepareTaskQueueWorkerServlet extends WorkerServlet {
         
         AdminEmailAttributes adminEmail = AdminEmailsLogic.inst().getAdminEmailById(emailId);
         Assumption.assertNotNull(adminEmail);
-        TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
         List<String> addressList = new ArrayList<String>();
         
         if (addressReceiverListString.contains(",")) {
@@ -134,82 +125,85 @@ public class AdminEmailPrepareTaskQueueWorkerServlet extends WorkerServlet {
             addressList.add(addressReceiverListString);
         }
         
-        for (String emailAddress : addressList) {
-            HashMap<String, String> paramMap = new HashMap<String, String>();
-            paramMap.put(ParamsNames.ADMIN_EMAIL_ID, emailId);
-            paramMap.put(ParamsNames.ADMIN_EMAIL_RECEIVER, emailAddress);
-            paramMap.put(ParamsNames.ADMIN_EMAIL_SUBJECT, adminEmail.getSubject());
-            paramMap.put(ParamsNames.ADMIN_EMAIL_CONTENT, adminEmail.getContent().getValue());
-            
-            try {
-                taskQueueLogic.createAndAddTask(SystemParams.ADMIN_EMAIL_TASK_QUEUE,
-                                                Const.ActionURIs.ADMIN_EMAIL_WORKER, paramMap);
-            } catch (IllegalArgumentException e) {
-                if (e.getMessage().toLowerCase().contains("task size too large")) {
-                    log.info("Email task size exceeds max limit. Switching to large email task mode.");
-                    paramMap.remove(ParamsNames.ADMIN_EMAIL_SUBJECT);
-                    paramMap.remove(ParamsNames.ADMIN_EMAIL_CONTENT);
-                    taskQueueLogic.createAndAddTask(SystemParams.ADMIN_EMAIL_TASK_QUEUE,
-                                                    Const.ActionURIs.ADMIN_EMAIL_WORKER, paramMap);
-                }
-            }
-               
-        }
+        addAdminEmailTasks(adminEmail, addressList, false);
 
     }
     
-    private void addAdminEmailToTaskQueue(String emailId, int indexOfEmailListToResume, int indexOfEmailToResume) {
+    /**
+     * Adds the email tasks for the addresses of the group receiver list from the byte {@code offsetToResume},
+     * a batch of addresses at a time. If the request is near its deadline, the addresses which are left
+     * are moved to a new task, which resumes from the offset of the first address left.
+     */
+    private void addAdminEmailToTaskQueue(String emailId, long offsetToResume) throws IOException {
         
         AdminEmailAttributes adminEmail = AdminEmailsLogic.inst().getAdminEmailById(emailId);
         Assumption.assertNotNull(adminEmail);
-        TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
         
-        log.info("Resume Adding group mail tasks for mail with id " + emailId + "from list index: "
-                + indexOfEmailListToResume + " email index: " + indexOfEmailToResume);
+        log.info("Resume Adding group mail tasks for mail with id " + emailId + " from offset: " + offsetToResume);
         
-        int indexOfLastEmailList = 0;
-        int indexOfLastEmail = 0;
+        GroupReceiverListReader groupReceiverListReader =
+                GoogleCloudStorageHelper.openGroupReceiverList(new BlobKey(groupReceiverListFileKey), offsetToResume);
+        boolean isLargeEmailTaskMode = false;
+        int numberOfEmailsAdded = 0;
         
-        for (int i = indexOfEmailListToResume; i < processedReceiverEmails.size(); i++) {
-            
-            List<String> currentEmailList = processedReceiverEmails.get(i);
-            
-            for (int j = indexOfEmailToResume; j < currentEmailList.size(); j++) {
-                String receiverEmail = currentEmailList.get(j);
-                
-                HashMap<String, String> paramMap = new HashMap<String, String>();
-                paramMap.put(ParamsNames.ADMIN_EMAIL_ID, emailId);
-                paramMap.put(ParamsNames.ADMIN_EMAIL_RECEIVER, receiverEmail);
-                paramMap.put(ParamsNames.ADMIN_EMAIL_SUBJECT, adminEmail.getSubject());
-                paramMap.put(ParamsNames.ADMIN_EMAIL_CONTENT, adminEmail.getContent().getValue());
-                
-                try {
-                    taskQueueLogic.createAndAddTask(SystemParams.ADMIN_EMAIL_TASK_QUEUE,
-                                                    Const.ActionURIs.ADMIN_EMAIL_WORKER, paramMap);
-                } catch (IllegalArgumentException e) {
-                    if (e.getMessage().toLowerCase().contains("task size too large")) {
-                        log.info("Email task size exceeds max limit. Switching to large email task mode.");
-                        paramMap.remove(ParamsNames.ADMIN_EMAIL_SUBJECT);
-                        paramMap.remove(ParamsNames.ADMIN_EMAIL_CONTENT);
-                        taskQueueLogic.createAndAddTask(SystemParams.ADMIN_EMAIL_TASK_QUEUE,
-                                                        Const.ActionURIs.ADMIN_EMAIL_WORKER, paramMap);
-                    }
+        try {
+            while (groupReceiverListReader.hasNext()) {
+                List<String> receiverEmails = new ArrayList<String>();
+                while (groupReceiverListReader.hasNext()
+                       && receiverEmails.size() < TaskQueueService.MAX_TASKS_PER_BATCH) {
+                    receiverEmails.add(groupReceiverListReader.next());
                 }
                 
-                if (isNearDeadline()) {
-                    pauseAndCreateAnNewTask(i, j);
+                isLargeEmailTaskMode = addAdminEmailTasks(adminEmail, receiverEmails, isLargeEmailTaskMode);
+                numberOfEmailsAdded += receiverEmails.size();
+                
+                if (groupReceiverListReader.hasNext() && isNearDeadline()) {
+                    pauseAndCreateAnNewTask(groupReceiverListReader.getOffset());
                     log.info("Adding group mail tasks for mail with id " + emailId
-                             + " have been paused with list index: " + i + " email index: " + j);
+                             + " have been paused with offset: " + groupReceiverListReader.getOffset()
+                             + " after " + numberOfEmailsAdded + " emails");
                     return;
                 }
-                
-                indexOfLastEmail = j;
             }
-            indexOfLastEmailList = i;
+        } finally {
+            groupReceiverListReader.close();
         }
         
         log.info("Adding Group mail tasks for mail with id " + emailId
-                + "was complete. List index : " + indexOfLastEmailList
-                + " Email index: " + indexOfLastEmail);
+                + " was complete. Offset: " + groupReceiverListReader.getOffset()
+                + " Emails added: " + numberOfEmailsAdded);
+    }
+    
+    /**
+     * Adds an email task for each of the {@code receiverEmails}, with the subject and content of the email
+     * unless in large email task mode, in which case the email worker gets them from the datastore.
+     * @return whether the tasks were added in large email task mode, which is switched to if the tasks
+     *         with the subject and content of the email are too large
+     */
+    private boolean addAdminEmailTasks(AdminEmailAttributes adminEmail, List<String> receiverEmails,
+                                       boolean isLargeEmailTaskMode) {
+        List<Map<String, String>> paramMaps = new ArrayList<Map<String, String>>();
+        for (String receiverEmail : receiverEmails) {
+            HashMap<String, String> paramMap = new HashMap<String, String>();
+            paramMap.put(ParamsNames.ADMIN_EMAIL_ID, adminEmail.getEmailId());
+            paramMap.put(ParamsNames.ADMIN_EMAIL_RECEIVER, receiverEmail);
+            if (!isLargeEmailTaskMode) {
+                paramMap.put(ParamsNames.ADMIN_EMAIL_SUBJECT, adminEmail.getSubject());
+                paramMap.put(ParamsNames.ADMIN_EMAIL_CONTENT, adminEmail.getContent().getValue());
+            }
+            paramMaps.add(paramMap);
+        }
+        
+        try {
+            TaskQueuesLogic.inst().createAndAddTasks(SystemParams.ADMIN_EMAIL_TASK_QUEUE,
+                                                     Const.ActionURIs.ADMIN_EMAIL_WORKER, paramMaps);
+        } catch (IllegalArgumentException e) {
+            if (!isLargeEmailTaskMode && e.getMessage().toLowerCase().contains("task size too large")) {
+                log.info("Email task size exceeds max limit. Switching to large email task mode.");
+                return addAdminEmailTasks(adminEmail, receiverEmails, true);
+            }
+            log.severe("Unexpected error while adding admin email tasks" + e.getMessage());
+        }
+        return isLargeEmailTaskMode;
     }
 }
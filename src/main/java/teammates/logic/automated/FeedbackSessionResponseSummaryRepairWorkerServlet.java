@@ -0,0 +1,37 @@
+package teammates.logic.automated;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import teammates.common.exception.InvalidParametersException;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.HttpRequestHelper;
+import teammates.logic.core.FeedbackSessionsLogic;
+
+/**
+ * Rebuilds the response summary of a feedback session from its questions, responses and the course roster.
+ */
+@SuppressWarnings("serial")
+public class FeedbackSessionResponseSummaryRepairWorkerServlet extends WorkerServlet {
+
+    @Override
+    public void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        servletName = "feedbackSessionResponseSummaryRepairWorker";
+        action = "repairing response summary of feedback session";
+
+        String feedbackSessionName = HttpRequestHelper
+                .getValueFromRequestParameterMap(req, ParamsNames.SUBMISSION_FEEDBACK);
+        Assumption.assertNotNull(feedbackSessionName);
+
+        String courseId = HttpRequestHelper
+                .getValueFromRequestParameterMap(req, ParamsNames.SUBMISSION_COURSE);
+        Assumption.assertNotNull(courseId);
+
+        try {
+            FeedbackSessionsLogic.inst().repairResponseSummary(feedbackSessionName, courseId);
+        } catch (InvalidParametersException e) {
+            log.severe("Unexpected error while repairing response summary " + e.getMessage());
+        }
+    }
+}
@@ -1,30 +1,42 @@
 package teammates.logic.automated;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
+import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
 
-import teammates.common.datatransfer.FeedbackResponseAttributes;
-import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.StudentEnrollDetails;
 import teammates.common.util.ActivityLogEntry;
 import teammates.common.util.Assumption;
+import teammates.common.util.Const;
 import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.Const.SystemParams;
 import teammates.common.util.HttpRequestHelper;
 import teammates.common.util.Utils;
-import teammates.logic.core.FeedbackResponsesLogic;
 import teammates.logic.core.FeedbackSessionsLogic;
-import teammates.logic.core.StudentsLogic;
+import teammates.logic.core.SubmissionAdjustmentJob;
+import teammates.logic.core.TaskQueuesLogic;
 
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 
+/**
+ * Adjusts the responses of a course after an enrollment changed the team or section of some students.<br>
+ * The task is scheduled once per enrollment for the whole course. A task which runs out of time
+ * schedules itself again with the id of the last response it adjusted, to continue from there.
+ * Tasks scheduled for one session of the course are still supported.
+ */
 public class FeedbackSubmissionAdjustmentAction extends TaskQueueWorkerAction {
+    
+    /** Requests of push queues have a deadline of 10 minutes; stop early enough to schedule the rest. */
+    private static final long TIME_LIMIT_MILLIS = 8 * 60 * 1000L;
+    
     private String courseId;
     private String sessionName;
     private String enrollmentDetails;
+    private String checkpoint;
     
     public FeedbackSubmissionAdjustmentAction(
             HttpServletRequest request) {
@@ -36,11 +48,13 @@ public class FeedbackSubmissionAdjustmentAction extends TaskQueueWorkerAction {
         
         this.sessionName = HttpRequestHelper
                 .getValueFromRequestParameterMap(request, ParamsNames.FEEDBACK_SESSION_NAME);
-        Assumption.assertNotNull(sessionName);
         
         this.enrollmentDetails = HttpRequestHelper
                 .getValueFromRequestParameterMap(request, ParamsNames.ENROLLMENT_DETAILS);
         Assumption.assertNotNull(enrollmentDetails);
+        
+        this.checkpoint = HttpRequestHelper
+                .getValueFromRequestParameterMap(request, ParamsNames.ADJUSTMENT_CHECKPOINT);
     }
 
     public FeedbackSubmissionAdjustmentAction(HashMap<String, String> paramMap) {
@@ -50,48 +64,61 @@ public class FeedbackSubmissionAdjustmentAction extends TaskQueueWorkerAction {
         Assumption.assertNotNull(courseId);
         
         this.sessionName = paramMap.get(ParamsNames.FEEDBACK_SESSION_NAME);
-        Assumption.assertNotNull(sessionName);
         
         this.enrollmentDetails = paramMap.get(ParamsNames.ENROLLMENT_DETAILS);
         Assumption.assertNotNull(enrollmentDetails);
+        
+        this.checkpoint = paramMap.get(ParamsNames.ADJUSTMENT_CHECKPOINT);
     }
     
     @Override
     public boolean execute() {
-        
-
-        log.info("Adjusting submissions for feedback session :" + sessionName
-                 + "in course : " + courseId);
-        
-        FeedbackSessionAttributes feedbackSession = FeedbackSessionsLogic.inst()
-                .getFeedbackSession(sessionName, courseId);
+        long deadlineMillis = System.currentTimeMillis() + TIME_LIMIT_MILLIS;
+        String target = sessionName == null ? "all feedback sessions" : "feedback session :" + sessionName;
+        log.info("Adjusting submissions for " + target + " in course : " + courseId
+                 + (checkpoint == null ? "" : " from response " + checkpoint));
         
         String errorString =
                 "Error encountered while adjusting feedback session responses of %s in course : %s : %s\n%s";
         
-        if (feedbackSession == null) {
+        if (sessionName != null && FeedbackSessionsLogic.inst().getFeedbackSession(sessionName, courseId) == null) {
             log.severe(String.format(errorString, sessionName, courseId, "feedback session is null", ""));
             return false;
         }
         
-        List<FeedbackResponseAttributes> allResponses =
-                                        FeedbackResponsesLogic.inst().getFeedbackResponsesForSession(
-                                                                        feedbackSession.getFeedbackSessionName(),
-                                                                        feedbackSession.getCourseId());
         Gson gsonParser = Utils.getTeammatesGson();
         ArrayList<StudentEnrollDetails> enrollmentList =
                 gsonParser.fromJson(enrollmentDetails, new TypeToken<ArrayList<StudentEnrollDetails>>(){}.getType());
-        for (FeedbackResponseAttributes response : allResponses) {
-            try {
-                StudentsLogic.inst().adjustFeedbackResponseForEnrollments(enrollmentList, response);
-            } catch (Exception e) {
-                log.severe(String.format(errorString, sessionName, courseId, e.getMessage(),
-                                                ActivityLogEntry.generateServletActionFailureLogMessage(request, e)));
-                return false;
+        SubmissionAdjustmentJob adjustmentJob = new SubmissionAdjustmentJob(courseId, enrollmentList);
+        try {
+            String nextCheckpoint = adjustmentJob.run(sessionName, checkpoint, deadlineMillis);
+            if (nextCheckpoint != null) {
+                scheduleRemainingAdjustment(nextCheckpoint);
             }
+        } catch (Exception e) {
+            log.severe(String.format(errorString, target, courseId, e.getMessage(),
+                                     ActivityLogEntry.generateServletActionFailureLogMessage(request, e)));
+            return false;
         }
         return true;
            
     }
+    
+    private void scheduleRemainingAdjustment(String nextCheckpoint) {
+        log.info("Time limit reached while adjusting submissions in course : " + courseId
+                 + ", continuing after response " + nextCheckpoint + " in a new task");
+        
+        Map<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(ParamsNames.COURSE_ID, courseId);
+        if (sessionName != null) {
+            paramMap.put(ParamsNames.FEEDBACK_SESSION_NAME, sessionName);
+        }
+        paramMap.put(ParamsNames.ENROLLMENT_DETAILS, enrollmentDetails);
+        paramMap.put(ParamsNames.ADJUSTMENT_CHECKPOINT, nextCheckpoint);
+        
+        TaskQueuesLogic.inst().createAndAddTasks(SystemParams.FEEDBACK_SUBMISSION_ADJUSTMENT_TASK_QUEUE,
+                                                 Const.ActionURIs.FEEDBACK_SUBMISSION_ADJUSTMENT_WORKER,
+                                                 Collections.singletonList(paramMap));
+    }
 
 }
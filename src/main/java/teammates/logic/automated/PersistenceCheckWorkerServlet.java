@@ -0,0 +1,54 @@
+package teammates.logic.automated;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import teammates.common.util.Assumption;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.HttpRequestHelper;
+import teammates.storage.api.PersistenceVerifier;
+
+/**
+ * Verifies that a datastore write recorded by {@link PersistenceVerifier} has persisted.
+ * The task is retried until the write is visible, and reported if it never becomes visible.
+ */
+@SuppressWarnings("serial")
+public class PersistenceCheckWorkerServlet extends WorkerServlet {
+
+    private static final String TASK_RETRY_COUNT_HEADER = "X-AppEngine-TaskRetryCount";
+
+    @Override
+    public void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        servletName = "persistenceCheckWorker";
+        action = "checking persistence of datastore write";
+
+        String dbClassName = HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.CHECK_PERSISTENCE_DB_CLASS);
+        Assumption.assertNotNull(dbClassName);
+
+        String entityClassName =
+                HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.CHECK_PERSISTENCE_ENTITY_CLASS);
+        Assumption.assertNotNull(entityClassName);
+
+        String entityJson = HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.CHECK_PERSISTENCE_ENTITY_JSON);
+        Assumption.assertNotNull(entityJson);
+
+        boolean isDeletion = Boolean.parseBoolean(
+                HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.CHECK_PERSISTENCE_IS_DELETION));
+
+        String writeTime = HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.CHECK_PERSISTENCE_WRITE_TIME);
+        Assumption.assertNotNull(writeTime);
+
+        if (PersistenceVerifier.isPersisted(dbClassName, entityClassName, entityJson, isDeletion,
+                                            Long.parseLong(writeTime))) {
+            return;
+        }
+
+        String retryCount = req.getHeader(TASK_RETRY_COUNT_HEADER);
+        if (retryCount == null || Integer.parseInt(retryCount) < PersistenceVerifier.MAX_CHECK_RETRIES) {
+            // Sets an arbitrary retry code outside of the range 200-299 so GAE will automatically retry
+            resp.setStatus(100);
+        } else {
+            PersistenceVerifier.reportNotPersisted(entityClassName, entityJson, isDeletion);
+        }
+    }
+}
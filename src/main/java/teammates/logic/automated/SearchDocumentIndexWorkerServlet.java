@@ -0,0 +1,27 @@
+package teammates.logic.automated;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import teammates.common.util.Assumption;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.HttpRequestHelper;
+import teammates.storage.api.SearchDocumentIndexer;
+
+/**
+ * Puts the search documents recorded by {@link SearchDocumentIndexer} into their index.
+ */
+@SuppressWarnings("serial")
+public class SearchDocumentIndexWorkerServlet extends WorkerServlet {
+
+    @Override
+    public void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        servletName = "searchDocumentIndexWorker";
+        action = "putting search documents into index";
+
+        String indexName = HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.SEARCH_INDEX_NAME);
+        Assumption.assertNotNull(indexName);
+
+        SearchDocumentIndexer.indexPendingDocuments(indexName);
+    }
+}
@@ -0,0 +1,32 @@
+package teammates.logic.automated;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import teammates.common.exception.InvalidParametersException;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.HttpRequestHelper;
+import teammates.logic.core.StudentDashboardsLogic;
+
+/**
+ * Rebuilds the dashboard shown on the home page of a student.
+ */
+@SuppressWarnings("serial")
+public class StudentDashboardRebuildWorkerServlet extends WorkerServlet {
+
+    @Override
+    public void doGet(HttpServletRequest req, HttpServletResponse resp) {
+        servletName = "studentDashboardRebuildWorker";
+        action = "rebuilding dashboard of student";
+
+        String googleId = HttpRequestHelper.getValueFromRequestParameterMap(req, ParamsNames.STUDENT_ID);
+        Assumption.assertNotNull(googleId);
+
+        try {
+            StudentDashboardsLogic.inst().rebuildStudentDashboard(googleId);
+        } catch (InvalidParametersException e) {
+            log.severe("Unexpected error while rebuilding student dashboard " + e.getMessage());
+        }
+    }
+}
@@ -30,8 +30,7 @@ import teammates.common.util.EmailType;
 import teammates.common.util.Sanitizer;
 import teammates.common.util.Utils;
 import teammates.storage.api.CommentsDb;
-import teammates.storage.api.InstructorsDb;
-import teammates.storage.api.StudentsDb;
+import teammates.storage.api.CourseRosterSnapshots;
 
 /**
  * Handles the logic related to {@link CommentAttributes}.
@@ -553,9 +552,8 @@ public class CommentsLogic {
      * @throws EntityDoesNotExistException when the course doesn't exist
      */
     public Set<String> getRecipientEmailsForSendingComments(String courseId) throws EntityDoesNotExistException {
-        List<StudentAttributes> allStudents = new StudentsDb().getStudentsForCourse(courseId);
-
-        CourseRoster roster = new CourseRoster(allStudents, new InstructorsDb().getInstructorsForCourse(courseId));
+        CourseRoster roster = CourseRosterSnapshots.getCourseRoster(courseId);
+        List<StudentAttributes> allStudents = roster.getStudents();
         
         Map<String, List<StudentAttributes>> teamStudentTable = new HashMap<String, List<StudentAttributes>>();
         Map<String, List<StudentAttributes>> sectionStudentTable = new HashMap<String, List<StudentAttributes>>();
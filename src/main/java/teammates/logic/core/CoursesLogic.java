@@ -12,6 +12,7 @@ import java.util.logging.Logger;
 import teammates.common.datatransfer.AccountAttributes;
 import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.datatransfer.CourseDetailsBundle;
+import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.CourseSummaryBundle;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.FeedbackSessionDetailsBundle;
@@ -19,6 +20,8 @@ import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.InstructorPrivileges;
 import teammates.common.datatransfer.SectionDetailsBundle;
 import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentDashboardAttributes;
+import teammates.common.datatransfer.StudentDashboardAttributes.SessionEntry;
 import teammates.common.datatransfer.TeamDetailsBundle;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
@@ -30,6 +33,7 @@ import teammates.common.util.FieldValidator;
 import teammates.common.util.Sanitizer;
 import teammates.common.util.StringHelper;
 import teammates.common.util.Utils;
+import teammates.storage.api.CourseRosterSnapshots;
 import teammates.storage.api.CoursesDb;
 
 /**
@@ -62,6 +66,7 @@ public class CoursesLogic {
     private static final AccountsLogic accountsLogic = AccountsLogic.inst();
     private static final FeedbackSessionsLogic feedbackSessionsLogic = FeedbackSessionsLogic.inst();
     private static final CommentsLogic commentsLogic = CommentsLogic.inst();
+    private static final StudentDashboardsLogic studentDashboardsLogic = StudentDashboardsLogic.inst();
 
     public static CoursesLogic inst() {
         if (instance == null) {
@@ -125,6 +130,13 @@ public class CoursesLogic {
         return coursesDb.getCourse(courseId);
     }
 
+    /**
+     * @return the students and instructors of the course. The roster is shared and must not be modified.
+     */
+    public CourseRoster getCourseRoster(String courseId) {
+        return CourseRosterSnapshots.getCourseRoster(courseId);
+    }
+
     /**
      * Checks whether course is present using courseId.
      * @param courseId
@@ -209,6 +221,36 @@ public class CoursesLogic {
         return courseDetailsList;
     }
 
+    /**
+     * Gets the courses in the dashboard of a student with the sessions the student can see, reading
+     * the courses and their sessions in one query each instead of checking each session separately.
+     */
+    public List<CourseDetailsBundle> getCourseDetailsListForStudent(StudentDashboardAttributes dashboard) {
+        List<String> courseIds = dashboard.getCourseIds();
+        Map<String, CourseDetailsBundle> courseDetailsMap = new HashMap<String, CourseDetailsBundle>();
+        for (CourseAttributes course : coursesDb.getCourses(courseIds)) {
+            courseDetailsMap.put(course.getId(), new CourseDetailsBundle(course));
+        }
+
+        for (FeedbackSessionAttributes fs : feedbackSessionsLogic.getFeedbackSessionsForCourses(courseIds)) {
+            CourseDetailsBundle cdd = courseDetailsMap.get(fs.getCourseId());
+            SessionEntry session = cdd == null
+                                 ? null
+                                 : dashboard.getCourse(fs.getCourseId()).getSession(fs.getFeedbackSessionName());
+            if (session != null && session.isViewable(fs)) {
+                cdd.feedbackSessions.add(new FeedbackSessionDetailsBundle(fs));
+            }
+        }
+
+        List<CourseDetailsBundle> courseDetailsList = new ArrayList<CourseDetailsBundle>();
+        for (String courseId : courseIds) {
+            if (courseDetailsMap.containsKey(courseId)) {
+                courseDetailsList.add(courseDetailsMap.get(courseId));
+            }
+        }
+        return courseDetailsList;
+    }
+
     /**
      * @param courseId
      * @return a list of section names for a course using the courseId
@@ -300,7 +342,16 @@ public class CoursesLogic {
     public List<SectionDetailsBundle> getSectionsForCourse(CourseAttributes course, CourseDetailsBundle cdd) {
         Assumption.assertNotNull("Course is null", course);
         
-        List<StudentAttributes> students = studentsLogic.getStudentsForCourse(course.getId());
+        return getSectionsForCourse(studentsLogic.getStudentsForCourse(course.getId()), cdd);
+    }
+    
+    /**
+     * @param students all the students of the course, which will be sorted by section
+     * @param cdd {@link CourseDetailsBundle} whose statistics are filled in
+     * @return a list of {@link SectionDetailsBundle section details} for the given students.
+     */
+    private List<SectionDetailsBundle> getSectionsForCourse(List<StudentAttributes> students,
+                                                            CourseDetailsBundle cdd) {
         StudentAttributes.sortBySectionName(students);
         
         List<SectionDetailsBundle> sections = new ArrayList<SectionDetailsBundle>();
@@ -673,8 +724,20 @@ public class CoursesLogic {
             log.severe("Course(s) was deleted but the instructor still exists: " + Const.EOL + courseIdList.toString());
         }
         
+        // the students of all the courses are read together instead of once per course
+        Map<String, List<StudentAttributes>> studentsByCourse = new HashMap<String, List<StudentAttributes>>();
         for (CourseAttributes ca : courseList) {
-            courseSummaryList.put(ca.getId(), getCourseSummary(ca));
+            studentsByCourse.put(ca.getId(), new ArrayList<StudentAttributes>());
+        }
+        for (StudentAttributes student : studentsLogic.getStudentsForCourses(studentsByCourse.keySet())) {
+            studentsByCourse.get(student.course).add(student);
+        }
+        
+        for (CourseAttributes ca : courseList) {
+            CourseDetailsBundle cdd = new CourseDetailsBundle(ca);
+            cdd.sections = (ArrayList<SectionDetailsBundle>) getSectionsForCourse(studentsByCourse.get(ca.getId()),
+                                                                                 cdd);
+            courseSummaryList.put(ca.getId(), cdd);
         }
         
         return courseSummaryList;
@@ -691,19 +754,20 @@ public class CoursesLogic {
                                                                                    boolean omitArchived)
            throws EntityDoesNotExistException {
         
-        HashMap<String, CourseDetailsBundle> courseList =
-                getCourseSummariesForInstructor(instructorId, omitArchived);
+        instructorsLogic.verifyInstructorExists(instructorId);
+        
+        // the instructors are read once and the data of all their courses is read with batched queries
+        List<InstructorAttributes> instructorList = instructorsLogic.getInstructorsForGoogleId(instructorId,
+                                                                                               omitArchived);
+        HashMap<String, CourseDetailsBundle> courseList = getCourseSummariesForInstructor(instructorList);
         
-        // TODO: remove need for lower level functions to make repeated db calls
-        // getFeedbackSessionDetailsForInstructor
-        // The above functions make repeated calls to get InstructorAttributes
-        List<FeedbackSessionDetailsBundle> feedbackSessionList =
-                feedbackSessionsLogic.getFeedbackSessionDetailsForInstructor(instructorId, omitArchived);
+        Map<String, List<FeedbackSessionDetailsBundle>> feedbackSessionsByCourse =
+                feedbackSessionsLogic.getFeedbackSessionDetailsForInstructors(instructorList);
         
-        for (FeedbackSessionDetailsBundle fsb : feedbackSessionList) {
-            CourseDetailsBundle courseSummary = courseList.get(fsb.feedbackSession.getCourseId());
+        for (Map.Entry<String, List<FeedbackSessionDetailsBundle>> entry : feedbackSessionsByCourse.entrySet()) {
+            CourseDetailsBundle courseSummary = courseList.get(entry.getKey());
             if (courseSummary != null) {
-                courseSummary.feedbackSessions.add(fsb);
+                courseSummary.feedbackSessions.addAll(entry.getValue());
             }
         }
         return courseList;
@@ -799,6 +863,7 @@ public class CoursesLogic {
         instructorsLogic.deleteInstructorsForCourse(courseId);
         commentsLogic.deleteCommentsForCourse(courseId);
         feedbackSessionsLogic.deleteFeedbackSessionsForCourseCascade(courseId);
+        studentDashboardsLogic.invalidateStudentDashboardsForCourse(courseId);
         coursesDb.deleteCourse(courseId);
     }
     
@@ -56,12 +56,8 @@ public class EmailGenerator {
                                            ? studentsLogic.getStudentsForCourse(session.getCourseId())
                                            : new ArrayList<StudentAttributes>();
         
-        List<EmailWrapper> emails = generateFeedbackSessionEmailBases(course, session, students, instructors, template,
-                                                                      EmailType.FEEDBACK_OPENING.getSubject());
-        for (EmailWrapper email : emails) {
-            email.setContent(email.getContent().replace("${status}", "is now open"));
-        }
-        return emails;
+        return generateFeedbackSessionEmailBases(course, session, students, instructors, template,
+                                                 EmailType.FEEDBACK_OPENING.getSubject(), "is now open");
     }
     
     /**
@@ -74,33 +70,31 @@ public class EmailGenerator {
         
         CourseAttributes course = coursesLogic.getCourse(session.getCourseId());
         String template = EmailTemplates.USER_FEEDBACK_SESSION;
+        String status = "is still open for submissions";
         List<EmailWrapper> emails =
                 generateFeedbackSessionEmailBasesForInstructorReminders(course, session, instructorsToRemind, template,
-                                                                        EmailType.FEEDBACK_SESSION_REMINDER.getSubject());
+                                                                        EmailType.FEEDBACK_SESSION_REMINDER.getSubject(),
+                                                                        status);
         emails.addAll(generateFeedbackSessionEmailBases(course, session, students, instructorsToNotify, template,
-                                                        EmailType.FEEDBACK_SESSION_REMINDER.getSubject()));
-        
-        for (EmailWrapper email : emails) {
-            email.setContent(email.getContent().replace("${status}", "is still open for submissions"));
-        }
+                                                        EmailType.FEEDBACK_SESSION_REMINDER.getSubject(), status));
         return emails;
     }
     
     private List<EmailWrapper> generateFeedbackSessionEmailBasesForInstructorReminders(
             CourseAttributes course, FeedbackSessionAttributes session, List<InstructorAttributes> instructors,
-            String template, String subject) {
+            String template, String subject, String status) {
         
         List<EmailWrapper> emails = new ArrayList<EmailWrapper>();
         for (InstructorAttributes instructor : instructors) {
             emails.add(generateFeedbackSessionEmailBaseForInstructorReminders(course, session, instructor,
-                                                                              template, subject));
+                                                                              template, subject, status));
         }
         return emails;
     }
     
     private EmailWrapper generateFeedbackSessionEmailBaseForInstructorReminders(
             CourseAttributes course, FeedbackSessionAttributes session, InstructorAttributes instructor,
-            String template, String subject) {
+            String template, String subject, String status) {
         
         String submitUrl = Config.getAppUrl(Const.ActionURIs.INSTRUCTOR_FEEDBACK_SUBMISSION_EDIT_PAGE)
                                  .withCourseId(course.getId())
@@ -121,7 +115,8 @@ public class EmailGenerator {
                 "${instructorFragment}", "",
                 "${submitUrl}", submitUrl,
                 "${reportUrl}", reportUrl,
-                "${supportEmail}", Config.SUPPORT_EMAIL);
+                "${supportEmail}", Config.SUPPORT_EMAIL,
+                "${status}", status);
         
         EmailWrapper email = getEmptyEmailAddressedToEmail(instructor.email);
         email.setSubject(String.format(subject, course.getName(), session.getFeedbackSessionName()));
@@ -134,27 +129,10 @@ public class EmailGenerator {
      */
     public List<EmailWrapper> generateFeedbackSessionClosingEmails(FeedbackSessionAttributes session) {
         
-        List<StudentAttributes> students = new ArrayList<StudentAttributes>();
         boolean isEmailNeeded = fsLogic.isFeedbackSessionForStudentsToAnswer(session);
-        
-        if (isEmailNeeded) {
-            List<StudentAttributes> studentsForCourse = studentsLogic.getStudentsForCourse(session.getCourseId());
-            
-            for (StudentAttributes student : studentsForCourse) {
-                try {
-                    if (!fsLogic.isFeedbackSessionFullyCompletedByStudent(session.getFeedbackSessionName(),
-                            session.getCourseId(), student.email)) {
-                        students.add(student);
-                    }
-                } catch (EntityDoesNotExistException e) {
-                    log.severe("Course " + session.getCourseId() + " does not exist or "
-                               + "session " + session.getFeedbackSessionName() + " does not exist");
-                    // Course or session cannot be found for one student => it will be the case for all students
-                    // Do not waste time looping through all students
-                    break;
-                }
-            }
-        }
+        List<StudentAttributes> students = isEmailNeeded
+                                           ? fsLogic.getStudentsYetToFullyCompleteFeedbackSession(session)
+                                           : new ArrayList<StudentAttributes>();
         
         String template = EmailTemplates.USER_FEEDBACK_SESSION_CLOSING;
         CourseAttributes course = coursesLogic.getCourse(session.getCourseId());
@@ -162,12 +140,8 @@ public class EmailGenerator {
                                                  ? instructorsLogic.getInstructorsForCourse(session.getCourseId())
                                                  : new ArrayList<InstructorAttributes>();
         
-        List<EmailWrapper> emails = generateFeedbackSessionEmailBases(course, session, students, instructors, template,
-                                                                      EmailType.FEEDBACK_CLOSING.getSubject());
-        for (EmailWrapper email : emails) {
-            email.setContent(email.getContent().replace("${status}", "is closing soon"));
-        }
-        return emails;
+        return generateFeedbackSessionEmailBases(course, session, students, instructors, template,
+                                                 EmailType.FEEDBACK_CLOSING.getSubject(), "is closing soon");
     }
     
     /**
@@ -186,9 +160,8 @@ public class EmailGenerator {
                                            ? studentsLogic.getStudentsForCourse(session.getCourseId())
                                            : new ArrayList<StudentAttributes>();
         
-        List<EmailWrapper> emails = generateFeedbackSessionEmailBases(course, session, students, instructors, template,
-                                                                      EmailType.FEEDBACK_PUBLISHED.getSubject());
-        return emails;
+        return generateFeedbackSessionEmailBases(course, session, students, instructors, template,
+                                                 EmailType.FEEDBACK_PUBLISHED.getSubject(), "");
     }
     
     /**
@@ -207,28 +180,29 @@ public class EmailGenerator {
                                            ? studentsLogic.getStudentsForCourse(session.getCourseId())
                                            : new ArrayList<StudentAttributes>();
         
-        List<EmailWrapper> emails = generateFeedbackSessionEmailBases(course, session, students, instructors, template,
-                                                                      EmailType.FEEDBACK_UNPUBLISHED.getSubject());
-        return emails;
+        return generateFeedbackSessionEmailBases(course, session, students, instructors, template,
+                                                 EmailType.FEEDBACK_UNPUBLISHED.getSubject(), "");
     }
     
     private List<EmailWrapper> generateFeedbackSessionEmailBases(
             CourseAttributes course, FeedbackSessionAttributes session, List<StudentAttributes> students,
-            List<InstructorAttributes> instructors, String template, String subject) {
+            List<InstructorAttributes> instructors, String template, String subject, String status) {
         
         List<EmailWrapper> emails = new ArrayList<EmailWrapper>();
         for (StudentAttributes student : students) {
-            emails.add(generateFeedbackSessionEmailBaseForStudents(course, session, student, template, subject));
+            emails.add(generateFeedbackSessionEmailBaseForStudents(course, session, student, template, subject,
+                                                                   status));
         }
         for (InstructorAttributes instructor : instructors) {
-            emails.add(generateFeedbackSessionEmailBaseForInstructors(course, session, instructor, template, subject));
+            emails.add(generateFeedbackSessionEmailBaseForInstructors(course, session, instructor, template, subject,
+                                                                      status));
         }
         return emails;
     }
     
     private EmailWrapper generateFeedbackSessionEmailBaseForStudents(
             CourseAttributes course, FeedbackSessionAttributes session, StudentAttributes student, String template,
-            String subject) {
+            String subject, String status) {
         
         String submitUrl = Config.getAppUrl(Const.ActionURIs.STUDENT_FEEDBACK_SUBMISSION_EDIT_PAGE)
                                  .withCourseId(course.getId())
@@ -253,7 +227,8 @@ public class EmailGenerator {
                 "${instructorFragment}", "",
                 "${submitUrl}", submitUrl,
                 "${reportUrl}", reportUrl,
-                "${supportEmail}", Config.SUPPORT_EMAIL);
+                "${supportEmail}", Config.SUPPORT_EMAIL,
+                "${status}", status);
         
         EmailWrapper email = getEmptyEmailAddressedToEmail(student.email);
         email.setSubject(String.format(subject, course.getName(), session.getFeedbackSessionName()));
@@ -263,7 +238,7 @@ public class EmailGenerator {
     
     private EmailWrapper generateFeedbackSessionEmailBaseForInstructors(
             CourseAttributes course, FeedbackSessionAttributes session, InstructorAttributes instructor,
-            String template, String subject) {
+            String template, String subject, String status) {
         
         String emailBody = Templates.populateTemplate(template,
                 "${userName}", instructor.name,
@@ -276,7 +251,8 @@ public class EmailGenerator {
                         + ".<p/><br>\n<br>\n=== Email message as seen by the students ===<br>\n",
                 "${submitUrl}", "{in the actual email sent to the students, this will be the unique link}",
                 "${reportUrl}", "{in the actual email sent to the students, this will be the unique link}",
-                "${supportEmail}", Config.SUPPORT_EMAIL);
+                "${supportEmail}", Config.SUPPORT_EMAIL,
+                "${status}", status);
         
         EmailWrapper email = getEmptyEmailAddressedToEmail(instructor.email);
         email.setSubject(String.format(subject, course.getName(), session.getFeedbackSessionName()));
@@ -319,9 +295,8 @@ public class EmailGenerator {
                                        .withCourseId(course.getId())
                                        .toAbsoluteString();
         
-        String emailBody = Templates.populateTemplate(
-                isYetToJoinCourse(student) ? fillUpStudentJoinFragment(student, template)
-                                           : template.replace("${joinFragment}", ""),
+        String emailBody = Templates.populateTemplate(template,
+                "${joinFragment}", isYetToJoinCourse(student) ? generateStudentJoinFragment(course, student) : "",
                 "${userName}", student.name,
                 "${courseName}", course.getName(),
                 "${courseId}", course.getId(),
@@ -373,10 +348,9 @@ public class EmailGenerator {
      */
     public EmailWrapper generateStudentCourseJoinEmail(CourseAttributes course, StudentAttributes student) {
         
-        String emailBody = Templates.populateTemplate(
-                fillUpStudentJoinFragment(student, EmailTemplates.USER_COURSE_JOIN),
+        String emailBody = Templates.populateTemplate(EmailTemplates.USER_COURSE_JOIN,
+                "${joinFragment}", generateStudentJoinFragment(course, student),
                 "${userName}", student.name,
-                "${courseName}", course.getName(),
                 "${supportEmail}", Config.SUPPORT_EMAIL);
         
         EmailWrapper email = getEmptyEmailAddressedToEmail(student.email);
@@ -392,10 +366,9 @@ public class EmailGenerator {
     public EmailWrapper generateStudentCourseRejoinEmailAfterGoogleIdReset(
             CourseAttributes course, StudentAttributes student) {
         
-        String emailBody = Templates.populateTemplate(
-                fillUpStudentRejoinAfterGoogleIdResetFragment(student, EmailTemplates.USER_COURSE_JOIN),
+        String emailBody = Templates.populateTemplate(EmailTemplates.USER_COURSE_JOIN,
+                "${joinFragment}", generateStudentRejoinAfterGoogleIdResetFragment(course, student),
                 "${userName}", student.name,
-                "${courseName}", course.getName(),
                 "${supportEmail}", Config.SUPPORT_EMAIL);
         
         EmailWrapper email = getEmptyEmailAddressedToEmail(student.email);
@@ -410,10 +383,9 @@ public class EmailGenerator {
      */
     public EmailWrapper generateInstructorCourseJoinEmail(CourseAttributes course, InstructorAttributes instructor) {
         
-        String emailBody = Templates.populateTemplate(
-                fillUpInstructorJoinFragment(instructor, EmailTemplates.USER_COURSE_JOIN),
+        String emailBody = Templates.populateTemplate(EmailTemplates.USER_COURSE_JOIN,
+                "${joinFragment}", generateInstructorJoinFragment(course, instructor),
                 "${userName}", instructor.name,
-                "${courseName}", course.getName(),
                 "${supportEmail}", Config.SUPPORT_EMAIL);
         
         EmailWrapper email = getEmptyEmailAddressedToEmail(instructor.email);
@@ -423,31 +395,32 @@ public class EmailGenerator {
         return email;
     }
     
-    private String fillUpStudentJoinFragment(StudentAttributes student, String emailBody) {
+    private String generateStudentJoinFragment(CourseAttributes course, StudentAttributes student) {
         String joinUrl = Config.getAppUrl(student.getRegistrationUrl()).toAbsoluteString();
         
-        return Templates.populateTemplate(emailBody,
-                "${joinFragment}", EmailTemplates.FRAGMENT_STUDENT_COURSE_JOIN,
-                "${joinUrl}", joinUrl);
+        return Templates.populateTemplate(EmailTemplates.FRAGMENT_STUDENT_COURSE_JOIN,
+                "${joinUrl}", joinUrl,
+                "${courseName}", course.getName());
     }
     
-    private String fillUpStudentRejoinAfterGoogleIdResetFragment(StudentAttributes student, String emailBody) {
+    private String generateStudentRejoinAfterGoogleIdResetFragment(CourseAttributes course,
+                                                                   StudentAttributes student) {
         String joinUrl = Config.getAppUrl(student.getRegistrationUrl()).toAbsoluteString();
         
-        return Templates.populateTemplate(emailBody,
-                "${joinFragment}", EmailTemplates.FRAGMENT_STUDENT_COURSE_REJOIN_AFTER_GOOGLE_ID_RESET,
+        return Templates.populateTemplate(EmailTemplates.FRAGMENT_STUDENT_COURSE_REJOIN_AFTER_GOOGLE_ID_RESET,
                 "${joinUrl}", joinUrl,
+                "${courseName}", course.getName(),
                 "${supportEmail}", Config.SUPPORT_EMAIL);
     }
     
-    private String fillUpInstructorJoinFragment(InstructorAttributes instructor, String emailBody) {
+    private String generateInstructorJoinFragment(CourseAttributes course, InstructorAttributes instructor) {
         String joinUrl = Config.getAppUrl(Const.ActionURIs.INSTRUCTOR_COURSE_JOIN)
                                .withRegistrationKey(StringHelper.encrypt(instructor.key))
                                .toAbsoluteString();
         
-        return Templates.populateTemplate(emailBody,
-                "${joinFragment}", EmailTemplates.FRAGMENT_INSTRUCTOR_COURSE_JOIN,
-                "${joinUrl}", joinUrl);
+        return Templates.populateTemplate(EmailTemplates.FRAGMENT_INSTRUCTOR_COURSE_JOIN,
+                "${joinUrl}", joinUrl,
+                "${courseName}", course.getName());
     }
     
     /**
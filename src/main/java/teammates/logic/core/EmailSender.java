@@ -1,5 +1,6 @@
 package teammates.logic.core;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -49,42 +50,38 @@ public class EmailSender {
         int oneHourInMillis = 60 * 60 * 1000;
         int emailIntervalMillis = Math.min(5000, oneHourInMillis / messages.size());
         
-        int numberOfEmailsSent = 0;
+        List<Map<String, String>> paramMaps = new ArrayList<Map<String, String>>();
         for (EmailWrapper m : messages) {
-            long emailDelayTimer = numberOfEmailsSent * emailIntervalMillis;
-            addEmailToTaskQueue(m, emailDelayTimer);
-            numberOfEmailsSent++;
+            paramMaps.add(getEmailParamMap(m));
+        }
+        
+        TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
+        List<Map<String, String>> failedParamMaps = taskQueueLogic.createAndAddDeferredTasks(
+                SystemParams.SEND_EMAIL_TASK_QUEUE, Const.ActionURIs.SEND_EMAIL_WORKER, paramMaps, emailIntervalMillis);
+        
+        // only the emails whose own tasks were rejected are lost, so each of them is logged
+        for (Map<String, String> failedParamMap : failedParamMaps) {
+            log.severe("Error when adding email to task queue\n"
+                       + "Email recipient: " + failedParamMap.get(ParamsNames.EMAIL_RECEIVER) + "\n"
+                       + "Email sender: " + failedParamMap.get(ParamsNames.EMAIL_SENDER) + "\n"
+                       + "Email sender name: " + failedParamMap.get(ParamsNames.EMAIL_SENDERNAME) + "\n"
+                       + "Email subject: " + failedParamMap.get(ParamsNames.EMAIL_SUBJECT) + "\n"
+                       + "Email reply to address: " + failedParamMap.get(ParamsNames.EMAIL_REPLY_TO_ADDRESS));
         }
     }
     
-    private void addEmailToTaskQueue(EmailWrapper message, long emailDelayTimer) {
-        String emailSubject = message.getSubject();
+    private Map<String, String> getEmailParamMap(EmailWrapper message) {
         String emailSenderName = message.getSenderName();
-        String emailSender = message.getSenderEmail();
-        String emailReceiver = message.getRecipient();
-        String emailReplyToAddress = message.getReplyTo();
-        try {
-            Map<String, String> paramMap = new HashMap<String, String>();
-            paramMap.put(ParamsNames.EMAIL_SUBJECT, emailSubject);
-            paramMap.put(ParamsNames.EMAIL_CONTENT, message.getContent());
-            paramMap.put(ParamsNames.EMAIL_SENDER, emailSender);
-            if (emailSenderName != null && !emailSenderName.isEmpty()) {
-                paramMap.put(ParamsNames.EMAIL_SENDERNAME, emailSenderName);
-            }
-            paramMap.put(ParamsNames.EMAIL_RECEIVER, emailReceiver);
-            paramMap.put(ParamsNames.EMAIL_REPLY_TO_ADDRESS, emailReplyToAddress);
-            
-            TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
-            taskQueueLogic.createAndAddDeferredTask(SystemParams.SEND_EMAIL_TASK_QUEUE,
-                    Const.ActionURIs.SEND_EMAIL_WORKER, paramMap, emailDelayTimer);
-        } catch (Exception e) {
-            log.severe("Error when adding email to task queue: " + e.getMessage() + "\n"
-                       + "Email sender: " + emailSender + "\n"
-                       + "Email sender name: " + emailSenderName + "\n"
-                       + "Email receiver: " + emailReceiver + "\n"
-                       + "Email subject: " + emailSubject + "\n"
-                       + "Email reply to address: " + emailReplyToAddress);
+        Map<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(ParamsNames.EMAIL_SUBJECT, message.getSubject());
+        paramMap.put(ParamsNames.EMAIL_CONTENT, message.getContent());
+        paramMap.put(ParamsNames.EMAIL_SENDER, message.getSenderEmail());
+        if (emailSenderName != null && !emailSenderName.isEmpty()) {
+            paramMap.put(ParamsNames.EMAIL_SENDERNAME, emailSenderName);
         }
+        paramMap.put(ParamsNames.EMAIL_RECEIVER, message.getRecipient());
+        paramMap.put(ParamsNames.EMAIL_REPLY_TO_ADDRESS, message.getReplyTo());
+        return paramMap;
     }
     
     /**
@@ -0,0 +1,180 @@
+package teammates.logic.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentAttributes.UpdateStatus;
+import teammates.common.datatransfer.StudentEnrollDetails;
+
+/**
+ * The changes made to the roster of a course by enrolling a list of students.<br>
+ * The roster is indexed by email once, so that working out the change set and the
+ * section and team violations take time linear in the size of the course.
+ */
+public class EnrollmentPlan {
+
+    private final List<StudentAttributes> studentsToEnroll;
+    private final List<StudentAttributes> studentsNotInEnrollList = new ArrayList<StudentAttributes>();
+    private final Map<String, StudentAttributes> originalStudentsByEmail = new HashMap<String, StudentAttributes>();
+    private final List<UpdateStatus> updateStatuses = new ArrayList<UpdateStatus>();
+    private final int sectionSizeLimit;
+
+    /**
+     * @param studentsToEnroll the students in the enroll lines, in the order of the lines
+     * @param studentsInCourse the students currently in the course
+     * @param sectionSizeLimit the maximum number of students in a section
+     */
+    public EnrollmentPlan(List<StudentAttributes> studentsToEnroll, List<StudentAttributes> studentsInCourse,
+                          int sectionSizeLimit) {
+        this.studentsToEnroll = studentsToEnroll;
+        this.sectionSizeLimit = sectionSizeLimit;
+
+        // the roster entry for an enrolled student is found by exact email, as in the datastore,
+        // but a roster entry is only left out of the enroll list if no enrolled email matches it ignoring case
+        Set<String> enrolledEmails = new HashSet<String>();
+        for (StudentAttributes student : studentsToEnroll) {
+            enrolledEmails.add(student.email.toLowerCase());
+        }
+        for (StudentAttributes student : studentsInCourse) {
+            originalStudentsByEmail.put(student.email, student);
+            if (!enrolledEmails.contains(student.email.toLowerCase())) {
+                studentsNotInEnrollList.add(student);
+            }
+        }
+
+        for (StudentAttributes student : studentsToEnroll) {
+            StudentAttributes originalStudent = originalStudentsByEmail.get(student.email);
+            if (student.isEnrollInfoSameAs(originalStudent)) {
+                updateStatuses.add(UpdateStatus.UNMODIFIED);
+            } else if (originalStudent == null) {
+                updateStatuses.add(UpdateStatus.NEW);
+            } else {
+                updateStatuses.add(UpdateStatus.MODIFIED);
+            }
+        }
+    }
+
+    public List<StudentAttributes> getStudentsToCreate() {
+        return getStudentsToEnroll(UpdateStatus.NEW);
+    }
+
+    public List<StudentAttributes> getStudentsToUpdate() {
+        return getStudentsToEnroll(UpdateStatus.MODIFIED);
+    }
+
+    /**
+     * Sets the {@link StudentAttributes#updateStatus} of the students to enroll and of the students
+     * in the course who are not in the enroll list.
+     */
+    public void setUpdateStatuses() {
+        for (int i = 0; i < studentsToEnroll.size(); i++) {
+            studentsToEnroll.get(i).updateStatus = updateStatuses.get(i);
+        }
+        for (StudentAttributes student : studentsNotInEnrollList) {
+            student.updateStatus = UpdateStatus.NOT_IN_ENROLL_LIST;
+        }
+    }
+
+    /**
+     * @return the record in the course of the student with the same email as {@code student}, or null if there is none
+     */
+    public StudentAttributes getOriginalStudent(StudentAttributes student) {
+        return originalStudentsByEmail.get(student.email);
+    }
+
+    /**
+     * @return the students to enroll followed by the students in the course who are not in the enroll list,
+     *         i.e. the roster of the course after the enrollment
+     */
+    public List<StudentAttributes> getMergedList() {
+        List<StudentAttributes> mergedList = new ArrayList<StudentAttributes>(studentsToEnroll);
+        mergedList.addAll(studentsNotInEnrollList);
+        return mergedList;
+    }
+
+    /**
+     * @return the details needed to adjust the responses of the feedback sessions
+     *         for each of the students to enroll, in the order of the enroll lines
+     */
+    public List<StudentEnrollDetails> getEnrollmentDetails() {
+        List<StudentEnrollDetails> enrollmentDetailsList = new ArrayList<StudentEnrollDetails>();
+        for (int i = 0; i < studentsToEnroll.size(); i++) {
+            StudentAttributes student = studentsToEnroll.get(i);
+            StudentEnrollDetails enrollmentDetails = new StudentEnrollDetails();
+            enrollmentDetails.course = student.course;
+            enrollmentDetails.email = student.email;
+            enrollmentDetails.newTeam = student.team;
+            enrollmentDetails.newSection = student.section;
+            enrollmentDetails.updateStatus = updateStatuses.get(i);
+
+            if (enrollmentDetails.updateStatus == UpdateStatus.MODIFIED) {
+                StudentAttributes originalStudent = getOriginalStudent(student);
+                if (!originalStudent.team.equals(student.team)) {
+                    enrollmentDetails.oldTeam = originalStudent.team;
+                }
+                if (!originalStudent.section.equals(student.section)) {
+                    enrollmentDetails.oldSection = originalStudent.section;
+                }
+            }
+            enrollmentDetailsList.add(enrollmentDetails);
+        }
+        return enrollmentDetailsList;
+    }
+
+    /**
+     * @return the sections which would have more than the allowed number of students, sorted by name
+     */
+    public List<String> getSectionsOverSizeLimit() {
+        Map<String, Integer> studentCountBySection = new HashMap<String, Integer>();
+        for (StudentAttributes student : getMergedList()) {
+            Integer count = studentCountBySection.get(student.section);
+            studentCountBySection.put(student.section, count == null ? 1 : count + 1);
+        }
+
+        List<String> invalidSections = new ArrayList<String>();
+        for (Map.Entry<String, Integer> entry : studentCountBySection.entrySet()) {
+            if (entry.getValue() > sectionSizeLimit) {
+                invalidSections.add(entry.getKey());
+            }
+        }
+        Collections.sort(invalidSections);
+        return invalidSections;
+    }
+
+    /**
+     * @return the teams which would have students in more than one section, sorted by name
+     */
+    public List<String> getTeamsInMultipleSections() {
+        Map<String, String> sectionByTeam = new HashMap<String, String>();
+        Set<String> invalidTeams = new HashSet<String>();
+        for (StudentAttributes student : getMergedList()) {
+            String section = sectionByTeam.get(student.team);
+            if (section == null) {
+                sectionByTeam.put(student.team, student.section);
+            } else if (!section.equals(student.section)) {
+                invalidTeams.add(student.team);
+            }
+        }
+
+        List<String> sortedInvalidTeams = new ArrayList<String>(invalidTeams);
+        Collections.sort(sortedInvalidTeams);
+        return sortedInvalidTeams;
+    }
+
+    private List<StudentAttributes> getStudentsToEnroll(UpdateStatus updateStatus) {
+        List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+        for (int i = 0; i < studentsToEnroll.size(); i++) {
+            if (updateStatuses.get(i) == updateStatus) {
+                students.add(studentsToEnroll.get(i));
+            }
+        }
+        return students;
+    }
+
+}
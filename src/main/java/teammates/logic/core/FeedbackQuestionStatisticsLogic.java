@@ -0,0 +1,87 @@
+package teammates.logic.core;
+
+import java.util.List;
+
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionDetails;
+import teammates.common.datatransfer.FeedbackQuestionStatistics;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.storage.datastore.EntityCache;
+
+/**
+ * Handles the statistics rendered on the results pages and in the results export of feedback sessions.<br>
+ * The statistics of a question are computed once for a set of responses and kept in the {@link EntityCache}
+ * as {@link EntityCache.Kind#QUESTION_STATISTICS}, keyed by the question id followed by {@code %} and a
+ * fingerprint of the question and of the ids, givers, recipients and update times of the responses.
+ * A response which is added, deleted, anonymised or answered anew through any instance changes the
+ * fingerprint. The answers themselves are not part of the fingerprint, so that it does not grow with
+ * their size. {@link teammates.storage.api.FeedbackResponsesDb} also discards the statistics of a question
+ * whenever it changes a response of the question in place, which covers the updates that keep the update
+ * time of the response, but only on the instance which made the change; other instances pick those up
+ * once the statistics expire from their cache.
+ */
+public class FeedbackQuestionStatisticsLogic {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static FeedbackQuestionStatisticsLogic instance;
+
+    public static FeedbackQuestionStatisticsLogic inst() {
+        if (instance == null) {
+            instance = new FeedbackQuestionStatisticsLogic();
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the statistics of the question over the given responses, computing them with
+     * {@code questionDetails} if they have not been computed for the same question and responses.
+     * @return null if statistics of the question type are rendered from the responses directly.
+     */
+    public FeedbackQuestionStatistics getStatistics(FeedbackQuestionAttributes question,
+                                                    FeedbackQuestionDetails questionDetails,
+                                                    List<FeedbackResponseAttributes> responses) {
+        String key = question.getId() + "%" + Long.toHexString(getFingerprint(question, responses));
+        FeedbackQuestionStatistics statistics =
+                (FeedbackQuestionStatistics) EntityCache.get(EntityCache.Kind.QUESTION_STATISTICS, key);
+        if (statistics == null) {
+            statistics = questionDetails.computeStatistics(responses);
+            EntityCache.put(EntityCache.Kind.QUESTION_STATISTICS, key, statistics);
+        }
+        return statistics;
+    }
+
+    /**
+     * Hashes the details of the question and the ids, givers, recipients and update times of the responses,
+     * in order, as the order of the responses decides the order of the statistics.
+     */
+    private static long getFingerprint(FeedbackQuestionAttributes question,
+                                       List<FeedbackResponseAttributes> responses) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = hash(hash, question.getQuestionMetaData() == null ? null : question.getQuestionMetaData().getValue());
+        for (FeedbackResponseAttributes response : responses) {
+            hash = hash(hash, response.getId());
+            hash = hash(hash, response.giver);
+            hash = hash(hash, response.recipient);
+            hash = hash(hash, Long.toString(response.getUpdatedAt().getTime()));
+        }
+        return hash;
+    }
+
+    /**
+     * Adds the string to the 64-bit FNV-1a hash, followed by a separator which no character can be
+     * confused with, so that adjacent strings cannot shift into each other. Null and empty strings
+     * are followed by different separators.
+     */
+    private static long hash(long hash, String value) {
+        long result = hash;
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                result = (result ^ value.charAt(i)) * FNV_PRIME;
+            }
+        }
+        return (result ^ (value == null ? 0x20000 : 0x10000)) * FNV_PRIME;
+    }
+
+}
@@ -1,6 +1,7 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -11,6 +12,7 @@ import java.util.Set;
 import java.util.logging.Logger;
 
 import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackQuestionDetails;
@@ -18,12 +20,12 @@ import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
-import teammates.common.datatransfer.TeamDetailsBundle;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.Utils;
+import teammates.storage.api.CourseRosterSnapshots;
 import teammates.storage.api.FeedbackQuestionsDb;
 
 public class FeedbackQuestionsLogic {
@@ -38,6 +40,7 @@ public class FeedbackQuestionsLogic {
     private static final CoursesLogic coursesLogic = CoursesLogic.inst();
     private static final StudentsLogic studentsLogic = StudentsLogic.inst();
     private static final InstructorsLogic instructorsLogic = InstructorsLogic.inst();
+    private static final StudentDashboardsLogic studentDashboardsLogic = StudentDashboardsLogic.inst();
     
     public static FeedbackQuestionsLogic inst() {
         if (instance == null) {
@@ -77,7 +80,10 @@ public class FeedbackQuestionsLogic {
             FeedbackQuestionAttributes fqa, int questionNumber) throws InvalidParametersException {
         fqa.questionNumber = questionNumber;
         fqa.removeIrrelevantVisibilityOptions();
-        return fqDb.createFeedbackQuestionWithoutExistenceCheck(fqa);
+        FeedbackQuestionAttributes createdQuestion = fqDb.createFeedbackQuestionWithoutExistenceCheck(fqa);
+        fsLogic.invalidateResponseSummary(fqa.feedbackSessionName, fqa.courseId);
+        studentDashboardsLogic.invalidateStudentDashboardsForQuestionChange(null, createdQuestion);
+        return createdQuestion;
     }
     
     public FeedbackQuestionAttributes copyFeedbackQuestion(
@@ -109,6 +115,10 @@ public class FeedbackQuestionsLogic {
         return fqDb.getFeedbackQuestion(feedbackQuestionId);
     }
     
+    public List<FeedbackQuestionAttributes> getFeedbackQuestionsForIds(Collection<String> feedbackQuestionIds) {
+        return fqDb.getFeedbackQuestionsForIds(feedbackQuestionIds);
+    }
+    
     /**
      * Gets a single question corresponding to the given parameters.
      */
@@ -342,34 +352,62 @@ public class FeedbackQuestionsLogic {
     public Map<String, String> getRecipientsForQuestion(FeedbackQuestionAttributes question, String giver)
             throws EntityDoesNotExistException {
         
-        InstructorAttributes instructorGiver = instructorsLogic.getInstructorForEmail(question.courseId, giver);
-        StudentAttributes studentGiver = studentsLogic.getStudentForEmail(question.courseId, giver);
-        
-        return getRecipientsForQuestion(question, giver, instructorGiver, studentGiver);
+        CourseRoster roster = CourseRosterSnapshots.getCourseRoster(question.courseId);
+        return getRecipientsForQuestion(question, giver, roster.getInstructorForEmail(giver),
+                                        roster.getStudentForEmail(giver), roster);
     }
 
+    /**
+     * Gets the recipients of the question for {@code giver} from the roster snapshot of the course
+     * (see {@link CourseRosterSnapshots}).
+     */
     public Map<String, String> getRecipientsForQuestion(
             FeedbackQuestionAttributes question, String giver,
             InstructorAttributes instructorGiver, StudentAttributes studentGiver)
                     throws EntityDoesNotExistException {
-
-        Map<String, String> recipients = new HashMap<String, String>();
-        
-        FeedbackParticipantType recipientType = question.recipientType;
+        return getRecipientsForQuestion(question, giver, instructorGiver, studentGiver,
+                                        CourseRosterSnapshots.getCourseRoster(question.courseId));
+    }
+    
+    /**
+     * Gets the recipients of each of {@code questions} for {@code giver} as
+     * {@link #getRecipientsForQuestion(FeedbackQuestionAttributes, String, InstructorAttributes, StudentAttributes)}
+     * does, but from the participants in {@code roster}.<br>
+     * The recipients of a question depend only on its giver and recipient types, so they are resolved
+     * once for each pair of types. Each question gets its own copy, which the caller may modify.
+     * @return a map of question ids to the recipients of the question
+     */
+    public Map<String, Map<String, String>> getRecipientsForQuestions(
+            List<FeedbackQuestionAttributes> questions, String giver,
+            InstructorAttributes instructorGiver, StudentAttributes studentGiver, CourseRoster roster) {
+        Map<String, Map<String, String>> recipientsByParticipantTypes = new HashMap<String, Map<String, String>>();
+        Map<String, Map<String, String>> recipientsByQuestion = new HashMap<String, Map<String, String>>();
+        for (FeedbackQuestionAttributes question : questions) {
+            String participantTypes = question.giverType + "%" + question.recipientType;
+            Map<String, String> recipients = recipientsByParticipantTypes.get(participantTypes);
+            if (recipients == null) {
+                recipients = getRecipientsForQuestion(question, giver, instructorGiver, studentGiver, roster);
+                recipientsByParticipantTypes.put(participantTypes, recipients);
+            }
+            recipientsByQuestion.put(question.getId(), new HashMap<String, String>(recipients));
+        }
+        return recipientsByQuestion;
+    }
+    
+    private Map<String, String> getRecipientsForQuestion(
+            FeedbackQuestionAttributes question, String giver,
+            InstructorAttributes instructorGiver, StudentAttributes studentGiver, CourseRoster roster) {
         
-        String giverTeam = null;
+        Map<String, String> recipients = new HashMap<String, String>();
         
-        boolean isStudentGiver = studentGiver != null;
-        boolean isInstructorGiver = instructorGiver != null;
-        if (isStudentGiver) {
+        String giverTeam = giver;
+        if (studentGiver != null) {
             giverTeam = studentGiver.team;
-        } else if (isInstructorGiver) {
+        } else if (instructorGiver != null) {
             giverTeam = Const.USER_TEAM_FOR_INSTRUCTOR;
-        } else {
-            giverTeam = giver;
         }
         
-        switch (recipientType) {
+        switch (question.recipientType) {
         case SELF:
             if (question.giverType == FeedbackParticipantType.TEAMS) {
                 recipients.put(studentGiver.team, studentGiver.team);
@@ -378,8 +416,7 @@ public class FeedbackQuestionsLogic {
             }
             break;
         case STUDENTS:
-            List<StudentAttributes> studentsInCourse = studentsLogic.getStudentsForCourse(question.courseId);
-            for (StudentAttributes student : studentsInCourse) {
+            for (StudentAttributes student : roster.getStudents()) {
                 // Ensure student does not evaluate himself
                 if (!giver.equals(student.email)) {
                     recipients.put(student.email, student.name);
@@ -387,8 +424,7 @@ public class FeedbackQuestionsLogic {
             }
             break;
         case INSTRUCTORS:
-            List<InstructorAttributes> instructorsInCourse = instructorsLogic.getInstructorsForCourse(question.courseId);
-            for (InstructorAttributes instr : instructorsInCourse) {
+            for (InstructorAttributes instr : roster.getInstructors()) {
                 // Ensure instructor does not evaluate himself
                 if (!giver.equals(instr.email)) {
                     recipients.put(instr.email, instr.name);
@@ -396,12 +432,11 @@ public class FeedbackQuestionsLogic {
             }
             break;
         case TEAMS:
-            List<TeamDetailsBundle> teams = coursesLogic.getTeamsForCourse(question.courseId);
-            for (TeamDetailsBundle team : teams) {
+            for (String teamName : roster.getTeamNames()) {
                 // Ensure student('s team) does not evaluate own team.
-                if (!giverTeam.equals(team.name)) {
+                if (!giverTeam.equals(teamName)) {
                     // recipientEmail doubles as team name in this case.
-                    recipients.put(team.name, team.name);
+                    recipients.put(teamName, teamName);
                 }
             }
             break;
@@ -409,16 +444,14 @@ public class FeedbackQuestionsLogic {
             recipients.put(giverTeam, giverTeam);
             break;
         case OWN_TEAM_MEMBERS:
-            List<StudentAttributes> students = studentsLogic.getStudentsForTeam(giverTeam, question.courseId);
-            for (StudentAttributes student : students) {
+            for (StudentAttributes student : roster.getStudentsInTeam(giverTeam)) {
                 if (!student.email.equals(giver)) {
                     recipients.put(student.email, student.name);
                 }
             }
             break;
         case OWN_TEAM_MEMBERS_INCLUDING_SELF:
-            List<StudentAttributes> teamMembers = studentsLogic.getStudentsForTeam(giverTeam, question.courseId);
-            for (StudentAttributes student : teamMembers) {
+            for (StudentAttributes student : roster.getStudentsInTeam(giverTeam)) {
                 // accepts self feedback too
                 recipients.put(student.email, student.name);
             }
@@ -442,14 +475,73 @@ public class FeedbackQuestionsLogic {
         
         int numberOfResponsesGiven =
                 frLogic.getFeedbackResponsesFromGiverForQuestion(question.getId(), email).size();
-        int numberOfResponsesNeeded =
-                question.numberOfEntitiesToGiveFeedbackTo;
+        int numberOfResponsesNeeded = getNumberOfResponsesNeeded(question, email);
         
-        if (numberOfResponsesNeeded == Const.MAX_POSSIBLE_RECIPIENTS) {
-            numberOfResponsesNeeded = getRecipientsForQuestion(question, email).size();
+        return numberOfResponsesGiven >= numberOfResponsesNeeded ? true : false;
+    }
+
+    /**
+     * Checks if the question has been fully answered by {@code email} as
+     * {@link #isQuestionFullyAnsweredByUser(FeedbackQuestionAttributes, String)} does, but counts the
+     * recipients in {@code roster} instead of reading them from the datastore.
+     */
+    public boolean isQuestionFullyAnsweredByUser(FeedbackQuestionAttributes question, String email,
+                                                 CourseRoster roster) {
+        int numberOfResponsesGiven =
+                frLogic.getFeedbackResponsesFromGiverForQuestion(question.getId(), email).size();
+        return numberOfResponsesGiven >= getNumberOfResponsesNeeded(question, email, roster);
+    }
+    
+    /**
+     * @return the number of responses {@code email} has to give for the question to be fully answered.
+     */
+    public int getNumberOfResponsesNeeded(FeedbackQuestionAttributes question, String email)
+            throws EntityDoesNotExistException {
+        if (question.numberOfEntitiesToGiveFeedbackTo == Const.MAX_POSSIBLE_RECIPIENTS) {
+            return getRecipientsForQuestion(question, email).size();
+        }
+        return question.numberOfEntitiesToGiveFeedbackTo;
+    }
+
+    /**
+     * Counts the responses {@code giverEmail} has to give for the question to be fully answered as
+     * {@link #getNumberOfResponsesNeeded(FeedbackQuestionAttributes, String)} does, but counts the recipients
+     * in {@code roster} instead of reading them from the datastore.
+     */
+    public int getNumberOfResponsesNeeded(FeedbackQuestionAttributes question, String giverEmail,
+                                          CourseRoster roster) {
+        if (question.numberOfEntitiesToGiveFeedbackTo != Const.MAX_POSSIBLE_RECIPIENTS) {
+            return question.numberOfEntitiesToGiveFeedbackTo;
         }
         
-        return numberOfResponsesGiven >= numberOfResponsesNeeded ? true : false;
+        StudentAttributes studentGiver = roster.getStudentForEmail(giverEmail);
+        boolean isInstructorGiver = roster.isInstructorOfCourse(giverEmail);
+        String giverTeam = giverEmail;
+        if (studentGiver != null) {
+            giverTeam = studentGiver.team;
+        } else if (isInstructorGiver) {
+            giverTeam = Const.USER_TEAM_FOR_INSTRUCTOR;
+        }
+        
+        switch (question.recipientType) {
+        case SELF:
+        case OWN_TEAM:
+        case NONE:
+            return 1;
+        case STUDENTS:
+            // the giver does not evaluate himself
+            return roster.getStudents().size() - (studentGiver == null ? 0 : 1);
+        case INSTRUCTORS:
+            return roster.getInstructors().size() - (isInstructorGiver ? 1 : 0);
+        case TEAMS:
+            return roster.getTeamNames().size() - (roster.getTeamNames().contains(giverTeam) ? 1 : 0);
+        case OWN_TEAM_MEMBERS:
+            return roster.getStudentsInTeam(giverTeam).size() - (roster.isStudentInTeam(giverEmail, giverTeam) ? 1 : 0);
+        case OWN_TEAM_MEMBERS_INCLUDING_SELF:
+            return roster.getStudentsInTeam(giverTeam).size();
+        default:
+            return 0;
+        }
     }
 
     /**
@@ -603,11 +695,14 @@ public class FeedbackQuestionsLogic {
         
         if (oldQuestion.isChangesRequiresResponseDeletion(newAttributes)) {
             frLogic.deleteFeedbackResponsesForQuestionAndCascade(oldQuestion.getId(), hasResponseRateUpdate);
+            // the giver of the question may have changed, which changes the expected respondents
+            fsLogic.invalidateResponseSummary(oldQuestion.feedbackSessionName, oldQuestion.courseId);
         }
         
         oldQuestion.updateValues(newAttributes);
         newAttributes.removeIrrelevantVisibilityOptions();
         fqDb.updateFeedbackQuestion(newAttributes);
+        studentDashboardsLogic.invalidateStudentDashboardsForQuestionChange(oldQuestion, newAttributes);
     }
 
     public void deleteFeedbackQuestionsForSession(String feedbackSessionName, String courseId)
@@ -704,6 +799,8 @@ public class FeedbackQuestionsLogic {
         }
         
         fqDb.deleteEntity(questionToDelete);
+        fsLogic.invalidateResponseSummary(feedbackSessionName, courseId);
+        studentDashboardsLogic.invalidateStudentDashboardsForQuestionChange(questionToDelete, null);
         
         if (questionToDelete.questionNumber < questionsToShiftQnNumber.size()) {
             shiftQuestionNumbersDown(questionToDelete.questionNumber, questionsToShiftQnNumber);
@@ -731,16 +828,14 @@ public class FeedbackQuestionsLogic {
      * Removes questions with no recipients.
      */
     public List<FeedbackQuestionAttributes> getQuestionsWithRecipients(
-            List<FeedbackQuestionAttributes> questions, String giver)
-            throws EntityDoesNotExistException {
+            List<FeedbackQuestionAttributes> questions, String giver) {
         List<FeedbackQuestionAttributes> questionsWithRecipients = new ArrayList<FeedbackQuestionAttributes>();
+        CourseRoster roster = null;
         for (FeedbackQuestionAttributes question : questions) {
-            int numRecipients = question.numberOfEntitiesToGiveFeedbackTo;
-            if (numRecipients == Const.MAX_POSSIBLE_RECIPIENTS) {
-                numRecipients = this.getRecipientsForQuestion(question, giver)
-                        .size();
+            if (roster == null && question.numberOfEntitiesToGiveFeedbackTo == Const.MAX_POSSIBLE_RECIPIENTS) {
+                roster = CourseRosterSnapshots.getCourseRoster(question.courseId);
             }
-            if (numRecipients > 0) {
+            if (getNumberOfResponsesNeeded(question, giver, roster) > 0) {
                 questionsWithRecipients.add(question);
             }
         }
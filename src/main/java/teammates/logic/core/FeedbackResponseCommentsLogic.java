@@ -1,6 +1,7 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
@@ -80,6 +81,11 @@ public class FeedbackResponseCommentsLogic {
         return frcDb.getFeedbackResponseComment(feedbackResponseCommentId);
     }
     
+    public List<FeedbackResponseCommentAttributes> getFeedbackResponseCommentsForIds(
+            Collection<Long> feedbackResponseCommentIds) {
+        return frcDb.getFeedbackResponseCommentsForIds(feedbackResponseCommentIds);
+    }
+    
     public FeedbackResponseCommentAttributes getFeedbackResponseComment(String responseId, String giverEmail,
                                                                         Date creationDate) {
         return frcDb.getFeedbackResponseComment(responseId, giverEmail, creationDate);
@@ -195,6 +201,10 @@ public class FeedbackResponseCommentsLogic {
         frcDb.deleteFeedbackResponseCommentsForResponse(responseId);
     }
     
+    public void deleteFeedbackResponseCommentsForResponses(Collection<String> responseIds) {
+        frcDb.deleteFeedbackResponseCommentsForResponses(responseIds);
+    }
+    
     public void deleteFeedbackResponseComment(FeedbackResponseCommentAttributes feedbackResponseComment) {
         frcDb.deleteEntity(feedbackResponseComment);
     }
@@ -207,6 +217,14 @@ public class FeedbackResponseCommentsLogic {
         frcDb.deleteDocument(commentToDelete);
     }
     
+    /**
+     * Remove documents for the given comments with one call to the search index
+     * @param commentsToDelete
+     */
+    public void deleteDocuments(Collection<FeedbackResponseCommentAttributes> commentsToDelete) {
+        frcDb.deleteDocuments(commentsToDelete);
+    }
+    
     /**
      * Verify whether the comment's giver name is visible to certain user
      * @param comment
@@ -1,6 +1,7 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -12,6 +13,7 @@ import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponsesPage;
 import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.datatransfer.StudentEnrollDetails;
 import teammates.common.datatransfer.UserType;
@@ -60,6 +62,10 @@ public class FeedbackResponsesLogic {
         return frDb.getFeedbackResponse(feedbackResponseId);
     }
 
+    public List<FeedbackResponseAttributes> getFeedbackResponsesForIds(Collection<String> feedbackResponseIds) {
+        return frDb.getFeedbackResponsesForIds(feedbackResponseIds);
+    }
+
     public FeedbackResponseAttributes getFeedbackResponse(
             String feedbackQuestionId, String giverEmail, String recipient) {
         return frDb.getFeedbackResponse(feedbackQuestionId, giverEmail, recipient);
@@ -94,6 +100,54 @@ public class FeedbackResponsesLogic {
         return frDb.getFeedbackResponsesForSessionToSection(feedbackSessionName, courseId, section);
     }
     
+    /**
+     * Gets one page of the responses in a session given by or to {@code section},
+     * or of all responses in the session if {@code section} is null.
+     * @param cursor the {@link FeedbackResponsesPage#nextCursor} of the previous page,
+     *         or null to get the first page.
+     * @param isPagedByRecipient true to keep the responses of each recipient (instead of giver) on one page
+     */
+    public FeedbackResponsesPage getFeedbackResponsesForSessionInSection(
+            String feedbackSessionName, String courseId, String section, String cursor, int pageSize,
+            boolean isPagedByRecipient) {
+        if (section == null) {
+            return frDb.getFeedbackResponsesForSession(feedbackSessionName, courseId, cursor, pageSize,
+                                                       isPagedByRecipient);
+        }
+        return frDb.getFeedbackResponsesForSessionInSection(feedbackSessionName, courseId, section, cursor, pageSize,
+                                                            isPagedByRecipient);
+    }
+
+    /**
+     * Gets one page of the responses in a session given by {@code section},
+     * or of all responses in the session if {@code section} is null.
+     * The responses of each giver are kept on one page.
+     * @param cursor the {@link FeedbackResponsesPage#nextCursor} of the previous page,
+     *         or null to get the first page.
+     */
+    public FeedbackResponsesPage getFeedbackResponsesForSessionFromSection(
+            String feedbackSessionName, String courseId, String section, String cursor, int pageSize) {
+        if (section == null) {
+            return frDb.getFeedbackResponsesForSession(feedbackSessionName, courseId, cursor, pageSize, false);
+        }
+        return frDb.getFeedbackResponsesForSessionFromSection(feedbackSessionName, courseId, section, cursor, pageSize);
+    }
+
+    /**
+     * Gets one page of the responses in a session given to {@code section},
+     * or of all responses in the session if {@code section} is null.
+     * The responses to each recipient are kept on one page.
+     * @param cursor the {@link FeedbackResponsesPage#nextCursor} of the previous page,
+     *         or null to get the first page.
+     */
+    public FeedbackResponsesPage getFeedbackResponsesForSessionToSection(
+            String feedbackSessionName, String courseId, String section, String cursor, int pageSize) {
+        if (section == null) {
+            return frDb.getFeedbackResponsesForSession(feedbackSessionName, courseId, cursor, pageSize, true);
+        }
+        return frDb.getFeedbackResponsesForSessionToSection(feedbackSessionName, courseId, section, cursor, pageSize);
+    }
+    
     public List<FeedbackResponseAttributes> getFeedbackResponsesForSessionWithinRange(
             String feedbackSessionName, String courseId, long range) {
         return frDb.getFeedbackResponsesForSessionWithinRange(feedbackSessionName, courseId, range);
@@ -143,6 +197,14 @@ public class FeedbackResponsesLogic {
         return frDb.getFeedbackResponsesForQuestionInSection(feedbackQuestionId, section);
     }
 
+    public List<FeedbackResponseAttributes> getFeedbackResponsesForQuestionFromOrToSection(
+            String feedbackQuestionId, String section) {
+        if (section == null) {
+            return getFeedbackResponsesForQuestion(feedbackQuestionId);
+        }
+        return frDb.getFeedbackResponsesForQuestionFromOrToSection(feedbackQuestionId, section);
+    }
+
     public List<FeedbackResponseAttributes> getFeedbackResponsesForReceiverForQuestion(
             String feedbackQuestionId, String userEmail) {
         return frDb.getFeedbackResponsesForReceiverForQuestion(feedbackQuestionId, userEmail);
@@ -193,6 +255,14 @@ public class FeedbackResponsesLogic {
         return frDb.getFeedbackResponsesFromGiverForCourse(courseId, userEmail);
     }
 
+    /**
+     * @return the responses in the course given by or to any of {@code emails}, sorted by id
+     */
+    public List<FeedbackResponseAttributes> getFeedbackResponsesFromOrForEmailsForCourse(
+            String courseId, Collection<String> emails) {
+        return frDb.getFeedbackResponsesFromOrForEmailsForCourse(courseId, emails);
+    }
+
     /**
      * Get existing feedback responses from student or his team for the given
      * question.
@@ -209,6 +279,22 @@ public class FeedbackResponsesLogic {
     public List<FeedbackResponseAttributes> getViewableFeedbackResponsesForQuestionInSection(
             FeedbackQuestionAttributes question, String userEmail,
             UserType.Role role, String section) {
+        return getViewableFeedbackResponsesForQuestion(question, userEmail, role, section, false);
+    }
+
+    /**
+     * Same as {@link #getViewableFeedbackResponsesForQuestionInSection}, except that all the responses
+     * given by or to {@code section} are included, whatever the section of the other participant.
+     */
+    public List<FeedbackResponseAttributes> getViewableFeedbackResponsesForQuestionFromOrToSection(
+            FeedbackQuestionAttributes question, String userEmail,
+            UserType.Role role, String section) {
+        return getViewableFeedbackResponsesForQuestion(question, userEmail, role, section, true);
+    }
+
+    private List<FeedbackResponseAttributes> getViewableFeedbackResponsesForQuestion(
+            FeedbackQuestionAttributes question, String userEmail,
+            UserType.Role role, String section, boolean isFromOrToSection) {
 
         List<FeedbackResponseAttributes> viewableResponses =
                 new ArrayList<FeedbackResponseAttributes>();
@@ -237,7 +323,9 @@ public class FeedbackResponsesLogic {
         case INSTRUCTOR:
             if (question.isResponseVisibleTo(FeedbackParticipantType.INSTRUCTORS)) {
                 addNewResponses(viewableResponses,
-                                getFeedbackResponsesForQuestionInSection(question.getId(), section));
+                                isFromOrToSection
+                                ? getFeedbackResponsesForQuestionFromOrToSection(question.getId(), section)
+                                : getFeedbackResponsesForQuestionInSection(question.getId(), section));
             }
             break;
         default:
@@ -640,6 +728,29 @@ public class FeedbackResponsesLogic {
         frcLogic.deleteFeedbackResponseCommentsForResponse(responseToDelete.getId());
         frDb.deleteEntity(responseToDelete);
     }
+    
+    /**
+     * Creates the responses which do not exist yet and updates those which do, in one batched write.
+     * See {@link FeedbackResponsesDb#putFeedbackResponses}.<br>
+     * Responses which have an id must have the same giver and recipient as the response with that id;
+     * {@link #updateFeedbackResponse(FeedbackResponseAttributes)} recreates responses for which they change.
+     */
+    public void putFeedbackResponses(List<FeedbackResponseAttributes> responsesToPut)
+            throws InvalidParametersException {
+        frDb.putFeedbackResponses(responsesToPut);
+    }
+    
+    /**
+     * Deletes the responses and their comments, looking them up in batches.
+     */
+    public void deleteFeedbackResponsesAndCascade(List<FeedbackResponseAttributes> responsesToDelete) {
+        List<String> responseIds = new ArrayList<String>();
+        for (FeedbackResponseAttributes response : responsesToDelete) {
+            responseIds.add(response.getId());
+        }
+        frcLogic.deleteFeedbackResponseCommentsForResponses(responseIds);
+        frDb.deleteEntities(responsesToDelete);
+    }
 
     public void deleteFeedbackResponsesForQuestionAndCascade(
             String feedbackQuestionId, boolean hasResponseRateUpdate) {
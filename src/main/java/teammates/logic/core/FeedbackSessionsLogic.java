@@ -1,7 +1,13 @@
 package teammates.logic.core;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
@@ -20,13 +26,16 @@ import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackQuestionDetails;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.FeedbackResponsesPage;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.FeedbackSessionDetailsBundle;
 import teammates.common.datatransfer.FeedbackSessionQuestionsBundle;
 import teammates.common.datatransfer.FeedbackSessionResponseStatus;
+import teammates.common.datatransfer.FeedbackSessionResponseSummaryAttributes;
 import teammates.common.datatransfer.FeedbackSessionResultsBundle;
 import teammates.common.datatransfer.FeedbackSessionType;
 import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.ParticipantIndex;
 import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.datatransfer.UserType;
 import teammates.common.datatransfer.UserType.Role;
@@ -45,9 +54,9 @@ import teammates.common.util.Sanitizer;
 import teammates.common.util.StringHelper;
 import teammates.common.util.TimeHelper;
 import teammates.common.util.Utils;
+import teammates.storage.api.CourseRosterSnapshots;
+import teammates.storage.api.FeedbackSessionResponseSummariesDb;
 import teammates.storage.api.FeedbackSessionsDb;
-import teammates.storage.api.InstructorsDb;
-import teammates.storage.api.StudentsDb;
 
 public class FeedbackSessionsLogic {
     
@@ -56,20 +65,25 @@ public class FeedbackSessionsLogic {
     private static final Logger log = Utils.getLogger();
 
     private static final FeedbackSessionsDb fsDb = new FeedbackSessionsDb();
+    private static final FeedbackSessionResponseSummariesDb responseSummariesDb =
+            new FeedbackSessionResponseSummariesDb();
     private static final FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
     private static final FeedbackResponsesLogic frLogic = FeedbackResponsesLogic.inst();
     private static final FeedbackResponseCommentsLogic frcLogic = FeedbackResponseCommentsLogic.inst();
     private static final InstructorsLogic instructorsLogic = InstructorsLogic.inst();
     private static final CoursesLogic coursesLogic = CoursesLogic.inst();
     private static final StudentsLogic studentsLogic = StudentsLogic.inst();
+    private static final StudentDashboardsLogic studentDashboardsLogic = StudentDashboardsLogic.inst();
     private static final String QUESTION_ID_FOR_RESPONSE_RATE = "-1";
-    private static final int EMAIL_NAME_PAIR = 0;
-    private static final int EMAIL_LASTNAME_PAIR = 1;
-    private static final int EMAIL_TEAMNAME_PAIR = 2;
+    
+    /** Length of the window in which at most one repair of the response summary of a session is scheduled */
+    private static final long RESPONSE_SUMMARY_REPAIR_WINDOW_MILLIS = 60 * 1000L;
 
+    private static final String PARAM_CURSOR = "cursor";
     private static final String PARAM_FROM_SECTION = "fromSection";
     private static final String PARAM_IN_SECTION = "inSection";
     private static final String PARAM_IS_INCLUDE_RESPONSE_STATUS = "isIncludeResponseStatus";
+    private static final String PARAM_PAGE_SIZE = "pageSize";
     private static final String PARAM_QUESTION_ID = "questionId";
     private static final String PARAM_RANGE = "range";
     private static final String PARAM_SECTION = "section";
@@ -114,6 +128,7 @@ public class FeedbackSessionsLogic {
     public void createFeedbackSession(FeedbackSessionAttributes fsa)
             throws InvalidParametersException, EntityAlreadyExistsException {
         fsDb.createEntity(fsa);
+        studentDashboardsLogic.invalidateStudentDashboardsForNewSession(fsa);
     }
 
     public List<FeedbackSessionAttributes> getAllOpenFeedbackSessions(Date start, Date end, double zone) {
@@ -133,6 +148,18 @@ public class FeedbackSessionsLogic {
         return fsDb.getFeedbackSessionsForCourse(courseId);
     }
 
+    public List<FeedbackSessionAttributes> getFeedbackSessionsForCourses(Collection<String> courseIds) {
+        return fsDb.getFeedbackSessionsForCourses(courseIds);
+    }
+
+    /**
+     * Adds the respondents of the sessions to their respondent sets, in place. Sessions are read
+     * without their respondents, as only a few callers need all of them.
+     */
+    public void addRespondentsTo(Collection<FeedbackSessionAttributes> sessions) {
+        fsDb.addRespondentsTo(sessions);
+    }
+
     public FeedbackSessionAttributes copyFeedbackSession(String newFeedbackSessionName,
             String newCourseId, String feedbackSessionName, String courseId, String instructorEmail)
             throws InvalidParametersException, EntityAlreadyExistsException, EntityDoesNotExistException {
@@ -238,15 +265,61 @@ public class FeedbackSessionsLogic {
         List<FeedbackSessionDetailsBundle> fsDetails = new ArrayList<FeedbackSessionDetailsBundle>();
         List<InstructorAttributes> instructors =
                 instructorsLogic.getInstructorsForGoogleId(googleId, omitArchived);
+        Map<String, List<FeedbackSessionDetailsBundle>> fsDetailsByCourse =
+                getFeedbackSessionDetailsForInstructors(instructors);
 
         for (InstructorAttributes instructor : instructors) {
-            fsDetails.addAll(getFeedbackSessionDetailsForCourse(
-                    instructor.courseId, instructor.email));
+            fsDetails.addAll(fsDetailsByCourse.get(instructor.courseId));
         }
 
         return fsDetails;
     }
     
+    /**
+     * Returns the feedback sessions of the courses of the given instructors bundled with their
+     * response statistics, keyed by course id.<br>
+     * Does not return private sessions unless the instructor is the creator.<br>
+     * The sessions and response summaries of all the courses are read with batched queries,
+     * instead of a few queries per course.
+     */
+    public Map<String, List<FeedbackSessionDetailsBundle>> getFeedbackSessionDetailsForInstructors(
+            List<InstructorAttributes> instructors) throws EntityDoesNotExistException {
+        
+        Map<String, String> instructorEmailByCourse = new HashMap<String, String>();
+        for (InstructorAttributes instructor : instructors) {
+            instructorEmailByCourse.put(instructor.courseId, instructor.email);
+        }
+        
+        Map<String, FeedbackSessionResponseSummaryAttributes> summaries =
+                new HashMap<String, FeedbackSessionResponseSummaryAttributes>();
+        for (FeedbackSessionResponseSummaryAttributes summary
+                : responseSummariesDb.getResponseSummariesForCourses(instructorEmailByCourse.keySet())) {
+            summaries.put(summary.getIdentificationString(), summary);
+        }
+        
+        Map<String, List<FeedbackSessionDetailsBundle>> fsDetailsByCourse =
+                new HashMap<String, List<FeedbackSessionDetailsBundle>>();
+        for (String courseId : instructorEmailByCourse.keySet()) {
+            fsDetailsByCourse.put(courseId, new ArrayList<FeedbackSessionDetailsBundle>());
+        }
+        
+        List<FeedbackSessionAttributes> sessions = new ArrayList<FeedbackSessionAttributes>();
+        for (FeedbackSessionAttributes fsa : fsDb.getFeedbackSessionsForCourses(instructorEmailByCourse.keySet())) {
+            if (!fsa.isPrivateSession() || fsa.isCreator(instructorEmailByCourse.get(fsa.getCourseId()))) {
+                sessions.add(fsa);
+            }
+        }
+        fsDb.addRespondentsTo(sessions);
+        
+        for (FeedbackSessionAttributes fsa : sessions) {
+            FeedbackSessionResponseSummaryAttributes summary =
+                    summaries.get(fsa.getIdentificationString());
+            fsDetailsByCourse.get(fsa.getCourseId()).add(getFeedbackSessionDetails(fsa, summary));
+        }
+        
+        return fsDetailsByCourse;
+    }
+    
     /**
      * Returns a {@code List} of all feedback sessions WITHOUT their response
      * statistics for a instructor given by his googleId.<br>
@@ -307,14 +380,15 @@ public class FeedbackSessionsLogic {
                 fqLogic.getFeedbackQuestionsForInstructor(feedbackSessionName,
                         courseId, userEmail);
         
-        InstructorAttributes instructorGiver = instructor;
-        StudentAttributes studentGiver = null;
+        CourseRoster roster = CourseRosterSnapshots.getCourseRoster(courseId);
+        Map<String, Map<String, String>> recipientsByQuestion =
+                fqLogic.getRecipientsForQuestions(questions, userEmail, instructor, null, roster);
 
         for (FeedbackQuestionAttributes question : questions) {
 
-            updateBundleAndRecipientListWithResponsesForInstructor(courseId,
-                    userEmail, fsa, instructor, bundle, recipientList,
-                    question, instructorGiver, studentGiver);
+            updateBundleAndRecipientListWithResponsesForInstructor(userEmail,
+                    fsa, instructor, bundle, recipientList, question,
+                    recipientsByQuestion.get(question.getId()), roster);
         }
 
         return new FeedbackSessionQuestionsBundle(fsa, bundle, recipientList);
@@ -338,37 +412,35 @@ public class FeedbackSessionsLogic {
 
         FeedbackQuestionAttributes question = fqLogic.getFeedbackQuestion(feedbackQuestionId);
         
-        InstructorAttributes instructorGiver = instructor;
-        StudentAttributes studentGiver = null;
+        CourseRoster roster = CourseRosterSnapshots.getCourseRoster(courseId);
+        Map<String, Map<String, String>> recipientsByQuestion =
+                fqLogic.getRecipientsForQuestions(Arrays.asList(question), userEmail, instructor, null, roster);
 
-        updateBundleAndRecipientListWithResponsesForInstructor(courseId,
-                userEmail, fsa, instructor, bundle, recipientList,
-                question, instructorGiver, studentGiver);
+        updateBundleAndRecipientListWithResponsesForInstructor(userEmail,
+                fsa, instructor, bundle, recipientList, question,
+                recipientsByQuestion.get(question.getId()), roster);
 
         return new FeedbackSessionQuestionsBundle(fsa, bundle, recipientList);
     }
 
     private void updateBundleAndRecipientListWithResponsesForInstructor(
-            String courseId,
             String userEmail,
             FeedbackSessionAttributes fsa,
             InstructorAttributes instructor,
             Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> bundle,
             Map<String, Map<String, String>> recipientList,
             FeedbackQuestionAttributes question,
-            InstructorAttributes instructorGiver, StudentAttributes studentGiver)
-            throws EntityDoesNotExistException {
+            Map<String, String> recipients,
+            CourseRoster roster) {
         List<FeedbackResponseAttributes> responses =
                 frLogic.getFeedbackResponsesFromGiverForQuestion(
                         question.getId(), userEmail);
-        Map<String, String> recipients =
-                fqLogic.getRecipientsForQuestion(question, userEmail, instructorGiver, studentGiver);
         // instructor can only see students in allowed sections for him/her
         if (question.recipientType.equals(FeedbackParticipantType.STUDENTS)) {
             Iterator<Map.Entry<String, String>> iter = recipients.entrySet().iterator();
             while (iter.hasNext()) {
                 Map.Entry<String, String> studentEntry = iter.next();
-                StudentAttributes student = studentsLogic.getStudentForEmail(courseId, studentEntry.getKey());
+                StudentAttributes student = roster.getStudentForEmail(studentEntry.getKey());
                 if (!instructor.isAllowedForPrivilege(student.section,
                         fsa.getFeedbackSessionName(), Const.ParamsNames.INSTRUCTOR_PERMISSION_SUBMIT_SESSION_IN_SECTIONS)) {
                     iter.remove();
@@ -380,7 +452,8 @@ public class FeedbackSessionsLogic {
             Iterator<Map.Entry<String, String>> iter = recipients.entrySet().iterator();
             while (iter.hasNext()) {
                 Map.Entry<String, String> teamEntry = iter.next();
-                String teamSection = studentsLogic.getSectionForTeam(courseId, teamEntry.getKey());
+                List<StudentAttributes> teamMembers = roster.getStudentsInTeam(teamEntry.getKey());
+                String teamSection = teamMembers.isEmpty() ? Const.DEFAULT_SECTION : teamMembers.get(0).section;
                 if (!instructor.isAllowedForPrivilege(teamSection,
                         fsa.getFeedbackSessionName(), Const.ParamsNames.INSTRUCTOR_PERMISSION_SUBMIT_SESSION_IN_SECTIONS)) {
                     iter.remove();
@@ -429,10 +502,15 @@ public class FeedbackSessionsLogic {
             }
         }
 
+        CourseRoster roster = CourseRosterSnapshots.getCourseRoster(courseId);
+        Map<String, Map<String, String>> recipientsByQuestion =
+                fqLogic.getRecipientsForQuestions(questions, userEmail, null, student, roster);
+
         for (FeedbackQuestionAttributes question : questions) {
 
-            updateBundleAndRecipientListWithResponsesForStudent(userEmail, student,
-                    bundle, recipientList, question, hiddenInstructorEmails);
+            updateBundleAndRecipientListWithResponsesForStudent(student,
+                    bundle, recipientList, question, recipientsByQuestion.get(question.getId()),
+                    hiddenInstructorEmails);
         }
 
         return new FeedbackSessionQuestionsBundle(fsa, bundle, recipientList);
@@ -466,25 +544,27 @@ public class FeedbackSessionsLogic {
             hiddenInstructorEmails = getHiddenInstructorEmails(courseId);
         }
 
-        updateBundleAndRecipientListWithResponsesForStudent(userEmail, student,
-                bundle, recipientList, question, hiddenInstructorEmails);
+        CourseRoster roster = CourseRosterSnapshots.getCourseRoster(courseId);
+        Map<String, Map<String, String>> recipientsByQuestion =
+                fqLogic.getRecipientsForQuestions(Arrays.asList(question), userEmail, null, student, roster);
+
+        updateBundleAndRecipientListWithResponsesForStudent(student,
+                bundle, recipientList, question, recipientsByQuestion.get(question.getId()),
+                hiddenInstructorEmails);
 
         return new FeedbackSessionQuestionsBundle(fsa, bundle, recipientList);
     }
 
     private void updateBundleAndRecipientListWithResponsesForStudent(
-            String userEmail,
             StudentAttributes student,
             Map<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> bundle,
             Map<String, Map<String, String>> recipientList,
             FeedbackQuestionAttributes question,
-            Set<String> hiddenInstructorEmails)
-            throws EntityDoesNotExistException {
+            Map<String, String> recipients,
+            Set<String> hiddenInstructorEmails) {
         List<FeedbackResponseAttributes> responses =
                 frLogic.getFeedbackResponsesFromStudentOrTeamForQuestion(
                         question, student);
-        Map<String, String> recipients =
-                fqLogic.getRecipientsForQuestion(question, userEmail, null, student);
 
         removeHiddenInstructors(question, responses, recipients, hiddenInstructorEmails);
 
@@ -578,8 +658,7 @@ public class FeedbackSessionsLogic {
         List<FeedbackQuestionAttributes> allQuestions = fqLogic.getFeedbackQuestionsForSession(feedbackSessionName,
                         courseId);
         
-        CourseRoster roster = new CourseRoster(new StudentsDb().getStudentsForCourse(courseId),
-                                               new InstructorsDb().getInstructorsForCourse(courseId));
+        CourseRoster roster = CourseRosterSnapshots.getCourseRoster(courseId);
         return getFeedbackSessionResponseStatus(session, roster, allQuestions);
     }
 
@@ -595,9 +674,7 @@ public class FeedbackSessionsLogic {
         // Load details of students and instructors once and pass it to callee
         // methods
         // (rather than loading them many times).
-        CourseRoster roster = new CourseRoster(
-                new StudentsDb().getStudentsForCourse(courseId),
-                new InstructorsDb().getInstructorsForCourse(courseId));
+        CourseRoster roster = CourseRosterSnapshots.getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "true");
         params.put(PARAM_IN_SECTION, "false");
@@ -620,9 +697,7 @@ public class FeedbackSessionsLogic {
                                                 String questionId, String selectedSection)
                                         throws EntityDoesNotExistException {
 
-        CourseRoster roster = new CourseRoster(
-                new StudentsDb().getStudentsForCourse(courseId),
-                new InstructorsDb().getInstructorsForCourse(courseId));
+        CourseRoster roster = CourseRosterSnapshots.getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "true");
         params.put(PARAM_IN_SECTION, "true");
@@ -635,6 +710,29 @@ public class FeedbackSessionsLogic {
                                                           UserType.Role.INSTRUCTOR, roster, params);
     }
 
+    /**
+     * Gets results of a feedback session to show to an instructor from an indicated question,
+     * including all the responses given by or to a section, whatever the section of the other participant
+     * This will not retrieve the list of comments for this question
+     */
+    public FeedbackSessionResultsBundle getFeedbackSessionResultsForInstructorFromQuestionFromOrToSection(
+                                                String feedbackSessionName, String courseId, String userEmail,
+                                                String questionId, String selectedSection)
+                                        throws EntityDoesNotExistException {
+
+        CourseRoster roster = CourseRosterSnapshots.getCourseRoster(courseId);
+        Map<String, String> params = new HashMap<String, String>();
+        params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "true");
+        params.put(PARAM_IN_SECTION, "false");
+        params.put(PARAM_FROM_SECTION, "true");
+        params.put(PARAM_TO_SECTION, "true");
+        params.put(PARAM_QUESTION_ID, questionId);
+        params.put(PARAM_SECTION, selectedSection);
+        
+        return getFeedbackSessionResultsForUserWithParams(feedbackSessionName, courseId, userEmail,
+                                                          UserType.Role.INSTRUCTOR, roster, params);
+    }
+
     /**
      * Gets results of a feedback session to show to an instructor in an indicated range
      * @throws ExceedingRangeException if the results are beyond the range
@@ -655,9 +753,7 @@ public class FeedbackSessionsLogic {
             String feedbackSessionName, String courseId, String userEmail, String section, long range, String viewType)
             throws EntityDoesNotExistException {
         
-        CourseRoster roster = new CourseRoster(
-                new StudentsDb().getStudentsForCourse(courseId),
-                new InstructorsDb().getInstructorsForCourse(courseId));
+        CourseRoster roster = CourseRosterSnapshots.getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "true");
         params.put(PARAM_IN_SECTION, "true");
@@ -681,9 +777,7 @@ public class FeedbackSessionsLogic {
             String feedbackSessionName, String courseId, String userEmail, String section, long range)
             throws EntityDoesNotExistException {
         
-        CourseRoster roster = new CourseRoster(
-                new StudentsDb().getStudentsForCourse(courseId),
-                new InstructorsDb().getInstructorsForCourse(courseId));
+        CourseRoster roster = CourseRosterSnapshots.getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "true");
         params.put(PARAM_IN_SECTION, "false");
@@ -705,9 +799,7 @@ public class FeedbackSessionsLogic {
             String feedbackSessionName, String courseId, String userEmail, String section, long range)
             throws EntityDoesNotExistException {
         
-        CourseRoster roster = new CourseRoster(
-                new StudentsDb().getStudentsForCourse(courseId),
-                new InstructorsDb().getInstructorsForCourse(courseId));
+        CourseRoster roster = CourseRosterSnapshots.getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "true");
         params.put(PARAM_IN_SECTION, "false");
@@ -721,6 +813,77 @@ public class FeedbackSessionsLogic {
                                                           UserType.Role.INSTRUCTOR, roster, params);
     }
     
+    /**
+     * Gets one page of the results of a feedback session to show to an instructor,
+     * for responses given by or to a section (or all responses if {@code section} is null).
+     * Pass in the {@link FeedbackSessionResultsBundle#nextCursor} of the returned bundle to get the next page.
+     * @param cursor null to get the first page
+     */
+    public FeedbackSessionResultsBundle getFeedbackSessionResultsForInstructorInSectionByPage(
+            String feedbackSessionName, String courseId, String userEmail, String section,
+            String cursor, int pageSize, String viewType)
+            throws EntityDoesNotExistException {
+        
+        Map<String, String> params = getParamsForPage(section, cursor, pageSize);
+        params.put(PARAM_IN_SECTION, "true");
+        params.put(PARAM_VIEW_TYPE, viewType);
+        
+        return getFeedbackSessionResultsForUserWithParams(feedbackSessionName, courseId, userEmail,
+                                                          UserType.Role.INSTRUCTOR, getCourseRoster(courseId), params);
+    }
+
+    /**
+     * Gets one page of the results of a feedback session to show to an instructor,
+     * for responses given by a section (or all responses if {@code section} is null).
+     * Pass in the {@link FeedbackSessionResultsBundle#nextCursor} of the returned bundle to get the next page.
+     * @param cursor null to get the first page
+     */
+    public FeedbackSessionResultsBundle getFeedbackSessionResultsForInstructorFromSectionByPage(
+            String feedbackSessionName, String courseId, String userEmail, String section,
+            String cursor, int pageSize)
+            throws EntityDoesNotExistException {
+        
+        Map<String, String> params = getParamsForPage(section, cursor, pageSize);
+        params.put(PARAM_FROM_SECTION, "true");
+        
+        return getFeedbackSessionResultsForUserWithParams(feedbackSessionName, courseId, userEmail,
+                                                          UserType.Role.INSTRUCTOR, getCourseRoster(courseId), params);
+    }
+
+    /**
+     * Gets one page of the results of a feedback session to show to an instructor,
+     * for responses given to a section (or all responses if {@code section} is null).
+     * Pass in the {@link FeedbackSessionResultsBundle#nextCursor} of the returned bundle to get the next page.
+     * @param cursor null to get the first page
+     */
+    public FeedbackSessionResultsBundle getFeedbackSessionResultsForInstructorToSectionByPage(
+            String feedbackSessionName, String courseId, String userEmail, String section,
+            String cursor, int pageSize)
+            throws EntityDoesNotExistException {
+        
+        Map<String, String> params = getParamsForPage(section, cursor, pageSize);
+        params.put(PARAM_TO_SECTION, "true");
+        
+        return getFeedbackSessionResultsForUserWithParams(feedbackSessionName, courseId, userEmail,
+                                                          UserType.Role.INSTRUCTOR, getCourseRoster(courseId), params);
+    }
+    
+    private Map<String, String> getParamsForPage(String section, String cursor, int pageSize) {
+        Map<String, String> params = new HashMap<String, String>();
+        params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "true");
+        params.put(PARAM_IN_SECTION, "false");
+        params.put(PARAM_FROM_SECTION, "false");
+        params.put(PARAM_TO_SECTION, "false");
+        params.put(PARAM_SECTION, section);
+        params.put(PARAM_CURSOR, cursor);
+        params.put(PARAM_PAGE_SIZE, String.valueOf(pageSize));
+        return params;
+    }
+    
+    private CourseRoster getCourseRoster(String courseId) {
+        return CourseRosterSnapshots.getCourseRoster(courseId);
+    }
+    
     /**
      * Gets results of a feedback session to show to an instructor.
      */
@@ -740,9 +903,7 @@ public class FeedbackSessionsLogic {
             String section)
             throws EntityDoesNotExistException {
         
-        CourseRoster roster = new CourseRoster(
-                new StudentsDb().getStudentsForCourse(courseId),
-                new InstructorsDb().getInstructorsForCourse(courseId));
+        CourseRoster roster = CourseRosterSnapshots.getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "true");
         params.put(PARAM_IN_SECTION, "true");
@@ -762,9 +923,7 @@ public class FeedbackSessionsLogic {
             String section)
             throws EntityDoesNotExistException {
 
-        CourseRoster roster = new CourseRoster(
-                new StudentsDb().getStudentsForCourse(courseId),
-                new InstructorsDb().getInstructorsForCourse(courseId));
+        CourseRoster roster = CourseRosterSnapshots.getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "false");
         params.put(PARAM_IN_SECTION, "false");
@@ -784,9 +943,7 @@ public class FeedbackSessionsLogic {
             String section)
             throws EntityDoesNotExistException {
 
-        CourseRoster roster = new CourseRoster(
-                new StudentsDb().getStudentsForCourse(courseId),
-                new InstructorsDb().getInstructorsForCourse(courseId));
+        CourseRoster roster = CourseRosterSnapshots.getCourseRoster(courseId);
         Map<String, String> params = new HashMap<String, String>();
         params.put(PARAM_IS_INCLUDE_RESPONSE_STATUS, "true");
         params.put(PARAM_IN_SECTION, "false");
@@ -863,20 +1020,7 @@ public class FeedbackSessionsLogic {
         Collections.sort(results.responses,
                 results.compareByGiverRecipientQuestion);
         
-        StringBuilder exportBuilder = new StringBuilder(100);
-
-        exportBuilder.append(String.format("Course,%s", Sanitizer.sanitizeForCsv(results.feedbackSession.getCourseId())))
-                     .append(Const.EOL)
-                     .append(String.format("Session Name,%s",
-                             Sanitizer.sanitizeForCsv(results.feedbackSession.getFeedbackSessionName())))
-                     .append(Const.EOL);
-        
-        if (section != null) {
-            exportBuilder.append(String.format("Section Name,%s", Sanitizer.sanitizeForCsv(section)))
-                         .append(Const.EOL);
-        }
-
-        exportBuilder.append(Const.EOL).append(Const.EOL);
+        StringBuilder exportBuilder = getCsvHeader(results.feedbackSession, section);
         
         Set<Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> entrySet =
                 results.getQuestionResponseMap().entrySet();
@@ -893,6 +1037,81 @@ public class FeedbackSessionsLogic {
         
     }
 
+    /**
+     * Writes the summary results (without comments) of a feedback session in CSV format to {@code writer},
+     * giving the same content as {@link #getFeedbackSessionResultsSummaryInSectionAsCsv}.<br>
+     * Unlike that method, there is no limit on the number of responses: the responses are loaded
+     * one question at a time and the rows of each question are written out before the next question is loaded.
+     * @param section null to include the responses of all sections
+     */
+    public void writeFeedbackSessionResultsSummaryInSectionAsCsv(
+            String feedbackSessionName, String courseId, String userEmail,
+            String section, String filterText, boolean isMissingResponsesShown, boolean isStatsShown,
+            Writer writer)
+            throws EntityDoesNotExistException, IOException {
+        
+        FeedbackSessionAttributes session = fsDb.getFeedbackSession(courseId, feedbackSessionName);
+        if (session == null) {
+            throw new EntityDoesNotExistException(ERROR_NON_EXISTENT_FS_VIEW + courseId + "/" + feedbackSessionName);
+        }
+        
+        writer.append(getCsvHeader(session, section));
+        
+        List<FeedbackQuestionAttributes> questions =
+                fqLogic.getFeedbackQuestionsForSession(feedbackSessionName, courseId);
+        // sorts the questions by its natural ordering, which is by question number
+        Collections.sort(questions);
+        
+        for (FeedbackQuestionAttributes question : questions) {
+            if (filterText != null && !filterText.isEmpty()
+                    && !question.getQuestionMetaData().getValue().toLowerCase().contains(filterText.toLowerCase())) {
+                continue;
+            }
+            
+            FeedbackSessionResultsBundle results = section == null
+                    ? getFeedbackSessionResultsForInstructorFromQuestion(
+                              feedbackSessionName, courseId, userEmail, question.getId())
+                    : getFeedbackSessionResultsForInstructorFromQuestionFromOrToSection(
+                              feedbackSessionName, courseId, userEmail, question.getId(), section);
+            
+            List<FeedbackResponseAttributes> responses = null;
+            for (Map.Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>> entry
+                    : results.getQuestionResponseMap().entrySet()) {
+                if (entry.getKey().getId().equals(question.getId())) {
+                    responses = entry.getValue();
+                }
+            }
+            if (responses == null) {
+                // the results of private sessions are not visible to other instructors
+                responses = new ArrayList<FeedbackResponseAttributes>();
+            }
+            
+            writer.append(getFeedbackSessionResultsForQuestionInCsvFormat(
+                    results, new AbstractMap.SimpleEntry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>(
+                                     question, responses),
+                    isMissingResponsesShown, isStatsShown));
+            writer.flush();
+        }
+    }
+
+    private StringBuilder getCsvHeader(FeedbackSessionAttributes session, String section) {
+        StringBuilder exportBuilder = new StringBuilder(100);
+
+        exportBuilder.append(String.format("Course,%s", Sanitizer.sanitizeForCsv(session.getCourseId())))
+                     .append(Const.EOL)
+                     .append(String.format("Session Name,%s",
+                             Sanitizer.sanitizeForCsv(session.getFeedbackSessionName())))
+                     .append(Const.EOL);
+        
+        if (section != null) {
+            exportBuilder.append(String.format("Section Name,%s", Sanitizer.sanitizeForCsv(section)))
+                         .append(Const.EOL);
+        }
+
+        exportBuilder.append(Const.EOL).append(Const.EOL);
+        return exportBuilder;
+    }
+
     private Set<Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> filterQuestions(
             Set<Entry<FeedbackQuestionAttributes, List<FeedbackResponseAttributes>>> entrySet,
             String filterText) {
@@ -1152,7 +1371,7 @@ public class FeedbackSessionsLogic {
     public boolean isFeedbackSessionCompletedByStudent(FeedbackSessionAttributes fsa,
                                                        String userEmail) {
         Assumption.assertNotNull(fsa);
-        if (fsa.getRespondingStudentList().contains(userEmail)) {
+        if (fsDb.isRespondent(fsa, userEmail, false)) {
             return true;
         }
         
@@ -1174,7 +1393,7 @@ public class FeedbackSessionsLogic {
             throw new EntityDoesNotExistException(ERROR_NON_EXISTENT_FS_CHECK + courseId + "/" + feedbackSessionName);
         }
         
-        if (fsa.getRespondingInstructorList().contains(userEmail)) {
+        if (fsDb.isRespondent(fsa, userEmail, true)) {
             return true;
         }
 
@@ -1236,6 +1455,8 @@ public class FeedbackSessionsLogic {
         for (FeedbackSessionAttributes session : feedbackSessions) {
             fsDb.updateInstructorRespondant(oldEmail, newEmail, session);
         }
+        invalidateResponseSummariesForCourse(courseId);
+        studentDashboardsLogic.invalidateStudentDashboardsForEmails(courseId, Arrays.asList(oldEmail, newEmail));
     }
 
     public void updateRespondantsForStudent(String oldEmail, String newEmail, String courseId)
@@ -1245,6 +1466,7 @@ public class FeedbackSessionsLogic {
         for (FeedbackSessionAttributes session : feedbackSessions) {
             fsDb.updateStudentRespondant(oldEmail, newEmail, session);
         }
+        invalidateResponseSummariesForCourse(courseId);
     }
     
     public void updateRespondantsForSession(String feedbackSessionName, String courseId)
@@ -1287,6 +1509,9 @@ public class FeedbackSessionsLogic {
         
         addInstructorRespondants(new ArrayList<String>(respondingInstructorList), feedbackSessionName, courseId);
         addStudentRespondants(new ArrayList<String>(respondingStudentList), feedbackSessionName, courseId);
+        studentDashboardsLogic.invalidateStudentDashboardsForCourse(courseId);
+        
+        putResponseSummary(fsa, questions, studentsLogic.getStudentsForCourse(courseId), instructors, responses);
     }
 
     public void deleteInstructorFromRespondantsList(InstructorAttributes instructor) {
@@ -1303,6 +1528,9 @@ public class FeedbackSessionsLogic {
                 Assumption.fail(ASSUMPTION_FAIL_DELETE_INSTRUCTOR + session.getFeedbackSessionName());
             }
         }
+        invalidateResponseSummariesForCourse(instructor.courseId);
+        studentDashboardsLogic.invalidateStudentDashboardsForEmails(instructor.courseId,
+                                                                    Collections.singletonList(instructor.email));
     }
 
     public void deleteStudentFromRespondantsList(StudentAttributes student) {
@@ -1319,6 +1547,7 @@ public class FeedbackSessionsLogic {
                 Assumption.fail(ASSUMPTION_FAIL_DELETE_INSTRUCTOR + session.getFeedbackSessionName());
             }
         }
+        invalidateResponseSummariesForCourse(student.course);
     }
 
     public void addInstructorRespondant(String email, String feedbackSessionName, String courseId)
@@ -1377,7 +1606,11 @@ public class FeedbackSessionsLogic {
             throw new EntityDoesNotExistException(ERROR_NON_EXISTENT_FS_UPDATE + courseId + "/" + feedbackSessionName);
         }
 
+        boolean hasSubmitted = fsDb.isRespondent(sessionToUpdate, email, false);
         fsDb.addStudentRespondant(email, sessionToUpdate);
+        if (!hasSubmitted) {
+            studentDashboardsLogic.setSessionSubmitted(email, feedbackSessionName, courseId, true);
+        }
     }
 
     public void addStudentRespondants(List<String> emails, String feedbackSessionName, String courseId)
@@ -1436,7 +1669,11 @@ public class FeedbackSessionsLogic {
             throw new EntityDoesNotExistException(ERROR_NON_EXISTENT_FS_UPDATE + courseId + "/" + feedbackSessionName);
         }
 
+        boolean hasSubmitted = fsDb.isRespondent(sessionToUpdate, email, false);
         fsDb.deleteStudentRespondent(email, sessionToUpdate);
+        if (hasSubmitted) {
+            studentDashboardsLogic.setSessionSubmitted(email, feedbackSessionName, courseId, false);
+        }
     }
 
     /**
@@ -1520,10 +1757,14 @@ public class FeedbackSessionsLogic {
         List<InstructorAttributes> instructorList = instructorsLogic
                 .getInstructorsForCourse(courseId);
 
-        // Filter out students who have submitted the feedback session
+        // Filter out students who have submitted the feedback session, reading the respondents
+        // and the questions for students once instead of once per student
+        fsDb.addRespondentsTo(Collections.singletonList(session));
+        boolean hasQuestionsForStudents =
+                !fqLogic.getFeedbackQuestionsForStudents(feedbackSessionName, courseId).isEmpty();
         List<StudentAttributes> studentsToRemindList = new ArrayList<StudentAttributes>();
         for (StudentAttributes student : studentList) {
-            if (!isFeedbackSessionCompletedByStudent(session, student.email)) {
+            if (hasQuestionsForStudents && !session.getRespondingStudentList().contains(student.email)) {
                 studentsToRemindList.add(student);
             }
         }
@@ -1613,9 +1854,7 @@ public class FeedbackSessionsLogic {
     public void scheduleFeedbackSessionOpeningEmails() {
         List<FeedbackSessionAttributes> sessions = getFeedbackSessionsWhichNeedOpenEmailsToBeSent();
 
-        for (FeedbackSessionAttributes session : sessions) {
-            addFeedbackSessionReminderToEmailsQueue(session, EmailType.FEEDBACK_OPENING);
-        }
+        addFeedbackSessionRemindersToEmailsQueue(sessions, EmailType.FEEDBACK_OPENING);
     }
 
     public List<FeedbackSessionAttributes> getFeedbackSessionsClosingWithinTimeLimit() {
@@ -1639,17 +1878,13 @@ public class FeedbackSessionsLogic {
 
         List<FeedbackSessionAttributes> sessions = getFeedbackSessionsClosingWithinTimeLimit();
 
-        for (FeedbackSessionAttributes session : sessions) {
-            addFeedbackSessionReminderToEmailsQueue(session, EmailType.FEEDBACK_CLOSING);
-        }
+        addFeedbackSessionRemindersToEmailsQueue(sessions, EmailType.FEEDBACK_CLOSING);
     }
 
     public void scheduleFeedbackSessionPublishedEmails() {
         List<FeedbackSessionAttributes> sessions = getFeedbackSessionsWhichNeedAutomatedPublishedEmailsToBeSent();
 
-        for (FeedbackSessionAttributes session : sessions) {
-            sendFeedbackSessionPublishedEmail(session);
-        }
+        addFeedbackSessionRemindersToEmailsQueue(sessions, EmailType.FEEDBACK_PUBLISHED);
     }
 
     /**
@@ -1674,6 +1909,7 @@ public class FeedbackSessionsLogic {
      */
     public void deleteFeedbackSessionsForCourse(String courseId) {
         fsDb.deleteFeedbackSessionsForCourse(courseId);
+        invalidateResponseSummariesForCourse(courseId);
     }
 
     /**
@@ -1694,11 +1930,119 @@ public class FeedbackSessionsLogic {
         sessionToDelete.setCourseId(courseId);
 
         fsDb.deleteEntity(sessionToDelete);
+        invalidateResponseSummary(feedbackSessionName, courseId);
 
     }
 
+    /**
+     * Gets the response summary of the session. If the summary has not been built, or has been
+     * invalidated, this returns null and schedules a repair task to rebuild it.
+     * @see #scheduleResponseSummaryRepair(String, String)
+     */
+    public FeedbackSessionResponseSummaryAttributes getResponseSummary(String feedbackSessionName, String courseId) {
+        FeedbackSessionResponseSummaryAttributes summary =
+                responseSummariesDb.getResponseSummary(feedbackSessionName, courseId);
+        if (summary == null) {
+            scheduleResponseSummaryRepair(feedbackSessionName, courseId);
+        }
+        return summary;
+    }
+    
+    /**
+     * Rebuilds the response summary of the session from its questions, its responses and the course roster.
+     * Does nothing if the session does not exist.
+     */
+    public void repairResponseSummary(String feedbackSessionName, String courseId)
+            throws InvalidParametersException {
+        FeedbackSessionAttributes fsa = getFeedbackSession(feedbackSessionName, courseId);
+        if (fsa == null) {
+            return;
+        }
+        
+        putResponseSummary(fsa,
+                           fqLogic.getFeedbackQuestionsForSession(feedbackSessionName, courseId),
+                           studentsLogic.getStudentsForCourse(courseId),
+                           instructorsLogic.getInstructorsForCourse(courseId),
+                           frLogic.getFeedbackResponsesForSession(feedbackSessionName, courseId));
+    }
+    
+    /**
+     * Schedules a task to rebuild the response summary of the session. The task is named after the session
+     * and the current {@link #RESPONSE_SUMMARY_REPAIR_WINDOW_MILLIS} window, so that the misses of many
+     * concurrent readers schedule only one repair per window.
+     */
+    public void scheduleResponseSummaryRepair(String feedbackSessionName, String courseId) {
+        
+        HashMap<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(ParamsNames.SUBMISSION_FEEDBACK, feedbackSessionName);
+        paramMap.put(ParamsNames.SUBMISSION_COURSE, courseId);
+        
+        long window = System.currentTimeMillis() / RESPONSE_SUMMARY_REPAIR_WINDOW_MILLIS;
+        String taskName = "response-summary-repair-"
+                          + StringHelper.toHexString(feedbackSessionName + "%" + courseId) + "-" + window;
+        
+        TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
+        taskQueueLogic.createAndAddNamedTask(SystemParams.RESPONSE_SUMMARY_REPAIR_TASK_QUEUE,
+                Const.ActionURIs.RESPONSE_SUMMARY_REPAIR_WORKER, paramMap, taskName);
+    }
+    
+    /**
+     * Discards the response summary of the session, e.g. because its questions have changed.
+     * The summary is rebuilt when it is next read.
+     */
+    public void invalidateResponseSummary(String feedbackSessionName, String courseId) {
+        responseSummariesDb.deleteResponseSummary(feedbackSessionName, courseId);
+    }
+    
+    /**
+     * Discards the response summaries of all sessions in the course, e.g. because the roster has changed.
+     * The summaries are rebuilt when they are next read.
+     */
+    public void invalidateResponseSummariesForCourse(String courseId) {
+        responseSummariesDb.deleteResponseSummariesForCourses(Collections.singletonList(courseId));
+    }
+    
+    private void putResponseSummary(FeedbackSessionAttributes fsa, List<FeedbackQuestionAttributes> questions,
+                                    List<StudentAttributes> students, List<InstructorAttributes> instructors,
+                                    List<FeedbackResponseAttributes> responses)
+            throws InvalidParametersException {
+        Set<String> expectedStudents = new HashSet<String>();
+        if (!fqLogic.getFeedbackQuestionsForStudents(questions).isEmpty()) {
+            for (StudentAttributes student : students) {
+                expectedStudents.add(student.email);
+            }
+        }
+        
+        Set<String> expectedInstructors = new HashSet<String>();
+        for (InstructorAttributes instructor : instructors) {
+            if (!fqLogic.getFeedbackQuestionsForInstructor(questions, fsa.isCreator(instructor.email)).isEmpty()) {
+                expectedInstructors.add(instructor.email);
+            }
+        }
+        
+        FeedbackSessionResponseSummaryAttributes summary = new FeedbackSessionResponseSummaryAttributes(
+                fsa.getFeedbackSessionName(), fsa.getCourseId(), expectedStudents, expectedInstructors);
+        for (FeedbackResponseAttributes response : responses) {
+            summary.addResponseCount(response.feedbackQuestionId, response.giver, 1);
+        }
+        
+        responseSummariesDb.putResponseSummary(summary);
+    }
+    
     public FeedbackSessionDetailsBundle getFeedbackSessionDetails(
             FeedbackSessionAttributes fsa) throws EntityDoesNotExistException {
+        fsDb.addRespondentsTo(Collections.singletonList(fsa));
+        return getFeedbackSessionDetails(fsa, null);
+    }
+    
+    /**
+     * @param fsa the session, with its respondents added
+     * @param prefetchedSummary the response summary of the session if it has already been read,
+     *                          otherwise null
+     */
+    private FeedbackSessionDetailsBundle getFeedbackSessionDetails(
+            FeedbackSessionAttributes fsa, FeedbackSessionResponseSummaryAttributes prefetchedSummary)
+            throws EntityDoesNotExistException {
 
         FeedbackSessionDetailsBundle details =
                 new FeedbackSessionDetailsBundle(fsa);
@@ -1708,6 +2052,16 @@ public class FeedbackSessionsLogic {
         
         switch (fsa.getFeedbackSessionType()) {
         case STANDARD:
+            details.stats.submittedTotal += fsa.getRespondingStudentList().size() + fsa.getRespondingInstructorList().size();
+            
+            FeedbackSessionResponseSummaryAttributes summary = prefetchedSummary == null
+                    ? getResponseSummary(fsa.getFeedbackSessionName(), fsa.getCourseId())
+                    : prefetchedSummary;
+            if (summary != null) {
+                details.stats.expectedTotal = summary.getExpectedRespondentCount();
+                break;
+            }
+            
             List<StudentAttributes> students = studentsLogic.getStudentsForCourse(fsa.getCourseId());
             List<InstructorAttributes> instructors = instructorsLogic.getInstructorsForCourse(fsa.getCourseId());
             List<FeedbackQuestionAttributes> questions =
@@ -1725,8 +2079,6 @@ public class FeedbackSessionsLogic {
                     details.stats.expectedTotal += 1;
                 }
             }
-            
-            details.stats.submittedTotal += fsa.getRespondingStudentList().size() + fsa.getRespondingInstructorList().size();
 
             break;
 
@@ -1763,9 +2115,7 @@ public class FeedbackSessionsLogic {
         // Load details of students and instructors once and pass it to callee
         // methods
         // (rather than loading them many times).
-        CourseRoster roster = new CourseRoster(
-                new StudentsDb().getStudentsForCourse(courseId),
-                new InstructorsDb().getInstructorsForCourse(courseId));
+        CourseRoster roster = CourseRosterSnapshots.getCourseRoster(courseId);
         
         return getFeedbackSessionResultsForUserInSectionByQuestions(
                 feedbackSessionName, courseId, userEmail, role, section, roster);
@@ -1816,6 +2166,8 @@ public class FeedbackSessionsLogic {
 
         List<FeedbackQuestionAttributes> allQuestions = fqLogic.getFeedbackQuestionsForSession(
                                                                     feedbackSessionName, courseId);
+        ParticipantIndex participantIndex = roster.getParticipantIndex();
+        BitSet namesVisibleForAllResponses = getNamesVisibleForAllResponses(allQuestions, userEmail, role, roster);
         Map<String, FeedbackResponseAttributes> relevantResponse = new HashMap<String, FeedbackResponseAttributes>();
         for (FeedbackQuestionAttributes question : allQuestions) {
 
@@ -1838,14 +2190,10 @@ public class FeedbackSessionsLogic {
                 responses.addAll(responsesForThisQn);
                 for (FeedbackResponseAttributes response : responsesForThisQn) {
                     relevantResponse.put(response.getId(), response);
-                    addEmailNamePairsToTable(emailNameTable, response,
-                            question, roster);
-                    addEmailLastNamePairsToTable(emailLastNameTable, response,
-                            question, roster);
-                    addEmailTeamNamePairsToTable(emailTeamNameTable, response,
-                            question, roster);
+                    addEmailNamePairsToTables(emailNameTable, emailLastNameTable, emailTeamNameTable,
+                                              response, question, participantIndex);
                     addVisibilityToTable(visibilityTable, question, response,
-                            userEmail, role, roster);
+                                         userEmail, role, roster, namesVisibleForAllResponses);
                 }
             }
         }
@@ -1983,12 +2331,25 @@ public class FeedbackSessionsLogic {
                     if (isPrivateSessionCreatedByThisUser) {
                         responsesForThisQn = frLogic
                                 .getFeedbackResponsesForQuestion(question.getId());
+                    } else if (Boolean.parseBoolean(params.get(PARAM_FROM_SECTION))
+                               && Boolean.parseBoolean(params.get(PARAM_TO_SECTION))) {
+                        responsesForThisQn = frLogic
+                                .getViewableFeedbackResponsesForQuestionFromOrToSection(
+                                        question, userEmail, Role.INSTRUCTOR, section);
                     } else {
                         responsesForThisQn = frLogic
                                 .getViewableFeedbackResponsesForQuestionInSection(
                                         question, userEmail, Role.INSTRUCTOR, section);
                     }
     
+                    InstructorAttributes instructor = null;
+                    if (role == Role.INSTRUCTOR) {
+                        instructor = instructorsLogic.getInstructorForEmail(courseId, userEmail);
+                    }
+                    ParticipantIndex participantIndex = roster.getParticipantIndex();
+                    BitSet namesVisibleForAllResponses =
+                            getNamesVisibleForAllResponses(Collections.singletonList(question), userEmail, role, roster);
+    
                     boolean thisQuestionHasResponses = !responsesForThisQn.isEmpty();
                     if (thisQuestionHasResponses) {
                         for (FeedbackResponseAttributes response : responsesForThisQn) {
@@ -2002,10 +2363,6 @@ public class FeedbackSessionsLogic {
                                             && question.isResponseVisibleTo(FeedbackParticipantType.STUDENTS)) {
                                 isVisibleResponse = true;
                             }
-                            InstructorAttributes instructor = null;
-                            if (role == Role.INSTRUCTOR) {
-                                instructor = instructorsLogic.getInstructorForEmail(courseId, userEmail);
-                            }
                             if (isVisibleResponse && instructor != null) {
                                 boolean isGiverSectionRestricted =
                                         !instructor.isAllowedForPrivilege(
@@ -2025,15 +2382,10 @@ public class FeedbackSessionsLogic {
                             }
                             if (isVisibleResponse) {
                                 responses.add(response);
-                                addEmailNamePairsToTable(emailNameTable, response,
-                                        question, roster);
-                                addEmailLastNamePairsToTable(emailLastNameTable, response,
-                                        question, roster);
-                                addEmailTeamNamePairsToTable(emailTeamNameTable,
-                                        response,
-                                        question, roster);
-                                addVisibilityToTable(visibilityTable, question,
-                                        response, userEmail, role, roster);
+                                addEmailNamePairsToTables(emailNameTable, emailLastNameTable, emailTeamNameTable,
+                                                          response, question, participantIndex);
+                                addVisibilityToTable(visibilityTable, question, response,
+                                                     userEmail, role, roster, namesVisibleForAllResponses);
                             }
                             isVisibleResponse = false;
                         }
@@ -2062,9 +2414,32 @@ public class FeedbackSessionsLogic {
         boolean isToSection = Boolean.parseBoolean(params.get(PARAM_TO_SECTION));
         boolean isFromSection = Boolean.parseBoolean(params.get(PARAM_FROM_SECTION));
         boolean isComplete = params.get(PARAM_RANGE) == null;
+        boolean isPaged = params.get(PARAM_PAGE_SIZE) != null;
+        String cursor = params.get(PARAM_CURSOR);
+        String nextCursor = null;
         
         List<FeedbackResponseAttributes> allResponses = new ArrayList<FeedbackResponseAttributes>();
-        if (params.get(PARAM_RANGE) == null) {
+        if (isPaged) {
+            int pageSize = Integer.parseInt(params.get(PARAM_PAGE_SIZE));
+            FeedbackResponsesPage page = null;
+            if (isInSection) {
+                String viewType = params.get(PARAM_VIEW_TYPE);
+                boolean isPagedByRecipient = Const.FeedbackSessionResults.RGQ_SORT_TYPE.equals(viewType)
+                                             || Const.FeedbackSessionResults.RQG_SORT_TYPE.equals(viewType);
+                page = frLogic.getFeedbackResponsesForSessionInSection(feedbackSessionName, courseId, section,
+                                                                       cursor, pageSize, isPagedByRecipient);
+            } else if (isFromSection) {
+                page = frLogic.getFeedbackResponsesForSessionFromSection(feedbackSessionName, courseId, section,
+                                                                         cursor, pageSize);
+            } else if (isToSection) {
+                page = frLogic.getFeedbackResponsesForSessionToSection(feedbackSessionName, courseId, section,
+                                                                       cursor, pageSize);
+            } else {
+                Assumption.fail(ASSUMPTION_FAIL_RESPONSE_ORIGIN);
+            }
+            allResponses = page.responses;
+            nextCursor = page.nextCursor;
+        } else if (params.get(PARAM_RANGE) == null) {
             if (isInSection) {
                 allResponses = frLogic.getFeedbackResponsesForSessionInSection(feedbackSessionName,
                                                                                courseId, section);
@@ -2101,6 +2476,7 @@ public class FeedbackSessionsLogic {
             }
         }
         
+        // the response status only depends on the session and the roster, so every page gets the full status
         responseStatus = section == null && isIncludeResponseStatus
                        ? getFeedbackSessionResponseStatus(session, roster, allQuestions)
                        : null;
@@ -2121,6 +2497,9 @@ public class FeedbackSessionsLogic {
             instructor = instructorsLogic.getInstructorForEmail(courseId, userEmail);
         }
         
+        ParticipantIndex participantIndex = roster.getParticipantIndex();
+        BitSet namesVisibleForAllResponses = getNamesVisibleForAllResponses(allQuestions, userEmail, role, roster);
+        
         Map<String, FeedbackResponseAttributes> relevantResponse = new HashMap<String, FeedbackResponseAttributes>();
         for (FeedbackResponseAttributes response : allResponses) {
             FeedbackQuestionAttributes relatedQuestion = allQuestionsMap
@@ -2134,14 +2513,10 @@ public class FeedbackSessionsLogic {
                     relevantResponse.put(response.getId(), response);
                     relevantQuestions.put(relatedQuestion.getId(),
                             relatedQuestion);
-                    addEmailNamePairsToTable(emailNameTable, response,
-                            relatedQuestion, roster);
-                    addEmailLastNamePairsToTable(emailLastNameTable, response,
-                            relatedQuestion, roster);
-                    addEmailTeamNamePairsToTable(emailTeamNameTable, response,
-                            relatedQuestion, roster);
-                    addVisibilityToTable(visibilityTable, relatedQuestion,
-                            response, userEmail, role, roster);
+                    addEmailNamePairsToTables(emailNameTable, emailLastNameTable, emailTeamNameTable,
+                                              response, relatedQuestion, participantIndex);
+                    addVisibilityToTable(visibilityTable, relatedQuestion, response,
+                                         userEmail, role, roster, namesVisibleForAllResponses);
                 }
                 isVisibleResponse = false;
             }
@@ -2155,6 +2530,10 @@ public class FeedbackSessionsLogic {
                             feedbackSessionName, section);
             for (FeedbackResponseCommentAttributes frc : allResponseComments) {
                 FeedbackResponseAttributes relatedResponse = relevantResponse.get(frc.feedbackResponseId);
+                if (isPaged && relatedResponse == null) {
+                    // the comment belongs to a response on another page
+                    continue;
+                }
                 FeedbackQuestionAttributes relatedQuestion = relevantQuestions.get(frc.feedbackQuestionId);
                 boolean isVisibleResponseComment = frcLogic.isResponseCommentVisibleForUser(userEmail, courseId,
                         role, section, student, studentsEmailInTeam, relatedResponse,
@@ -2190,6 +2569,7 @@ public class FeedbackSessionsLogic {
                         session, responses, relevantQuestions, emailNameTable,
                         emailLastNameTable, emailTeamNameTable, sectionTeamNameTable,
                         visibilityTable, responseStatus, roster, responseComments, isComplete);
+        results.nextCursor = nextCursor;
 
         return results;
     }
@@ -2284,69 +2664,81 @@ public class FeedbackSessionsLogic {
         }
     }
 
+    /**
+     * Returns the name visibility settings of {@code questions} that hold for all their responses
+     * when viewed by {@code userEmail}, so that they need not be checked against the roster for each response.
+     * The bit at {@link #getNameVisibilityBit} is set if the names of the givers/recipients are visible.
+     */
+    private BitSet getNamesVisibleForAllResponses(List<FeedbackQuestionAttributes> questions, String userEmail,
+                                                  UserType.Role role, CourseRoster roster) {
+        boolean isInstructor = role == UserType.Role.INSTRUCTOR && roster.isInstructorOfCourse(userEmail);
+        boolean isStudent = roster.isStudentInCourse(userEmail);
+        
+        BitSet namesVisibleForAllResponses = new BitSet();
+        for (FeedbackQuestionAttributes question : questions) {
+            if (isNameShownToUser(question.showGiverNameTo, isInstructor, isStudent)) {
+                namesVisibleForAllResponses.set(getNameVisibilityBit(question, true));
+            }
+            if (isNameShownToUser(question.showRecipientNameTo, isInstructor, isStudent)) {
+                namesVisibleForAllResponses.set(getNameVisibilityBit(question, false));
+            }
+        }
+        return namesVisibleForAllResponses;
+    }
+    
+    private boolean isNameShownToUser(List<FeedbackParticipantType> showNameTo, boolean isInstructor,
+                                      boolean isStudent) {
+        return isInstructor && showNameTo.contains(FeedbackParticipantType.INSTRUCTORS)
+               || isStudent && showNameTo.contains(FeedbackParticipantType.STUDENTS);
+    }
+    
+    private int getNameVisibilityBit(FeedbackQuestionAttributes question, boolean isGiverName) {
+        return 2 * question.questionNumber + (isGiverName ? 0 : 1);
+    }
+
     protected void addVisibilityToTable(Map<String, boolean[]> visibilityTable,
             FeedbackQuestionAttributes question,
             FeedbackResponseAttributes response,
             String userEmail,
             UserType.Role role,
-            CourseRoster roster) {
+            CourseRoster roster,
+            BitSet namesVisibleForAllResponses) {
         boolean[] visibility = new boolean[2];
-        visibility[Const.VISIBILITY_TABLE_GIVER] = frLogic.isNameVisibleTo(
-                question, response, userEmail, role, true, roster);
-        visibility[Const.VISIBILITY_TABLE_RECIPIENT] = frLogic.isNameVisibleTo(
-                question, response, userEmail, role, false, roster);
+        visibility[Const.VISIBILITY_TABLE_GIVER] =
+                namesVisibleForAllResponses.get(getNameVisibilityBit(question, true))
+                || frLogic.isNameVisibleTo(question, response, userEmail, role, true, roster);
+        visibility[Const.VISIBILITY_TABLE_RECIPIENT] =
+                namesVisibleForAllResponses.get(getNameVisibilityBit(question, false))
+                || frLogic.isNameVisibleTo(question, response, userEmail, role, false, roster);
         visibilityTable.put(response.getId(), visibility);
     }
 
-    private void addEmailNamePairsToTable(Map<String, String> emailNameTable,
-            FeedbackResponseAttributes response,
-            FeedbackQuestionAttributes question, CourseRoster roster) {
-        // keys of emailNameTable are participantIdentifiers,
-        // which consists of students' email, instructors' email, team names, or %GENERAL%.
-        // participants identifiers of anonymous responses are not anonymised in the tables
-        addEmailNamePairsToTable(emailNameTable, response, question, roster,
-                EMAIL_NAME_PAIR);
-    }
-    
-    private void addEmailLastNamePairsToTable(Map<String, String> emailLastNameTable,
-            FeedbackResponseAttributes response,
-            FeedbackQuestionAttributes question, CourseRoster roster) {
-        addEmailNamePairsToTable(emailLastNameTable, response, question, roster,
-                EMAIL_LASTNAME_PAIR);
-    }
-
-    private void addEmailTeamNamePairsToTable(
+    private void addEmailNamePairsToTables(Map<String, String> emailNameTable,
+            Map<String, String> emailLastNameTable,
             Map<String, String> emailTeamNameTable,
             FeedbackResponseAttributes response,
-            FeedbackQuestionAttributes question, CourseRoster roster) {
-        addEmailNamePairsToTable(emailTeamNameTable, response, question,
-                roster, EMAIL_TEAMNAME_PAIR);
-    }
-
-    private void addEmailNamePairsToTable(Map<String, String> emailNameTable,
-            FeedbackResponseAttributes response,
-            FeedbackQuestionAttributes question, CourseRoster roster,
-            int pairType) {
+            FeedbackQuestionAttributes question, ParticipantIndex participantIndex) {
+        // keys of the tables are participantIdentifiers,
+        // which consists of students' email, instructors' email, team names, or %GENERAL%.
+        // participants identifiers of anonymous responses are not anonymised in the tables.
+        // the three tables always have the same keys, so only emailNameTable is checked
         if (question.giverType == FeedbackParticipantType.TEAMS
-                && roster.isStudentInCourse(response.giver)) {
-            if (!emailNameTable.containsKey(response.giver + Const.TEAM_OF_EMAIL_OWNER)) {
-                emailNameTable.put(
-                        response.giver + Const.TEAM_OF_EMAIL_OWNER,
-                        getNameTeamNamePairForEmail(question.giverType,
-                                response.giver, roster)[pairType]);
+                && participantIndex.isStudent(response.giver)) {
+            String[] giverPair = participantIndex.getNameTeamNamePair(question.giverType, response.giver);
+            String teamOfGiver = response.giver + Const.TEAM_OF_EMAIL_OWNER;
+            if (!emailNameTable.containsKey(teamOfGiver)) {
+                addNameTeamNamePairToTables(emailNameTable, emailLastNameTable, emailTeamNameTable,
+                                            teamOfGiver, giverPair);
             }
             
-            StudentAttributes studentGiver = roster.getStudentForEmail(response.giver);
-            if (studentGiver != null && !emailNameTable.containsKey(studentGiver.team)) {
-                emailNameTable.put(studentGiver.team, getNameTeamNamePairForEmail(
-                                                        question.giverType,
-                                                        response.giver, roster)[pairType]);
+            String giverTeam = participantIndex.getTeam(response.giver);
+            if (!emailNameTable.containsKey(giverTeam)) {
+                addNameTeamNamePairToTables(emailNameTable, emailLastNameTable, emailTeamNameTable,
+                                            giverTeam, giverPair);
             }
         } else if (!emailNameTable.containsKey(response.giver)) {
-            emailNameTable.put(
-                    response.giver,
-                    getNameTeamNamePairForEmail(question.giverType,
-                            response.giver, roster)[pairType]);
+            addNameTeamNamePairToTables(emailNameTable, emailLastNameTable, emailTeamNameTable, response.giver,
+                                        participantIndex.getNameTeamNamePair(question.giverType, response.giver));
         }
 
         FeedbackParticipantType recipientType = null;
@@ -2356,30 +2748,18 @@ public class FeedbackSessionsLogic {
             recipientType = question.recipientType;
         }
         if (!emailNameTable.containsKey(response.recipient)) {
-            emailNameTable.put(
-                    response.recipient,
-                    getNameTeamNamePairForEmail(recipientType,
-                                                response.recipient, roster)[pairType]);
-            
+            addNameTeamNamePairToTables(emailNameTable, emailLastNameTable, emailTeamNameTable, response.recipient,
+                                        participantIndex.getNameTeamNamePair(recipientType, response.recipient));
         }
     }
-
-    private List<FeedbackSessionDetailsBundle> getFeedbackSessionDetailsForCourse(
-            String courseId, String instructorEmail)
-            throws EntityDoesNotExistException {
-
-        List<FeedbackSessionDetailsBundle> fsDetailsWithoutPrivate =
-                new ArrayList<FeedbackSessionDetailsBundle>();
-        List<FeedbackSessionAttributes> fsInCourse =
-                fsDb.getFeedbackSessionsForCourse(courseId);
-
-        for (FeedbackSessionAttributes fsa : fsInCourse) {
-            if (!fsa.isPrivateSession() || fsa.isCreator(instructorEmail)) {
-                fsDetailsWithoutPrivate.add(getFeedbackSessionDetails(fsa));
-            }
-        }
-
-        return fsDetailsWithoutPrivate;
+    
+    private void addNameTeamNamePairToTables(Map<String, String> emailNameTable,
+            Map<String, String> emailLastNameTable,
+            Map<String, String> emailTeamNameTable,
+            String participantIdentifier, String[] nameTeamNamePair) {
+        emailNameTable.put(participantIdentifier, nameTeamNamePair[ParticipantIndex.NAME]);
+        emailLastNameTable.put(participantIdentifier, nameTeamNamePair[ParticipantIndex.LAST_NAME]);
+        emailTeamNameTable.put(participantIdentifier, nameTeamNamePair[ParticipantIndex.TEAM_NAME]);
     }
 
     private List<FeedbackSessionAttributes> getFeedbackSessionsListForCourse(
@@ -2401,6 +2781,7 @@ public class FeedbackSessionsLogic {
             FeedbackSessionAttributes fsa, CourseRoster roster,
             List<FeedbackQuestionAttributes> questions) {
 
+        fsDb.addRespondentsTo(Collections.singletonList(fsa));
         FeedbackSessionResponseStatus responseStatus = new FeedbackSessionResponseStatus();
         List<StudentAttributes> students = roster.getStudents();
         List<InstructorAttributes> instructors = roster.getInstructors();
@@ -2437,63 +2818,6 @@ public class FeedbackSessionsLogic {
         return responseStatus;
     }
 
-    // return a pair of String that contains Giver/Recipient'sName (at index 0)
-    // and TeamName (at index 1)
-    private String[] getNameTeamNamePairForEmail(FeedbackParticipantType type,
-            String email, CourseRoster roster) {
-        String giverRecipientName = null;
-        String giverRecipientLastName = null;
-        String teamName = null;
-        String name = null;
-        String lastName = null;
-        String team = null;
-
-        StudentAttributes student = roster.getStudentForEmail(email);
-        boolean isStudent = student != null;
-        if (isStudent) {
-            name = student.name;
-            team = student.team;
-            lastName = student.lastName;
-        } else {
-            InstructorAttributes instructor = roster
-                    .getInstructorForEmail(email);
-            boolean isInstructor = instructor != null;
-            if (isInstructor) {
-                name = instructor.name;
-                lastName = instructor.name;
-                team = Const.USER_TEAM_FOR_INSTRUCTOR;
-            } else {
-                if (email.equals(Const.GENERAL_QUESTION)) {
-                    // Email represents that there is no specific recipient.
-                    name = Const.USER_IS_NOBODY;
-                    lastName = Const.USER_IS_NOBODY;
-                    team = email;
-                } else {
-                    // The email represents a missing *Attribute.
-                    // It might be a team name or the *Attribute has been deleted.
-                    name = Const.USER_IS_MISSING;
-                    lastName = Const.USER_IS_MISSING;
-                    team = email;
-                }
-            }
-        }
-
-        if (type == FeedbackParticipantType.TEAMS || type == FeedbackParticipantType.OWN_TEAM) {
-            giverRecipientName = team;
-            giverRecipientLastName = team;
-            teamName = "";
-        } else {
-            giverRecipientName = name;
-            giverRecipientLastName = lastName;
-            if (name.equals(Const.USER_IS_NOBODY) || name.equals(Const.USER_IS_MISSING)) {
-                teamName = "";
-            } else {
-                teamName = team;
-            }
-        }
-        return new String[] { giverRecipientName, giverRecipientLastName, teamName };
-    }
-
     public boolean isFeedbackSessionFullyCompletedByStudent(
             String feedbackSessionName,
             String courseId, String userEmail)
@@ -2507,8 +2831,20 @@ public class FeedbackSessionsLogic {
                 fqLogic.getFeedbackQuestionsForStudents(feedbackSessionName,
                         courseId);
 
+        CourseRoster roster = CourseRosterSnapshots.getCourseRoster(courseId);
+        FeedbackSessionResponseSummaryAttributes summary = getResponseSummary(feedbackSessionName, courseId);
+        if (summary != null && summary.getResponseCountFromGiver(userEmail) == 0) {
+            // the student has not given any response, so there is no need to count the responses of each question
+            for (FeedbackQuestionAttributes question : allQuestions) {
+                if (fqLogic.getNumberOfResponsesNeeded(question, userEmail, roster) > 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         for (FeedbackQuestionAttributes question : allQuestions) {
-            if (!fqLogic.isQuestionFullyAnsweredByUser(question, userEmail)) {
+            if (!fqLogic.isQuestionFullyAnsweredByUser(question, userEmail, roster)) {
                 // If any question is not completely answered, session is not
                 // completed
                 return false;
@@ -2517,6 +2853,54 @@ public class FeedbackSessionsLogic {
         return true;
     }
 
+    /**
+     * Gets the students of the course who have not fully completed the session, as
+     * {@link #isFeedbackSessionFullyCompletedByStudent} finds for each student, from one read of the
+     * questions and the responses of the session and the roster of the course.
+     * @return the students in the order of the roster.
+     */
+    public List<StudentAttributes> getStudentsYetToFullyCompleteFeedbackSession(FeedbackSessionAttributes session) {
+        String feedbackSessionName = session.getFeedbackSessionName();
+        String courseId = session.getCourseId();
+        
+        List<FeedbackQuestionAttributes> questions =
+                fqLogic.getFeedbackQuestionsForStudents(feedbackSessionName, courseId);
+        Map<String, Integer> questionIndexes = new HashMap<String, Integer>();
+        for (int i = 0; i < questions.size(); i++) {
+            questionIndexes.put(questions.get(i).getId(), i);
+        }
+        
+        // number of responses each giver has given to each question, indexed as the questions are
+        Map<String, int[]> responseCountsByGiver = new HashMap<String, int[]>();
+        for (FeedbackResponseAttributes response : frLogic.getFeedbackResponsesForSession(feedbackSessionName,
+                                                                                          courseId)) {
+            Integer questionIndex = questionIndexes.get(response.feedbackQuestionId);
+            if (questionIndex == null) {
+                continue;
+            }
+            int[] responseCounts = responseCountsByGiver.get(response.giver);
+            if (responseCounts == null) {
+                responseCounts = new int[questions.size()];
+                responseCountsByGiver.put(response.giver, responseCounts);
+            }
+            responseCounts[questionIndex]++;
+        }
+        
+        CourseRoster roster = CourseRosterSnapshots.getCourseRoster(courseId);
+        List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+        for (StudentAttributes student : roster.getStudents()) {
+            int[] responseCounts = responseCountsByGiver.get(student.email);
+            for (int i = 0; i < questions.size(); i++) {
+                int numberOfResponsesGiven = responseCounts == null ? 0 : responseCounts[i];
+                if (numberOfResponsesGiven < fqLogic.getNumberOfResponsesNeeded(questions.get(i), student.email, roster)) {
+                    students.add(student);
+                    break;
+                }
+            }
+        }
+        return students;
+    }
+
     private boolean isFeedbackSessionFullyCompletedByInstructor(
             String feedbackSessionName,
             String courseId, String userEmail)
@@ -2531,8 +2915,9 @@ public class FeedbackSessionsLogic {
                         courseId,
                         userEmail);
 
+        CourseRoster roster = CourseRosterSnapshots.getCourseRoster(courseId);
         for (FeedbackQuestionAttributes question : allQuestions) {
-            if (!fqLogic.isQuestionFullyAnsweredByUser(question, userEmail)) {
+            if (!fqLogic.isQuestionFullyAnsweredByUser(question, userEmail, roster)) {
                 // If any question is not completely answered, session is not
                 // completed
                 return false;
@@ -2544,7 +2929,7 @@ public class FeedbackSessionsLogic {
     /**
      * Checks whether the feedback session is viewable to the specified user.
      */
-    private boolean isFeedbackSessionViewableTo(
+    public boolean isFeedbackSessionViewableTo(
             FeedbackSessionAttributes session,
             String userEmail,
             boolean isInstructorOfCourse) {
@@ -2565,12 +2950,21 @@ public class FeedbackSessionsLogic {
 
     public boolean isFeedbackSessionViewableToStudents(
             FeedbackSessionAttributes session) {
+        return session.isVisible() && isFeedbackSessionViewableToStudentsOnceVisible(session);
+    }
+    
+    /**
+     * Checks whether the feedback session is viewable to students once it is visible,
+     * i.e. whether it has questions for students or responses which students can see.
+     */
+    public boolean isFeedbackSessionViewableToStudentsOnceVisible(
+            FeedbackSessionAttributes session) {
         // Allow students to view the feedback session if there are questions for them
         List<FeedbackQuestionAttributes> questionsToAnswer =
                 fqLogic.getFeedbackQuestionsForStudents(
                         session.getFeedbackSessionName(), session.getCourseId());
         
-        if (session.isVisible() && !questionsToAnswer.isEmpty()) {
+        if (!questionsToAnswer.isEmpty()) {
             return true;
         }
         
@@ -2586,7 +2980,7 @@ public class FeedbackSessionsLogic {
             }
         }
         
-        return session.isVisible() && !questionsWithVisibleResponses.isEmpty();
+        return !questionsWithVisibleResponses.isEmpty();
     }
     
     /**
@@ -2643,13 +3037,33 @@ public class FeedbackSessionsLogic {
     }
 
     private void addFeedbackSessionReminderToEmailsQueue(FeedbackSessionAttributes session, EmailType emailType) {
+        TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
+        taskQueueLogic.createAndAddTask(SystemParams.EMAIL_TASK_QUEUE, Const.ActionURIs.EMAIL_WORKER,
+                                        getFeedbackSessionReminderParamMap(session, emailType));
+    }
+    
+    private void addFeedbackSessionRemindersToEmailsQueue(List<FeedbackSessionAttributes> sessions,
+                                                          EmailType emailType) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        
+        List<Map<String, String>> paramMaps = new ArrayList<Map<String, String>>();
+        for (FeedbackSessionAttributes session : sessions) {
+            paramMaps.add(getFeedbackSessionReminderParamMap(session, emailType));
+        }
+        
+        TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
+        taskQueueLogic.createAndAddTasks(SystemParams.EMAIL_TASK_QUEUE, Const.ActionURIs.EMAIL_WORKER, paramMaps);
+    }
+    
+    private Map<String, String> getFeedbackSessionReminderParamMap(FeedbackSessionAttributes session,
+                                                                   EmailType emailType) {
         Map<String, String> paramMap = new HashMap<String, String>();
         paramMap.put(ParamsNames.EMAIL_FEEDBACK, session.getFeedbackSessionName());
         paramMap.put(ParamsNames.EMAIL_COURSE, session.getCourseId());
         paramMap.put(ParamsNames.EMAIL_TYPE, emailType.toString());
-        
-        TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
-        taskQueueLogic.createAndAddTask(SystemParams.EMAIL_TASK_QUEUE, Const.ActionURIs.EMAIL_WORKER, paramMap);
+        return paramMap;
     }
     
 }
@@ -0,0 +1,44 @@
+package teammates.logic.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import teammates.common.util.TaskWrapper;
+
+import com.google.appengine.api.taskqueue.QueueFactory;
+import com.google.appengine.api.taskqueue.TaskOptions;
+
+/**
+ * Task queue service provided by Google App Engine.
+ * Reference: https://cloud.google.com/appengine/docs/java/taskqueue/
+ */
+public class GaeTaskQueueService extends TaskQueueService {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void addBatch(String queueName, List<TaskWrapper> batch) {
+        List<TaskOptions> tasksToBeAdded = new ArrayList<TaskOptions>();
+        for (TaskWrapper task : batch) {
+            tasksToBeAdded.add(parseToTaskOptions(task));
+        }
+        QueueFactory.getQueue(queueName).add(tasksToBeAdded);
+    }
+
+    private TaskOptions parseToTaskOptions(TaskWrapper task) {
+        TaskOptions taskToBeAdded = TaskOptions.Builder.withUrl(task.getWorkerUrl());
+        if (task.getCountdownMillis() > 0) {
+            taskToBeAdded.countdownMillis(task.getCountdownMillis());
+        }
+
+        for (Map.Entry<String, String[]> entry : task.getParamMap().entrySet()) {
+            for (String value : entry.getValue()) {
+                taskToBeAdded = taskToBeAdded.param(entry.getKey(), value);
+            }
+        }
+        return taskToBeAdded;
+    }
+
+}
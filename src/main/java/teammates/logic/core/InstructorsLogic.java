@@ -1,6 +1,7 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -31,6 +32,7 @@ public class InstructorsLogic {
     private static final CoursesLogic coursesLogic = CoursesLogic.inst();
     private static final CommentsLogic commentsLogic = CommentsLogic.inst();
     private static final FeedbackSessionsLogic fsLogic = FeedbackSessionsLogic.inst();
+    private static final StudentDashboardsLogic studentDashboardsLogic = StudentDashboardsLogic.inst();
     
     private static final Logger log = Utils.getLogger();
     
@@ -79,7 +81,11 @@ public class InstructorsLogic {
         
         log.info("going to create instructor :\n" + instructorToAdd.toString());
         
-        return instructorsDb.createInstructor(instructorToAdd);
+        InstructorAttributes createdInstructor = instructorsDb.createInstructor(instructorToAdd);
+        fsLogic.invalidateResponseSummariesForCourse(instructorToAdd.courseId);
+        studentDashboardsLogic.invalidateStudentDashboardsForEmails(instructorToAdd.courseId,
+                                                                    Collections.singletonList(instructorToAdd.email));
+        return createdInstructor;
     }
 
     public void setArchiveStatusOfInstructor(String googleId, String courseId, boolean archiveStatus)
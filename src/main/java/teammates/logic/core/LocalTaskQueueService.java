@@ -0,0 +1,76 @@
+package teammates.logic.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import teammates.common.util.TaskWrapper;
+
+/**
+ * Task queue service which keeps the added tasks in memory instead of running them.
+ * Used to test the scheduling of tasks without the App Engine task queue.
+ */
+public class LocalTaskQueueService extends TaskQueueService {
+
+    private final Map<String, List<TaskWrapper>> tasksByQueue = new HashMap<String, List<TaskWrapper>>();
+    private final Set<String> rejectedParamValues = new HashSet<String>();
+    private int numberOfBatches;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected synchronized void addBatch(String queueName, List<TaskWrapper> batch) {
+        for (TaskWrapper task : batch) {
+            for (String[] values : task.getParamMap().values()) {
+                for (String value : values) {
+                    if (rejectedParamValues.contains(value)) {
+                        // like the App Engine task queue, a batch with an invalid task is rejected as a whole
+                        throw new IllegalArgumentException("Task rejected: " + value);
+                    }
+                }
+            }
+        }
+        List<TaskWrapper> tasks = tasksByQueue.get(queueName);
+        if (tasks == null) {
+            tasks = new ArrayList<TaskWrapper>();
+            tasksByQueue.put(queueName, tasks);
+        }
+        tasks.addAll(batch);
+        numberOfBatches++;
+    }
+
+    /**
+     * Makes the tasks with a parameter of the given value invalid, so that they and the batches they
+     * are in are rejected until {@link #clear}.
+     */
+    public synchronized void rejectTasksWithParamValue(String value) {
+        rejectedParamValues.add(value);
+    }
+
+    /**
+     * @return the tasks added to the queue {@code queueName}, in the order they were added.
+     */
+    public synchronized List<TaskWrapper> getTasks(String queueName) {
+        List<TaskWrapper> tasks = tasksByQueue.get(queueName);
+        return tasks == null ? Collections.<TaskWrapper>emptyList() : new ArrayList<TaskWrapper>(tasks);
+    }
+
+    /**
+     * @return the number of calls made to add tasks, over all queues.
+     */
+    public synchronized int getNumberOfBatches() {
+        return numberOfBatches;
+    }
+
+    public synchronized void clear() {
+        tasksByQueue.clear();
+        rejectedParamValues.clear();
+        numberOfBatches = 0;
+    }
+
+}
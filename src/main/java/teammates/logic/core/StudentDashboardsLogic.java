@@ -0,0 +1,283 @@
+package teammates.logic.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.FeedbackSessionType;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentDashboardAttributes;
+import teammates.common.datatransfer.StudentDashboardAttributes.CourseEntry;
+import teammates.common.datatransfer.StudentDashboardAttributes.SessionEntry;
+import teammates.common.exception.EntityDoesNotExistException;
+import teammates.common.exception.InvalidParametersException;
+import teammates.common.util.Const;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.Const.SystemParams;
+import teammates.common.util.StringHelper;
+import teammates.common.util.Utils;
+import teammates.storage.api.CourseRosterSnapshots;
+import teammates.storage.api.StudentDashboardsDb;
+
+/**
+ * Handles the logic related to the dashboards shown on the home page of students.<br>
+ * A dashboard is discarded when a change to one of its courses changes what it shows, and updated in
+ * place when the student submits a session. It is rebuilt by a task after it is found missing.
+ */
+public class StudentDashboardsLogic {
+
+    private static final Logger log = Utils.getLogger();
+
+    private static StudentDashboardsLogic instance;
+
+    private static final StudentDashboardsDb studentDashboardsDb = new StudentDashboardsDb();
+
+    private static final FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
+    private static final FeedbackResponsesLogic frLogic = FeedbackResponsesLogic.inst();
+    private static final FeedbackSessionsLogic fsLogic = FeedbackSessionsLogic.inst();
+    private static final InstructorsLogic instructorsLogic = InstructorsLogic.inst();
+    private static final StudentsLogic studentsLogic = StudentsLogic.inst();
+
+    public static StudentDashboardsLogic inst() {
+        if (instance == null) {
+            instance = new StudentDashboardsLogic();
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the dashboard of the student. If the dashboard has not been built, has been discarded, or was
+     * built before the student joined or left a course, this returns null and schedules a task to rebuild it.
+     */
+    public StudentDashboardAttributes getStudentDashboard(String googleId) {
+        List<StudentAttributes> students = studentsLogic.getStudentsForGoogleId(googleId);
+        if (students.isEmpty()) {
+            return null;
+        }
+
+        StudentDashboardAttributes dashboard = studentDashboardsDb.getDashboard(googleId);
+        Map<String, Long> courseVersions = studentDashboardsDb.getCourseVersions(getCourseIds(students));
+        if (dashboard == null || !dashboard.isBuiltFor(students, courseVersions)) {
+            scheduleStudentDashboardRebuild(googleId, dashboard == null ? 0 : dashboard.version, courseVersions);
+            return null;
+        }
+        return dashboard;
+    }
+
+    /**
+     * Rebuilds the dashboard of the student from the sessions, questions and responses of the courses
+     * of the student. Discards the dashboard if the student is not in any course.<br>
+     * The rebuilt dashboard is not written if the dashboard is written by anything else in the meantime,
+     * as it may miss that change. The versions of the courses are read before the courses themselves, so
+     * that a dashboard which misses a change to a course is found out of date when it is read.
+     */
+    public void rebuildStudentDashboard(String googleId) throws InvalidParametersException {
+        StudentDashboardAttributes oldDashboard = studentDashboardsDb.getDashboard(googleId);
+        StudentDashboardAttributes dashboard = new StudentDashboardAttributes(googleId);
+        dashboard.version = oldDashboard == null ? 0 : oldDashboard.version;
+
+        List<StudentAttributes> students = studentsLogic.getStudentsForGoogleId(googleId);
+        if (students.isEmpty()) {
+            dashboard.isDiscarded = true;
+            studentDashboardsDb.putDashboard(dashboard);
+            return;
+        }
+
+        List<String> courseIds = getCourseIds(students);
+        Map<String, Long> courseVersions = studentDashboardsDb.getCourseVersions(courseIds);
+        Map<String, List<FeedbackSessionAttributes>> sessionsByCourse =
+                new HashMap<String, List<FeedbackSessionAttributes>>();
+        for (FeedbackSessionAttributes session : fsLogic.getFeedbackSessionsForCourses(courseIds)) {
+            List<FeedbackSessionAttributes> sessions = sessionsByCourse.get(session.getCourseId());
+            if (sessions == null) {
+                sessions = new ArrayList<FeedbackSessionAttributes>();
+                sessionsByCourse.put(session.getCourseId(), sessions);
+            }
+            sessions.add(session);
+        }
+
+        for (StudentAttributes student : students) {
+            List<FeedbackSessionAttributes> sessions = sessionsByCourse.get(student.course);
+            dashboard.courses.add(getCourseEntry(student, courseVersions.get(student.course),
+                                                 sessions == null
+                                                 ? Collections.<FeedbackSessionAttributes>emptyList()
+                                                 : sessions));
+        }
+        if (!studentDashboardsDb.putDashboard(dashboard)) {
+            log.info("Dashboard of " + googleId + " changed while it was rebuilt; it is rebuilt when next read");
+        }
+    }
+
+    /**
+     * Schedules a task to rebuild the dashboard of the student. The task is named after the student and
+     * the versions of the dashboard and its courses, so that the misses of many concurrent readers of the
+     * same dashboard schedule only one rebuild, while any change to the dashboard allows another one.
+     */
+    private void scheduleStudentDashboardRebuild(String googleId, long version, Map<String, Long> courseVersions) {
+
+        HashMap<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(ParamsNames.STUDENT_ID, googleId);
+
+        String taskName = "student-dashboard-rebuild-" + StringHelper.toHexString(googleId) + "-" + version
+                          + "-" + Integer.toHexString(new TreeMap<String, Long>(courseVersions).toString().hashCode());
+
+        TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
+        taskQueueLogic.createAndAddNamedTask(SystemParams.STUDENT_DASHBOARD_REBUILD_TASK_QUEUE,
+                Const.ActionURIs.STUDENT_DASHBOARD_REBUILD_WORKER, paramMap, taskName);
+    }
+
+    /**
+     * Records in the dashboard of the student whether the student has submitted the session.
+     * Does nothing if the student has not joined the course.
+     */
+    public void setSessionSubmitted(String email, String feedbackSessionName, String courseId, boolean hasSubmitted) {
+        StudentAttributes student = CourseRosterSnapshots.getCourseRoster(courseId).getStudentForEmail(email);
+        if (student == null || !student.isRegistered()) {
+            return;
+        }
+        studentDashboardsDb.setSessionSubmitted(student.googleId, courseId, feedbackSessionName, hasSubmitted);
+    }
+
+    /**
+     * Discards the dashboards of all students in the course, e.g. because its respondents have been recounted.
+     * The dashboards are rebuilt when they are next read.
+     */
+    public void invalidateStudentDashboardsForCourse(String courseId) {
+        studentDashboardsDb.discardDashboardsForCourses(Collections.singletonList(courseId));
+    }
+
+    /**
+     * Discards the dashboards of the students in the course with the given emails, e.g. because an
+     * instructor with one of the emails has been added, which changes the sessions the student can see.
+     */
+    public void invalidateStudentDashboardsForEmails(String courseId, Collection<String> emails) {
+        CourseRoster roster = CourseRosterSnapshots.getCourseRoster(courseId);
+        for (String email : emails) {
+            StudentAttributes student = roster.getStudentForEmail(email);
+            if (student != null && student.isRegistered()) {
+                studentDashboardsDb.discardDashboard(student.googleId);
+            }
+        }
+    }
+
+    /**
+     * Discards the dashboards of the students in the course of a new session who can see the session
+     * before it has any question, i.e. the students who are also instructors of the course and the creator
+     * of a private session. The other students only see the session once it has questions for them.
+     */
+    public void invalidateStudentDashboardsForNewSession(FeedbackSessionAttributes session) {
+        Set<String> emails = new HashSet<String>();
+        for (InstructorAttributes instructor
+                : CourseRosterSnapshots.getCourseRoster(session.getCourseId()).getInstructors()) {
+            emails.add(instructor.email);
+        }
+        emails.add(session.getCreatorEmail());
+        invalidateStudentDashboardsForEmails(session.getCourseId(), emails);
+    }
+
+    /**
+     * Discards the dashboards of the course of the question if changing {@code oldQuestion} into
+     * {@code newQuestion} changes what they show. {@code oldQuestion} is null for a new question and
+     * {@code newQuestion} is null for a deleted one.<br>
+     * The dashboards only depend on the questions of a session through whether the session has any
+     * question for students, and any question for instructors whose responses students can see. These
+     * are checked against the other questions of the session, so that the check does not depend on
+     * whether the changed question is already seen by a query.
+     */
+    public void invalidateStudentDashboardsForQuestionChange(FeedbackQuestionAttributes oldQuestion,
+                                                             FeedbackQuestionAttributes newQuestion) {
+        boolean wasForStudents = isForStudents(oldQuestion);
+        boolean isForStudents = isForStudents(newQuestion);
+        boolean wasVisibleToStudents = isForInstructorsAndVisibleToStudents(oldQuestion);
+        boolean isVisibleToStudents = isForInstructorsAndVisibleToStudents(newQuestion);
+        if (wasForStudents == isForStudents && wasVisibleToStudents == isVisibleToStudents) {
+            return;
+        }
+
+        FeedbackQuestionAttributes question = newQuestion == null ? oldQuestion : newQuestion;
+        boolean hasOtherQuestionsForStudents = false;
+        for (FeedbackQuestionAttributes otherQuestion
+                : fqLogic.getFeedbackQuestionsForStudents(question.feedbackSessionName, question.courseId)) {
+            hasOtherQuestionsForStudents |= !otherQuestion.getId().equals(question.getId());
+        }
+        boolean hasOtherQuestionsVisibleToStudents = false;
+        try {
+            for (FeedbackQuestionAttributes otherQuestion : fqLogic.getFeedbackQuestionsForCreatorInstructor(
+                    question.feedbackSessionName, question.courseId)) {
+                hasOtherQuestionsVisibleToStudents |= !otherQuestion.getId().equals(question.getId())
+                                                      && frLogic.isResponseOfFeedbackQuestionVisibleToStudent(
+                                                                 otherQuestion);
+            }
+        } catch (EntityDoesNotExistException e) {
+            // the session has been deleted, so the dashboards no longer show it
+            return;
+        }
+
+        boolean hadQuestionsForStudents = hasOtherQuestionsForStudents || wasForStudents;
+        boolean hasQuestionsForStudents = hasOtherQuestionsForStudents || isForStudents;
+        boolean wasViewable = hadQuestionsForStudents || hasOtherQuestionsVisibleToStudents || wasVisibleToStudents;
+        boolean isViewable = hasQuestionsForStudents || hasOtherQuestionsVisibleToStudents || isVisibleToStudents;
+        if (hadQuestionsForStudents != hasQuestionsForStudents || wasViewable != isViewable) {
+            invalidateStudentDashboardsForCourse(question.courseId);
+        }
+    }
+
+    private static boolean isForStudents(FeedbackQuestionAttributes question) {
+        return question != null
+               && (question.giverType == FeedbackParticipantType.STUDENTS
+                   || question.giverType == FeedbackParticipantType.TEAMS);
+    }
+
+    private static boolean isForInstructorsAndVisibleToStudents(FeedbackQuestionAttributes question) {
+        return question != null
+               && (question.giverType == FeedbackParticipantType.INSTRUCTORS
+                   || question.giverType == FeedbackParticipantType.SELF)
+               && frLogic.isResponseOfFeedbackQuestionVisibleToStudent(question);
+    }
+
+    private static List<String> getCourseIds(List<StudentAttributes> students) {
+        List<String> courseIds = new ArrayList<String>();
+        for (StudentAttributes student : students) {
+            courseIds.add(student.course);
+        }
+        return courseIds;
+    }
+
+    private CourseEntry getCourseEntry(StudentAttributes student, long courseVersion,
+                                       List<FeedbackSessionAttributes> sessions) {
+        CourseEntry course = new CourseEntry(student.course, student.email, courseVersion);
+        boolean isInstructorOfCourse = !sessions.isEmpty()
+                                       && instructorsLogic.getInstructorForEmail(student.course, student.email) != null;
+
+        for (FeedbackSessionAttributes session : sessions) {
+            boolean isAlwaysViewable;
+            if (session.getFeedbackSessionType() == FeedbackSessionType.PRIVATE || isInstructorOfCourse) {
+                isAlwaysViewable = fsLogic.isFeedbackSessionViewableTo(session, student.email, isInstructorOfCourse);
+                if (!isAlwaysViewable) {
+                    continue;
+                }
+            } else if (fsLogic.isFeedbackSessionViewableToStudentsOnceVisible(session)) {
+                isAlwaysViewable = false;
+            } else {
+                continue;
+            }
+
+            course.sessions.add(new SessionEntry(session.getFeedbackSessionName(), isAlwaysViewable,
+                                                 fsLogic.isFeedbackSessionCompletedByStudent(session, student.email)));
+        }
+        return course;
+    }
+
+}
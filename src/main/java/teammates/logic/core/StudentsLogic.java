@@ -1,8 +1,12 @@
 package teammates.logic.core;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
 
 import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
@@ -42,6 +46,8 @@ public class StudentsLogic {
     //  familiar with the its code and Logic's code. Hence, no need for header
     //  comments.
     
+    private static final Logger log = Utils.getLogger();
+    
     private static final int SECTION_SIZE_LIMIT = 100;
     private static final int SIZE_LIMIT_PER_ENROLLMENT = 150;
 
@@ -82,6 +88,8 @@ public class StudentsLogic {
                     "Course does not exist [" + studentData.course + "]");
         }
         
+        // the new student is expected to respond to the sessions of the course
+        fsLogic.invalidateResponseSummariesForCourse(studentData.course);
     }
 
     @SuppressWarnings("deprecation")
@@ -109,6 +117,17 @@ public class StudentsLogic {
         return studentsDb.getStudentsForCourse(courseId);
     }
     
+    public List<StudentAttributes> getStudentsForCourses(Collection<String> courseIds) {
+        return studentsDb.getStudentsForCourses(courseIds);
+    }
+    
+    /**
+     * @param keys the unencrypted keys of the students, as in {@link StudentAttributes#key}
+     */
+    public List<StudentAttributes> getStudentsForKeys(Collection<String> keys) {
+        return studentsDb.getStudentsForKeys(keys);
+    }
+    
     public List<StudentAttributes> getStudentsForTeam(String teamName, String courseId) {
         return studentsDb.getStudentsForTeam(teamName, courseId);
     }
@@ -124,6 +143,10 @@ public class StudentsLogic {
     public void deleteDocument(StudentAttributes student) {
         studentsDb.deleteDocument(student);
     }
+    
+    public void deleteDocuments(Collection<StudentAttributes> students) {
+        studentsDb.deleteDocuments(students);
+    }
 
     public StudentSearchResultBundle searchStudents(String queryString, List<InstructorAttributes> instructors,
                                                     String cursorString) {
@@ -316,65 +339,35 @@ public class StudentsLogic {
             throw new EnrollException(Const.StatusMessages.ENROLL_LINE_EMPTY);
         }
         
-        List<String> invalidityInfo = getInvalidityInfoInEnrollLines(enrollLines, courseId);
+        long startTime = System.currentTimeMillis();
+        List<StudentAttributes> studentList = new ArrayList<StudentAttributes>();
+        List<String> invalidityInfo = parseEnrollLines(enrollLines, courseId, studentList);
         if (!invalidityInfo.isEmpty()) {
             throw new EnrollException(StringHelper.toString(invalidityInfo, "<br>"));
         }
-        
-        ArrayList<StudentAttributes> returnList = new ArrayList<StudentAttributes>();
-        ArrayList<StudentEnrollDetails> enrollmentList = new ArrayList<StudentEnrollDetails>();
-        ArrayList<StudentAttributes> studentList = new ArrayList<StudentAttributes>();
-        
-        String[] linesArray = enrollLines.split(Const.EOL);
+        verifyIsWithinSizeLimitPerEnrollment(studentList);
+        long parsedTime = System.currentTimeMillis();
 
-        StudentAttributesFactory saf = new StudentAttributesFactory(linesArray[0]);
-        
-        for (int i = 1; i < linesArray.length; i++) {
-            String line = linesArray[i];
-            
-            if (StringHelper.isWhiteSpace(line)) {
-                continue;
-            }
-            
-            StudentAttributes student = saf.makeStudent(line, courseId);
-            studentList.add(student);
-        }
+        EnrollmentPlan enrollmentPlan = new EnrollmentPlan(studentList, getStudentsForCourse(courseId), SECTION_SIZE_LIMIT);
+        validateSectionsAndTeams(enrollmentPlan);
+        long plannedTime = System.currentTimeMillis();
 
-        verifyIsWithinSizeLimitPerEnrollment(studentList);
-        validateSectionsAndTeams(studentList, courseId);
-
-        // TODO: can we use a batch persist operation here?
-        // enroll all students
-        for (StudentAttributes student : studentList) {
-            StudentEnrollDetails enrollmentDetails;
-            
-            enrollmentDetails = enrollStudent(student, hasDocument);
-            student.updateStatus = enrollmentDetails.updateStatus;
-            
-            enrollmentList.add(enrollmentDetails);
-            returnList.add(student);
-        }
-        
-        //Adjust submissions for all feedback responses within the course
-        List<FeedbackSessionAttributes> feedbackSessions = FeedbackSessionsLogic.inst()
-                .getFeedbackSessionsForCourse(courseId);
-        
-        for (FeedbackSessionAttributes session : feedbackSessions) {
-            //Schedule adjustment of submissions for feedback session in course
-            scheduleSubmissionAdjustmentForFeedbackInCourse(enrollmentList, courseId,
-                    session.getFeedbackSessionName());
-        }
-
-        // add to return list students not included in the enroll list.
-        List<StudentAttributes> studentsInCourse = getStudentsForCourse(courseId);
-        for (StudentAttributes student : studentsInCourse) {
-            if (!isInEnrollList(student, returnList)) {
-                student.updateStatus = StudentAttributes.UpdateStatus.NOT_IN_ENROLL_LIST;
-                returnList.add(student);
-            }
-        }
+        List<StudentEnrollDetails> enrollmentList = persistEnrollment(enrollmentPlan, hasDocument);
+        long persistedTime = System.currentTimeMillis();
+
+        //Schedule adjustment of submissions for all feedback sessions in course
+        List<FeedbackSessionAttributes> feedbackSessions = fsLogic.getFeedbackSessionsForCourse(courseId);
+        scheduleSubmissionAdjustmentForFeedbackInCourse(enrollmentList, courseId, feedbackSessions);
+        long endTime = System.currentTimeMillis();
+
+        log.info("Enrolled " + studentList.size() + " students in course " + courseId
+                 + " [parse: " + (parsedTime - startTime) + "ms, plan: " + (plannedTime - parsedTime)
+                 + "ms, persist: " + (persistedTime - plannedTime) + "ms, schedule adjustment: "
+                 + (endTime - persistedTime) + "ms]");
 
-        return returnList;
+        // the return list also has the students not included in the enroll list
+        enrollmentPlan.setUpdateStatuses();
+        return enrollmentPlan.getMergedList();
     }
 
     private void verifyIsWithinSizeLimitPerEnrollment(List<StudentAttributes> students) throws EnrollException {
@@ -390,14 +383,11 @@ public class StudentsLogic {
      * @throws EnrollException
      */
     public void validateSectionsAndTeams(List<StudentAttributes> studentList, String courseId) throws EnrollException {
+        validateSectionsAndTeams(new EnrollmentPlan(studentList, getStudentsForCourse(courseId), SECTION_SIZE_LIMIT));
+    }
 
-        List<StudentAttributes> mergedList = getMergedList(studentList, courseId);
-
-        if (mergedList.size() < 2) { // no conflicts
-            return;
-        }
-
-        String errorMessage = getSectionInvalidityInfo(mergedList) + getTeamInvalidityInfo(mergedList);
+    private void validateSectionsAndTeams(EnrollmentPlan enrollmentPlan) throws EnrollException {
+        String errorMessage = getSectionInvalidityInfo(enrollmentPlan) + getTeamInvalidityInfo(enrollmentPlan);
 
         if (!errorMessage.isEmpty()) {
             throw new EnrollException(errorMessage);
@@ -413,13 +403,8 @@ public class StudentsLogic {
      */
     public void validateTeams(List<StudentAttributes> studentList, String courseId) throws EnrollException {
 
-        List<StudentAttributes> mergedList = getMergedList(studentList, courseId);
-
-        if (mergedList.size() < 2) { // no conflicts
-            return;
-        }
-        
-        String errorMessage = getTeamInvalidityInfo(mergedList);
+        EnrollmentPlan enrollmentPlan = new EnrollmentPlan(studentList, getStudentsForCourse(courseId), SECTION_SIZE_LIMIT);
+        String errorMessage = getTeamInvalidityInfo(enrollmentPlan);
 
         if (errorMessage.length() > 0) {
             throw new EnrollException(errorMessage);
@@ -427,23 +412,6 @@ public class StudentsLogic {
 
     }
     
-    private List<StudentAttributes> getMergedList(List<StudentAttributes> studentList, String courseId) {
-
-        List<StudentAttributes> mergedList = new ArrayList<StudentAttributes>();
-        List<StudentAttributes> studentsInCourse = getStudentsForCourse(courseId);
-
-        for (StudentAttributes student : studentList) {
-            mergedList.add(student);
-        }
-
-        for (StudentAttributes student : studentsInCourse) {
-            if (!isInEnrollList(student, mergedList)) {
-                mergedList.add(student);
-            }
-        }
-        return mergedList;
-    }
-    
     public String getSectionForTeam(String courseId, String teamName) {
 
         List<StudentAttributes> students = getStudentsForTeam(teamName, courseId);
@@ -453,54 +421,18 @@ public class StudentsLogic {
         return students.get(0).section;
     }
 
-    private String getSectionInvalidityInfo(List<StudentAttributes> mergedList) {
-        
-        StudentAttributes.sortBySectionName(mergedList);
-
-        List<String> invalidSectionList = new ArrayList<String>();
-        int studentsCount = 1;
-        for (int i = 1; i < mergedList.size(); i++) {
-            StudentAttributes currentStudent = mergedList.get(i);
-            StudentAttributes previousStudent = mergedList.get(i - 1);
-            if (currentStudent.section.equals(previousStudent.section)) {
-                studentsCount++;
-            } else {
-                if (studentsCount > SECTION_SIZE_LIMIT) {
-                    invalidSectionList.add(previousStudent.section);
-                }
-                studentsCount = 1;
-            }
-
-            if (i == mergedList.size() - 1 && studentsCount > SECTION_SIZE_LIMIT) {
-                invalidSectionList.add(currentStudent.section);
-            }
-        }
-
+    private String getSectionInvalidityInfo(EnrollmentPlan enrollmentPlan) {
         StringBuilder errorMessage = new StringBuilder();
-        for (String section : invalidSectionList) {
+        for (String section : enrollmentPlan.getSectionsOverSizeLimit()) {
             errorMessage.append(String.format(Const.StatusMessages.SECTION_QUOTA_EXCEED, section));
         }
 
         return errorMessage.toString();
     }
 
-    private String getTeamInvalidityInfo(List<StudentAttributes> mergedList) {
-
-        StudentAttributes.sortByTeamName(mergedList);
-
-        List<String> invalidTeamList = new ArrayList<String>();
-        for (int i = 1; i < mergedList.size(); i++) {
-            StudentAttributes currentStudent = mergedList.get(i);
-            StudentAttributes previousStudent = mergedList.get(i - 1);
-            if (currentStudent.team.equals(previousStudent.team)
-                    && !currentStudent.section.equals(previousStudent.section)
-                    && !invalidTeamList.contains(currentStudent.team)) {
-                invalidTeamList.add(currentStudent.team);
-            }
-        }
-
+    private String getTeamInvalidityInfo(EnrollmentPlan enrollmentPlan) {
         StringBuilder errorMessage = new StringBuilder(100);
-        for (String team : invalidTeamList) {
+        for (String team : enrollmentPlan.getTeamsInMultipleSections()) {
             errorMessage.append(String.format(Const.StatusMessages.TEAM_INVALID_SECTION_EDIT,
                                               Sanitizer.sanitizeForHtml(team)));
         }
@@ -512,22 +444,28 @@ public class StudentsLogic {
         return errorMessage.toString();
     }
 
+    /**
+     * Schedules one task to adjust the responses of all the sessions in the course, if any student
+     * changed team or section. The other enrollments need no adjustment and are left out of the task.
+     */
     private void scheduleSubmissionAdjustmentForFeedbackInCourse(
-            ArrayList<StudentEnrollDetails> enrollmentList, String courseId, String sessionName) {
-        // private methods -- should I test this?
-        HashMap<String, String> paramMap = new HashMap<String, String>();
-        
-        paramMap.put(ParamsNames.COURSE_ID, courseId);
-        paramMap.put(ParamsNames.FEEDBACK_SESSION_NAME, sessionName);
+            List<StudentEnrollDetails> enrollmentList, String courseId,
+            List<FeedbackSessionAttributes> feedbackSessions) {
+        List<StudentEnrollDetails> adjustableEnrollments = SubmissionAdjustmentJob.getAdjustableEnrollments(enrollmentList);
+        if (feedbackSessions.isEmpty() || adjustableEnrollments.isEmpty()) {
+            return;
+        }
         
         Gson gsonBuilder = Utils.getTeammatesGson();
-        String enrollmentDetails = gsonBuilder.toJson(enrollmentList);
+        String enrollmentDetails = gsonBuilder.toJson(adjustableEnrollments);
+        
+        Map<String, String> paramMap = new HashMap<String, String>();
+        paramMap.put(ParamsNames.COURSE_ID, courseId);
         paramMap.put(ParamsNames.ENROLLMENT_DETAILS, enrollmentDetails);
         
         TaskQueuesLogic taskQueueLogic = TaskQueuesLogic.inst();
-        taskQueueLogic.createAndAddTask(SystemParams.FEEDBACK_SUBMISSION_ADJUSTMENT_TASK_QUEUE,
-                Const.ActionURIs.FEEDBACK_SUBMISSION_ADJUSTMENT_WORKER, paramMap);
-        
+        taskQueueLogic.createAndAddTasks(SystemParams.FEEDBACK_SUBMISSION_ADJUSTMENT_TASK_QUEUE,
+                Const.ActionURIs.FEEDBACK_SUBMISSION_ADJUSTMENT_WORKER, Collections.singletonList(paramMap));
     }
 
     public EmailWrapper sendRegistrationInviteToStudent(String courseId, String studentEmail)
@@ -674,46 +612,50 @@ public class StudentsLogic {
         studentsDb.putDocument(student);
     }
     
-    private StudentEnrollDetails enrollStudent(StudentAttributes validStudentAttributes, Boolean hasDocument)
+    /**
+     * Creates the new students of the plan in one batch and updates the modified ones.
+     * @return the enrollment details of the students in the plan, in the order of the enroll lines
+     */
+    private List<StudentEnrollDetails> persistEnrollment(EnrollmentPlan enrollmentPlan, boolean hasDocument)
             throws InvalidParametersException, EntityDoesNotExistException, EntityAlreadyExistsException {
-        StudentAttributes originalStudentAttributes = getStudentForEmail(
-                validStudentAttributes.course, validStudentAttributes.email);
-        
-        StudentEnrollDetails enrollmentDetails = new StudentEnrollDetails();
-        enrollmentDetails.course = validStudentAttributes.course;
-        enrollmentDetails.email = validStudentAttributes.email;
-        enrollmentDetails.newTeam = validStudentAttributes.team;
-        enrollmentDetails.newSection = validStudentAttributes.section;
-
-        boolean isModifyingExistingStudent = originalStudentAttributes != null;
-        if (validStudentAttributes.isEnrollInfoSameAs(originalStudentAttributes)) {
-            enrollmentDetails.updateStatus = UpdateStatus.UNMODIFIED;
-        } else if (isModifyingExistingStudent) {
-            updateStudentCascadeWithSubmissionAdjustmentScheduled(originalStudentAttributes.email,
-                                                                  validStudentAttributes, true);
-            enrollmentDetails.updateStatus = UpdateStatus.MODIFIED;
-            
-            if (!originalStudentAttributes.team.equals(validStudentAttributes.team)) {
-                enrollmentDetails.oldTeam = originalStudentAttributes.team;
+        List<StudentAttributes> studentsToCreate = enrollmentPlan.getStudentsToCreate();
+        if (!studentsToCreate.isEmpty()) {
+            studentsDb.createStudents(studentsToCreate, hasDocument);
+            // the new students are expected to respond to the sessions of the course
+            fsLogic.invalidateResponseSummariesForCourse(studentsToCreate.get(0).course);
+        }
+        
+        // the email of an enrolled student is the same as in its record, so there is no email change to cascade
+        List<StudentAttributes> studentsToUpdate = enrollmentPlan.getStudentsToUpdate();
+        for (StudentAttributes student : studentsToUpdate) {
+            student.updateWithExistingRecord(enrollmentPlan.getOriginalStudent(student));
+            if (!student.isValid()) {
+                throw new InvalidParametersException(student.getInvalidityInfo());
             }
-            if (!originalStudentAttributes.section.equals(validStudentAttributes.section)) {
-                enrollmentDetails.oldSection = originalStudentAttributes.section;
-            }
-        } else {
-            createStudentCascade(validStudentAttributes, hasDocument);
-            enrollmentDetails.updateStatus = UpdateStatus.NEW;
         }
-
-        return enrollmentDetails;
+        if (!studentsToUpdate.isEmpty()) {
+            studentsDb.updateStudents(studentsToUpdate, true);
+        }
+        return enrollmentPlan.getEnrollmentDetails();
     }
     
     /* All empty lines or lines with only white spaces will be skipped.
      * The invalidity info returned are in HTML format.
      */
     private List<String> getInvalidityInfoInEnrollLines(String lines, String courseId) throws EnrollException {
+        return parseEnrollLines(lines, courseId, new ArrayList<StudentAttributes>());
+    }
+    
+    /**
+     * Parses the enroll lines in one pass, adding the students made from them to {@code students}.
+     * All empty lines or lines with only white spaces will be skipped.
+     * @return the invalidity info of the lines, in HTML format
+     */
+    private List<String> parseEnrollLines(String lines, String courseId, List<StudentAttributes> students)
+            throws EnrollException {
         List<String> invalidityInfo = new ArrayList<String>();
         String[] linesArray = lines.split(Const.EOL);
-        ArrayList<String> studentEmailList = new ArrayList<String>();
+        Map<String, String> lineForEmail = new HashMap<String, String>();
     
         StudentAttributesFactory saf = new StudentAttributesFactory(linesArray[0]);
         
@@ -732,15 +674,14 @@ public class StudentsLogic {
                     invalidityInfo.add(String.format(Const.StatusMessages.ENROLL_LINES_PROBLEM, sanitizedLine, info));
                 }
                 
-                if (isStudentEmailDuplicated(student.email, studentEmailList)) {
-                    String info =
-                            StringHelper.toString(
-                                    getInvalidityInfoInDuplicatedEmail(student.email, studentEmailList, linesArray),
-                                    "<br>" + Const.StatusMessages.ENROLL_LINES_PROBLEM_DETAIL_PREFIX + " ");
+                if (lineForEmail.containsKey(student.email)) {
+                    String info = "Same email address as the student in line \"" + lineForEmail.get(student.email) + "\"";
                     invalidityInfo.add(String.format(Const.StatusMessages.ENROLL_LINES_PROBLEM, sanitizedLine, info));
+                } else {
+                    lineForEmail.put(student.email, line);
                 }
                 
-                studentEmailList.add(student.email);
+                students.add(student);
             } catch (EnrollException e) {
                 String info = String.format(Const.StatusMessages.ENROLL_LINES_PROBLEM, sanitizedLine, e.getMessage());
                 invalidityInfo.add(info);
@@ -750,28 +691,6 @@ public class StudentsLogic {
         return invalidityInfo;
     }
     
-    private List<String> getInvalidityInfoInDuplicatedEmail(String email,
-            ArrayList<String> studentEmailList, String[] linesArray) {
-        List<String> info = new ArrayList<String>();
-        info.add("Same email address as the student in line \"" + linesArray[studentEmailList.indexOf(email) + 1] + "\"");
-        return info;
-    }
-    
-    private boolean isStudentEmailDuplicated(String email,
-            ArrayList<String> studentEmailList) {
-        return studentEmailList.contains(email);
-    }
-    
-    private boolean isInEnrollList(StudentAttributes student,
-            List<StudentAttributes> studentInfoList) {
-        for (StudentAttributes studentInfo : studentInfoList) {
-            if (studentInfo.email.equalsIgnoreCase(student.email)) {
-                return true;
-            }
-        }
-        return false;
-    }
-    
     private boolean isTeamChanged(String originalTeam, String newTeam) {
         return newTeam != null && originalTeam != null
                 && !originalTeam.equals(newTeam);
@@ -0,0 +1,130 @@
+package teammates.logic.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.StudentAttributes.UpdateStatus;
+import teammates.common.datatransfer.StudentEnrollDetails;
+import teammates.common.exception.EntityDoesNotExistException;
+import teammates.common.exception.InvalidParametersException;
+
+/**
+ * Adjusts the feedback responses of a course after students in it change team or section.<br>
+ * The enrollment details are merged per student and only the responses given by or to those
+ * students are loaded. The responses are adjusted in batches in the order of their ids, so that
+ * a job which runs out of time can be resumed from the id of the last response it adjusted.
+ */
+public class SubmissionAdjustmentJob {
+
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    private final String courseId;
+    private final Map<String, StudentEnrollDetails> enrollmentsByEmail =
+            new LinkedHashMap<String, StudentEnrollDetails>();
+    private final int batchSize;
+
+    public SubmissionAdjustmentJob(String courseId, List<StudentEnrollDetails> enrollments) {
+        this(courseId, enrollments, DEFAULT_BATCH_SIZE);
+    }
+
+    public SubmissionAdjustmentJob(String courseId, List<StudentEnrollDetails> enrollments, int batchSize) {
+        this.courseId = courseId;
+        this.batchSize = batchSize;
+        for (StudentEnrollDetails enrollment : getAdjustableEnrollments(enrollments)) {
+            merge(enrollment);
+        }
+    }
+
+    /**
+     * @return the enrollments which need the responses of the course to be adjusted,
+     *         i.e. those of existing students who changed team or section
+     */
+    public static List<StudentEnrollDetails> getAdjustableEnrollments(List<StudentEnrollDetails> enrollments) {
+        List<StudentEnrollDetails> adjustableEnrollments = new ArrayList<StudentEnrollDetails>();
+        for (StudentEnrollDetails enrollment : enrollments) {
+            if (enrollment.updateStatus == UpdateStatus.MODIFIED
+                    && (enrollment.oldTeam != null || enrollment.oldSection != null)) {
+                adjustableEnrollments.add(enrollment);
+            }
+        }
+        return adjustableEnrollments;
+    }
+
+    public boolean isEmpty() {
+        return enrollmentsByEmail.isEmpty();
+    }
+
+    /**
+     * Adjusts the responses of the course, or of one session in it, with ids after {@code checkpoint}.
+     * After each batch, stops if the time is past {@code deadlineMillis}.
+     * @param feedbackSessionName the session whose responses are adjusted, or null for all sessions
+     * @param checkpoint the id of the last response adjusted by the previous run, or null to start from the first
+     * @return the id of the last response adjusted if the job stopped before it was done, or null if it is done
+     */
+    public String run(String feedbackSessionName, String checkpoint, long deadlineMillis)
+            throws InvalidParametersException, EntityDoesNotExistException {
+        if (isEmpty()) {
+            return null;
+        }
+
+        List<FeedbackResponseAttributes> responses = FeedbackResponsesLogic.inst()
+                .getFeedbackResponsesFromOrForEmailsForCourse(courseId, enrollmentsByEmail.keySet());
+        StudentsLogic studentsLogic = StudentsLogic.inst();
+
+        int numberAdjustedInBatch = 0;
+        for (FeedbackResponseAttributes response : responses) {
+            boolean isAdjustedBefore = checkpoint != null && response.getId().compareTo(checkpoint) <= 0;
+            boolean isInOtherSession = feedbackSessionName != null
+                                       && !feedbackSessionName.equals(response.feedbackSessionName);
+            if (isAdjustedBefore || isInOtherSession) {
+                continue;
+            }
+
+            studentsLogic.adjustFeedbackResponseForEnrollments(getEnrollmentsInvolving(response), response);
+            numberAdjustedInBatch++;
+
+            if (numberAdjustedInBatch == batchSize) {
+                if (System.currentTimeMillis() > deadlineMillis) {
+                    return response.getId();
+                }
+                numberAdjustedInBatch = 0;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Merges {@code enrollment} with an earlier enrollment of the same student, keeping the team and section
+     * the student had before the earlier one.
+     */
+    private void merge(StudentEnrollDetails enrollment) {
+        StudentEnrollDetails earlierEnrollment = enrollmentsByEmail.get(enrollment.email);
+        if (earlierEnrollment == null) {
+            enrollmentsByEmail.put(enrollment.email, enrollment);
+            return;
+        }
+
+        String oldTeam = earlierEnrollment.oldTeam == null ? enrollment.oldTeam : earlierEnrollment.oldTeam;
+        String oldSection = earlierEnrollment.oldSection == null ? enrollment.oldSection : earlierEnrollment.oldSection;
+        enrollmentsByEmail.put(enrollment.email,
+                               new StudentEnrollDetails(UpdateStatus.MODIFIED, enrollment.course, enrollment.email,
+                                                        oldTeam, enrollment.newTeam, oldSection, enrollment.newSection));
+    }
+
+    private ArrayList<StudentEnrollDetails> getEnrollmentsInvolving(FeedbackResponseAttributes response) {
+        ArrayList<StudentEnrollDetails> enrollments = new ArrayList<StudentEnrollDetails>();
+        StudentEnrollDetails giverEnrollment = enrollmentsByEmail.get(response.giver);
+        if (giverEnrollment != null) {
+            enrollments.add(giverEnrollment);
+        }
+        StudentEnrollDetails recipientEnrollment = enrollmentsByEmail.get(response.recipient);
+        if (recipientEnrollment != null && !response.recipient.equals(response.giver)) {
+            enrollments.add(recipientEnrollment);
+        }
+        return enrollments;
+    }
+
+}
@@ -0,0 +1,65 @@
+package teammates.logic.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+
+import teammates.common.util.TaskWrapper;
+import teammates.common.util.Utils;
+
+/**
+ * A task queue interface used by {@link TaskQueuesLogic} to add tasks.
+ */
+public abstract class TaskQueueService {
+
+    /** Maximum number of tasks which can be added to a queue in one call */
+    public static final int MAX_TASKS_PER_BATCH = 100;
+
+    protected static final Logger log = Utils.getLogger();
+
+    /**
+     * Adds the given {@code tasks} to the queue {@code queueName},
+     * in batches of at most {@link #MAX_TASKS_PER_BATCH} tasks.<br>
+     * A batch is rejected as a whole if any of its tasks is invalid (e.g. too large), so the tasks of a
+     * batch which fails are added again one at a time, and only the tasks which fail on their own are lost.
+     * All batches are attempted even if one of them fails.
+     * @return the tasks which could not be added, in the order given; empty if all tasks were added.
+     */
+    public List<TaskWrapper> addTasks(String queueName, List<TaskWrapper> tasks) {
+        List<TaskWrapper> failedTasks = new ArrayList<TaskWrapper>();
+        for (int start = 0; start < tasks.size(); start += MAX_TASKS_PER_BATCH) {
+            List<TaskWrapper> batch = tasks.subList(start, Math.min(start + MAX_TASKS_PER_BATCH, tasks.size()));
+            try {
+                addBatch(queueName, batch);
+            } catch (RuntimeException e) {
+                log.warning("Error when adding tasks " + start + " to " + (start + batch.size() - 1)
+                            + " of " + tasks.size() + " to " + queueName + ", adding them one at a time: "
+                            + e.getMessage());
+                for (int i = 0; i < batch.size(); i++) {
+                    if (!addTask(queueName, batch.get(i), start + i)) {
+                        failedTasks.add(batch.get(i));
+                    }
+                }
+            }
+        }
+        return failedTasks;
+    }
+
+    private boolean addTask(String queueName, TaskWrapper task, int index) {
+        try {
+            addBatch(queueName, Collections.singletonList(task));
+            return true;
+        } catch (RuntimeException e) {
+            log.severe("Error when adding task " + index + " (" + task.getWorkerUrl() + ") to "
+                       + queueName + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Adds a batch of at most {@link #MAX_TASKS_PER_BATCH} tasks to the queue {@code queueName}.
+     */
+    protected abstract void addBatch(String queueName, List<TaskWrapper> batch);
+
+}
@@ -1,9 +1,15 @@
 package teammates.logic.core;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import teammates.common.util.TaskWrapper;
+
 import com.google.appengine.api.taskqueue.Queue;
 import com.google.appengine.api.taskqueue.QueueFactory;
+import com.google.appengine.api.taskqueue.TaskAlreadyExistsException;
 import com.google.appengine.api.taskqueue.TaskOptions;
 
 /**
@@ -13,6 +19,8 @@ public class TaskQueuesLogic {
 
     private static TaskQueuesLogic instance;
     
+    private TaskQueueService service = new GaeTaskQueueService();
+    
     public static TaskQueuesLogic inst() {
         if (instance == null) {
             instance = new TaskQueuesLogic();
@@ -20,6 +28,17 @@ public class TaskQueuesLogic {
         return instance;
     }
     
+    /**
+     * Replaces the service used by the batch operations, e.g. with a {@link LocalTaskQueueService} in tests.
+     */
+    public void setTaskQueueService(TaskQueueService service) {
+        this.service = service;
+    }
+    
+    public TaskQueueService getTaskQueueService() {
+        return service;
+    }
+    
     public void createAndAddTask(String queueName,
             String workerUrl, Map<String, String> paramMap) {
         Queue requiredQueue = QueueFactory.getQueue(queueName);
@@ -35,6 +54,27 @@ public class TaskQueuesLogic {
         requiredQueue.add(taskToBeAdded);
     }
     
+    /**
+     * Adds a task named {@code taskName} to the queue. If a task of the same name has already been added
+     * to the queue (even if it has already run), the new task is dropped.<br>
+     * Task names may only contain the characters [a-zA-Z0-9_-].
+     */
+    public void createAndAddNamedTask(String queueName, String workerUrl, Map<String, String> paramMap,
+                                      String taskName) {
+        Queue requiredQueue = QueueFactory.getQueue(queueName);
+        TaskOptions taskToBeAdded = TaskOptions.Builder.withUrl(workerUrl).taskName(taskName);
+        
+        for (Map.Entry<String, String> entry : paramMap.entrySet()) {
+            taskToBeAdded = taskToBeAdded.param(entry.getKey(), entry.getValue());
+        }
+        
+        try {
+            requiredQueue.add(taskToBeAdded);
+        } catch (TaskAlreadyExistsException e) {
+            // the same task has already been scheduled
+        }
+    }
+    
     // TODO Combine this and createAndAddTask and modify task schedulers accordingly?
     public void createAndAddTaskMultisetParam(String queueName,
             String workerUrl, Map<String, String[]> paramMap) {
@@ -68,4 +108,43 @@ public class TaskQueuesLogic {
         
         requiredQueue.add(taskToBeAdded);
     }
+    
+    /**
+     * Adds one task per element of {@code paramMaps} to the queue, in as few calls as possible.
+     * @throws RuntimeException if some of the tasks could not be added, after all the others have been added
+     */
+    public void createAndAddTasks(String queueName, String workerUrl, List<Map<String, String>> paramMaps) {
+        List<Map<String, String>> failedParamMaps = createAndAddDeferredTasks(queueName, workerUrl, paramMaps, 0);
+        if (!failedParamMaps.isEmpty()) {
+            throw new RuntimeException(failedParamMaps.size() + " of " + paramMaps.size()
+                                       + " tasks could not be added to " + queueName);
+        }
+    }
+    
+    /**
+     * Adds one task per element of {@code paramMaps} to the queue, in as few calls as possible.
+     * The i-th task (counting from 0) is run {@code i * intervalMillis} after it is added,
+     * so that the tasks are spread out over time.
+     * @return the elements of {@code paramMaps} whose tasks could not be added; empty if all were added.
+     */
+    public List<Map<String, String>> createAndAddDeferredTasks(String queueName, String workerUrl,
+                                                               List<Map<String, String>> paramMaps,
+                                                               long intervalMillis) {
+        List<TaskWrapper> tasks = new ArrayList<TaskWrapper>();
+        for (int i = 0; i < paramMaps.size(); i++) {
+            Map<String, String[]> multisetParamMap = new HashMap<String, String[]>();
+            for (Map.Entry<String, String> entry : paramMaps.get(i).entrySet()) {
+                multisetParamMap.put(entry.getKey(), new String[] { entry.getValue() });
+            }
+            tasks.add(new TaskWrapper(workerUrl, multisetParamMap, i * intervalMillis));
+        }
+        
+        List<TaskWrapper> failedTasks = service.addTasks(queueName, tasks);
+        List<Map<String, String>> failedParamMaps = new ArrayList<Map<String, String>>();
+        for (TaskWrapper failedTask : failedTasks) {
+            failedParamMaps.add(paramMaps.get(tasks.indexOf(failedTask)));
+        }
+        return failedParamMaps;
+    }
+
 }
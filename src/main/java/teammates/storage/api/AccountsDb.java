@@ -2,7 +2,11 @@ package teammates.storage.api;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.JDOObjectNotFoundException;
@@ -230,6 +234,21 @@ public class AccountsDb extends EntitiesDb {
         return getAccountEntity(googleId, false);
     }
 
+    @Override
+    protected String getBatchKey(EntityAttributes attributes) {
+        return ((AccountAttributes) attributes).googleId;
+    }
+    
+    @Override
+    protected Map<String, Object> getEntitiesByBatchKey(Collection<? extends EntityAttributes> attributesList) {
+        Set<String> googleIds = new HashSet<String>();
+        for (EntityAttributes attributes : attributesList) {
+            googleIds.add(getBatchKey(attributes));
+        }
+        
+        return new HashMap<String, Object>(getEntitiesByPrimaryKey(Account.class, googleIds));
+    }
+    
     @Override
     protected Object getEntity(EntityAttributes entity) {
         return getAccountEntity(((AccountAttributes) entity).googleId);
@@ -25,6 +25,7 @@ import teammates.common.util.Sanitizer;
 import teammates.storage.entity.Comment;
 import teammates.storage.search.CommentSearchDocument;
 import teammates.storage.search.CommentSearchQuery;
+import teammates.storage.search.SearchDocument;
 
 import com.google.appengine.api.search.Results;
 import com.google.appengine.api.search.ScoredDocument;
@@ -498,6 +499,20 @@ public class CommentsDb extends EntitiesDb {
         putDocument(Const.SearchIndex.COMMENT, new CommentSearchDocument(comment));
     }
     
+    @Override
+    protected List<SearchDocument> getSearchDocuments(Collection<String> documentIds) {
+        List<Long> commentIds = new ArrayList<Long>();
+        for (String documentId : documentIds) {
+            commentIds.add(Long.valueOf(documentId));
+        }
+        
+        List<SearchDocument> documents = new ArrayList<SearchDocument>();
+        for (Comment comment : getEntitiesByPrimaryKey(Comment.class, commentIds).values()) {
+            documents.add(new CommentSearchDocument(new CommentAttributes(comment)));
+        }
+        return documents;
+    }
+    
     /**
      * Search for comments
      * @return {@link CommentSearchResultBundle}
@@ -0,0 +1,101 @@
+package teammates.storage.api;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.storage.datastore.EntityCache;
+
+/**
+ * Provides read-only {@link CourseRoster} snapshots of the students and instructors of a course.<br>
+ * Snapshots are kept in the {@link EntityCache} as {@link EntityCache.Kind#COURSE_ROSTER} and rebuilt
+ * lazily on the next read after {@link StudentsDb} or {@link InstructorsDb} changes the participants of
+ * the course. Each change gives the course a new version, so that a snapshot which was being built
+ * while the course changed is returned to its reader but not cached.<br>
+ * Versions are only kept for the {@link #MAX_TRACKED_COURSES} most recently used courses that have changed.
+ * All other courses share one version, which is raised whenever a course stops being tracked.
+ */
+public final class CourseRosterSnapshots {
+
+    private static final int MAX_TRACKED_COURSES = 1000;
+
+    /** The last version given out; versions only ever increase */
+    private static long lastVersion;
+
+    /** The version of all courses which are not in {@link #VERSIONS} */
+    private static long untrackedVersion;
+
+    private static final Map<String, Long> VERSIONS = new LinkedHashMap<String, Long>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            if (size() <= MAX_TRACKED_COURSES) {
+                return false;
+            }
+            // an untracked course must not get back a version it had before its last change,
+            // or a snapshot built before that change would be taken as up to date
+            untrackedVersion = Math.max(untrackedVersion, eldest.getValue());
+            return true;
+        }
+    };
+
+    private CourseRosterSnapshots() {
+        // utility class
+    }
+
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return the roster of the course, which must not be modified.
+     */
+    public static CourseRoster getCourseRoster(String courseId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        long version = getVersion(courseId);
+        CourseRoster cachedRoster = (CourseRoster) EntityCache.get(EntityCache.Kind.COURSE_ROSTER, courseId);
+        if (cachedRoster != null && cachedRoster.getVersion() == version) {
+            return cachedRoster;
+        }
+
+        CourseRoster roster = new CourseRoster(new StudentsDb().getStudentsForCourse(courseId),
+                                               new InstructorsDb().getInstructorsForCourse(courseId),
+                                               version);
+        if (getVersion(courseId) == version) {
+            EntityCache.put(EntityCache.Kind.COURSE_ROSTER, courseId, roster);
+        }
+        return roster;
+    }
+
+    /**
+     * Discards the cached roster of the course. This should be called whenever a student
+     * or instructor of the course is added, updated or deleted.
+     */
+    static void invalidate(String courseId) {
+        synchronized (VERSIONS) {
+            VERSIONS.put(courseId, ++lastVersion);
+        }
+        EntityCache.invalidate(EntityCache.Kind.COURSE_ROSTER, courseId);
+    }
+
+    /**
+     * Discards all cached rosters, e.g. when students of unknown courses are deleted.
+     */
+    static void invalidateAll() {
+        synchronized (VERSIONS) {
+            VERSIONS.clear();
+            untrackedVersion = ++lastVersion;
+        }
+        EntityCache.invalidateAll(EntityCache.Kind.COURSE_ROSTER);
+    }
+
+    private static long getVersion(String courseId) {
+        synchronized (VERSIONS) {
+            Long version = VERSIONS.get(courseId);
+            return version == null ? untrackedVersion : version;
+        }
+    }
+
+}
@@ -2,7 +2,11 @@ package teammates.storage.api;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
@@ -13,6 +17,7 @@ import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
+import teammates.storage.datastore.EntityCache;
 import teammates.storage.entity.Course;
 
 /**
@@ -52,13 +57,20 @@ public class CoursesDb extends EntitiesDb {
         
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         
+        CourseAttributes cachedCourse = (CourseAttributes) EntityCache.get(EntityCache.Kind.COURSE, courseId);
+        if (cachedCourse != null) {
+            return cachedCourse.getCopy();
+        }
+        
         Course c = getCourseEntity(courseId);
 
         if (c == null) {
             return null;
         }
 
-        return new CourseAttributes(c);
+        CourseAttributes course = new CourseAttributes(c);
+        EntityCache.put(EntityCache.Kind.COURSE, courseId, course.getCopy());
+        return course;
     }
     
     public List<CourseAttributes> getCourses(List<String> courseIds) {
@@ -122,6 +134,7 @@ public class CoursesDb extends EntitiesDb {
         
         courseEntityToUpdate.setName(courseToUpdate.getName());
         courseEntityToUpdate.setArchiveStatus(Boolean.valueOf(courseToUpdate.isArchived));
+        EntityCache.invalidate(EntityCache.Kind.COURSE, courseToUpdate.getId());
         
         log.info(courseToUpdate.getBackupIdentifier());
         getPm().close();
@@ -143,11 +156,31 @@ public class CoursesDb extends EntitiesDb {
         deleteEntity(entityToDelete);
     }
     
+    @Override
+    protected String getBatchKey(EntityAttributes attributes) {
+        return ((CourseAttributes) attributes).getId();
+    }
+    
+    @Override
+    protected Map<String, Object> getEntitiesByBatchKey(Collection<? extends EntityAttributes> attributesList) {
+        Set<String> courseIds = new HashSet<String>();
+        for (EntityAttributes attributes : attributesList) {
+            courseIds.add(getBatchKey(attributes));
+        }
+        
+        return new HashMap<String, Object>(getEntitiesByPrimaryKey(Course.class, courseIds));
+    }
+    
     @Override
     protected Object getEntity(EntityAttributes attributes) {
         return getCourseEntity(((CourseAttributes) attributes).getId());
     }
 
+    @Override
+    protected void invalidateCachedEntity(EntityAttributes attributes) {
+        EntityCache.invalidate(EntityCache.Kind.COURSE, ((CourseAttributes) attributes).getId());
+    }
+
     private Course getCourseEntity(String courseId) {
         Query q = getPm().newQuery(Course.class);
         q.declareParameters("String courseIdParam");
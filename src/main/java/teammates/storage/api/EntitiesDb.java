@@ -1,12 +1,23 @@
 package teammates.storage.api;
 
+import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 import javax.jdo.JDOHelper;
+import javax.jdo.JDOObjectNotFoundException;
 import javax.jdo.PersistenceManager;
+import javax.jdo.annotations.Extension;
+import javax.jdo.annotations.PrimaryKey;
 
 import teammates.common.datatransfer.EntityAttributes;
 import teammates.common.exception.EntityAlreadyExistsException;
@@ -18,11 +29,17 @@ import teammates.common.util.GoogleCloudStorageHelper;
 import teammates.common.util.ThreadHelper;
 import teammates.common.util.Utils;
 import teammates.storage.datastore.Datastore;
+import teammates.storage.datastore.EntityCache;
 import teammates.storage.search.SearchDocument;
 import teammates.storage.search.SearchManager;
 import teammates.storage.search.SearchQuery;
 
 import com.google.appengine.api.blobstore.BlobKey;
+import com.google.appengine.api.datastore.DatastoreService;
+import com.google.appengine.api.datastore.DatastoreServiceFactory;
+import com.google.appengine.api.datastore.Entity;
+import com.google.appengine.api.datastore.Key;
+import com.google.appengine.api.datastore.KeyFactory;
 import com.google.appengine.api.search.Results;
 import com.google.appengine.api.search.ScoredDocument;
 import com.google.appengine.api.search.SearchQueryException;
@@ -44,6 +61,15 @@ public abstract class EntitiesDb {
     public static final String ERROR_TRYING_TO_MAKE_NON_EXISTENT_ACCOUNT_AN_INSTRUCTOR =
             "Trying to make an non-existent account an Instructor :";
 
+    /** Maximum number of values the Datastore accepts in a single IN ({@code :p.contains(...)}) filter */
+    protected static final int MAX_VALUES_PER_CONTAINS_FILTER = 30;
+    
+    /** Maximum number of keys the Datastore accepts in a single batch get */
+    private static final int MAX_KEYS_PER_GET = 1000;
+    
+    /** Whether the primary key of each entity class is a {@link Key} encoded as a string */
+    private static final Map<Class<?>, Boolean> HAS_ENCODED_PRIMARY_KEY = new ConcurrentHashMap<Class<?>, Boolean>();
+    
     protected static final Logger log = Utils.getLogger();
     
     /**
@@ -75,26 +101,9 @@ public abstract class EntitiesDb {
         Object entity = entityToAdd.toEntity();
         getPm().makePersistent(entity);
         getPm().flush();
+        onEntitiesWritten(Collections.singletonList(entity), false);
 
-        // Wait for the operation to persist
-        int elapsedTime = 0;
-        Object createdEntity = getEntity(entityToAdd);
-        if (Config.PERSISTENCE_CHECK_DURATION > 0) {
-            while (createdEntity == null
-                   && elapsedTime < Config.PERSISTENCE_CHECK_DURATION) {
-                ThreadHelper.waitBriefly();
-                createdEntity = getEntity(entityToAdd);
-                //check before incrementing to avoid boundary case problem
-                if (createdEntity == null) {
-                    elapsedTime += ThreadHelper.WAIT_DURATION;
-                }
-            }
-            if (elapsedTime >= Config.PERSISTENCE_CHECK_DURATION) {
-                log.info("Operation did not persist in time: create"
-                        + entityToAdd.getEntityTypeAsString() + "->"
-                        + entityToAdd.getIdentificationString());
-            }
-        }
+        confirmPersistence(entityToAdd, false);
         
         log.info(entityToAdd.getBackupIdentifier());
         
@@ -110,14 +119,11 @@ public abstract class EntitiesDb {
         List<EntityAttributes> entitiesToUpdate = new ArrayList<EntityAttributes>();
         List<Object> entities = new ArrayList<Object>();
         
+        sanitizeAndValidate(entitiesToAdd);
+        Iterator<Object> existingEntities = getEntities(entitiesToAdd).iterator();
+        
         for (EntityAttributes entityToAdd : entitiesToAdd) {
-            entityToAdd.sanitizeForSaving();
-            
-            if (!entityToAdd.isValid()) {
-                throw new InvalidParametersException(entityToAdd.getInvalidityInfo());
-            }
-            
-            if (getEntity(entityToAdd) == null) {
+            if (existingEntities.next() == null) {
                 entities.add(entityToAdd.toEntity());
             } else {
                 entitiesToUpdate.add(entityToAdd);
@@ -128,6 +134,7 @@ public abstract class EntitiesDb {
        
         getPm().makePersistentAll(entities);
         getPm().flush();
+        onEntitiesWritten(entities, false);
  
         return entitiesToUpdate;
 
@@ -139,20 +146,14 @@ public abstract class EntitiesDb {
         Assumption.assertNotNull(
                 Const.StatusCodes.DBLEVEL_NULL_INPUT, entitiesToAdd);
         
-        List<EntityAttributes> entitiesToUpdate = new ArrayList<EntityAttributes>();
         List<Object> entities = new ArrayList<Object>();
         
+        sanitizeAndValidate(entitiesToAdd);
+        Iterator<Object> existingEntities = getEntities(entitiesToAdd).iterator();
+        
         for (EntityAttributes entityToAdd : entitiesToAdd) {
-            entityToAdd.sanitizeForSaving();
-            
-            if (!entityToAdd.isValid()) {
-                throw new InvalidParametersException(entityToAdd.getInvalidityInfo());
-            }
-            
-            if (getEntity(entityToAdd) == null) {
+            if (existingEntities.next() == null) {
                 entities.add(entityToAdd.toEntity());
-            } else {
-                entitiesToUpdate.add(entityToAdd);
             }
             
             log.info(entityToAdd.getBackupIdentifier());
@@ -160,10 +161,60 @@ public abstract class EntitiesDb {
         
         getPm().makePersistentAll(entities);
         getPm().flush();
+        onEntitiesWritten(entities, false);
  
         return entities;
 
     }
+    
+    /**
+     * Creates the entities in one batch. Unlike {@link #createAndReturnEntities}, none of the entities
+     * is created if any of them exists already.
+     * @return the created entities
+     */
+    public List<Object> createEntitiesWithExistenceCheck(Collection<? extends EntityAttributes> entitiesToAdd)
+            throws InvalidParametersException, EntityAlreadyExistsException {
+        
+        Assumption.assertNotNull(
+                Const.StatusCodes.DBLEVEL_NULL_INPUT, entitiesToAdd);
+        
+        List<Object> entities = new ArrayList<Object>();
+        
+        sanitizeAndValidate(entitiesToAdd);
+        Iterator<Object> existingEntities = getEntities(entitiesToAdd).iterator();
+        
+        for (EntityAttributes entityToAdd : entitiesToAdd) {
+            Object existingEntity = existingEntities.next();
+            if (existingEntity != null) {
+                String error = String.format(ERROR_CREATE_ENTITY_ALREADY_EXISTS, entityToAdd.getEntityTypeAsString())
+                        + entityToAdd.getIdentificationString();
+                log.info(error);
+                throw new EntityAlreadyExistsException(error, existingEntity);
+            }
+            entities.add(entityToAdd.toEntity());
+        }
+        
+        for (EntityAttributes entityToAdd : entitiesToAdd) {
+            log.info(entityToAdd.getBackupIdentifier());
+        }
+        
+        getPm().makePersistentAll(entities);
+        getPm().flush();
+        onEntitiesWritten(entities, false);
+        
+        return entities;
+    }
+    
+    protected void sanitizeAndValidate(Collection<? extends EntityAttributes> entitiesToAdd)
+            throws InvalidParametersException {
+        for (EntityAttributes entityToAdd : entitiesToAdd) {
+            entityToAdd.sanitizeForSaving();
+            
+            if (!entityToAdd.isValid()) {
+                throw new InvalidParametersException(entityToAdd.getInvalidityInfo());
+            }
+        }
+    }
 
     
     /**
@@ -186,26 +237,9 @@ public abstract class EntitiesDb {
         Object entity = entityToAdd.toEntity();
         getPm().makePersistent(entity);
         getPm().flush();
+        onEntitiesWritten(Collections.singletonList(entity), false);
 
-        // Wait for the operation to persist
-        if (Config.PERSISTENCE_CHECK_DURATION > 0) {
-            int elapsedTime = 0;
-            Object entityCheck = getEntity(entityToAdd);
-            while (entityCheck == null
-                   && elapsedTime < Config.PERSISTENCE_CHECK_DURATION) {
-                ThreadHelper.waitBriefly();
-                entityCheck = getEntity(entityToAdd);
-                //check before incrementing to avoid boundary case problem
-                if (entityCheck == null) {
-                    elapsedTime += ThreadHelper.WAIT_DURATION;
-                }
-            }
-            if (elapsedTime >= Config.PERSISTENCE_CHECK_DURATION) {
-                log.info("Operation did not persist in time: create"
-                         + entityToAdd.getEntityTypeAsString() + "->"
-                         + entityToAdd.getIdentificationString());
-            }
-        }
+        confirmPersistence(entityToAdd, false);
         log.info(entityToAdd.getBackupIdentifier());
         
         return entity;
@@ -227,31 +261,12 @@ public abstract class EntitiesDb {
             return;
         }
 
+        onEntitiesWritten(Collections.singletonList(entity), true);
         getPm().deletePersistent(entity);
         getPm().flush();
+        invalidateCachedEntity(entityToDelete);
         
-        // wait for the operation to persist
-        if (Config.PERSISTENCE_CHECK_DURATION > 0) {
-            int elapsedTime = 0;
-            Object entityCheck = getEntity(entityToDelete);
-            boolean isEntityDeleted = entityCheck == null || JDOHelper.isDeleted(entityCheck);
-            while (!isEntityDeleted
-                    && elapsedTime < Config.PERSISTENCE_CHECK_DURATION) {
-                ThreadHelper.waitBriefly();
-                entityCheck = getEntity(entityToDelete);
-                
-                isEntityDeleted = entityCheck == null || JDOHelper.isDeleted(entityCheck);
-                //check before incrementing to avoid boundary case problem
-                if (!isEntityDeleted) {
-                    elapsedTime += ThreadHelper.WAIT_DURATION;
-                }
-            }
-            if (elapsedTime >= Config.PERSISTENCE_CHECK_DURATION) {
-                log.info("Operation did not persist in time: delete"
-                        + entityToDelete.getEntityTypeAsString() + "->"
-                        + entityToDelete.getIdentificationString());
-            }
-        }
+        confirmPersistence(entityToDelete, true);
         log.info(entityToDelete.getBackupIdentifier());
     }
     
@@ -259,22 +274,100 @@ public abstract class EntitiesDb {
         
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, entitiesToDelete);
         List<Object> entities = new ArrayList<Object>();
+        Iterator<Object> existingEntities = getEntities(entitiesToDelete).iterator();
         for (EntityAttributes entityToDelete : entitiesToDelete) {
-            Object entity = getEntity(entityToDelete);
+            Object entity = existingEntities.next();
             if (entity != null) {
                 entities.add(entity);
                 log.info(entityToDelete.getBackupIdentifier());
             }
         }
         
+        onEntitiesWritten(entities, true);
         getPm().deletePersistentAll(entities);
         getPm().flush();
+        
+        for (EntityAttributes entityToDelete : entitiesToDelete) {
+            invalidateCachedEntity(entityToDelete);
+        }
     }
     
     public void commitOutstandingChanges() {
         closePm();
     }
     
+    /**
+     * Confirms that the creation (or deletion, if {@code isDeletion} is true) of the entity
+     * matching {@code attributes} has persisted.<br>
+     * In synchronous mode, this waits for up to {@link Config#PERSISTENCE_CHECK_DURATION}.
+     * Otherwise, the check is recorded in the task queue and this returns immediately.
+     */
+    protected void confirmPersistence(EntityAttributes attributes, boolean isDeletion) {
+        if (Config.PERSISTENCE_CHECK_DURATION <= 0) {
+            return;
+        }
+        
+        if (!Config.isPersistenceCheckSynchronous()) {
+            PersistenceVerifier.enqueue(this, attributes, isDeletion);
+            return;
+        }
+        
+        int elapsedTime = 0;
+        boolean isPersisted = isPersisted(attributes, isDeletion);
+        while (!isPersisted
+                && elapsedTime < Config.PERSISTENCE_CHECK_DURATION) {
+            ThreadHelper.waitBriefly();
+            isPersisted = isPersisted(attributes, isDeletion);
+            //check before incrementing to avoid boundary case problem
+            if (!isPersisted) {
+                elapsedTime += ThreadHelper.WAIT_DURATION;
+            }
+        }
+        if (elapsedTime >= Config.PERSISTENCE_CHECK_DURATION) {
+            log.info("Operation did not persist in time: " + (isDeletion ? "delete" : "create")
+                    + attributes.getEntityTypeAsString() + "->"
+                    + attributes.getIdentificationString());
+        }
+    }
+    
+    /**
+     * @return true if the entity matching {@code attributes} is visible in the datastore,
+     *         or is no longer visible if {@code isDeletion} is true.
+     */
+    boolean isPersisted(EntityAttributes attributes, boolean isDeletion) {
+        Object entity = getEntity(attributes);
+        if (isDeletion) {
+            return entity == null || JDOHelper.isDeleted(entity);
+        }
+        return entity != null;
+    }
+    
+    /**
+     * Used by the asynchronous check instead of {@link #isPersisted}, as the entity may have been
+     * written again by the time the check runs.<br>
+     * A creation is confirmed if the entity is found, whatever its current values are.
+     * A deletion is confirmed if the entity is gone, or if it was written again after {@code writeTime},
+     * i.e. it has been created again since, as told by {@link #getLastWriteTime}.
+     * @param writeTime the time, in milliseconds since the epoch, at which the write was made
+     */
+    boolean isPersistedOrSuperseded(EntityAttributes attributes, boolean isDeletion, long writeTime) {
+        Object entity = getEntity(attributes);
+        boolean isFound = entity != null && !JDOHelper.isDeleted(entity);
+        if (!isDeletion) {
+            return isFound;
+        }
+        Date lastWriteTime = isFound ? getLastWriteTime(entity) : null;
+        return !isFound || lastWriteTime != null && lastWriteTime.getTime() > writeTime;
+    }
+    
+    /**
+     * @return the time {@code entity} was last created or updated,
+     *         or null if the kind of entity does not record it.
+     */
+    protected Date getLastWriteTime(Object entity) {
+        return null;
+    }
+    
     protected void closePm() {
         if (!getPm().isClosed()) {
             getPm().close();
@@ -294,19 +387,239 @@ public abstract class EntitiesDb {
      */
     protected abstract Object getEntity(EntityAttributes attributes);
     
+    /**
+     * Gets the entities matching each of {@code attributesList}, using a single batched lookup
+     * (see {@link #getEntitiesByBatchKey}) where the subclass supports it and falling back to
+     * one {@link #getEntity} call per element otherwise.
+     * @return a list in the iteration order of {@code attributesList}, containing the matching
+     *         entity or null if it does not exist in the Datastore.
+     */
+    protected List<Object> getEntities(Collection<? extends EntityAttributes> attributesList) {
+        Map<String, Object> entitiesByBatchKey = attributesList.size() > 1
+                                               ? getEntitiesByBatchKey(attributesList)
+                                               : null;
+        
+        List<Object> entities = new ArrayList<Object>();
+        for (EntityAttributes attributes : attributesList) {
+            String batchKey = entitiesByBatchKey == null ? null : getBatchKey(attributes);
+            entities.add(batchKey == null ? getEntity(attributes) : entitiesByBatchKey.get(batchKey));
+        }
+        return entities;
+    }
+    
+    /**
+     * NOTE: Subclasses which support batched lookups should override this together with
+     * {@link #getEntitiesByBatchKey}.
+     * @return the key under which the entity matching {@code attributes} is returned by
+     *         {@link #getEntitiesByBatchKey}, or null if that entity can only be looked up
+     *         using {@link #getEntity}.
+     */
+    protected String getBatchKey(EntityAttributes attributes) {
+        return null;
+    }
+    
+    /**
+     * Fetches, in as few Datastore round trips as possible, the existing entities matching
+     * the elements of {@code attributesList} which have a non-null {@link #getBatchKey}.
+     * Deleted entities must be left out.
+     * @return a map from batch key to entity, or null if batched lookups are not supported.
+     */
+    protected Map<String, Object> getEntitiesByBatchKey(Collection<? extends EntityAttributes> attributesList) {
+        return null;
+    }
+    
+    /**
+     * Fetches the entities of {@code entityClass} with the given primary keys. Which of the keys exist
+     * is found out with batch gets of up to {@link #MAX_KEYS_PER_GET} keys on the Datastore, which,
+     * unlike a query, are strongly consistent, and, unlike {@link PersistenceManager#getObjectsById},
+     * do not fail on keys which do not exist. Only the entities found are then fetched through the
+     * persistence manager, so a lookup which finds nothing, as is usual when checking whether
+     * entities exist before creating them, takes one round trip however many keys there are.<br>
+     * Keys which do not belong to any entity are ignored.
+     * @return a map from primary key to entity, without deleted entities
+     */
+    protected <K, T> Map<K, T> getEntitiesByPrimaryKey(Class<T> entityClass, Collection<K> primaryKeys) {
+        return getEntitiesByPrimaryKey(getPm(), entityClass, primaryKeys);
+    }
+    
+    /**
+     * Same as {@link #getEntitiesByPrimaryKey(Class, Collection)}, but reads with {@code pm}
+     * instead of the persistence manager shared by the request.
+     */
+    protected <K, T> Map<K, T> getEntitiesByPrimaryKey(PersistenceManager pm, Class<T> entityClass,
+                                                       Collection<K> primaryKeys) {
+        Map<Key, K> primaryKeysByKey = new LinkedHashMap<Key, K>();
+        for (K primaryKey : primaryKeys) {
+            Key key = getDatastoreKey(entityClass, primaryKey);
+            if (key != null) {
+                primaryKeysByKey.put(key, primaryKey);
+            }
+        }
+        
+        List<K> existingPrimaryKeys = new ArrayList<K>();
+        for (Key existingKey : getDatastoreEntities(primaryKeysByKey.keySet()).keySet()) {
+            existingPrimaryKeys.add(primaryKeysByKey.get(existingKey));
+        }
+        if (existingPrimaryKeys.isEmpty()) {
+            return new HashMap<K, T>();
+        }
+        
+        List<Object> objectIds = new ArrayList<Object>();
+        for (K primaryKey : existingPrimaryKeys) {
+            objectIds.add(pm.newObjectIdInstance(entityClass, primaryKey));
+        }
+        List<Object> objects = new ArrayList<Object>();
+        try {
+            @SuppressWarnings("unchecked")
+            Collection<Object> objectsFound = pm.getObjectsById(objectIds);
+            objects.addAll(objectsFound);
+        } catch (JDOObjectNotFoundException e) {
+            // an entity was deleted after the batch get; fetch the entities one at a time to find out which
+            objects.clear();
+            for (Object objectId : objectIds) {
+                objects.add(getObjectByIdIfExists(pm, objectId));
+            }
+        }
+        
+        Map<K, T> entities = new HashMap<K, T>();
+        for (int i = 0; i < existingPrimaryKeys.size(); i++) {
+            Object entity = objects.get(i);
+            if (entity != null && !JDOHelper.isDeleted(entity)) {
+                entities.put(existingPrimaryKeys.get(i), entityClass.cast(entity));
+            }
+        }
+        return entities;
+    }
+    
+    /**
+     * Fetches the Datastore entities with the given keys, bypassing the persistence manager, with
+     * batch gets of up to {@link #MAX_KEYS_PER_GET} keys. Keys which do not belong to any entity are ignored.
+     * @return a map from key to entity
+     */
+    protected static Map<Key, Entity> getDatastoreEntities(Collection<Key> keys) {
+        List<Key> keyList = new ArrayList<Key>(keys);
+        Map<Key, Entity> entities = new HashMap<Key, Entity>();
+        DatastoreService datastore = DatastoreServiceFactory.getDatastoreService();
+        for (int fromIndex = 0; fromIndex < keyList.size(); fromIndex += MAX_KEYS_PER_GET) {
+            int toIndex = Math.min(fromIndex + MAX_KEYS_PER_GET, keyList.size());
+            entities.putAll(datastore.get(keyList.subList(fromIndex, toIndex)));
+        }
+        return entities;
+    }
+    
+    /**
+     * @return the Datastore key of the entity of {@code entityClass} with the given primary key, whose kind
+     *         is the simple name of the class, or null if the primary key cannot belong to any entity.
+     */
+    private static Key getDatastoreKey(Class<?> entityClass, Object primaryKey) {
+        try {
+            if (primaryKey instanceof Long) {
+                return KeyFactory.createKey(entityClass.getSimpleName(), (Long) primaryKey);
+            }
+            if (hasEncodedPrimaryKey(entityClass)) {
+                Key key = KeyFactory.stringToKey((String) primaryKey);
+                return key.getKind().equals(entityClass.getSimpleName()) ? key : null;
+            }
+            return KeyFactory.createKey(entityClass.getSimpleName(), (String) primaryKey);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    private static boolean hasEncodedPrimaryKey(Class<?> entityClass) {
+        Boolean hasEncodedPrimaryKey = HAS_ENCODED_PRIMARY_KEY.get(entityClass);
+        if (hasEncodedPrimaryKey == null) {
+            hasEncodedPrimaryKey = false;
+            for (Field field : entityClass.getDeclaredFields()) {
+                Extension extension = field.getAnnotation(Extension.class);
+                if (field.isAnnotationPresent(PrimaryKey.class) && extension != null
+                        && "gae.encoded-pk".equals(extension.key()) && "true".equals(extension.value())) {
+                    hasEncodedPrimaryKey = true;
+                }
+            }
+            HAS_ENCODED_PRIMARY_KEY.put(entityClass, hasEncodedPrimaryKey);
+        }
+        return hasEncodedPrimaryKey;
+    }
+    
+    private static Object getObjectByIdIfExists(PersistenceManager pm, Object objectId) {
+        try {
+            return pm.getObjectById(objectId);
+        } catch (JDOObjectNotFoundException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Splits {@code values} into sublists small enough to be used as the parameter
+     * of a single {@code :p.contains(...)} query filter.
+     */
+    protected static <T> List<List<T>> splitForContainsFilter(Collection<T> values) {
+        List<List<T>> batches = new ArrayList<List<T>>();
+        List<T> batch = new ArrayList<T>();
+        for (T value : values) {
+            if (batch.size() == MAX_VALUES_PER_CONTAINS_FILTER) {
+                batches.add(batch);
+                batch = new ArrayList<T>();
+            }
+            batch.add(value);
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+    
+    /**
+     * Called with the entities created by the create methods, after they are made persistent,
+     * and with the entities about to be deleted by the delete methods (whose fields can no longer
+     * be read after the deletion). Subclasses which maintain data derived from their entities
+     * should override this.
+     */
+    protected void onEntitiesWritten(List<Object> entities, boolean isDeletion) {
+        // no data is derived from the entities by default
+    }
+    
+    /**
+     * Removes any copy of the entity matching the given {@link EntityAttributes} {@code attributes}
+     * from the {@link EntityCache}. Subclasses which cache their entities should override this.
+     */
+    protected void invalidateCachedEntity(EntityAttributes attributes) {
+        // entities are not cached by default
+    }
+    
     protected PersistenceManager getPm() {
         return Datastore.getPersistenceManager();
     }
     
     //the followings APIs are used by Teammates' search engine
+    
+    /**
+     * Puts the document into the index. If search indexing is synchronous, this is done before returning.
+     * Otherwise, only the id of the document is recorded, and the document is built and put into
+     * the index later by the {@link SearchDocumentIndexer}.
+     */
     protected void putDocument(String indexName, SearchDocument document) {
         try {
-            SearchManager.putDocument(indexName, document.build());
+            if (Config.isSearchIndexingSynchronous()) {
+                SearchManager.putDocument(indexName, document.build());
+            } else {
+                SearchDocumentIndexer.enqueue(indexName, document.getDocumentId());
+            }
         } catch (Exception e) {
             log.info("Failed to put searchable document in " + indexName + " for " + document.toString());
         }
     }
     
+    /**
+     * Creates the search documents of the entities with the given document ids, for the
+     * {@link SearchDocumentIndexer}. Ids which do not belong to any entity are ignored.
+     * Subclasses which put documents into an index should override this.
+     */
+    protected List<SearchDocument> getSearchDocuments(Collection<String> documentIds) {
+        return new ArrayList<SearchDocument>();
+    }
+    
     protected void getDocument(String indexName, String documentId) {
         SearchManager.getDocument(indexName, documentId);
     }
@@ -1,8 +1,14 @@
 package teammates.storage.api;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
@@ -52,6 +58,22 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         return new FeedbackQuestionAttributes(fq);
     }
 
+    /**
+     * Fetches the questions with the given ids by key, so that recently written questions are always found.
+     * Ids which do not belong to any question are ignored. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public List<FeedbackQuestionAttributes> getFeedbackQuestionsForIds(Collection<String> feedbackQuestionIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackQuestionIds);
+        
+        List<FeedbackQuestionAttributes> questions = new ArrayList<FeedbackQuestionAttributes>();
+        for (FeedbackQuestion fq : getEntitiesByPrimaryKey(FeedbackQuestion.class, feedbackQuestionIds).values()) {
+            questions.add(new FeedbackQuestionAttributes(fq));
+        }
+        return questions;
+    }
+
     public FeedbackQuestionAttributes createFeedbackQuestionWithoutExistenceCheck(
             EntityAttributes entityToAdd) throws InvalidParametersException {
         Object obj = this.createEntityWithoutExistenceCheck(entityToAdd);
@@ -315,6 +337,84 @@ public class FeedbackQuestionsDb extends EntitiesDb {
         return feedbackQuestionList;
     }
     
+    /**
+     * Questions with an id are looked up by their id, which is their primary key;
+     * those without an id by their session and question number.
+     */
+    @Override
+    protected String getBatchKey(EntityAttributes attributes) {
+        FeedbackQuestionAttributes question = (FeedbackQuestionAttributes) attributes;
+        if (question.getId() != null) {
+            return question.getId();
+        }
+        return getBatchKey(question.courseId, question.feedbackSessionName, question.questionNumber);
+    }
+    
+    /**
+     * Fetches the questions with an id by their primary keys, and the questions without an id
+     * with one query per session for the question numbers involved,
+     * {@link #MAX_VALUES_PER_CONTAINS_FILTER} numbers at a time.
+     */
+    @Override
+    protected Map<String, Object> getEntitiesByBatchKey(Collection<? extends EntityAttributes> attributesList) {
+        Set<String> ids = new HashSet<String>();
+        Map<List<String>, Set<Integer>> questionNumbersBySession = new HashMap<List<String>, Set<Integer>>();
+        for (EntityAttributes attributes : attributesList) {
+            FeedbackQuestionAttributes question = (FeedbackQuestionAttributes) attributes;
+            if (question.getId() != null) {
+                ids.add(question.getId());
+                continue;
+            }
+            List<String> session = Arrays.asList(question.courseId, question.feedbackSessionName);
+            Set<Integer> questionNumbers = questionNumbersBySession.get(session);
+            if (questionNumbers == null) {
+                questionNumbers = new HashSet<Integer>();
+                questionNumbersBySession.put(session, questionNumbers);
+            }
+            questionNumbers.add(question.questionNumber);
+        }
+        
+        Map<String, Object> questions = new HashMap<String, Object>(getEntitiesByPrimaryKey(FeedbackQuestion.class, ids));
+        for (Map.Entry<List<String>, Set<Integer>> sessionQuestionNumbers : questionNumbersBySession.entrySet()) {
+            String courseId = sessionQuestionNumbers.getKey().get(0);
+            String feedbackSessionName = sessionQuestionNumbers.getKey().get(1);
+            for (List<Integer> questionNumbersBatch : splitForContainsFilter(sessionQuestionNumbers.getValue())) {
+                for (FeedbackQuestion question
+                        : getFeedbackQuestionEntitiesForNumbers(feedbackSessionName, courseId, questionNumbersBatch)) {
+                    if (!JDOHelper.isDeleted(question)) {
+                        questions.put(getBatchKey(courseId, feedbackSessionName, question.getQuestionNumber()),
+                                      question);
+                    }
+                }
+            }
+        }
+        return questions;
+    }
+    
+    private List<FeedbackQuestion> getFeedbackQuestionEntitiesForNumbers(
+            String feedbackSessionName, String courseId, List<Integer> questionNumbers) {
+        Query q = getPm().newQuery(FeedbackQuestion.class);
+        q.declareParameters("String feedbackSessionNameParam, String courseIdParam, "
+                            + "java.util.Collection questionNumbersParam");
+        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam "
+                    + "&& questionNumbersParam.contains(questionNumber)");
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackQuestion> feedbackQuestionList =
+                (List<FeedbackQuestion>) q.execute(feedbackSessionName, courseId, questionNumbers);
+        
+        return feedbackQuestionList;
+    }
+    
+    private static String getBatchKey(String courseId, String feedbackSessionName, int questionNumber) {
+        return courseId + "/" + feedbackSessionName + "/" + questionNumber;
+    }
+    
+    @Override
+    protected Date getLastWriteTime(Object entity) {
+        return ((FeedbackQuestion) entity).getUpdatedAt();
+    }
+    
     @Override
     protected Object getEntity(EntityAttributes attributes) {
         FeedbackQuestionAttributes feedbackQuestionToGet = (FeedbackQuestionAttributes) attributes;
@@ -23,6 +23,7 @@ import teammates.common.util.Const;
 import teammates.storage.entity.FeedbackResponseComment;
 import teammates.storage.search.FeedbackResponseCommentSearchDocument;
 import teammates.storage.search.FeedbackResponseCommentSearchQuery;
+import teammates.storage.search.SearchDocument;
 
 import com.google.appengine.api.search.Results;
 import com.google.appengine.api.search.ScoredDocument;
@@ -80,6 +81,22 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
             deleteDocument(Const.SearchIndex.FEEDBACK_RESPONSE_COMMENT, commentToDelete.getId().toString());
         }
     }
+    
+    /*
+     * Remove search documents for the given comments, which must have their ids set,
+     * with one call to the search index
+     */
+    public void deleteDocuments(Collection<FeedbackResponseCommentAttributes> commentsToDelete) {
+        if (commentsToDelete.isEmpty()) {
+            return;
+        }
+        List<String> documentIds = new ArrayList<String>();
+        for (FeedbackResponseCommentAttributes comment : commentsToDelete) {
+            documentIds.add(comment.getId().toString());
+        }
+        deleteDocuments(Const.SearchIndex.FEEDBACK_RESPONSE_COMMENT,
+                        documentIds.toArray(new String[documentIds.size()]));
+    }
 
     /**
      * Preconditions: <br>
@@ -99,6 +116,25 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         return new FeedbackResponseCommentAttributes(frc);
     }
     
+    /**
+     * Fetches the comments with the given ids by key, so that recently written comments are always found.
+     * Ids which do not belong to any comment are ignored. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public List<FeedbackResponseCommentAttributes> getFeedbackResponseCommentsForIds(
+            Collection<Long> feedbackResponseCommentIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackResponseCommentIds);
+        
+        Map<Long, FeedbackResponseComment> frcs =
+                getEntitiesByPrimaryKey(FeedbackResponseComment.class, feedbackResponseCommentIds);
+        List<FeedbackResponseCommentAttributes> comments = new ArrayList<FeedbackResponseCommentAttributes>();
+        for (FeedbackResponseComment frc : frcs.values()) {
+            comments.add(new FeedbackResponseCommentAttributes(frc));
+        }
+        return comments;
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -204,6 +240,22 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         getPm().flush();
     }
     
+    /*
+     * Remove response comments for the response Ids, one query per MAX_VALUES_PER_CONTAINS_FILTER Ids
+     */
+    public void deleteFeedbackResponseCommentsForResponses(Collection<String> responseIds) {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, responseIds);
+        
+        List<FeedbackResponseComment> frcList = new ArrayList<FeedbackResponseComment>();
+        for (List<String> responseIdsBatch : splitForContainsFilter(responseIds)) {
+            frcList.addAll(getFeedbackResponseCommentEntitiesForResponses(responseIdsBatch));
+        }
+        
+        getPm().deletePersistentAll(frcList);
+        getPm().flush();
+    }
+    
     /*
      * Remove response comments for the course Ids
      */
@@ -435,6 +487,20 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         putDocument(Const.SearchIndex.FEEDBACK_RESPONSE_COMMENT, new FeedbackResponseCommentSearchDocument(comment));
     }
     
+    @Override
+    protected List<SearchDocument> getSearchDocuments(Collection<String> documentIds) {
+        List<Long> feedbackResponseCommentIds = new ArrayList<Long>();
+        for (String documentId : documentIds) {
+            feedbackResponseCommentIds.add(Long.valueOf(documentId));
+        }
+        
+        List<SearchDocument> documents = new ArrayList<SearchDocument>();
+        for (FeedbackResponseCommentAttributes comment : getFeedbackResponseCommentsForIds(feedbackResponseCommentIds)) {
+            documents.add(new FeedbackResponseCommentSearchDocument(comment));
+        }
+        return documents;
+    }
+    
     /**
      * Search for response comments
      * @return {@link FeedbackResponseCommentSearchResultBundle}
@@ -626,6 +692,18 @@ public class FeedbackResponseCommentsDb extends EntitiesDb {
         return getCommentsWithoutDeletedEntity(feedbackResponseCommentList);
     }
     
+    private List<FeedbackResponseComment> getFeedbackResponseCommentEntitiesForResponses(
+            List<String> feedbackResponseIds) {
+        Query q = getPm().newQuery(FeedbackResponseComment.class);
+        q.setFilter(":p.contains(feedbackResponseId)");
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponseComment> feedbackResponseCommentList =
+                (List<FeedbackResponseComment>) q.execute(feedbackResponseIds);
+        
+        return getCommentsWithoutDeletedEntity(feedbackResponseCommentList);
+    }
+    
     private List<FeedbackResponseComment> getFeedbackResponseCommentEntitiesForSession(String courseId,
                                                                                        String feedbackSessionName) {
         
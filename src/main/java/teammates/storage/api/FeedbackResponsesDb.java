@@ -2,23 +2,38 @@ package teammates.storage.api;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
 
 import teammates.common.datatransfer.EntityAttributes;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackResponsesPage;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
+import teammates.common.util.Config;
 import teammates.common.util.Const;
+import teammates.common.util.StringHelper;
+import teammates.storage.datastore.EntityCache;
 import teammates.storage.entity.FeedbackResponse;
+import teammates.storage.entity.FeedbackSessionResponseSummary;
 
 public class FeedbackResponsesDb extends EntitiesDb {
 
+    private static final FeedbackSessionResponseSummariesDb responseSummariesDb =
+            new FeedbackSessionResponseSummariesDb();
+
     public void createFeedbackResponses(Collection<FeedbackResponseAttributes> responsesToAdd)
             throws InvalidParametersException {
         List<EntityAttributes> responsesToUpdate = createEntities(responsesToAdd);
@@ -34,6 +49,63 @@ public class FeedbackResponsesDb extends EntitiesDb {
         }
     }
     
+    /**
+     * Creates the responses in {@code responsesToPut} which do not exist yet, and updates the answers
+     * and sections of those which do, with one batched lookup by key and one batched write.<br>
+     * A response is looked up by the id generated from its question, giver and recipient, as a response
+     * is recreated when its giver or recipient changes (see {@link FeedbackResponse}). Unlike a query,
+     * the lookup always finds a response written just before, so an existing response is never created
+     * again with a new creation time.<br>
+     * All the responses are validated before any of them is written.<br>
+     * Preconditions: <br>
+     * * All parameters are non-null. <br>
+     * * Responses which have an id have the same giver and recipient as the response with that id.
+     */
+    public void putFeedbackResponses(Collection<FeedbackResponseAttributes> responsesToPut)
+            throws InvalidParametersException {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, responsesToPut);
+        
+        sanitizeAndValidate(responsesToPut);
+        
+        List<FeedbackResponse> entitiesToPut = new ArrayList<FeedbackResponse>();
+        List<String> ids = new ArrayList<String>();
+        for (FeedbackResponseAttributes response : responsesToPut) {
+            FeedbackResponse entity = response.toEntity();
+            entitiesToPut.add(entity);
+            ids.add(entity.getId());
+        }
+        
+        Map<String, FeedbackResponse> existingEntities = getEntitiesByPrimaryKey(FeedbackResponse.class, ids);
+        
+        List<Object> entitiesToCreate = new ArrayList<Object>();
+        Set<String> updatedQuestionIds = new HashSet<String>();
+        for (FeedbackResponse entity : entitiesToPut) {
+            FeedbackResponse existingEntity = existingEntities.get(entity.getId());
+            if (existingEntity == null) {
+                entitiesToCreate.add(entity);
+                // a later response with the same id updates this one instead
+                existingEntities.put(entity.getId(), entity);
+            } else {
+                existingEntity.keepUpdateTimestamp = false;
+                existingEntity.setAnswer(entity.getResponseMetaData());
+                existingEntity.setGiverSection(entity.getGiverSection());
+                existingEntity.setRecipientSection(entity.getRecipientSection());
+                updatedQuestionIds.add(existingEntity.getFeedbackQuestionId());
+            }
+        }
+        for (FeedbackResponseAttributes response : responsesToPut) {
+            log.info(response.getBackupIdentifier());
+        }
+        
+        getPm().makePersistentAll(entitiesToCreate);
+        getPm().flush();
+        onEntitiesWritten(entitiesToCreate, false);
+        
+        // writes the updated entities
+        getPm().close();
+        discardQuestionStatistics(updatedQuestionIds);
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -47,6 +119,22 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return new FeedbackResponseAttributes(feedbackResponse);
     }
 
+    /**
+     * Fetches the responses with the given ids by key, so that recently written responses are always found.
+     * Ids which do not belong to any response are ignored. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public List<FeedbackResponseAttributes> getFeedbackResponsesForIds(Collection<String> feedbackResponseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackResponseIds);
+        
+        List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+        for (FeedbackResponse fr : getEntitiesByPrimaryKey(FeedbackResponse.class, feedbackResponseIds).values()) {
+            responses.add(new FeedbackResponseAttributes(fr));
+        }
+        return responses;
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -140,6 +228,33 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return fraList;
     }
 
+    /**
+     * Gets the responses to the question given by or to {@code section}, whatever the section of
+     * the other participant, unlike {@link #getFeedbackResponsesForQuestionInSection}.
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return An empty list if no such responses are found.
+     */
+    public List<FeedbackResponseAttributes> getFeedbackResponsesForQuestionFromOrToSection(
+            String feedbackQuestionId, String section) {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackQuestionId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
+
+        Collection<FeedbackResponse> frList =
+                getFeedbackResponseEntitiesForQuestionFromOrToSection(feedbackQuestionId, section);
+        List<FeedbackResponseAttributes> fraList =
+                new ArrayList<FeedbackResponseAttributes>();
+        
+        for (FeedbackResponse fr : frList) {
+            if (!JDOHelper.isDeleted(fr)) {
+                fraList.add(new FeedbackResponseAttributes(fr));
+            }
+        }
+        
+        return fraList;
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -236,6 +351,25 @@ public class FeedbackResponsesDb extends EntitiesDb {
         
         return fraList;
     }
+    
+    /**
+     * Gets one page of the responses in a session.
+     * Preconditions: <br>
+     * * All parameters except {@code cursor} are non-null.
+     * @param cursor the {@link FeedbackResponsesPage#nextCursor} of the previous page,
+     *         or null to get the first page.
+     * @param isPagedByRecipient true to keep the responses of each recipient (instead of giver) together
+     * @return An empty page if no such responses are found.
+     */
+    public FeedbackResponsesPage getFeedbackResponsesForSession(
+            String feedbackSessionName, String courseId, String cursor, int pageSize, boolean isPagedByRecipient) {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertTrue(pageSize > 0);
+        
+        return getFeedbackResponsesPage(feedbackSessionName, courseId, cursor, pageSize, isPagedByRecipient, null);
+    }
 
     /**
      * Preconditions: <br>
@@ -262,6 +396,33 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return fraList;
     }
 
+    /**
+     * Gets one page of the responses in a session given by or to {@code section}.
+     * Preconditions: <br>
+     * * All parameters except {@code cursor} are non-null.
+     * @param cursor the {@link FeedbackResponsesPage#nextCursor} of the previous page,
+     *         or null to get the first page.
+     * @param isPagedByRecipient true to keep the responses of each recipient (instead of giver) together
+     * @return An empty page if no such responses are found.
+     */
+    public FeedbackResponsesPage getFeedbackResponsesForSessionInSection(
+            String feedbackSessionName, String courseId, String section, String cursor, int pageSize,
+            boolean isPagedByRecipient) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
+        Assumption.assertTrue(pageSize > 0);
+
+        if (!Config.FEEDBACK_RESPONSE_SECTION_INDEX_ENABLED) {
+            return getFeedbackResponsesPage(feedbackSessionName, courseId, cursor, pageSize, isPagedByRecipient,
+                                            section, "giverSection", "receiverSection");
+        }
+
+        return getFeedbackResponsesPage(feedbackSessionName, courseId, cursor, pageSize, isPagedByRecipient,
+                                        section, "sections");
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -312,6 +473,48 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return fraList;
     }
     
+    /**
+     * Gets one page of the responses in a session given by {@code section}, keeping the responses
+     * of each giver together.
+     * Preconditions: <br>
+     * * All parameters except {@code cursor} are non-null.
+     * @param cursor the {@link FeedbackResponsesPage#nextCursor} of the previous page,
+     *         or null to get the first page.
+     * @return An empty page if no such responses are found.
+     */
+    public FeedbackResponsesPage getFeedbackResponsesForSessionFromSection(
+            String feedbackSessionName, String courseId, String section, String cursor, int pageSize) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
+        Assumption.assertTrue(pageSize > 0);
+
+        return getFeedbackResponsesPage(feedbackSessionName, courseId, cursor, pageSize, false,
+                                        section, "giverSection");
+    }
+    
+    /**
+     * Gets one page of the responses in a session given to {@code section}, keeping the responses
+     * to each recipient together.
+     * Preconditions: <br>
+     * * All parameters except {@code cursor} are non-null.
+     * @param cursor the {@link FeedbackResponsesPage#nextCursor} of the previous page,
+     *         or null to get the first page.
+     * @return An empty page if no such responses are found.
+     */
+    public FeedbackResponsesPage getFeedbackResponsesForSessionToSection(
+            String feedbackSessionName, String courseId, String section, String cursor, int pageSize) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, section);
+        Assumption.assertTrue(pageSize > 0);
+
+        return getFeedbackResponsesPage(feedbackSessionName, courseId, cursor, pageSize, true,
+                                        section, "receiverSection");
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -565,6 +768,39 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return fraList;
     }
     
+    /**
+     * Fetches the responses in the course given by or to any of {@code emails}, with two queries
+     * per {@link #MAX_VALUES_PER_CONTAINS_FILTER} emails. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return the responses sorted by id, each response only once.
+     */
+    public List<FeedbackResponseAttributes> getFeedbackResponsesFromOrForEmailsForCourse(
+            String courseId, Collection<String> emails) {
+
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, emails);
+
+        Map<String, FeedbackResponseAttributes> responsesById = new TreeMap<String, FeedbackResponseAttributes>();
+        for (List<String> emailsBatch : splitForContainsFilter(emails)) {
+            for (String emailField : new String[] { "giverEmail", "receiver" }) {
+                Query q = getPm().newQuery(FeedbackResponse.class);
+                q.declareParameters("String courseIdParam, java.util.Collection emailsParam");
+                q.setFilter("courseId == courseIdParam && emailsParam.contains(" + emailField + ")");
+
+                @SuppressWarnings("unchecked")
+                List<FeedbackResponse> frList = (List<FeedbackResponse>) q.execute(courseId, emailsBatch);
+                for (FeedbackResponse fr : frList) {
+                    if (!JDOHelper.isDeleted(fr)) {
+                        responsesById.put(fr.getId(), new FeedbackResponseAttributes(fr));
+                    }
+                }
+            }
+        }
+
+        return new ArrayList<FeedbackResponseAttributes>(responsesById.values());
+    }
+
     /**
      * Updates the feedback response identified by {@code newAttributes.getId()} and
      *   changes the {@code updatedAt} timestamp to be the time of update.
@@ -641,6 +877,7 @@ public class FeedbackResponsesDb extends EntitiesDb {
                 
         log.info(newAttributes.getBackupIdentifier());
         getPm().close();
+        discardQuestionStatistics(Collections.singleton(fr.getFeedbackQuestionId()));
     }
     
     public void updateFeedbackResponseOptimized(FeedbackResponseAttributes newAttributes, FeedbackResponse fr)
@@ -664,6 +901,62 @@ public class FeedbackResponsesDb extends EntitiesDb {
         
         getPm().deletePersistentAll(feedbackResponses);
         getPm().flush();
+        
+        // the counts of every session in the courses drop to zero, so the summaries are simply rebuilt
+        responseSummariesDb.deleteResponseSummariesForCourses(courseIds);
+    }
+    
+    /**
+     * Keeps the response counts of the sessions of {@code entities} up to date, and discards the
+     * statistics of their questions.
+     */
+    @Override
+    protected void onEntitiesWritten(List<Object> entities, boolean isDeletion) {
+        int countChange = isDeletion ? -1 : 1;
+        Map<String, Map<String, Map<String, Integer>>> countChangesBySession =
+                new HashMap<String, Map<String, Map<String, Integer>>>();
+        Map<String, FeedbackResponse> sampleResponses = new HashMap<String, FeedbackResponse>();
+        Set<String> questionIds = new HashSet<String>();
+        
+        for (Object entity : entities) {
+            FeedbackResponse response = (FeedbackResponse) entity;
+            questionIds.add(response.getFeedbackQuestionId());
+            String sessionKey = FeedbackSessionResponseSummary.generateId(response.getFeedbackSessionName(),
+                                                                          response.getCourseId());
+            if (!sampleResponses.containsKey(sessionKey)) {
+                sampleResponses.put(sessionKey, response);
+                countChangesBySession.put(sessionKey, new HashMap<String, Map<String, Integer>>());
+            }
+            Map<String, Map<String, Integer>> countChangesByGiver = countChangesBySession.get(sessionKey);
+            if (!countChangesByGiver.containsKey(response.getGiverEmail())) {
+                countChangesByGiver.put(response.getGiverEmail(), new HashMap<String, Integer>());
+            }
+            addCountChange(countChangesByGiver.get(response.getGiverEmail()), response.getFeedbackQuestionId(),
+                           countChange);
+        }
+        
+        for (Map.Entry<String, FeedbackResponse> sample : sampleResponses.entrySet()) {
+            responseSummariesDb.addResponseCounts(sample.getValue().getFeedbackSessionName(),
+                                                  sample.getValue().getCourseId(),
+                                                  countChangesBySession.get(sample.getKey()));
+        }
+        discardQuestionStatistics(questionIds);
+    }
+    
+    /**
+     * Discards the statistics cached for the questions by {@code FeedbackQuestionStatisticsLogic}, as they
+     * are keyed by the ids, givers and recipients of the responses but not by their answers, so a response
+     * changed in place or deleted and created again would otherwise be counted with its old answer.
+     */
+    private static void discardQuestionStatistics(Collection<String> feedbackQuestionIds) {
+        for (String feedbackQuestionId : feedbackQuestionIds) {
+            EntityCache.invalidateByPrefix(EntityCache.Kind.QUESTION_STATISTICS, feedbackQuestionId + "%");
+        }
+    }
+    
+    private static void addCountChange(Map<String, Integer> countChanges, String key, int countChange) {
+        Integer existingChange = countChanges.get(key);
+        countChanges.put(key, existingChange == null ? countChange : existingChange + countChange);
     }
     
     @SuppressWarnings("unchecked")
@@ -715,19 +1008,12 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return (List<FeedbackResponse>) q.execute(courseId);
     }
     
+    /**
+     * Fetches the response by key, as the id is the primary key of a response.
+     */
     private FeedbackResponse getFeedbackResponseEntity(String feedbackResponseId) {
-        Query q = getPm().newQuery(FeedbackResponse.class);
-        q.declareParameters("String feedbackResponseIdParam");
-        q.setFilter("feedbackResponseId == feedbackResponseIdParam");
-        
-        @SuppressWarnings("unchecked")
-        List<FeedbackResponse> feedbackResponses = (List<FeedbackResponse>) q.execute(feedbackResponseId);
-        
-        if (feedbackResponses.isEmpty() || JDOHelper.isDeleted(feedbackResponses.get(0))) {
-            return null;
-        }
-    
-        return feedbackResponses.get(0);
+        return getEntitiesByPrimaryKey(FeedbackResponse.class, Collections.singleton(feedbackResponseId))
+                .get(feedbackResponseId);
     }
 
     private FeedbackResponse getFeedbackResponseEntity(
@@ -754,6 +1040,35 @@ public class FeedbackResponsesDb extends EntitiesDb {
     private List<FeedbackResponse> getFeedbackResponseEntitiesForQuestionInSection(
                 String feedbackQuestionId, String section) {
         
+        if (!Config.FEEDBACK_RESPONSE_SECTION_INDEX_ENABLED) {
+            return getFeedbackResponseEntitiesForQuestionInSectionWithoutSectionIndex(feedbackQuestionId, section);
+        }
+        
+        Query q = getPm().newQuery(FeedbackResponse.class);
+        q.declareParameters("String feedbackQuestionIdParam, String sectionParam");
+        q.setFilter("feedbackQuestionId == feedbackQuestionIdParam && sections == sectionParam");
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponse> queryResponses = (List<FeedbackResponse>) q.execute(feedbackQuestionId, section);
+        
+        // keep only responses whose other participant is in the same section or in no section
+        List<FeedbackResponse> feedbackResponses = new ArrayList<FeedbackResponse>();
+        for (FeedbackResponse response : queryResponses) {
+            if (isInSectionOrDefaultSection(response.getGiverSection(), section)
+                    && isInSectionOrDefaultSection(response.getRecipientSection(), section)) {
+                feedbackResponses.add(response);
+            }
+        }
+        return feedbackResponses;
+    }
+    
+    private static boolean isInSectionOrDefaultSection(String responseSection, String section) {
+        return section.equals(responseSection) || Const.DEFAULT_SECTION.equals(responseSection);
+    }
+
+    private List<FeedbackResponse> getFeedbackResponseEntitiesForQuestionInSectionWithoutSectionIndex(
+                String feedbackQuestionId, String section) {
+        
         List<FeedbackResponse> feedbackResponses = new ArrayList<FeedbackResponse>();
        
         Query q = getPm().newQuery(FeedbackResponse.class);
@@ -780,6 +1095,55 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return feedbackResponses;
     }
 
+    private Collection<FeedbackResponse> getFeedbackResponseEntitiesForQuestionFromOrToSection(
+                String feedbackQuestionId, String section) {
+        
+        if (!Config.FEEDBACK_RESPONSE_SECTION_INDEX_ENABLED) {
+            return getFeedbackResponseEntitiesForQuestionFromOrToSectionWithoutSectionIndex(feedbackQuestionId,
+                                                                                           section);
+        }
+        
+        Query q = getPm().newQuery(FeedbackResponse.class);
+        q.declareParameters("String feedbackQuestionIdParam, String sectionParam");
+        q.setFilter("feedbackQuestionId == feedbackQuestionIdParam && sections == sectionParam");
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponse> feedbackResponses = (List<FeedbackResponse>) q.execute(feedbackQuestionId, section);
+        
+        return feedbackResponses;
+    }
+
+    private Collection<FeedbackResponse> getFeedbackResponseEntitiesForQuestionFromOrToSectionWithoutSectionIndex(
+                String feedbackQuestionId, String section) {
+        
+        Map<String, FeedbackResponse> feedbackResponses = new HashMap<String, FeedbackResponse>();
+        
+        Query q = getPm().newQuery(FeedbackResponse.class);
+        q.declareParameters("String feedbackQuestionIdParam, String sectionParam");
+        q.setFilter("feedbackQuestionId == feedbackQuestionIdParam && giverSection == sectionParam");
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponse> firstQueryResponses =
+                (List<FeedbackResponse>) q.execute(feedbackQuestionId, section);
+        for (FeedbackResponse response : firstQueryResponses) {
+            if (!JDOHelper.isDeleted(response)) {
+                feedbackResponses.put(response.getId(), response);
+            }
+        }
+        
+        q.setFilter("feedbackQuestionId == feedbackQuestionIdParam && receiverSection == sectionParam");
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponse> secondQueryResponses =
+                (List<FeedbackResponse>) q.execute(feedbackQuestionId, section);
+        for (FeedbackResponse response : secondQueryResponses) {
+            if (!JDOHelper.isDeleted(response)) {
+                feedbackResponses.put(response.getId(), response);
+            }
+        }
+        
+        return feedbackResponses.values();
+    }
+
     private List<FeedbackResponse> getFeedbackResponseEntitiesForQuestion(
                 String feedbackQuestionId) {
     
@@ -810,23 +1174,24 @@ public class FeedbackResponsesDb extends EntitiesDb {
     private List<FeedbackResponse> getFeedbackResponseEntitiesForSession(
             String feedbackSessionName, String courseId) {
         
-        Query q = getPm().newQuery(FeedbackResponse.class);
-        q.declareParameters("String feedbackSessionNameParam, String courseIdParam");
-        q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam");
-
         @SuppressWarnings("unchecked")
         List<FeedbackResponse> feedbackResponses =
-                (List<FeedbackResponse>) q.execute(feedbackSessionName, courseId);
+                (List<FeedbackResponse>) getQueryForSession().execute(feedbackSessionName, courseId);
         
         return feedbackResponses;
     }
     
-    private List<FeedbackResponse> getFeedbackResponseEntitiesForSessionWithinRange(
-            String feedbackSessionName, String courseId, long range) {
-        
+    private Query getQueryForSession() {
         Query q = getPm().newQuery(FeedbackResponse.class);
         q.declareParameters("String feedbackSessionNameParam, String courseIdParam");
         q.setFilter("feedbackSessionName == feedbackSessionNameParam && courseId == courseIdParam");
+        return q;
+    }
+    
+    private List<FeedbackResponse> getFeedbackResponseEntitiesForSessionWithinRange(
+            String feedbackSessionName, String courseId, long range) {
+        
+        Query q = getQueryForSession();
         q.setRange(0, range + 1);
         
         @SuppressWarnings("unchecked")
@@ -839,6 +1204,30 @@ public class FeedbackResponsesDb extends EntitiesDb {
     private Collection<FeedbackResponse> getFeedbackResponseEntitiesForSessionInSection(
             String feedbackSessionName, String courseId, String section) {
 
+        if (!Config.FEEDBACK_RESPONSE_SECTION_INDEX_ENABLED) {
+            return getFeedbackResponseEntitiesForSessionInSectionWithoutSectionIndex(feedbackSessionName, courseId,
+                                                                                    section);
+        }
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponse> feedbackResponses =
+                (List<FeedbackResponse>) getQueryForSessionInSection().execute(feedbackSessionName, courseId, section);
+        
+        return feedbackResponses;
+    }
+    
+    private Query getQueryForSessionInSection() {
+        Query q = getPm().newQuery(FeedbackResponse.class);
+        q.declareParameters("String feedbackSessionNameParam, String courseIdParam, String sectionParam");
+        q.setFilter("feedbackSessionName == feedbackSessionNameParam "
+                    + "&& courseId == courseIdParam "
+                    + "&& sections == sectionParam");
+        return q;
+    }
+
+    private Collection<FeedbackResponse> getFeedbackResponseEntitiesForSessionInSectionWithoutSectionIndex(
+            String feedbackSessionName, String courseId, String section) {
+
         Map<String, FeedbackResponse> feedbackResponses = new HashMap<String, FeedbackResponse>();
 
         Query q = getPm().newQuery(FeedbackResponse.class);
@@ -874,38 +1263,216 @@ public class FeedbackResponsesDb extends EntitiesDb {
     private List<FeedbackResponse> getFeedbackResponseEntitiesForSessionFromSection(
             String feedbackSessionName, String courseId, String section) {
 
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponse> queryResponses =
+                (List<FeedbackResponse>) getQueryForSessionFromSection().execute(feedbackSessionName, courseId,
+                                                                                 section);
+
+        return queryResponses;
+    }
+    
+    private Query getQueryForSessionFromSection() {
         Query q = getPm().newQuery(FeedbackResponse.class);
         q.declareParameters("String feedbackSessionNameParam, String courseIdParam, String sectionParam");
         q.setFilter("feedbackSessionName == feedbackSessionNameParam "
                     + "&& courseId == courseIdParam "
                     + "&& giverSection == sectionParam");
-        
-        @SuppressWarnings("unchecked")
-        List<FeedbackResponse> queryResponses =
-                (List<FeedbackResponse>) q.execute(feedbackSessionName, courseId, section);
-
-        return queryResponses;
+        return q;
     }
 
     private List<FeedbackResponse> getFeedbackResponseEntitiesForSessionToSection(
             String feedbackSessionName, String courseId, String section) {
 
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponse> queryResponses =
+                (List<FeedbackResponse>) getQueryForSessionToSection().execute(feedbackSessionName, courseId,
+                                                                               section);
+
+        return queryResponses;
+    }
+    
+    private Query getQueryForSessionToSection() {
         Query q = getPm().newQuery(FeedbackResponse.class);
         q.declareParameters("String feedbackSessionNameParam, String courseIdParam, String sectionParam");
         q.setFilter("feedbackSessionName == feedbackSessionNameParam "
                     + "&& courseId == courseIdParam "
                     + "&& receiverSection == sectionParam");
+        return q;
+    }
+    
+    /**
+     * Gets one page of the responses in a session, ordered by giver (or by recipient if
+     * {@code isPagedByRecipient}). If {@code sectionFields} are given, only responses whose value of
+     * any of those fields is {@code section} are included.
+     * Pages are only cut between two participants, so all responses of a participant are on the
+     * same page even if that makes the page larger than {@code pageSize}. The cursor of the next page
+     * is the last participant of this page.
+     */
+    private FeedbackResponsesPage getFeedbackResponsesPage(
+            String feedbackSessionName, String courseId, String cursor, int pageSize,
+            boolean isPagedByRecipient, String section, String... sectionFields) {
+        
+        String participantField = isPagedByRecipient ? "receiver" : "giverEmail";
+        String[] queriedSectionFields = sectionFields.length == 0 ? new String[] {null} : sectionFields;
+        
+        // each query is only complete up to its last participant if it was cut off at pageSize
+        List<FeedbackResponse> candidates = new ArrayList<FeedbackResponse>();
+        String lastCompleteParticipant = null;
+        for (String sectionField : queriedSectionFields) {
+            List<FeedbackResponse> queryResponses =
+                    getFeedbackResponseEntitiesForPage(feedbackSessionName, courseId, sectionField, section,
+                                                       participantField, ">", cursor, pageSize);
+            candidates.addAll(queryResponses);
+            if (queryResponses.size() == pageSize) {
+                String lastParticipant = getParticipant(queryResponses.get(pageSize - 1), isPagedByRecipient);
+                if (lastCompleteParticipant == null || lastParticipant.compareTo(lastCompleteParticipant) < 0) {
+                    lastCompleteParticipant = lastParticipant;
+                }
+            }
+        }
+        boolean isLastPage = lastCompleteParticipant == null;
+        sortByParticipant(candidates, isPagedByRecipient);
+        
+        Map<String, FeedbackResponse> pageResponses = new LinkedHashMap<String, FeedbackResponse>();
+        String lastParticipant = null;
+        boolean isCut = false;
+        for (FeedbackResponse fr : candidates) {
+            if (JDOHelper.isDeleted(fr)) {
+                continue;
+            }
+            String participant = getParticipant(fr, isPagedByRecipient);
+            boolean isNextParticipant = !participant.equals(lastParticipant);
+            if (!isLastPage && isNextParticipant
+                    && (pageResponses.size() >= pageSize || participant.compareTo(lastCompleteParticipant) > 0)) {
+                isCut = true;
+                break;
+            }
+            pageResponses.put(fr.getId(), fr);
+            lastParticipant = participant;
+        }
+        
+        if (!isLastPage && lastParticipant != null) {
+            // the queries may have been cut off in the middle of the responses of the last participant
+            for (String sectionField : queriedSectionFields) {
+                for (FeedbackResponse fr : getFeedbackResponseEntitiesForPage(
+                                                   feedbackSessionName, courseId, sectionField, section,
+                                                   participantField, "==", lastParticipant, 0)) {
+                    if (!JDOHelper.isDeleted(fr)) {
+                        pageResponses.put(fr.getId(), fr);
+                    }
+                }
+            }
+        }
+        
+        List<FeedbackResponseAttributes> fraList = new ArrayList<FeedbackResponseAttributes>();
+        for (FeedbackResponse fr : pageResponses.values()) {
+            fraList.add(new FeedbackResponseAttributes(fr));
+        }
+        
+        String nextCursor = null;
+        if (!isLastPage && lastParticipant == null) {
+            // every response fetched for this page has been deleted in the meantime
+            nextCursor = lastCompleteParticipant;
+        } else if (!isLastPage && (isCut || hasResponsesAfterParticipant(feedbackSessionName, courseId, section,
+                                                                         queriedSectionFields, participantField,
+                                                                         lastParticipant))) {
+            nextCursor = lastParticipant;
+        }
+        return new FeedbackResponsesPage(fraList, nextCursor);
+    }
+    
+    private boolean hasResponsesAfterParticipant(
+            String feedbackSessionName, String courseId, String section, String[] sectionFields,
+            String participantField, String participant) {
+        for (String sectionField : sectionFields) {
+            if (!getFeedbackResponseEntitiesForPage(feedbackSessionName, courseId, sectionField, section,
+                                                    participantField, ">", participant, 1).isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Gets the responses in a session whose {@code participantField} compares to {@code participant}
+     * with {@code participantOperator} (or all responses if {@code participant} is null), restricted to
+     * {@code section} if {@code sectionField} is not null.
+     * @param limit if positive, only the first {@code limit} responses ordered by {@code participantField}
+     *         are returned
+     */
+    private List<FeedbackResponse> getFeedbackResponseEntitiesForPage(
+            String feedbackSessionName, String courseId, String sectionField, String section,
+            String participantField, String participantOperator, String participant, int limit) {
+        
+        List<String> parameters = new ArrayList<String>();
+        List<String> filters = new ArrayList<String>();
+        List<Object> values = new ArrayList<Object>();
+        
+        parameters.add("String feedbackSessionNameParam");
+        filters.add("feedbackSessionName == feedbackSessionNameParam");
+        values.add(feedbackSessionName);
+        parameters.add("String courseIdParam");
+        filters.add("courseId == courseIdParam");
+        values.add(courseId);
+        if (sectionField != null) {
+            parameters.add("String sectionParam");
+            filters.add(sectionField + " == sectionParam");
+            values.add(section);
+        }
+        if (participant != null) {
+            parameters.add("String participantParam");
+            filters.add(participantField + " " + participantOperator + " participantParam");
+            values.add(participant);
+        }
+        
+        Query q = getPm().newQuery(FeedbackResponse.class);
+        q.declareParameters(StringHelper.toString(parameters, ", "));
+        q.setFilter(StringHelper.toString(filters, " && "));
+        if (limit > 0) {
+            q.setOrdering(participantField + " ascending");
+            q.setRange(0, limit);
+        }
         
         @SuppressWarnings("unchecked")
-        List<FeedbackResponse> queryResponses =
-                (List<FeedbackResponse>) q.execute(feedbackSessionName, courseId, section);
-
-        return queryResponses;
+        List<FeedbackResponse> feedbackResponses = (List<FeedbackResponse>) q.executeWithArray(values.toArray());
+        
+        return feedbackResponses;
+    }
+    
+    private static String getParticipant(FeedbackResponse fr, boolean isRecipient) {
+        return isRecipient ? fr.getRecipientEmail() : fr.getGiverEmail();
     }
     
+    private static void sortByParticipant(List<FeedbackResponse> responses, final boolean isRecipient) {
+        Collections.sort(responses, new Comparator<FeedbackResponse>() {
+            @Override
+            public int compare(FeedbackResponse fr1, FeedbackResponse fr2) {
+                return getParticipant(fr1, isRecipient).compareTo(getParticipant(fr2, isRecipient));
+            }
+        });
+    }
+
     private Collection<FeedbackResponse> getFeedbackResponseEntitiesForSessionInSectionWithinRange(
             String feedbackSessionName, String courseId, String section, long range) {
 
+        if (!Config.FEEDBACK_RESPONSE_SECTION_INDEX_ENABLED) {
+            return getFeedbackResponseEntitiesForSessionInSectionWithinRangeWithoutSectionIndex(
+                    feedbackSessionName, courseId, section, range);
+        }
+        
+        Query q = getQueryForSessionInSection();
+        q.setRange(0, range + 1);
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponse> feedbackResponses =
+                (List<FeedbackResponse>) q.execute(feedbackSessionName, courseId, section);
+        
+        return feedbackResponses;
+    }
+
+    private Collection<FeedbackResponse> getFeedbackResponseEntitiesForSessionInSectionWithinRangeWithoutSectionIndex(
+            String feedbackSessionName, String courseId, String section, long range) {
+
         Map<String, FeedbackResponse> feedbackResponses = new HashMap<String, FeedbackResponse>();
 
         Query q = getPm().newQuery(FeedbackResponse.class);
@@ -991,6 +1558,26 @@ public class FeedbackResponsesDb extends EntitiesDb {
     private Collection<FeedbackResponse> getFeedbackResponseEntitiesForReceiverForQuestionInSection(
             String feedbackQuestionId, String receiver, String section) {
         
+        if (!Config.FEEDBACK_RESPONSE_SECTION_INDEX_ENABLED) {
+            return getFeedbackResponseEntitiesForReceiverForQuestionInSectionWithoutSectionIndex(
+                    feedbackQuestionId, receiver, section);
+        }
+        
+        Query q = getPm().newQuery(FeedbackResponse.class);
+        q.declareParameters("String feedbackQuestionIdParam, String receiverParam, String sectionParam");
+        q.setFilter("feedbackQuestionId == feedbackQuestionIdParam && receiver == receiverParam "
+                    + "&& sections == sectionParam");
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponse> feedbackResponses =
+                (List<FeedbackResponse>) q.execute(feedbackQuestionId, receiver, section);
+        
+        return feedbackResponses;
+    }
+
+    private Collection<FeedbackResponse> getFeedbackResponseEntitiesForReceiverForQuestionInSectionWithoutSectionIndex(
+            String feedbackQuestionId, String receiver, String section) {
+        
         Map<String, FeedbackResponse> feedbackResponses = new HashMap<String, FeedbackResponse>();
         
         Query q = getPm().newQuery(FeedbackResponse.class);
@@ -1038,6 +1625,26 @@ public class FeedbackResponsesDb extends EntitiesDb {
     private Collection<FeedbackResponse> getFeedbackResponseEntitiesFromGiverForQuestionInSection(
             String feedbackQuestionId, String giverEmail, String section) {
         
+        if (!Config.FEEDBACK_RESPONSE_SECTION_INDEX_ENABLED) {
+            return getFeedbackResponseEntitiesFromGiverForQuestionInSectionWithoutSectionIndex(
+                    feedbackQuestionId, giverEmail, section);
+        }
+        
+        Query q = getPm().newQuery(FeedbackResponse.class);
+        q.declareParameters("String feedbackQuestionIdParam, String giverEmailParam, String sectionParam");
+        q.setFilter("feedbackQuestionId == feedbackQuestionIdParam && giverEmail == giverEmailParam "
+                    + "&& sections == sectionParam");
+        
+        @SuppressWarnings("unchecked")
+        List<FeedbackResponse> feedbackResponses =
+                (List<FeedbackResponse>) q.execute(feedbackQuestionId, giverEmail, section);
+        
+        return feedbackResponses;
+    }
+
+    private Collection<FeedbackResponse> getFeedbackResponseEntitiesFromGiverForQuestionInSectionWithoutSectionIndex(
+            String feedbackQuestionId, String giverEmail, String section) {
+        
         Map<String, FeedbackResponse> feedbackResponses = new HashMap<String, FeedbackResponse>();
         
         Query q = getPm().newQuery(FeedbackResponse.class);
@@ -1111,6 +1718,36 @@ public class FeedbackResponsesDb extends EntitiesDb {
         return feedbackResponses;
     }
     
+    /**
+     * Responses are looked up by their id, which for responses without an id is generated from their
+     * question, giver and recipient (see {@link FeedbackResponse#generateId}).
+     */
+    @Override
+    protected String getBatchKey(EntityAttributes attributes) {
+        FeedbackResponseAttributes response = (FeedbackResponseAttributes) attributes;
+        if (response.getId() != null) {
+            return response.getId();
+        }
+        return FeedbackResponse.generateId(response.feedbackQuestionId, response.giver, response.recipient);
+    }
+    
+    /**
+     * Fetches the responses by their ids, which are their primary keys.
+     */
+    @Override
+    protected Map<String, Object> getEntitiesByBatchKey(Collection<? extends EntityAttributes> attributesList) {
+        Set<String> ids = new HashSet<String>();
+        for (EntityAttributes attributes : attributesList) {
+            ids.add(getBatchKey(attributes));
+        }
+        return new HashMap<String, Object>(getEntitiesByPrimaryKey(FeedbackResponse.class, ids));
+    }
+    
+    @Override
+    protected Date getLastWriteTime(Object entity) {
+        return ((FeedbackResponse) entity).getUpdatedAt();
+    }
+    
     @Override
     protected Object getEntity(EntityAttributes attributes) {
         
@@ -0,0 +1,271 @@
+package teammates.storage.api;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.jdo.JDOException;
+import javax.jdo.JDOHelper;
+import javax.jdo.JDOObjectNotFoundException;
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+import javax.jdo.Transaction;
+
+import teammates.common.datatransfer.EntityAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.storage.datastore.Datastore;
+import teammates.storage.entity.FeedbackSessionRespondentShard;
+
+import com.google.appengine.api.datastore.Entity;
+import com.google.appengine.api.datastore.Key;
+import com.google.appengine.api.datastore.KeyFactory;
+
+/**
+ * Handles CRUD operations for the respondents of feedback sessions.<br>
+ * Respondents are spread over {@link #NUM_SHARDS} shards per session by email, and each shard is
+ * changed in a transaction of its own, so that concurrent submissions to the same session neither
+ * contend on a single entity nor overwrite each other's changes. Shards are read by key with a
+ * persistence manager of their own, or directly from the Datastore, so that reads are not served
+ * from a copy cached earlier in the request.
+ */
+public class FeedbackSessionRespondentsDb extends EntitiesDb {
+
+    private static final int NUM_SHARDS = 16;
+
+    private static final int MAX_UPDATE_ATTEMPTS = 5;
+
+    /**
+     * Adds the respondents recorded in the shards of each of the given sessions to the respondent sets of
+     * the session, in place. The sets of the sessions are replaced by copies before being added to.<br>
+     * The shards of all the sessions are read with one batch get, which skips the shards that have not
+     * been created yet, as the shards are only read here and do not need to be managed.
+     */
+    public void addRespondentsTo(Collection<FeedbackSessionAttributes> sessions) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, sessions);
+
+        Map<String, FeedbackSessionAttributes> sessionsByKey = new HashMap<String, FeedbackSessionAttributes>();
+        List<Key> shardKeys = new ArrayList<Key>();
+        for (FeedbackSessionAttributes session : sessions) {
+            session.setRespondingStudentList(new HashSet<String>(session.getRespondingStudentList()));
+            session.setRespondingInstructorList(new HashSet<String>(session.getRespondingInstructorList()));
+            sessionsByKey.put(getSessionKey(session.getFeedbackSessionName(), session.getCourseId()), session);
+            for (int shardIndex = 0; shardIndex < NUM_SHARDS; shardIndex++) {
+                shardKeys.add(KeyFactory.createKey(FeedbackSessionRespondentShard.class.getSimpleName(),
+                        FeedbackSessionRespondentShard.generateId(session.getFeedbackSessionName(),
+                                                                  session.getCourseId(), shardIndex)));
+            }
+        }
+
+        for (Entity shard : getDatastoreEntities(shardKeys).values()) {
+            FeedbackSessionAttributes session = sessionsByKey.get(
+                    getSessionKey((String) shard.getProperty("feedbackSessionName"),
+                                  (String) shard.getProperty("courseId")));
+            session.getRespondingStudentList().addAll(getRespondents(shard, false));
+            session.getRespondingInstructorList().addAll(getRespondents(shard, true));
+        }
+    }
+
+    /**
+     * Checks whether the email is recorded as a respondent of the session, reading only the shard
+     * the email falls into.
+     */
+    public boolean isRespondent(String feedbackSessionName, String courseId, String email, boolean isInstructor) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, email);
+
+        PersistenceManager pm = Datastore.getNewPersistenceManager();
+        try {
+            FeedbackSessionRespondentShard shard =
+                    getShardEntity(pm, feedbackSessionName, courseId, getShardIndex(email));
+            return shard != null && shard.getRespondents(isInstructor).contains(email);
+        } finally {
+            pm.close();
+        }
+    }
+
+    /**
+     * Records the given emails as respondents of the session, changing only the shards the emails
+     * fall into. Shards which already contain the emails are not written to.
+     */
+    public void addRespondents(String feedbackSessionName, String courseId, Collection<String> emails,
+                               boolean isInstructor) {
+        for (Map.Entry<Integer, Set<String>> emailsInShard : groupByShard(emails).entrySet()) {
+            updateShard(feedbackSessionName, courseId, emailsInShard.getKey(),
+                        emailsInShard.getValue(), null, isInstructor);
+        }
+    }
+
+    public void deleteRespondent(String feedbackSessionName, String courseId, String email, boolean isInstructor) {
+        updateShard(feedbackSessionName, courseId, getShardIndex(email), null, email, isInstructor);
+    }
+
+    /**
+     * Replaces {@code oldEmail} by {@code newEmail} if {@code oldEmail} is a respondent of the session.
+     */
+    public void updateRespondent(String feedbackSessionName, String courseId, String oldEmail, String newEmail,
+                                 boolean isInstructor) {
+        if (updateShard(feedbackSessionName, courseId, getShardIndex(oldEmail), null, oldEmail, isInstructor)) {
+            addRespondents(feedbackSessionName, courseId, Collections.singletonList(newEmail), isInstructor);
+        }
+    }
+
+    /**
+     * Removes all students, or all instructors, from the respondents of the session.
+     */
+    public void clearRespondents(String feedbackSessionName, String courseId, boolean isInstructor) {
+        for (int shardIndex = 0; shardIndex < NUM_SHARDS; shardIndex++) {
+            updateShard(feedbackSessionName, courseId, shardIndex, null, null, isInstructor);
+        }
+    }
+
+    public void deleteRespondentsForSession(String feedbackSessionName, String courseId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        List<String> shardIds = new ArrayList<String>();
+        for (int shardIndex = 0; shardIndex < NUM_SHARDS; shardIndex++) {
+            shardIds.add(FeedbackSessionRespondentShard.generateId(feedbackSessionName, courseId, shardIndex));
+        }
+
+        getPm().deletePersistentAll(getEntitiesByPrimaryKey(FeedbackSessionRespondentShard.class, shardIds).values());
+        getPm().flush();
+    }
+
+    public void deleteRespondentsForCourses(List<String> courseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
+
+        List<FeedbackSessionRespondentShard> shards = new ArrayList<FeedbackSessionRespondentShard>();
+        for (List<String> courseIdsBatch : splitForContainsFilter(courseIds)) {
+            Query q = getPm().newQuery(FeedbackSessionRespondentShard.class);
+            q.setFilter(":p.contains(courseId)");
+
+            @SuppressWarnings("unchecked")
+            List<FeedbackSessionRespondentShard> shardsInBatch =
+                    (List<FeedbackSessionRespondentShard>) q.execute(courseIdsBatch);
+            shards.addAll(shardsInBatch);
+        }
+
+        getPm().deletePersistentAll(shards);
+        getPm().flush();
+    }
+
+    /**
+     * Adds {@code emailsToAdd} to the shard, or else removes {@code emailToRemove} from it, or else
+     * clears it if both are null.
+     * @return true if the shard contained {@code emailToRemove}.
+     * @throws ConcurrentModificationException if the shard could not be updated, so that the change is
+     *         not lost silently and the request which made it fails
+     */
+    private boolean updateShard(String feedbackSessionName, String courseId, int shardIndex,
+                                Set<String> emailsToAdd, String emailToRemove, boolean isInstructor) {
+        for (int attempt = 1;; attempt++) {
+            PersistenceManager pm = Datastore.getNewPersistenceManager();
+            Transaction tx = pm.currentTransaction();
+            try {
+                tx.begin();
+                FeedbackSessionRespondentShard shard =
+                        getShardEntity(pm, feedbackSessionName, courseId, shardIndex);
+                boolean isChanged;
+                if (emailsToAdd == null) {
+                    isChanged = shard != null && removeFromShard(shard, emailToRemove, isInstructor);
+                } else if (shard == null) {
+                    shard = new FeedbackSessionRespondentShard(feedbackSessionName, courseId, shardIndex);
+                    shard.getRespondents(isInstructor).addAll(emailsToAdd);
+                    pm.makePersistent(shard);
+                    isChanged = true;
+                } else {
+                    isChanged = shard.getRespondents(isInstructor).addAll(emailsToAdd);
+                }
+
+                if (isChanged) {
+                    tx.commit();
+                } else {
+                    tx.rollback();
+                }
+                return isChanged;
+            } catch (ConcurrentModificationException | JDOException e) {
+                if (attempt == MAX_UPDATE_ATTEMPTS) {
+                    throw new ConcurrentModificationException("Respondents of " + feedbackSessionName + "/"
+                                                              + courseId + " could not be updated: " + e.getMessage());
+                }
+                log.info("Retrying update of respondents of " + feedbackSessionName + "/" + courseId
+                         + " (attempt " + attempt + "): " + e.getMessage());
+            } finally {
+                if (tx.isActive()) {
+                    tx.rollback();
+                }
+                pm.close();
+            }
+        }
+    }
+
+    private static boolean removeFromShard(FeedbackSessionRespondentShard shard, String emailToRemove,
+                                           boolean isInstructor) {
+        Set<String> respondents = shard.getRespondents(isInstructor);
+        if (emailToRemove != null) {
+            return respondents.remove(emailToRemove);
+        }
+        if (respondents.isEmpty()) {
+            return false;
+        }
+        respondents.clear();
+        return true;
+    }
+
+    /**
+     * Reads the respondents from a shard fetched from the Datastore, in which the respondent sets of
+     * {@link FeedbackSessionRespondentShard} are stored as lists, or as null if they are empty.
+     */
+    private static Collection<String> getRespondents(Entity shard, boolean isInstructor) {
+        @SuppressWarnings("unchecked")
+        Collection<String> respondents = (Collection<String>) shard.getProperty(
+                isInstructor ? "respondingInstructors" : "respondingStudents");
+        return respondents == null ? Collections.<String>emptyList() : respondents;
+    }
+
+    private static Map<Integer, Set<String>> groupByShard(Collection<String> emails) {
+        Map<Integer, Set<String>> emailsByShard = new HashMap<Integer, Set<String>>();
+        for (String email : emails) {
+            int shardIndex = getShardIndex(email);
+            Set<String> emailsInShard = emailsByShard.get(shardIndex);
+            if (emailsInShard == null) {
+                emailsInShard = new HashSet<String>();
+                emailsByShard.put(shardIndex, emailsInShard);
+            }
+            emailsInShard.add(email);
+        }
+        return emailsByShard;
+    }
+
+    private static int getShardIndex(String email) {
+        return (email.hashCode() & Integer.MAX_VALUE) % NUM_SHARDS;
+    }
+
+    private static String getSessionKey(String feedbackSessionName, String courseId) {
+        return feedbackSessionName + "%" + courseId;
+    }
+
+    private FeedbackSessionRespondentShard getShardEntity(PersistenceManager pm, String feedbackSessionName,
+                                                          String courseId, int shardIndex) {
+        try {
+            FeedbackSessionRespondentShard shard = pm.getObjectById(FeedbackSessionRespondentShard.class,
+                    FeedbackSessionRespondentShard.generateId(feedbackSessionName, courseId, shardIndex));
+            return JDOHelper.isDeleted(shard) ? null : shard;
+        } catch (JDOObjectNotFoundException e) {
+            return null;
+        }
+    }
+
+    @Override
+    protected Object getEntity(EntityAttributes attributes) {
+        // shards are only accessed through the sessions they belong to
+        return null;
+    }
+}
@@ -0,0 +1,342 @@
+package teammates.storage.api;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.jdo.JDOException;
+import javax.jdo.JDOHelper;
+import javax.jdo.JDOObjectNotFoundException;
+import javax.jdo.PersistenceManager;
+import javax.jdo.Query;
+import javax.jdo.Transaction;
+
+import teammates.common.datatransfer.EntityAttributes;
+import teammates.common.datatransfer.FeedbackSessionResponseSummaryAttributes;
+import teammates.common.exception.InvalidParametersException;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.storage.datastore.Datastore;
+import teammates.storage.entity.FeedbackSessionResponseCountShard;
+import teammates.storage.entity.FeedbackSessionResponseSummary;
+
+/**
+ * Handles CRUD operations for the response summaries of feedback sessions.<br>
+ * A summary holds the response counts of the session when it was built. Later changes to the counts
+ * are spread over {@link #NUM_SHARDS} shards per session by giver, and each shard is changed in a
+ * transaction of its own, so that concurrent submissions to the same session neither contend on a
+ * single entity nor overwrite each other's counts. Reading a summary adds up the changes in its shards.
+ * Summaries and shards are read and written with a persistence manager of their own instead of the one
+ * shared by the request, so that reads are not served from a copy cached earlier in the request.
+ */
+public class FeedbackSessionResponseSummariesDb extends EntitiesDb {
+
+    private static final int NUM_SHARDS = 16;
+
+    private static final int MAX_UPDATE_ATTEMPTS = 5;
+
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return null if the summary has not been built yet.
+     */
+    public FeedbackSessionResponseSummaryAttributes getResponseSummary(String feedbackSessionName, String courseId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        PersistenceManager pm = Datastore.getNewPersistenceManager();
+        try {
+            FeedbackSessionResponseSummary summary = getResponseSummaryEntity(pm, feedbackSessionName, courseId);
+            if (summary == null) {
+                return null;
+            }
+            FeedbackSessionResponseSummaryAttributes summaryAttributes =
+                    new FeedbackSessionResponseSummaryAttributes(summary);
+            addCountChangesTo(pm, Collections.singletonList(summaryAttributes));
+            return summaryAttributes;
+        } finally {
+            pm.close();
+        }
+    }
+
+    /**
+     * Fetches the summaries of all sessions of the given courses, one query per
+     * {@link #MAX_VALUES_PER_CONTAINS_FILTER} courses, and the count shards of the summaries by key.
+     * Sessions whose summary has not been built yet are not included. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     */
+    public List<FeedbackSessionResponseSummaryAttributes> getResponseSummariesForCourses(Collection<String> courseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
+
+        List<FeedbackSessionResponseSummaryAttributes> summaries =
+                new ArrayList<FeedbackSessionResponseSummaryAttributes>();
+        PersistenceManager pm = Datastore.getNewPersistenceManager();
+        try {
+            for (List<String> courseIdsBatch : splitForContainsFilter(courseIds)) {
+                Query q = pm.newQuery(FeedbackSessionResponseSummary.class);
+                q.setFilter(":p.contains(courseId)");
+
+                @SuppressWarnings("unchecked")
+                List<FeedbackSessionResponseSummary> summariesInBatch =
+                        (List<FeedbackSessionResponseSummary>) q.execute(courseIdsBatch);
+                for (FeedbackSessionResponseSummary summary : summariesInBatch) {
+                    summaries.add(new FeedbackSessionResponseSummaryAttributes(summary));
+                }
+            }
+            addCountChangesTo(pm, summaries);
+        } finally {
+            pm.close();
+        }
+        return summaries;
+    }
+
+    /**
+     * Creates the summary, replacing any existing summary of the same session
+     * and discarding the count changes recorded for it.
+     */
+    public void putResponseSummary(FeedbackSessionResponseSummaryAttributes summary)
+            throws InvalidParametersException {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, summary);
+
+        if (!summary.isValid()) {
+            throw new InvalidParametersException(summary.getInvalidityInfo());
+        }
+
+        PersistenceManager pm = Datastore.getNewPersistenceManager();
+        try {
+            pm.deletePersistentAll(getShardEntities(pm, summary.feedbackSessionName, summary.courseId));
+            pm.makePersistent(summary.toEntity());
+        } finally {
+            pm.close();
+        }
+        log.info(summary.getBackupIdentifier());
+    }
+
+    /**
+     * Adds the given changes to the response counts of the session.<br>
+     * The changes of each giver, keyed by feedback question id, are recorded in the shard of the giver.
+     * If a shard cannot be updated, the summary of the session is deleted instead of being left with
+     * wrong counts, so that it is rebuilt from the responses when it is next read.
+     */
+    public void addResponseCounts(String feedbackSessionName, String courseId,
+                                  Map<String, Map<String, Integer>> countChangesByGiverAndQuestion) {
+        Map<Integer, Map<String, Integer>> countChangesByShardAndQuestion =
+                new HashMap<Integer, Map<String, Integer>>();
+        Map<Integer, Map<String, Integer>> countChangesByShardAndGiver = new HashMap<Integer, Map<String, Integer>>();
+        for (Map.Entry<String, Map<String, Integer>> changesOfGiver : countChangesByGiverAndQuestion.entrySet()) {
+            int shardIndex = getShardIndex(changesOfGiver.getKey());
+            if (!countChangesByShardAndQuestion.containsKey(shardIndex)) {
+                countChangesByShardAndQuestion.put(shardIndex, new HashMap<String, Integer>());
+                countChangesByShardAndGiver.put(shardIndex, new HashMap<String, Integer>());
+            }
+            for (Map.Entry<String, Integer> change : changesOfGiver.getValue().entrySet()) {
+                addCountChange(countChangesByShardAndQuestion.get(shardIndex), change.getKey(), change.getValue());
+                addCountChange(countChangesByShardAndGiver.get(shardIndex), changesOfGiver.getKey(),
+                               change.getValue());
+            }
+        }
+
+        for (int shardIndex : countChangesByShardAndQuestion.keySet()) {
+            boolean isUpdated = updateShard(feedbackSessionName, courseId, shardIndex,
+                                            countChangesByShardAndQuestion.get(shardIndex),
+                                            countChangesByShardAndGiver.get(shardIndex));
+            if (!isUpdated) {
+                log.warning("Response counts of " + feedbackSessionName + "/" + courseId
+                            + " could not be updated; discarding the summary so that it is rebuilt");
+                deleteResponseSummary(feedbackSessionName, courseId);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Deletes the summary of the session together with its count shards.
+     */
+    public void deleteResponseSummary(String feedbackSessionName, String courseId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
+
+        PersistenceManager pm = Datastore.getNewPersistenceManager();
+        try {
+            FeedbackSessionResponseSummary summary = getResponseSummaryEntity(pm, feedbackSessionName, courseId);
+            if (summary != null) {
+                pm.deletePersistent(summary);
+            }
+            pm.deletePersistentAll(getShardEntities(pm, feedbackSessionName, courseId));
+        } finally {
+            pm.close();
+        }
+    }
+
+    public void deleteResponseSummariesForCourses(List<String> courseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
+
+        List<Object> entities = new ArrayList<Object>();
+        for (List<String> batch : splitForContainsFilter(courseIds)) {
+            Query q = getPm().newQuery(FeedbackSessionResponseSummary.class);
+            q.setFilter(":p.contains(courseId)");
+
+            @SuppressWarnings("unchecked")
+            List<FeedbackSessionResponseSummary> summariesInBatch =
+                    (List<FeedbackSessionResponseSummary>) q.execute(batch);
+            entities.addAll(summariesInBatch);
+
+            q = getPm().newQuery(FeedbackSessionResponseCountShard.class);
+            q.setFilter(":p.contains(courseId)");
+
+            @SuppressWarnings("unchecked")
+            List<FeedbackSessionResponseCountShard> shardsInBatch =
+                    (List<FeedbackSessionResponseCountShard>) q.execute(batch);
+            entities.addAll(shardsInBatch);
+        }
+
+        getPm().deletePersistentAll(entities);
+        getPm().flush();
+    }
+
+    /**
+     * Adds the count changes recorded in the shards of each of the given summaries to the summary, in place.
+     */
+    private void addCountChangesTo(PersistenceManager pm, List<FeedbackSessionResponseSummaryAttributes> summaries) {
+        List<String> shardIds = new ArrayList<String>();
+        for (FeedbackSessionResponseSummaryAttributes summary : summaries) {
+            shardIds.addAll(getShardIds(summary.feedbackSessionName, summary.courseId));
+        }
+        Map<String, FeedbackSessionResponseCountShard> shards =
+                getEntitiesByPrimaryKey(pm, FeedbackSessionResponseCountShard.class, shardIds);
+
+        for (FeedbackSessionResponseSummaryAttributes summary : summaries) {
+            // the changes in a single shard may be negative, so they are added up before being applied
+            Map<String, Integer> countChangesByQuestion = new HashMap<String, Integer>();
+            Map<String, Integer> countChangesByGiver = new HashMap<String, Integer>();
+            for (String shardId : getShardIds(summary.feedbackSessionName, summary.courseId)) {
+                FeedbackSessionResponseCountShard shard = shards.get(shardId);
+                if (shard == null) {
+                    continue;
+                }
+                addCountChanges(countChangesByQuestion, FeedbackSessionResponseSummaryAttributes.parseCounts(
+                                                                shard.getResponseCountChangesByQuestion()));
+                addCountChanges(countChangesByGiver, FeedbackSessionResponseSummaryAttributes.parseCounts(
+                                                             shard.getResponseCountChangesByGiver()));
+            }
+            for (Map.Entry<String, Integer> change : countChangesByQuestion.entrySet()) {
+                summary.addResponseCountForQuestion(change.getKey(), change.getValue());
+            }
+            for (Map.Entry<String, Integer> change : countChangesByGiver.entrySet()) {
+                summary.addResponseCountFromGiver(change.getKey(), change.getValue());
+            }
+        }
+    }
+
+    /**
+     * @return true if the changes were recorded in the shard.
+     */
+    private boolean updateShard(String feedbackSessionName, String courseId, int shardIndex,
+                                Map<String, Integer> countChangesByQuestion, Map<String, Integer> countChangesByGiver) {
+        for (int attempt = 1; attempt <= MAX_UPDATE_ATTEMPTS; attempt++) {
+            PersistenceManager pm = Datastore.getNewPersistenceManager();
+            Transaction tx = pm.currentTransaction();
+            try {
+                tx.begin();
+                FeedbackSessionResponseCountShard shard = getShardEntity(pm, feedbackSessionName, courseId, shardIndex);
+                if (shard == null) {
+                    shard = new FeedbackSessionResponseCountShard(feedbackSessionName, courseId, shardIndex);
+                    pm.makePersistent(shard);
+                }
+
+                Map<String, Integer> questionCounts =
+                        FeedbackSessionResponseSummaryAttributes.parseCounts(shard.getResponseCountChangesByQuestion());
+                addCountChanges(questionCounts, countChangesByQuestion);
+                shard.setResponseCountChangesByQuestion(
+                        FeedbackSessionResponseSummaryAttributes.getCountsAsText(questionCounts));
+                Map<String, Integer> giverCounts =
+                        FeedbackSessionResponseSummaryAttributes.parseCounts(shard.getResponseCountChangesByGiver());
+                addCountChanges(giverCounts, countChangesByGiver);
+                shard.setResponseCountChangesByGiver(
+                        FeedbackSessionResponseSummaryAttributes.getCountsAsText(giverCounts));
+                tx.commit();
+                return true;
+            } catch (ConcurrentModificationException | JDOException e) {
+                log.info("Retrying update of response counts of " + feedbackSessionName + "/" + courseId
+                         + " (attempt " + attempt + "): " + e.getMessage());
+            } finally {
+                if (tx.isActive()) {
+                    tx.rollback();
+                }
+                pm.close();
+            }
+        }
+        return false;
+    }
+
+    private static void addCountChanges(Map<String, Integer> countChanges, Map<String, Integer> changesToAdd) {
+        for (Map.Entry<String, Integer> change : changesToAdd.entrySet()) {
+            addCountChange(countChanges, change.getKey(), change.getValue());
+        }
+    }
+
+    /**
+     * Unlike the counts of a summary, changes can be negative; only changes which add up to zero are removed.
+     */
+    private static void addCountChange(Map<String, Integer> countChanges, String key, int countChange) {
+        Integer existingChange = countChanges.get(key);
+        int newChange = (existingChange == null ? 0 : existingChange) + countChange;
+        if (newChange == 0) {
+            countChanges.remove(key);
+        } else {
+            countChanges.put(key, newChange);
+        }
+    }
+
+    private static int getShardIndex(String giver) {
+        return (giver.hashCode() & Integer.MAX_VALUE) % NUM_SHARDS;
+    }
+
+    private static List<String> getShardIds(String feedbackSessionName, String courseId) {
+        List<String> shardIds = new ArrayList<String>();
+        for (int shardIndex = 0; shardIndex < NUM_SHARDS; shardIndex++) {
+            shardIds.add(FeedbackSessionResponseCountShard.generateId(feedbackSessionName, courseId, shardIndex));
+        }
+        return shardIds;
+    }
+
+    private Collection<FeedbackSessionResponseCountShard> getShardEntities(PersistenceManager pm,
+                                                                          String feedbackSessionName,
+                                                                          String courseId) {
+        return getEntitiesByPrimaryKey(pm, FeedbackSessionResponseCountShard.class,
+                                       getShardIds(feedbackSessionName, courseId)).values();
+    }
+
+    private FeedbackSessionResponseCountShard getShardEntity(PersistenceManager pm, String feedbackSessionName,
+                                                             String courseId, int shardIndex) {
+        try {
+            FeedbackSessionResponseCountShard shard = pm.getObjectById(FeedbackSessionResponseCountShard.class,
+                    FeedbackSessionResponseCountShard.generateId(feedbackSessionName, courseId, shardIndex));
+            return JDOHelper.isDeleted(shard) ? null : shard;
+        } catch (JDOObjectNotFoundException e) {
+            return null;
+        }
+    }
+
+    private FeedbackSessionResponseSummary getResponseSummaryEntity(PersistenceManager pm,
+                                                                    String feedbackSessionName, String courseId) {
+        try {
+            FeedbackSessionResponseSummary summary = pm.getObjectById(FeedbackSessionResponseSummary.class,
+                    FeedbackSessionResponseSummary.generateId(feedbackSessionName, courseId));
+            return JDOHelper.isDeleted(summary) ? null : summary;
+        } catch (JDOObjectNotFoundException e) {
+            return null;
+        }
+    }
+
+    @Override
+    protected Object getEntity(EntityAttributes attributes) {
+        FeedbackSessionResponseSummaryAttributes summary = (FeedbackSessionResponseSummaryAttributes) attributes;
+        return getResponseSummaryEntity(getPm(), summary.feedbackSessionName, summary.courseId);
+    }
+}
@@ -3,10 +3,15 @@ package teammates.storage.api;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
@@ -19,11 +24,14 @@ import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.TimeHelper;
+import teammates.storage.datastore.EntityCache;
 import teammates.storage.entity.FeedbackSession;
 
 public class FeedbackSessionsDb extends EntitiesDb {
     
     public static final String ERROR_UPDATE_NON_EXISTENT = "Trying to update non-existent Feedback Session : ";
+    
+    private static final FeedbackSessionRespondentsDb respondentsDb = new FeedbackSessionRespondentsDb();
 
     public void createFeedbackSessions(Collection<FeedbackSessionAttributes> feedbackSessionsToAdd)
             throws InvalidParametersException {
@@ -107,7 +115,7 @@ public class FeedbackSessionsDb extends EntitiesDb {
                 list.add(fs);
             }
         }
-             
+        
         return list;
     }
 
@@ -122,16 +130,46 @@ public class FeedbackSessionsDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, feedbackSessionName);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
         
+        String cacheKey = getCacheKey(courseId, feedbackSessionName);
+        FeedbackSessionAttributes cachedSession =
+                (FeedbackSessionAttributes) EntityCache.get(EntityCache.Kind.FEEDBACK_SESSION, cacheKey);
+        if (cachedSession != null) {
+            return getCopy(cachedSession);
+        }
+        
         FeedbackSession fs = getFeedbackSessionEntity(feedbackSessionName, courseId);
         
         if (fs == null) {
             log.info("Trying to get non-existent Session: " + feedbackSessionName + "/" + courseId);
             return null;
         }
-        return new FeedbackSessionAttributes(fs);
+        FeedbackSessionAttributes session = new FeedbackSessionAttributes(fs);
+        EntityCache.put(EntityCache.Kind.FEEDBACK_SESSION, cacheKey, getCopy(session));
+        return session;
         
     }
     
+    /**
+     * Adds the respondents of the sessions to their respondent sets, in place.<br>
+     * Sessions are read without the respondents recorded in the respondent shards, as only a few
+     * callers need them; those callers add them with this method, reading the shards of all the
+     * sessions at once.
+     */
+    public void addRespondentsTo(Collection<FeedbackSessionAttributes> sessions) {
+        respondentsDb.addRespondentsTo(sessions);
+    }
+    
+    /**
+     * Checks whether the email is a respondent of the session without reading all of its respondents.
+     */
+    public boolean isRespondent(FeedbackSessionAttributes session, String email, boolean isInstructor) {
+        Set<String> respondents = isInstructor ? session.getRespondingInstructorList()
+                                               : session.getRespondingStudentList();
+        return respondents.contains(email)
+               || respondentsDb.isRespondent(session.getFeedbackSessionName(), session.getCourseId(),
+                                             email, isInstructor);
+    }
+    
     /**
      * @return empty list if none found.
      * @deprecated Not scalable. Created for data migration purposes.
@@ -187,6 +225,28 @@ public class FeedbackSessionsDb extends EntitiesDb {
         return fsaList;
     }
     
+    /**
+     * Fetches the sessions of all the given courses, one query per
+     * {@link #MAX_VALUES_PER_CONTAINS_FILTER} courses. <br>
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return An empty list if no sessions are found for the given courses.
+     */
+    public List<FeedbackSessionAttributes> getFeedbackSessionsForCourses(Collection<String> courseIds) {
+        
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
+        
+        List<FeedbackSessionAttributes> fsaList = new ArrayList<FeedbackSessionAttributes>();
+        for (List<String> courseIdsBatch : splitForContainsFilter(courseIds)) {
+            for (FeedbackSession fs : getFeedbackSessionEntitiesForCourses(courseIdsBatch)) {
+                if (!JDOHelper.isDeleted(fs)) {
+                    fsaList.add(new FeedbackSessionAttributes(fs));
+                }
+            }
+        }
+        return fsaList;
+    }
+    
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
@@ -266,6 +326,8 @@ public class FeedbackSessionsDb extends EntitiesDb {
         fs.setSendClosingEmail(newAttributes.isClosingEmailEnabled());
         fs.setSendPublishedEmail(newAttributes.isPublishedEmailEnabled());
                 
+        invalidateCachedEntity(newAttributes);
+                
         log.info(newAttributes.getBackupIdentifier());
         getPm().close();
     }
@@ -296,8 +358,11 @@ public class FeedbackSessionsDb extends EntitiesDb {
                     ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
         }
 
-        fs.getRespondingInstructorList().addAll(emails);
+        respondentsDb.addRespondents(feedbackSession.getFeedbackSessionName(), feedbackSession.getCourseId(),
+                                     emails, true);
         
+        invalidateCachedEntity(feedbackSession);
+
         log.info(feedbackSession.getBackupIdentifier());
         getPm().close();
     }
@@ -321,11 +386,15 @@ public class FeedbackSessionsDb extends EntitiesDb {
                     ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
         }
 
-        if (fs.getRespondingInstructorList().contains(oldEmail)) {
-            fs.getRespondingInstructorList().remove(oldEmail);
-            fs.getRespondingInstructorList().add(newEmail);
+        if (fs.getRespondingInstructorList() != null && fs.getRespondingInstructorList().remove(oldEmail)) {
+            respondentsDb.addRespondents(feedbackSession.getFeedbackSessionName(), feedbackSession.getCourseId(),
+                                         Collections.singletonList(newEmail), true);
         }
+        respondentsDb.updateRespondent(feedbackSession.getFeedbackSessionName(), feedbackSession.getCourseId(),
+                                       oldEmail, newEmail, true);
        
+        invalidateCachedEntity(feedbackSession);
+
         log.info(feedbackSession.getBackupIdentifier());
         getPm().close();
     }
@@ -347,7 +416,12 @@ public class FeedbackSessionsDb extends EntitiesDb {
                     ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
         }
 
-        fs.getRespondingInstructorList().clear();
+        if (fs.getRespondingInstructorList() != null && !fs.getRespondingInstructorList().isEmpty()) {
+            fs.getRespondingInstructorList().clear();
+        }
+        respondentsDb.clearRespondents(feedbackSession.getFeedbackSessionName(), feedbackSession.getCourseId(), true);
+
+        invalidateCachedEntity(feedbackSession);
 
         log.info(feedbackSession.getBackupIdentifier());
         getPm().close();
@@ -379,7 +453,13 @@ public class FeedbackSessionsDb extends EntitiesDb {
                     ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
         }
 
-        fs.getRespondingInstructorList().remove(email);
+        if (fs.getRespondingInstructorList() != null && fs.getRespondingInstructorList().contains(email)) {
+            fs.getRespondingInstructorList().remove(email);
+        }
+        respondentsDb.deleteRespondent(feedbackSession.getFeedbackSessionName(), feedbackSession.getCourseId(),
+                                       email, true);
+
+        invalidateCachedEntity(feedbackSession);
 
         log.info(feedbackSession.getBackupIdentifier());
         getPm().close();
@@ -403,7 +483,10 @@ public class FeedbackSessionsDb extends EntitiesDb {
                     ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
         }
 
-        fs.getRespondingStudentList().addAll(emails);
+        respondentsDb.addRespondents(feedbackSession.getFeedbackSessionName(), feedbackSession.getCourseId(),
+                                     emails, false);
+
+        invalidateCachedEntity(feedbackSession);
 
         log.info(feedbackSession.getBackupIdentifier());
         getPm().close();
@@ -428,11 +511,15 @@ public class FeedbackSessionsDb extends EntitiesDb {
                     ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
         }
 
-        if (fs.getRespondingStudentList().contains(oldEmail)) {
-            fs.getRespondingStudentList().remove(oldEmail);
-            fs.getRespondingStudentList().add(newEmail);
+        if (fs.getRespondingStudentList() != null && fs.getRespondingStudentList().remove(oldEmail)) {
+            respondentsDb.addRespondents(feedbackSession.getFeedbackSessionName(), feedbackSession.getCourseId(),
+                                         Collections.singletonList(newEmail), false);
         }
+        respondentsDb.updateRespondent(feedbackSession.getFeedbackSessionName(), feedbackSession.getCourseId(),
+                                       oldEmail, newEmail, false);
         
+        invalidateCachedEntity(feedbackSession);
+
         log.info(feedbackSession.getBackupIdentifier());
         getPm().close();
     }
@@ -454,7 +541,12 @@ public class FeedbackSessionsDb extends EntitiesDb {
                     ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
         }
 
-        fs.getRespondingStudentList().clear();
+        if (fs.getRespondingStudentList() != null && !fs.getRespondingStudentList().isEmpty()) {
+            fs.getRespondingStudentList().clear();
+        }
+        respondentsDb.clearRespondents(feedbackSession.getFeedbackSessionName(), feedbackSession.getCourseId(), false);
+
+        invalidateCachedEntity(feedbackSession);
 
         log.info(feedbackSession.getBackupIdentifier());
         getPm().close();
@@ -478,7 +570,13 @@ public class FeedbackSessionsDb extends EntitiesDb {
                     ERROR_UPDATE_NON_EXISTENT + feedbackSession.toString());
         }
         
-        fs.getRespondingStudentList().remove(email);
+        if (fs.getRespondingStudentList() != null && fs.getRespondingStudentList().contains(email)) {
+            fs.getRespondingStudentList().remove(email);
+        }
+        respondentsDb.deleteRespondent(feedbackSession.getFeedbackSessionName(), feedbackSession.getCourseId(),
+                                       email, false);
+
+        invalidateCachedEntity(feedbackSession);
 
         log.info(feedbackSession.getBackupIdentifier());
         getPm().close();
@@ -499,6 +597,11 @@ public class FeedbackSessionsDb extends EntitiesDb {
         
         getPm().deletePersistentAll(feedbackSessionList);
         getPm().flush();
+        respondentsDb.deleteRespondentsForCourses(courseIds);
+        
+        for (String courseId : courseIds) {
+            EntityCache.invalidateByPrefix(EntityCache.Kind.FEEDBACK_SESSION, courseId + "/");
+        }
     }
     
     @SuppressWarnings("unchecked")
@@ -569,10 +672,67 @@ public class FeedbackSessionsDb extends EntitiesDb {
         return feedbackSessionList.get(0);
     }
 
+    /**
+     * Discards the respondents of deleted sessions, so that they are not carried over to a session
+     * created later with the same name.
+     */
+    @Override
+    protected void onEntitiesWritten(List<Object> entities, boolean isDeletion) {
+        if (!isDeletion) {
+            return;
+        }
+        for (Object entity : entities) {
+            FeedbackSession feedbackSession = (FeedbackSession) entity;
+            respondentsDb.deleteRespondentsForSession(feedbackSession.getFeedbackSessionName(),
+                                                      feedbackSession.getCourseId());
+        }
+    }
+
+    /**
+     * Sessions are looked up by their primary key, which is generated from their name and course
+     * (see {@link FeedbackSession#generateId}).
+     */
+    @Override
+    protected String getBatchKey(EntityAttributes attributes) {
+        FeedbackSessionAttributes feedbackSession = (FeedbackSessionAttributes) attributes;
+        return FeedbackSession.generateId(feedbackSession.getFeedbackSessionName(), feedbackSession.getCourseId());
+    }
+    
+    @Override
+    protected Map<String, Object> getEntitiesByBatchKey(Collection<? extends EntityAttributes> attributesList) {
+        Set<String> ids = new HashSet<String>();
+        for (EntityAttributes attributes : attributesList) {
+            ids.add(getBatchKey(attributes));
+        }
+        return new HashMap<String, Object>(getEntitiesByPrimaryKey(FeedbackSession.class, ids));
+    }
+    
     @Override
     protected Object getEntity(EntityAttributes attributes) {
         FeedbackSessionAttributes feedbackSessionToGet = (FeedbackSessionAttributes) attributes;
         return getFeedbackSessionEntity(feedbackSessionToGet.getFeedbackSessionName(),
                                         feedbackSessionToGet.getCourseId());
     }
+    
+    @Override
+    protected void invalidateCachedEntity(EntityAttributes attributes) {
+        FeedbackSessionAttributes feedbackSession = (FeedbackSessionAttributes) attributes;
+        EntityCache.invalidate(EntityCache.Kind.FEEDBACK_SESSION,
+                               getCacheKey(feedbackSession.getCourseId(), feedbackSession.getFeedbackSessionName()));
+    }
+    
+    private static String getCacheKey(String courseId, String feedbackSessionName) {
+        return courseId + "/" + feedbackSessionName;
+    }
+    
+    /**
+     * Copies the session together with its respondent sets, so that the cached copy
+     * is not affected by changes made to the returned one.
+     */
+    private static FeedbackSessionAttributes getCopy(FeedbackSessionAttributes session) {
+        FeedbackSessionAttributes copy = new FeedbackSessionAttributes(session.toEntity());
+        copy.setRespondingInstructorList(new HashSet<String>(session.getRespondingInstructorList()));
+        copy.setRespondingStudentList(new HashSet<String>(session.getRespondingStudentList()));
+        return copy;
+    }
 }
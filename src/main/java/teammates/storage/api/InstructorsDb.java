@@ -2,9 +2,13 @@ package teammates.storage.api;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
@@ -16,13 +20,14 @@ import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
-import teammates.common.util.Config;
 import teammates.common.util.Const;
 import teammates.common.util.StringHelper;
 import teammates.common.util.ThreadHelper;
+import teammates.storage.datastore.EntityCache;
 import teammates.storage.entity.Instructor;
 import teammates.storage.search.InstructorSearchDocument;
 import teammates.storage.search.InstructorSearchQuery;
+import teammates.storage.search.SearchDocument;
 
 import com.google.appengine.api.search.Results;
 import com.google.appengine.api.search.ScoredDocument;
@@ -50,6 +55,23 @@ public class InstructorsDb extends EntitiesDb {
         }
     }
     
+    /**
+     * The document ids of instructors are their encrypted registration keys.
+     */
+    @Override
+    protected List<SearchDocument> getSearchDocuments(Collection<String> documentIds) {
+        List<String> registrationKeys = new ArrayList<String>();
+        for (String encryptedKey : documentIds) {
+            registrationKeys.add(StringHelper.decrypt(encryptedKey.trim()));
+        }
+        
+        List<SearchDocument> documents = new ArrayList<SearchDocument>();
+        for (Instructor instructor : getInstructorEntitiesForRegistrationKeys(registrationKeys)) {
+            documents.add(new InstructorSearchDocument(new InstructorAttributes(instructor)));
+        }
+        return documents;
+    }
+    
     public void deleteDocument(InstructorAttributes instructorToDelete) {
         if (instructorToDelete.key == null) {
             InstructorAttributes instructor =
@@ -146,6 +168,13 @@ public class InstructorsDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, email);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
     
+        String cacheKey = getCacheKeyForEmail(courseId, email);
+        InstructorAttributes cachedInstructor =
+                (InstructorAttributes) EntityCache.get(EntityCache.Kind.INSTRUCTOR, cacheKey);
+        if (cachedInstructor != null) {
+            return cachedInstructor.getCopy();
+        }
+        
         Instructor i = getInstructorEntityForEmail(courseId, email);
     
         if (i == null) {
@@ -153,7 +182,9 @@ public class InstructorsDb extends EntitiesDb {
             return null;
         }
     
-        return new InstructorAttributes(i);
+        InstructorAttributes instructor = new InstructorAttributes(i);
+        EntityCache.put(EntityCache.Kind.INSTRUCTOR, cacheKey, instructor.getCopy());
+        return instructor;
     }
 
     /**
@@ -164,6 +195,13 @@ public class InstructorsDb extends EntitiesDb {
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, googleId);
         Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseId);
     
+        String cacheKey = getCacheKeyForGoogleId(courseId, googleId);
+        InstructorAttributes cachedInstructor =
+                (InstructorAttributes) EntityCache.get(EntityCache.Kind.INSTRUCTOR, cacheKey);
+        if (cachedInstructor != null) {
+            return cachedInstructor.getCopy();
+        }
+        
         Instructor i = getInstructorEntityForGoogleId(courseId, googleId);
     
         if (i == null || JDOHelper.isDeleted(i)) {
@@ -171,7 +209,9 @@ public class InstructorsDb extends EntitiesDb {
             return null;
         }
     
-        return new InstructorAttributes(i);
+        InstructorAttributes instructor = new InstructorAttributes(i);
+        EntityCache.put(EntityCache.Kind.INSTRUCTOR, cacheKey, instructor.getCopy());
+        return instructor;
     }
     
     /**
@@ -309,6 +349,7 @@ public class InstructorsDb extends EntitiesDb {
         instructorToUpdate.setInstructorPrivilegeAsText(instructorAttributesToUpdate.getTextFromInstructorPrivileges());
         
         //TODO: make courseId+email the non-modifiable values
+        invalidateCachedInstructorsForCourse(instructorAttributesToUpdate.courseId);
         
         putDocument(new InstructorAttributes(instructorToUpdate));
         log.info(instructorAttributesToUpdate.getBackupIdentifier());
@@ -347,6 +388,7 @@ public class InstructorsDb extends EntitiesDb {
         instructorToUpdate.setInstructorPrivilegeAsText(instructorAttributesToUpdate.getTextFromInstructorPrivileges());
         
         //TODO: make courseId+email the non-modifiable values
+        invalidateCachedInstructorsForCourse(instructorAttributesToUpdate.courseId);
         putDocument(new InstructorAttributes(instructorToUpdate));
         log.info(instructorAttributesToUpdate.getBackupIdentifier());
         getPm().close();
@@ -368,27 +410,14 @@ public class InstructorsDb extends EntitiesDb {
             return;
         }
         
-        deleteDocument(new InstructorAttributes(instructorToDelete));
+        InstructorAttributes instructorAttributesToDelete = new InstructorAttributes(instructorToDelete);
+        deleteDocument(instructorAttributesToDelete);
 
         getPm().deletePersistent(instructorToDelete);
         getPm().flush();
+        invalidateCachedInstructorsForCourse(courseId);
   
-        // Check delete operation persisted
-        if (Config.PERSISTENCE_CHECK_DURATION > 0) {
-            int elapsedTime = 0;
-            Instructor instructorCheck = getInstructorEntityForEmail(courseId, email);
-            while (instructorCheck != null
-                   && elapsedTime < Config.PERSISTENCE_CHECK_DURATION) {
-                ThreadHelper.waitBriefly();
-                instructorCheck = getInstructorEntityForEmail(courseId, email);
-                elapsedTime += ThreadHelper.WAIT_DURATION;
-            }
-            if (elapsedTime == Config.PERSISTENCE_CHECK_DURATION) {
-                log.info("Operation did not persist in time: deleteInstructor->"
-                        + email);
-                                
-            }
-        }
+        confirmPersistence(instructorAttributesToDelete, true);
         
         Instructor instructorCheck = getInstructorEntityForEmail(courseId, email);
         if (instructorCheck != null) {
@@ -406,6 +435,7 @@ public class InstructorsDb extends EntitiesDb {
         
         for (Instructor instructor : instructorsToDelete) {
             deleteDocument(new InstructorAttributes(instructor));
+            invalidateCachedInstructorsForCourse(instructor.getCourseId());
         }
         
         getPm().deletePersistentAll(instructorsToDelete);
@@ -424,6 +454,7 @@ public class InstructorsDb extends EntitiesDb {
         
         for (Instructor instructor : instructorList) {
             deleteDocument(new InstructorAttributes(instructor));
+            invalidateCachedInstructorsForCourse(instructor.getCourseId());
         }
         
         getPm().deletePersistentAll(instructorList);
@@ -446,9 +477,27 @@ public class InstructorsDb extends EntitiesDb {
         }
         getPm().deletePersistentAll(instructorList);
         getPm().flush();
+        invalidateCachedInstructorsForCourse(courseId);
 
     }
     
+    private static String getCacheKeyForEmail(String courseId, String email) {
+        return courseId + "/email/" + email;
+    }
+    
+    private static String getCacheKeyForGoogleId(String courseId, String googleId) {
+        return courseId + "/googleId/" + googleId;
+    }
+    
+    /**
+     * Instructors are cached under more than one key, so all cached instructors
+     * of the course are invalidated whenever one of them changes, together with the roster of the course.
+     */
+    private void invalidateCachedInstructorsForCourse(String courseId) {
+        EntityCache.invalidateByPrefix(EntityCache.Kind.INSTRUCTOR, courseId + "/");
+        CourseRosterSnapshots.invalidate(courseId);
+    }
+    
     private Instructor getInstructorEntityForGoogleId(String courseId, String googleId) {
         
         Query q = getPm().newQuery(Instructor.class);
@@ -493,6 +542,28 @@ public class InstructorsDb extends EntitiesDb {
         return instructorList;
     }
     
+    /**
+     * Fetches the instructors with the given registration keys,
+     * {@link #MAX_VALUES_PER_CONTAINS_FILTER} keys per query.
+     */
+    private List<Instructor> getInstructorEntitiesForRegistrationKeys(List<String> keys) {
+        
+        List<Instructor> instructors = new ArrayList<Instructor>();
+        for (List<String> keysBatch : splitForContainsFilter(keys)) {
+            Query q = getPm().newQuery(Instructor.class);
+            q.setFilter(":p.contains(registrationKey)");
+            
+            @SuppressWarnings("unchecked")
+            List<Instructor> instructorsInBatch = (List<Instructor>) q.execute(keysBatch);
+            for (Instructor instructor : instructorsInBatch) {
+                if (!JDOHelper.isDeleted(instructor)) {
+                    instructors.add(instructor);
+                }
+            }
+        }
+        return instructors;
+    }
+    
     private Instructor getInstructorEntityForRegistrationKey(String key) {
         
         Query q = getPm().newQuery(Instructor.class);
@@ -575,6 +646,25 @@ public class InstructorsDb extends EntitiesDb {
         return instructorList;
     }
 
+    /**
+     * Instructors are looked up by their primary key, which is generated from their email and course
+     * (see {@link Instructor#generateId}).
+     */
+    @Override
+    protected String getBatchKey(EntityAttributes attributes) {
+        InstructorAttributes instructor = (InstructorAttributes) attributes;
+        return Instructor.generateId(instructor.email, instructor.courseId);
+    }
+    
+    @Override
+    protected Map<String, Object> getEntitiesByBatchKey(Collection<? extends EntityAttributes> attributesList) {
+        Set<String> ids = new HashSet<String>();
+        for (EntityAttributes attributes : attributesList) {
+            ids.add(getBatchKey(attributes));
+        }
+        return new HashMap<String, Object>(getEntitiesByPrimaryKey(Instructor.class, ids));
+    }
+    
     @Override
     protected Object getEntity(EntityAttributes attributes) {
         
@@ -582,6 +672,22 @@ public class InstructorsDb extends EntitiesDb {
             
         return getInstructorEntityForEmail(instructorToGet.courseId, instructorToGet.email);
     }
+    
+    @Override
+    protected void invalidateCachedEntity(EntityAttributes attributes) {
+        invalidateCachedInstructorsForCourse(((InstructorAttributes) attributes).courseId);
+    }
+    
+    @Override
+    protected void onEntitiesWritten(List<Object> entities, boolean isDeletion) {
+        Set<String> courseIds = new HashSet<String>();
+        for (Object entity : entities) {
+            courseIds.add(((Instructor) entity).getCourseId());
+        }
+        for (String courseId : courseIds) {
+            invalidateCachedInstructorsForCourse(courseId);
+        }
+    }
 
 }
 
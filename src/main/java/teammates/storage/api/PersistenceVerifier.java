@@ -0,0 +1,89 @@
+package teammates.storage.api;
+
+import java.util.logging.Logger;
+
+import teammates.common.datatransfer.EntityAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.Utils;
+
+import com.google.appengine.api.taskqueue.QueueFactory;
+import com.google.appengine.api.taskqueue.TaskOptions;
+
+/**
+ * Verifies, outside of the request that made them, that datastore writes have persisted.<br>
+ * Writes are recorded as tasks in the {@link Const.SystemParams#PERSISTENCE_CHECK_TASK_QUEUE}.
+ * The worker of that queue calls {@link #isPersisted} and lets the task queue retry
+ * (with backoff) until the write is visible or the retries run out, at which point the
+ * write is reported via {@link #reportNotPersisted}.
+ */
+public final class PersistenceVerifier {
+
+    /** Number of times a check is retried before it is reported; matches the task-retry-limit in queue.xml */
+    public static final int MAX_CHECK_RETRIES = 5;
+
+    /** Delay before the first check, to let the write propagate */
+    private static final long INITIAL_CHECK_DELAY = 1000;
+
+    private static final Logger log = Utils.getLogger();
+
+    private PersistenceVerifier() {
+        // utility class
+    }
+
+    /**
+     * Records a pending check for the write of {@code attributes} done through {@code db}.
+     * The task is added asynchronously so that the request thread does not wait for it.
+     */
+    static void enqueue(EntitiesDb db, EntityAttributes attributes, boolean isDeletion) {
+        TaskOptions task = TaskOptions.Builder.withUrl(Const.ActionURIs.PERSISTENCE_CHECK_WORKER)
+                .param(ParamsNames.CHECK_PERSISTENCE_DB_CLASS, db.getClass().getName())
+                .param(ParamsNames.CHECK_PERSISTENCE_ENTITY_CLASS, attributes.getClass().getName())
+                .param(ParamsNames.CHECK_PERSISTENCE_ENTITY_JSON, attributes.getJsonString())
+                .param(ParamsNames.CHECK_PERSISTENCE_IS_DELETION, String.valueOf(isDeletion))
+                .param(ParamsNames.CHECK_PERSISTENCE_WRITE_TIME, String.valueOf(System.currentTimeMillis()))
+                .countdownMillis(INITIAL_CHECK_DELAY);
+        try {
+            QueueFactory.getQueue(Const.SystemParams.PERSISTENCE_CHECK_TASK_QUEUE).addAsync(task);
+        } catch (Exception e) {
+            log.warning("Unable to record persistence check for " + attributes.getIdentificationString()
+                        + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return true if the write described by the parameters, made at {@code writeTime}, is visible
+     *         in the datastore or has been superseded by a later write to the same entity.
+     * @see EntitiesDb#isPersistedOrSuperseded
+     */
+    public static boolean isPersisted(String dbClassName, String attributesClassName, String attributesJson,
+                                      boolean isDeletion, long writeTime) {
+        EntitiesDb db = getDb(dbClassName);
+        EntityAttributes attributes = getAttributes(attributesClassName, attributesJson);
+        return db.isPersistedOrSuperseded(attributes, isDeletion, writeTime);
+    }
+
+    public static void reportNotPersisted(String attributesClassName, String attributesJson, boolean isDeletion) {
+        EntityAttributes attributes = getAttributes(attributesClassName, attributesJson);
+        log.severe("Operation did not persist in time: " + (isDeletion ? "delete" : "create")
+                   + attributes.getEntityTypeAsString() + "->" + attributes.getIdentificationString());
+    }
+
+    private static EntitiesDb getDb(String dbClassName) {
+        try {
+            return Class.forName(dbClassName).asSubclass(EntitiesDb.class).newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalArgumentException("Not a storage class: " + dbClassName, e);
+        }
+    }
+
+    private static EntityAttributes getAttributes(String attributesClassName, String attributesJson) {
+        try {
+            Class<? extends EntityAttributes> attributesClass =
+                    Class.forName(attributesClassName).asSubclass(EntityAttributes.class);
+            return Utils.getTeammatesGson().fromJson(attributesJson, attributesClass);
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IllegalArgumentException("Not an attributes class: " + attributesClassName, e);
+        }
+    }
+}
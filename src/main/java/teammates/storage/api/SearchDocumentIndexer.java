@@ -0,0 +1,195 @@
+package teammates.storage.api;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import teammates.common.exception.TeammatesException;
+import teammates.common.util.Const;
+import teammates.common.util.Const.ParamsNames;
+import teammates.common.util.Utils;
+import teammates.storage.search.SearchDocument;
+import teammates.storage.search.SearchIndexWriter;
+import teammates.storage.search.SearchManager;
+
+import com.google.appengine.api.search.Document;
+import com.google.appengine.api.taskqueue.Queue;
+import com.google.appengine.api.taskqueue.QueueFactory;
+import com.google.appengine.api.taskqueue.TaskHandle;
+import com.google.appengine.api.taskqueue.TaskOptions;
+
+/**
+ * Puts search documents into their indices outside of the request that changed their entities.<br>
+ * Changed entities are recorded by document id as tasks in the
+ * {@link Const.SystemParams#SEARCH_DOCUMENT_PULL_TASK_QUEUE}, tagged with the name of the index.
+ * A task in the {@link Const.SystemParams#SEARCH_DOCUMENT_TASK_QUEUE} is scheduled per index and
+ * {@link #BATCH_WINDOW_MILLIS}, whose worker calls {@link #indexPendingDocuments}. That leases the
+ * recorded ids, builds the documents from the current state of their entities once per id, and puts
+ * them {@link #MAX_DOCUMENTS_PER_PUT} at a time. Ids which fail transiently are leased again after
+ * a backoff, up to {@link #MAX_INDEX_RETRIES} times.
+ */
+public final class SearchDocumentIndexer {
+
+    /** Maximum number of documents in one put to an index, as allowed by the search service */
+    public static final int MAX_DOCUMENTS_PER_PUT = 200;
+
+    /** Time over which changes are collected before they are put into the index */
+    private static final long BATCH_WINDOW_MILLIS = 2000;
+
+    private static final int MAX_INDEX_RETRIES = 5;
+    private static final long LEASE_SECONDS = 60;
+    private static final long MIN_BACKOFF_SECONDS = 2;
+    private static final long MAX_BACKOFF_SECONDS = 60;
+
+    private static final SearchIndexWriter SEARCH_SERVICE = new SearchIndexWriter() {
+        @Override
+        public Set<String> putDocuments(String indexName, List<Document> documents) {
+            return SearchManager.putDocuments(indexName, documents);
+        }
+    };
+
+    private static final Logger log = Utils.getLogger();
+
+    private SearchDocumentIndexer() {
+        // utility class
+    }
+
+    /**
+     * Records that the document with the given id has to be put into the index again.
+     * The tasks are added asynchronously so that the request thread does not wait for them.
+     */
+    static void enqueue(String indexName, String documentId) {
+        TaskOptions task = TaskOptions.Builder.withMethod(TaskOptions.Method.PULL)
+                .tag(indexName)
+                .payload(documentId);
+        try {
+            QueueFactory.getQueue(Const.SystemParams.SEARCH_DOCUMENT_PULL_TASK_QUEUE).addAsync(task);
+            scheduleIndexing(indexName, BATCH_WINDOW_MILLIS);
+        } catch (Exception e) {
+            log.severe("Unable to record search document " + documentId + " of index " + indexName
+                       + " e:\n" + TeammatesException.toStringWithStackTrace(e));
+        }
+    }
+
+    /**
+     * Puts the documents recorded for the index into it, up to {@link #MAX_DOCUMENTS_PER_PUT} of them.
+     * Schedules itself again if there may be more documents left, or if some have to be retried.
+     */
+    public static void indexPendingDocuments(String indexName) {
+        indexPendingDocuments(indexName, SEARCH_SERVICE);
+    }
+
+    /**
+     * Same as {@link #indexPendingDocuments(String)}, but puts the documents with {@code writer}.
+     */
+    public static void indexPendingDocuments(String indexName, SearchIndexWriter writer) {
+        Queue queue = QueueFactory.getQueue(Const.SystemParams.SEARCH_DOCUMENT_PULL_TASK_QUEUE);
+        List<TaskHandle> tasks = queue.leaseTasksByTag(LEASE_SECONDS, TimeUnit.SECONDS, MAX_DOCUMENTS_PER_PUT,
+                                                       indexName);
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<TaskHandle>> tasksByDocumentId = new LinkedHashMap<String, List<TaskHandle>>();
+        for (TaskHandle task : tasks) {
+            String documentId = new String(task.getPayload(), StandardCharsets.UTF_8);
+            List<TaskHandle> tasksForDocument = tasksByDocumentId.get(documentId);
+            if (tasksForDocument == null) {
+                tasksForDocument = new ArrayList<TaskHandle>();
+                tasksByDocumentId.put(documentId, tasksForDocument);
+            }
+            tasksForDocument.add(task);
+        }
+
+        Set<String> failedIds = putDocuments(indexName, tasksByDocumentId.keySet(), writer);
+
+        List<TaskHandle> finishedTasks = new ArrayList<TaskHandle>();
+        long retryDelaySeconds = MAX_BACKOFF_SECONDS;
+        for (Map.Entry<String, List<TaskHandle>> tasksForDocument : tasksByDocumentId.entrySet()) {
+            for (TaskHandle task : tasksForDocument.getValue()) {
+                int retryCount = task.getRetryCount() == null ? 0 : task.getRetryCount();
+                if (!failedIds.contains(tasksForDocument.getKey())) {
+                    finishedTasks.add(task);
+                } else if (retryCount >= MAX_INDEX_RETRIES) {
+                    log.severe("Search document " + tasksForDocument.getKey() + " could not be put into index "
+                               + indexName + " after " + retryCount + " retries");
+                    finishedTasks.add(task);
+                } else {
+                    long backoffSeconds = Math.min(MIN_BACKOFF_SECONDS << retryCount, MAX_BACKOFF_SECONDS);
+                    queue.modifyTaskLease(task, backoffSeconds, TimeUnit.SECONDS);
+                    retryDelaySeconds = Math.min(retryDelaySeconds, backoffSeconds);
+                }
+            }
+        }
+        queue.deleteTask(finishedTasks);
+
+        if (tasks.size() == MAX_DOCUMENTS_PER_PUT) {
+            scheduleIndexing(indexName, 0);
+        }
+        if (finishedTasks.size() < tasks.size()) {
+            scheduleIndexing(indexName, TimeUnit.SECONDS.toMillis(retryDelaySeconds));
+        }
+    }
+
+    /**
+     * Builds the documents with the given ids from the current state of their entities and puts
+     * them into the index, {@link #MAX_DOCUMENTS_PER_PUT} at a time. Ids whose entities no longer
+     * exist are skipped, as their documents are deleted together with the entities.
+     * @return ids of the documents which were not put due to transient errors, and can be retried.
+     */
+    public static Set<String> putDocuments(String indexName, Collection<String> documentIds,
+                                           SearchIndexWriter writer) {
+        List<Document> documents = new ArrayList<Document>();
+        for (SearchDocument searchDocument : getDb(indexName).getSearchDocuments(new HashSet<String>(documentIds))) {
+            try {
+                documents.add(searchDocument.build());
+            } catch (Exception e) {
+                log.severe("Failed to build search document " + searchDocument.getDocumentId() + " of index "
+                           + indexName + " e:\n" + TeammatesException.toStringWithStackTrace(e));
+            }
+        }
+
+        Set<String> failedIds = new HashSet<String>();
+        for (int start = 0; start < documents.size(); start += MAX_DOCUMENTS_PER_PUT) {
+            List<Document> batch = documents.subList(start, Math.min(start + MAX_DOCUMENTS_PER_PUT, documents.size()));
+            failedIds.addAll(writer.putDocuments(indexName, batch));
+        }
+        return failedIds;
+    }
+
+    /**
+     * Schedules {@link #indexPendingDocuments} for the index after {@code delayMillis}, unless it is
+     * already scheduled for the same {@link #BATCH_WINDOW_MILLIS} window.
+     */
+    private static void scheduleIndexing(String indexName, long delayMillis) {
+        long window = (System.currentTimeMillis() + delayMillis) / BATCH_WINDOW_MILLIS + 1;
+        TaskOptions task = TaskOptions.Builder.withUrl(Const.ActionURIs.SEARCH_DOCUMENT_INDEX_WORKER)
+                .param(ParamsNames.SEARCH_INDEX_NAME, indexName)
+                .taskName("index-" + indexName + "-" + window)
+                .etaMillis(window * BATCH_WINDOW_MILLIS);
+        // a task already scheduled for the window fails to be added, which needs no handling
+        QueueFactory.getQueue(Const.SystemParams.SEARCH_DOCUMENT_TASK_QUEUE).addAsync(task);
+    }
+
+    private static EntitiesDb getDb(String indexName) {
+        switch (indexName) {
+        case Const.SearchIndex.STUDENT:
+            return new StudentsDb();
+        case Const.SearchIndex.INSTRUCTOR:
+            return new InstructorsDb();
+        case Const.SearchIndex.COMMENT:
+            return new CommentsDb();
+        case Const.SearchIndex.FEEDBACK_RESPONSE_COMMENT:
+            return new FeedbackResponseCommentsDb();
+        default:
+            throw new IllegalArgumentException("Unknown search index: " + indexName);
+        }
+    }
+}
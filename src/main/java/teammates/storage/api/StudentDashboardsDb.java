@@ -0,0 +1,246 @@
+package teammates.storage.api;
+
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.jdo.JDOException;
+import javax.jdo.JDOHelper;
+import javax.jdo.JDOObjectNotFoundException;
+import javax.jdo.PersistenceManager;
+import javax.jdo.Transaction;
+
+import teammates.common.datatransfer.EntityAttributes;
+import teammates.common.datatransfer.StudentDashboardAttributes;
+import teammates.common.exception.InvalidParametersException;
+import teammates.common.util.Assumption;
+import teammates.common.util.Const;
+import teammates.storage.datastore.Datastore;
+import teammates.storage.entity.StudentDashboard;
+import teammates.storage.entity.StudentDashboardCourseVersion;
+
+/**
+ * Handles CRUD operations for the dashboards of students.<br>
+ * Dashboards are read and written with a persistence manager of their own instead of the one shared
+ * by the request, so that a dashboard discarded earlier in the request is not served from a cached copy.
+ * Every write to a dashboard increases its version, and a rebuilt dashboard is only written if the
+ * version has not changed since the rebuild started. The dashboards of a course are discarded by
+ * increasing the version of the course, which is looked up by key instead of with a query.
+ */
+public class StudentDashboardsDb extends EntitiesDb {
+
+    private static final int MAX_UPDATE_ATTEMPTS = 5;
+
+    /**
+     * Preconditions: <br>
+     * * All parameters are non-null.
+     * @return null if the dashboard has never been built. A discarded dashboard is returned with
+     *         {@link StudentDashboardAttributes#isDiscarded} set, so that its version is known.
+     */
+    public StudentDashboardAttributes getDashboard(String googleId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, googleId);
+
+        PersistenceManager pm = Datastore.getNewPersistenceManager();
+        try {
+            StudentDashboard dashboard = getDashboardEntity(pm, googleId);
+            return dashboard == null ? null : new StudentDashboardAttributes(dashboard);
+        } finally {
+            pm.close();
+        }
+    }
+
+    /**
+     * Gets the versions of the dashboards of the given courses by key.
+     * @return a map from course id to version, which is 0 for courses whose dashboards have never been discarded
+     */
+    public Map<String, Long> getCourseVersions(Collection<String> courseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
+
+        PersistenceManager pm = Datastore.getNewPersistenceManager();
+        try {
+            Map<String, StudentDashboardCourseVersion> courseVersionEntities =
+                    getEntitiesByPrimaryKey(pm, StudentDashboardCourseVersion.class, courseIds);
+            Map<String, Long> courseVersions = new HashMap<String, Long>();
+            for (String courseId : courseIds) {
+                StudentDashboardCourseVersion courseVersion = courseVersionEntities.get(courseId);
+                courseVersions.put(courseId, courseVersion == null ? 0 : courseVersion.getVersion());
+            }
+            return courseVersions;
+        } finally {
+            pm.close();
+        }
+    }
+
+    /**
+     * Writes the dashboard if the stored dashboard still has the version of {@code dashboard}, i.e.
+     * it has not been written since {@code dashboard} was read. The version of {@code dashboard} is
+     * increased when it is written.
+     * @return false if the stored dashboard has changed, in which case nothing is written.
+     */
+    public boolean putDashboard(StudentDashboardAttributes dashboard) throws InvalidParametersException {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, dashboard);
+
+        if (!dashboard.isValid()) {
+            throw new InvalidParametersException(dashboard.getInvalidityInfo());
+        }
+
+        PersistenceManager pm = Datastore.getNewPersistenceManager();
+        Transaction tx = pm.currentTransaction();
+        try {
+            tx.begin();
+            StudentDashboard storedDashboard = getDashboardEntity(pm, dashboard.googleId);
+            long storedVersion = storedDashboard == null ? 0 : storedDashboard.getVersion();
+            if (storedVersion != dashboard.version) {
+                return false;
+            }
+
+            StudentDashboard newDashboard = (StudentDashboard) dashboard.toEntity();
+            if (storedDashboard == null) {
+                newDashboard.setVersion(storedVersion + 1);
+                pm.makePersistent(newDashboard);
+            } else {
+                storedDashboard.setCourses(newDashboard.getCourses());
+                storedDashboard.setVersion(storedVersion + 1);
+            }
+            tx.commit();
+            dashboard.version = storedVersion + 1;
+            return true;
+        } catch (ConcurrentModificationException | JDOException e) {
+            log.info("Dashboard of " + dashboard.googleId + " was written concurrently: " + e.getMessage());
+            return false;
+        } finally {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            pm.close();
+        }
+    }
+
+    /**
+     * Sets whether the student has submitted the session in the dashboard of the student.<br>
+     * The version of the dashboard is increased even if it has not been built or has been discarded, so
+     * that a rebuild which read the submissions before this is not written. If the dashboard cannot be
+     * updated, it is discarded.
+     */
+    public void setSessionSubmitted(String googleId, String courseId, String feedbackSessionName,
+                                    boolean hasSubmitted) {
+        for (int attempt = 1; attempt <= MAX_UPDATE_ATTEMPTS; attempt++) {
+            PersistenceManager pm = Datastore.getNewPersistenceManager();
+            Transaction tx = pm.currentTransaction();
+            try {
+                tx.begin();
+                StudentDashboard dashboard = getDashboardEntity(pm, googleId);
+                if (dashboard == null) {
+                    pm.makePersistent(new StudentDashboard(googleId, 1, null));
+                } else {
+                    if (dashboard.getCourses() != null) {
+                        StudentDashboardAttributes attributes = new StudentDashboardAttributes(dashboard);
+                        if (attributes.setSessionSubmitted(courseId, feedbackSessionName, hasSubmitted)) {
+                            dashboard.setCourses(StudentDashboardAttributes.getCoursesAsText(attributes.courses));
+                        }
+                    }
+                    dashboard.setVersion(dashboard.getVersion() + 1);
+                }
+                tx.commit();
+                return;
+            } catch (ConcurrentModificationException | JDOException e) {
+                log.info("Retrying update of dashboard of " + googleId + " (attempt " + attempt + "): "
+                         + e.getMessage());
+            } finally {
+                if (tx.isActive()) {
+                    tx.rollback();
+                }
+                pm.close();
+            }
+        }
+        discardDashboard(googleId);
+    }
+
+    /**
+     * Discards the dashboard of the student, increasing its version so that a rebuild which started
+     * before this is not written.
+     */
+    public void discardDashboard(String googleId) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, googleId);
+
+        PersistenceManager pm = Datastore.getNewPersistenceManager();
+        try {
+            // not in a transaction, so that it cannot fail because of a concurrent write; a write
+            // lost to a concurrent one still leaves a version which a rebuild started earlier does not expect
+            StudentDashboard dashboard = getDashboardEntity(pm, googleId);
+            if (dashboard == null) {
+                pm.makePersistent(new StudentDashboard(googleId, 1, null));
+            } else {
+                dashboard.setCourses(null);
+                dashboard.setVersion(dashboard.getVersion() + 1);
+            }
+        } finally {
+            pm.close();
+        }
+    }
+
+    /**
+     * Discards the dashboards of all students in the courses by increasing the versions of the courses.
+     * @throws ConcurrentModificationException if the version of a course could not be increased
+     */
+    public void discardDashboardsForCourses(Collection<String> courseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
+
+        for (String courseId : courseIds) {
+            increaseCourseVersion(courseId);
+        }
+    }
+
+    private void increaseCourseVersion(String courseId) {
+        for (int attempt = 1;; attempt++) {
+            PersistenceManager pm = Datastore.getNewPersistenceManager();
+            Transaction tx = pm.currentTransaction();
+            try {
+                tx.begin();
+                StudentDashboardCourseVersion courseVersion = getCourseVersionEntity(pm, courseId);
+                if (courseVersion == null) {
+                    courseVersion = new StudentDashboardCourseVersion(courseId);
+                    pm.makePersistent(courseVersion);
+                }
+                courseVersion.setVersion(courseVersion.getVersion() + 1);
+                tx.commit();
+                return;
+            } catch (ConcurrentModificationException | JDOException e) {
+                if (attempt == MAX_UPDATE_ATTEMPTS) {
+                    throw new ConcurrentModificationException(
+                            "Could not discard the dashboards of course " + courseId + ": " + e.getMessage());
+                }
+                log.info("Retrying discarding of dashboards of course " + courseId + " (attempt " + attempt + "): "
+                         + e.getMessage());
+            } finally {
+                if (tx.isActive()) {
+                    tx.rollback();
+                }
+                pm.close();
+            }
+        }
+    }
+
+    private StudentDashboard getDashboardEntity(PersistenceManager pm, String googleId) {
+        try {
+            StudentDashboard dashboard = pm.getObjectById(StudentDashboard.class, googleId);
+            return JDOHelper.isDeleted(dashboard) ? null : dashboard;
+        } catch (JDOObjectNotFoundException e) {
+            return null;
+        }
+    }
+
+    private StudentDashboardCourseVersion getCourseVersionEntity(PersistenceManager pm, String courseId) {
+        try {
+            return pm.getObjectById(StudentDashboardCourseVersion.class, courseId);
+        } catch (JDOObjectNotFoundException e) {
+            return null;
+        }
+    }
+
+    @Override
+    protected Object getEntity(EntityAttributes attributes) {
+        return getDashboardEntity(getPm(), ((StudentDashboardAttributes) attributes).googleId);
+    }
+}
@@ -2,9 +2,14 @@ package teammates.storage.api;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.jdo.JDOHelper;
 import javax.jdo.Query;
@@ -17,11 +22,10 @@ import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Assumption;
-import teammates.common.util.Config;
 import teammates.common.util.Const;
 import teammates.common.util.StringHelper;
-import teammates.common.util.ThreadHelper;
 import teammates.storage.entity.Student;
+import teammates.storage.search.SearchDocument;
 import teammates.storage.search.StudentSearchDocument;
 import teammates.storage.search.StudentSearchQuery;
 
@@ -42,6 +46,15 @@ public class StudentsDb extends EntitiesDb {
         putDocument(Const.SearchIndex.STUDENT, new StudentSearchDocument(student));
     }
     
+    @Override
+    protected List<SearchDocument> getSearchDocuments(Collection<String> documentIds) {
+        List<SearchDocument> documents = new ArrayList<SearchDocument>();
+        for (StudentAttributes student : getStudentsForKeys(documentIds)) {
+            documents.add(new StudentSearchDocument(student));
+        }
+        return documents;
+    }
+    
     /**
      * Search for students
      * @return {@link StudentSearchResultBundle}
@@ -88,6 +101,21 @@ public class StudentsDb extends EntitiesDb {
         }
     }
     
+    /**
+     * Removes the search documents of the given students with one call to the search index.
+     * The students must have their {@code key} set.
+     */
+    public void deleteDocuments(Collection<StudentAttributes> studentsToDelete) {
+        if (studentsToDelete.isEmpty()) {
+            return;
+        }
+        List<String> documentIds = new ArrayList<String>();
+        for (StudentAttributes student : studentsToDelete) {
+            documentIds.add(student.key);
+        }
+        deleteDocuments(Const.SearchIndex.STUDENT, documentIds.toArray(new String[documentIds.size()]));
+    }
+    
     /**
      * Create students' records without searchability
      * This function is currently used in testing process only
@@ -130,10 +158,26 @@ public class StudentsDb extends EntitiesDb {
         }
     }
 
+    /**
+     * Creates the students in one batch, fetching the existing students of their courses
+     * with one query per {@link #MAX_VALUES_PER_CONTAINS_FILTER} emails.
+     * @throws EntityAlreadyExistsException if any of the students exists already, in which case
+     *         none of them is created
+     */
+    public void createStudents(Collection<StudentAttributes> studentsToAdd, boolean hasDocument)
+            throws InvalidParametersException, EntityAlreadyExistsException {
+        List<Object> createdStudents = createEntitiesWithExistenceCheck(studentsToAdd);
+        if (hasDocument) {
+            for (Object createdStudent : createdStudents) {
+                putDocument(new StudentAttributes((Student) createdStudent));
+            }
+        }
+    }
+
     /**
      * Preconditions: <br>
      * * All parameters are non-null.
-     * 
+     *
      * @return The data for Student with the courseId and email. Returns null if
      *         there is no such student.
      */
@@ -193,6 +237,34 @@ public class StudentsDb extends EntitiesDb {
         }
         
     }
+    
+    /**
+     * Fetches the students with the given (unencrypted) keys, one query per
+     * {@link #MAX_VALUES_PER_CONTAINS_FILTER} keys. Keys which are malformed or
+     * do not belong to any student are ignored. <br>
+     * Preconditions: <br>
+     *  * All parameters are non-null.
+     */
+    public List<StudentAttributes> getStudentsForKeys(Collection<String> keys) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, keys);
+        
+        Set<Long> registrationKeys = new HashSet<Long>();
+        for (String key : keys) {
+            try {
+                registrationKeys.add(KeyFactory.stringToKey(key).getId());
+            } catch (IllegalArgumentException e) {
+                // There is no such student
+                continue;
+            }
+        }
+        
+        List<StudentAttributes> studentDataList = new ArrayList<StudentAttributes>();
+        for (Student s : getEntitiesByPrimaryKey(Student.class, registrationKeys).values()) {
+            studentDataList.add(new StudentAttributes(s));
+        }
+        
+        return studentDataList;
+    }
 
     /**
      * Preconditions:
@@ -235,6 +307,28 @@ public class StudentsDb extends EntitiesDb {
         return studentDataList;
     }
     
+    /**
+     * Fetches the students of all the given courses, one query per
+     * {@link #MAX_VALUES_PER_CONTAINS_FILTER} courses. <br>
+     * Preconditions: <br>
+     *  * All parameters are non-null.
+     * @return an empty list if no students in the courses.
+     */
+    public List<StudentAttributes> getStudentsForCourses(Collection<String> courseIds) {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, courseIds);
+        
+        List<StudentAttributes> studentDataList = new ArrayList<StudentAttributes>();
+        for (List<String> courseIdsBatch : splitForContainsFilter(courseIds)) {
+            for (Student s : getStudentEntitiesForCourses(courseIdsBatch)) {
+                if (!JDOHelper.isDeleted(s)) {
+                    studentDataList.add(new StudentAttributes(s));
+                }
+            }
+        }
+    
+        return studentDataList;
+    }
+    
     /**
      * Preconditions: <br>
      *  * All parameters are non-null.
@@ -409,6 +503,46 @@ public class StudentsDb extends EntitiesDb {
         
         log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + courseId);
         getPm().close();
+        CourseRosterSnapshots.invalidate(courseId);
+    }
+
+    /**
+     * Updates the students in one batch, fetching them together in the same way as {@link #createStudents}.
+     * The emails of the students are not changed, so the students need not be checked against the
+     * other students of their courses. <br>
+     * Preconditions: <br>
+     * * All the students are valid.
+     */
+    public void updateStudents(Collection<StudentAttributes> students, boolean hasDocument)
+            throws EntityDoesNotExistException {
+        Assumption.assertNotNull(Const.StatusCodes.DBLEVEL_NULL_INPUT, students);
+        
+        Map<String, Object> existingStudents = getEntitiesByBatchKey(students);
+        List<Object> studentsToUpdate = new ArrayList<Object>();
+        for (StudentAttributes student : students) {
+            Student studentToUpdate = (Student) existingStudents.get(getBatchKey(student));
+            if (studentToUpdate == null) {
+                throw new EntityDoesNotExistException(
+                        ERROR_UPDATE_NON_EXISTENT_STUDENT + student.course + "/" + student.email);
+            }
+            
+            studentToUpdate.setName(student.name);
+            studentToUpdate.setLastName(StringHelper.splitName(student.name)[1]);
+            studentToUpdate.setComments(student.comments);
+            studentToUpdate.setGoogleId(student.googleId);
+            studentToUpdate.setTeamName(student.team);
+            studentToUpdate.setSectionName(student.section);
+            
+            if (hasDocument) {
+                putDocument(new StudentAttributes(studentToUpdate));
+            }
+            studentsToUpdate.add(studentToUpdate);
+            log.info(Const.SystemParams.COURSE_BACKUP_LOG_MSG + student.course);
+        }
+        
+        getPm().makePersistentAll(studentsToUpdate);
+        getPm().flush();
+        onEntitiesWritten(studentsToUpdate, false);
     }
 
     //TODO: add an updateStudent(StudentAttributes) version and make the above private
@@ -438,28 +572,16 @@ public class StudentsDb extends EntitiesDb {
             return;
         }
         
+        StudentAttributes studentAttributesToDelete = new StudentAttributes(studentToDelete);
         if (hasDocument) {
-            deleteDocument(new StudentAttributes(studentToDelete));
+            deleteDocument(studentAttributesToDelete);
         }
        
         getPm().deletePersistent(studentToDelete);
         getPm().flush();
+        CourseRosterSnapshots.invalidate(courseId);
     
-        // Check delete operation persisted
-        if (Config.PERSISTENCE_CHECK_DURATION > 0) {
-            int elapsedTime = 0;
-            Student studentCheck = getStudentEntityForEmail(courseId, email);
-            while (studentCheck != null
-                    && elapsedTime < Config.PERSISTENCE_CHECK_DURATION) {
-                ThreadHelper.waitBriefly();
-                studentCheck = getStudentEntityForEmail(courseId, email);
-                elapsedTime += ThreadHelper.WAIT_DURATION;
-            }
-            if (elapsedTime == Config.PERSISTENCE_CHECK_DURATION) {
-                log.info("Operation did not persist in time: deleteStudent->"
-                        + courseId + "/" + email);
-            }
-        }
+        confirmPersistence(studentAttributesToDelete, true);
         //TODO: use the method in the parent class instead.
     }
 
@@ -488,8 +610,15 @@ public class StudentsDb extends EntitiesDb {
                 deleteDocument(new StudentAttributes(student));
             }
         }
+        Set<String> courseIds = new HashSet<String>();
+        for (Student student : studentList) {
+            courseIds.add(student.getCourseId());
+        }
         getPm().deletePersistentAll(studentList);
         getPm().flush();
+        for (String courseId : courseIds) {
+            CourseRosterSnapshots.invalidate(courseId);
+        }
     }
 
     /**
@@ -518,6 +647,7 @@ public class StudentsDb extends EntitiesDb {
         }
         getPm().deletePersistentAll(studentList);
         getPm().flush();
+        CourseRosterSnapshots.invalidate(courseId);
     }
 
     public void deleteStudentsForCourses(List<String> courseIds) {
@@ -528,6 +658,9 @@ public class StudentsDb extends EntitiesDb {
         
         getPm().deletePersistentAll(studentsToDelete);
         getPm().flush();
+        for (String courseId : courseIds) {
+            CourseRosterSnapshots.invalidate(courseId);
+        }
     }
     
     public void verifyStudentExists(String courseId, String email)
@@ -575,6 +708,17 @@ public class StudentsDb extends EntitiesDb {
         return studentList;
     }
 
+    private List<Student> getStudentEntitiesForEmails(String courseId, List<String> emails) {
+        Query q = getPm().newQuery(Student.class);
+        q.declareParameters("String courseIdParam, java.util.Collection emailsParam");
+        q.setFilter("courseID == courseIdParam && emailsParam.contains(email)");
+        
+        @SuppressWarnings("unchecked")
+        List<Student> studentList = (List<Student>) q.execute(courseId, emails);
+        
+        return studentList;
+    }
+
     private List<Student> getStudentEntitiesForGoogleId(String googleId) {
         Query q = getPm().newQuery(Student.class);
         q.declareParameters("String googleIdParam");
@@ -622,10 +766,68 @@ public class StudentsDb extends EntitiesDb {
         return studentList;
     }
 
+    @Override
+    protected String getBatchKey(EntityAttributes attributes) {
+        StudentAttributes student = (StudentAttributes) attributes;
+        return getBatchKey(student.course, student.email);
+    }
+    
+    /**
+     * The key of a student cannot be derived from its course and email, so the students are fetched
+     * with one query per course for the emails involved, {@link #MAX_VALUES_PER_CONTAINS_FILTER} emails
+     * at a time.
+     */
+    @Override
+    protected Map<String, Object> getEntitiesByBatchKey(Collection<? extends EntityAttributes> attributesList) {
+        Map<String, Set<String>> emailsByCourse = new HashMap<String, Set<String>>();
+        for (EntityAttributes attributes : attributesList) {
+            StudentAttributes student = (StudentAttributes) attributes;
+            Set<String> emails = emailsByCourse.get(student.course);
+            if (emails == null) {
+                emails = new HashSet<String>();
+                emailsByCourse.put(student.course, emails);
+            }
+            emails.add(student.email);
+        }
+        
+        Map<String, Object> students = new HashMap<String, Object>();
+        for (Map.Entry<String, Set<String>> courseEmails : emailsByCourse.entrySet()) {
+            for (List<String> emailsBatch : splitForContainsFilter(courseEmails.getValue())) {
+                for (Student student : getStudentEntitiesForEmails(courseEmails.getKey(), emailsBatch)) {
+                    if (!JDOHelper.isDeleted(student)) {
+                        students.put(getBatchKey(student.getCourseId(), student.getEmail()), student);
+                    }
+                }
+            }
+        }
+        return students;
+    }
+    
+    private static String getBatchKey(String courseId, String email) {
+        return courseId + "/" + email;
+    }
+    
     @Override
     protected Object getEntity(EntityAttributes entity) {
+        // the entity itself, like getEntitiesByBatchKey, so that it can be deleted by EntitiesDb
         StudentAttributes studentToGet = (StudentAttributes) entity;
-        return getStudentForEmail(studentToGet.course, studentToGet.email);
+        return getStudentEntityForEmail(studentToGet.course, studentToGet.email);
+    }
+    
+    @Override
+    protected Date getLastWriteTime(Object entity) {
+        return ((Student) entity).getUpdatedAt();
+    }
+    
+    @Override
+    protected void onEntitiesWritten(List<Object> entities, boolean isDeletion) {
+        Set<String> courseIds = new HashSet<String>();
+        for (Object entity : entities) {
+            courseIds.add(((Student) entity).getCourseId());
+        }
+        for (String courseId : courseIds) {
+            CourseRosterSnapshots.invalidate(courseId);
+        }
     }
 
 }
@@ -51,8 +51,18 @@ public final class Datastore {
         return pm;
     }
 
+    /**
+     * Returns a persistence manager which is not shared with the rest of the request,
+     * for updates that have to be committed in their own transaction. The caller must close it.
+     */
+    public static PersistenceManager getNewPersistenceManager() {
+        return pmf.getPersistenceManager();
+    }
+
     public static void finishRequest() {
 
+        EntityCache.endRequestScope();
+        
         PersistenceManager pm = PER_THREAD_PM.get();
         
         if (pm == null) {
@@ -26,7 +26,13 @@ public final class DatastoreFilter implements javax.servlet.Filter {
         //There was a Datastore.finishRequest() here inside a finally clause.
         //  It was removed at 4.19 because some requests span multiple entity
         //  groups. We are not allowed to apply transactions to such requests.
-        chain.doFilter(request, response);
+        //  Only the request-scoped entity cache is tied to the request lifecycle.
+        EntityCache.beginRequestScope();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            EntityCache.endRequestScope();
+        }
 
     }
 
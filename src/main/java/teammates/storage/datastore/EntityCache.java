@@ -0,0 +1,293 @@
+package teammates.storage.datastore;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import teammates.common.util.Config;
+
+/**
+ * Read-through cache used by the storage layer to avoid re-reading the same
+ * entities from the Datastore. It has two tiers:
+ * <ul>
+ * <li>A per-request identity map, which is only active between
+ * {@link #beginRequestScope()} and {@link #endRequestScope()} (or
+ * {@link Datastore#finishRequest()}).</li>
+ * <li>An optional shared tier which outlives requests. Entries are evicted in
+ * least-recently-used order and expire after a fixed time-to-live.
+ * Note that the shared tier is local to the app instance; writes done through
+ * other instances are only picked up after the entry expires.</li>
+ * </ul>
+ * Both tiers can be switched on or off per {@link Kind}.<br>
+ * The cache stores whatever object the caller puts in; callers are responsible
+ * for storing and returning defensive copies of mutable objects.
+ */
+public final class EntityCache {
+
+    /**
+     * Kinds of entities that can be cached.
+     */
+    public enum Kind {
+        COURSE,
+        INSTRUCTOR,
+        FEEDBACK_SESSION,
+        COURSE_ROSTER,
+        QUESTION_STATISTICS
+    }
+
+    private static final ThreadLocal<Map<String, Object>> REQUEST_SCOPE = new ThreadLocal<Map<String, Object>>();
+
+    private static final Map<String, SharedEntry> SHARED_TIER = new LinkedHashMap<String, SharedEntry>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SharedEntry> eldest) {
+            return size() > Config.ENTITY_CACHE_SHARED_SIZE;
+        }
+    };
+
+    private static final AtomicLongArray REQUEST_HITS = new AtomicLongArray(Kind.values().length);
+    private static final AtomicLongArray SHARED_HITS = new AtomicLongArray(Kind.values().length);
+    private static final AtomicLongArray MISSES = new AtomicLongArray(Kind.values().length);
+
+    private static volatile Set<Kind> requestScopeKinds = parseKinds(Config.ENTITY_CACHE_REQUEST_KINDS);
+    private static volatile Set<Kind> sharedTierKinds = parseKinds(Config.ENTITY_CACHE_SHARED_KINDS);
+
+    private EntityCache() {
+        // utility class
+    }
+
+    /**
+     * Starts a new per-request identity map for the current thread,
+     * discarding any map left behind by a previous request.
+     */
+    public static void beginRequestScope() {
+        REQUEST_SCOPE.set(new HashMap<String, Object>());
+    }
+
+    /**
+     * Discards the per-request identity map of the current thread.
+     */
+    public static void endRequestScope() {
+        REQUEST_SCOPE.remove();
+    }
+
+    /**
+     * @return the cached object for the given {@code kind} and {@code key}
+     *         or null if it is not in any of the enabled tiers.
+     */
+    public static Object get(Kind kind, String key) {
+        boolean isCacheable = false;
+        String cacheKey = getCacheKey(kind, key);
+
+        Map<String, Object> requestScope = getRequestScope(kind);
+        if (requestScope != null) {
+            isCacheable = true;
+            Object value = requestScope.get(cacheKey);
+            if (value != null) {
+                REQUEST_HITS.incrementAndGet(kind.ordinal());
+                return value;
+            }
+        }
+
+        if (sharedTierKinds.contains(kind)) {
+            isCacheable = true;
+            Object value = getFromSharedTier(cacheKey);
+            if (value != null) {
+                SHARED_HITS.incrementAndGet(kind.ordinal());
+                if (requestScope != null) {
+                    requestScope.put(cacheKey, value);
+                }
+                return value;
+            }
+        }
+
+        if (isCacheable) {
+            MISSES.incrementAndGet(kind.ordinal());
+        }
+        return null;
+    }
+
+    /**
+     * Puts {@code value} into all tiers enabled for {@code kind}.
+     * Null values are not cached.
+     */
+    public static void put(Kind kind, String key, Object value) {
+        if (value == null) {
+            return;
+        }
+        String cacheKey = getCacheKey(kind, key);
+
+        Map<String, Object> requestScope = getRequestScope(kind);
+        if (requestScope != null) {
+            requestScope.put(cacheKey, value);
+        }
+
+        if (sharedTierKinds.contains(kind)) {
+            long expiryTime = System.currentTimeMillis() + Config.ENTITY_CACHE_SHARED_TTL;
+            synchronized (SHARED_TIER) {
+                SHARED_TIER.put(cacheKey, new SharedEntry(value, expiryTime));
+            }
+        }
+    }
+
+    /**
+     * Removes the entry for the given {@code kind} and {@code key} from all tiers.
+     * This should be called whenever the underlying entity is updated or deleted.
+     */
+    public static void invalidate(Kind kind, String key) {
+        String cacheKey = getCacheKey(kind, key);
+
+        Map<String, Object> requestScope = REQUEST_SCOPE.get();
+        if (requestScope != null) {
+            requestScope.remove(cacheKey);
+        }
+
+        synchronized (SHARED_TIER) {
+            SHARED_TIER.remove(cacheKey);
+        }
+    }
+
+    /**
+     * Removes all entries of the given {@code kind} whose key starts with
+     * {@code keyPrefix} from all tiers.
+     */
+    public static void invalidateByPrefix(Kind kind, String keyPrefix) {
+        String cacheKeyPrefix = getCacheKey(kind, keyPrefix);
+
+        Map<String, Object> requestScope = REQUEST_SCOPE.get();
+        if (requestScope != null) {
+            removeByPrefix(requestScope.keySet().iterator(), cacheKeyPrefix);
+        }
+
+        synchronized (SHARED_TIER) {
+            removeByPrefix(SHARED_TIER.keySet().iterator(), cacheKeyPrefix);
+        }
+    }
+
+    /**
+     * Removes all entries of the given {@code kind} from all tiers.
+     */
+    public static void invalidateAll(Kind kind) {
+        invalidateByPrefix(kind, "");
+    }
+
+    public static void setRequestScopeEnabled(Kind kind, boolean isEnabled) {
+        requestScopeKinds = getUpdatedKinds(requestScopeKinds, kind, isEnabled);
+    }
+
+    public static void setSharedTierEnabled(Kind kind, boolean isEnabled) {
+        sharedTierKinds = getUpdatedKinds(sharedTierKinds, kind, isEnabled);
+        if (!isEnabled) {
+            synchronized (SHARED_TIER) {
+                removeByPrefix(SHARED_TIER.keySet().iterator(), getCacheKey(kind, ""));
+            }
+        }
+    }
+
+    public static boolean isSharedTierEnabled(Kind kind) {
+        return sharedTierKinds.contains(kind);
+    }
+
+    public static long getRequestScopeHitCount(Kind kind) {
+        return REQUEST_HITS.get(kind.ordinal());
+    }
+
+    public static long getSharedTierHitCount(Kind kind) {
+        return SHARED_HITS.get(kind.ordinal());
+    }
+
+    public static long getMissCount(Kind kind) {
+        return MISSES.get(kind.ordinal());
+    }
+
+    public static void resetCounters() {
+        for (Kind kind : Kind.values()) {
+            REQUEST_HITS.set(kind.ordinal(), 0);
+            SHARED_HITS.set(kind.ordinal(), 0);
+            MISSES.set(kind.ordinal(), 0);
+        }
+    }
+
+    /**
+     * @return a human readable summary of the hit/miss counters of all kinds.
+     */
+    public static String getStatistics() {
+        StringBuilder statistics = new StringBuilder();
+        for (Kind kind : Kind.values()) {
+            statistics.append(kind.name())
+                      .append(": requestHits=").append(getRequestScopeHitCount(kind))
+                      .append(", sharedHits=").append(getSharedTierHitCount(kind))
+                      .append(", misses=").append(getMissCount(kind))
+                      .append('\n');
+        }
+        return statistics.toString();
+    }
+
+    private static Map<String, Object> getRequestScope(Kind kind) {
+        return requestScopeKinds.contains(kind) ? REQUEST_SCOPE.get() : null;
+    }
+
+    private static Object getFromSharedTier(String cacheKey) {
+        synchronized (SHARED_TIER) {
+            SharedEntry entry = SHARED_TIER.get(cacheKey);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiryTime < System.currentTimeMillis()) {
+                SHARED_TIER.remove(cacheKey);
+                return null;
+            }
+            return entry.value;
+        }
+    }
+
+    private static void removeByPrefix(Iterator<String> keys, String prefix) {
+        while (keys.hasNext()) {
+            if (keys.next().startsWith(prefix)) {
+                keys.remove();
+            }
+        }
+    }
+
+    private static String getCacheKey(Kind kind, String key) {
+        return kind.name() + ":" + key;
+    }
+
+    private static Set<Kind> getUpdatedKinds(Set<Kind> kinds, Kind kind, boolean isEnabled) {
+        Set<Kind> updatedKinds = kinds.isEmpty() ? EnumSet.noneOf(Kind.class) : EnumSet.copyOf(kinds);
+        if (isEnabled) {
+            updatedKinds.add(kind);
+        } else {
+            updatedKinds.remove(kind);
+        }
+        return updatedKinds;
+    }
+
+    private static Set<Kind> parseKinds(String kindsAsString) {
+        Set<Kind> kinds = EnumSet.noneOf(Kind.class);
+        if (kindsAsString == null) {
+            return kinds;
+        }
+        for (String kindName : kindsAsString.split(",")) {
+            if (!kindName.trim().isEmpty()) {
+                kinds.add(Kind.valueOf(kindName.trim()));
+            }
+        }
+        return kinds;
+    }
+
+    private static class SharedEntry {
+        final Object value;
+        final long expiryTime;
+
+        SharedEntry(Object value, long expiryTime) {
+            this.value = value;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
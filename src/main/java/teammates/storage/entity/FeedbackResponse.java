@@ -1,6 +1,8 @@
 package teammates.storage.entity;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 import javax.jdo.annotations.NotPersistent;
 import javax.jdo.annotations.PersistenceCapable;
@@ -54,6 +56,12 @@ public class FeedbackResponse implements StoreCallback {
     
     @Persistent
     private String receiverSection;
+    
+    // Denormalised from giverSection and receiverSection so that the responses
+    // involving a section can be fetched with one equality filter on this list.
+    // Populated for old responses by DataMigrationForFeedbackResponseSections.
+    @Persistent
+    private List<String> sections;
 
     @Persistent
     private Text answer; //TODO: rename to responseMetaData, will require database conversion
@@ -76,12 +84,20 @@ public class FeedbackResponse implements StoreCallback {
         this.receiver = recipient;
         this.receiverSection = recipientSection;
         this.answer = answer;
+        updateSections();
                 
-        this.feedbackResponseId = feedbackQuestionId + "%" + giverEmail + "%" + receiver;
+        this.feedbackResponseId = generateId(feedbackQuestionId, giverEmail, receiver);
         
         this.setCreatedAt(new Date());
     }
 
+    /**
+     * @return the id of the response to {@code feedbackQuestionId} from {@code giverEmail} to {@code receiver}
+     */
+    public static String generateId(String feedbackQuestionId, String giverEmail, String receiver) {
+        return feedbackQuestionId + "%" + giverEmail + "%" + receiver;
+    }
+
     public String getId() {
         return feedbackResponseId;
     }
@@ -137,6 +153,7 @@ public class FeedbackResponse implements StoreCallback {
 
     public void setGiverSection(String giverSection) {
         this.giverSection = giverSection;
+        updateSections();
     }
 
     public String getRecipientEmail() {
@@ -153,6 +170,26 @@ public class FeedbackResponse implements StoreCallback {
 
     public void setRecipientSection(String recipientSection) {
         this.receiverSection = recipientSection;
+        updateSections();
+    }
+    
+    /**
+     * @return the distinct sections of the giver and the recipient, or null if
+     *         the response has not been migrated to store them yet.
+     */
+    public List<String> getSections() {
+        return sections;
+    }
+    
+    public void updateSections() {
+        List<String> newSections = new ArrayList<String>();
+        if (giverSection != null) {
+            newSections.add(giverSection);
+        }
+        if (receiverSection != null && !receiverSection.equals(giverSection)) {
+            newSections.add(receiverSection);
+        }
+        this.sections = newSections;
     }
 
     public Text getResponseMetaData() {
@@ -141,11 +141,18 @@ public class FeedbackSession {
         this.isOpeningEmailEnabled = isOpeningEmailEnabled;
         this.isClosingEmailEnabled = isClosingEmailEnabled;
         this.isPublishedEmailEnabled = isPublishedEmailEnabled;
-        this.feedbackSessionId = this.feedbackSessionName + "%" + this.courseId;
+        this.feedbackSessionId = generateId(this.feedbackSessionName, this.courseId);
         this.respondingInstructorList = instructorList;
         this.respondingStudentList = studentList;
     }
 
+    /**
+     * @return the primary key of the session {@code feedbackSessionName} in {@code courseId}
+     */
+    public static String generateId(String feedbackSessionName, String courseId) {
+        return feedbackSessionName + "%" + courseId;
+    }
+
     public String getFeedbackSessionName() {
         return feedbackSessionName;
     }
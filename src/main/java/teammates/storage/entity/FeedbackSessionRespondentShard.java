@@ -0,0 +1,81 @@
+package teammates.storage.entity;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.jdo.annotations.Extension;
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+
+/**
+ * Represents one shard of the respondents of a feedback session.<br>
+ * The respondents of a session are spread over a fixed number of shards by email, so that
+ * concurrent submissions to the same session are recorded in different entities instead of
+ * all rewriting the session itself.
+ */
+@PersistenceCapable
+public class FeedbackSessionRespondentShard {
+
+    // Format is feedbackSessionName%courseId%shardIndex
+    // PMD.UnusedPrivateField and SingularField are suppressed
+    // as respondentShardId is persisted to the database
+    @SuppressWarnings({"PMD.UnusedPrivateField", "PMD.SingularField"})
+    @PrimaryKey
+    @Persistent
+    private transient String respondentShardId;
+
+    @Persistent
+    private String feedbackSessionName;
+
+    @Persistent
+    private String courseId;
+
+    /** Emails of the students in this shard who have responded to the session */
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private Set<String> respondingStudents;
+
+    /** Emails of the instructors in this shard who have responded to the session */
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private Set<String> respondingInstructors;
+
+    public FeedbackSessionRespondentShard(String feedbackSessionName, String courseId, int shardIndex) {
+        this.respondentShardId = generateId(feedbackSessionName, courseId, shardIndex);
+        this.feedbackSessionName = feedbackSessionName;
+        this.courseId = courseId;
+        this.respondingStudents = new HashSet<String>();
+        this.respondingInstructors = new HashSet<String>();
+    }
+
+    public static String generateId(String feedbackSessionName, String courseId, int shardIndex) {
+        return feedbackSessionName + "%" + courseId + "%" + shardIndex;
+    }
+
+    public String getFeedbackSessionName() {
+        return feedbackSessionName;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    /**
+     * @param isInstructor true for the responding instructors, false for the responding students.
+     * @return the modifiable set of respondents, which is empty rather than null if there are none.
+     */
+    public Set<String> getRespondents(boolean isInstructor) {
+        // empty sets are stored as null by the datastore
+        if (isInstructor) {
+            if (respondingInstructors == null) {
+                respondingInstructors = new HashSet<String>();
+            }
+            return respondingInstructors;
+        }
+        if (respondingStudents == null) {
+            respondingStudents = new HashSet<String>();
+        }
+        return respondingStudents;
+    }
+}
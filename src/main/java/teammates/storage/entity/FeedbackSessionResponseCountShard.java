@@ -0,0 +1,76 @@
+package teammates.storage.entity;
+
+import javax.jdo.annotations.Extension;
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+
+import com.google.appengine.api.datastore.Text;
+
+/**
+ * Represents one shard of the changes to the response counts of a feedback session since its
+ * {@link FeedbackSessionResponseSummary} was built.<br>
+ * The changes are spread over a fixed number of shards by giver, so that concurrent submissions to
+ * the same session are counted in different entities instead of all rewriting the summary itself.
+ */
+@PersistenceCapable
+public class FeedbackSessionResponseCountShard {
+
+    // Format is feedbackSessionName%courseId%shardIndex
+    // PMD.UnusedPrivateField and SingularField are suppressed
+    // as responseCountShardId is persisted to the database
+    @SuppressWarnings({"PMD.UnusedPrivateField", "PMD.SingularField"})
+    @PrimaryKey
+    @Persistent
+    private transient String responseCountShardId;
+
+    @Persistent
+    private String feedbackSessionName;
+
+    @Persistent
+    private String courseId;
+
+    /** JSON map of feedback question id to the change in the number of responses to that question */
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private Text responseCountChangesByQuestion;
+
+    /** JSON map of giver to the change in the number of responses given */
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private Text responseCountChangesByGiver;
+
+    public FeedbackSessionResponseCountShard(String feedbackSessionName, String courseId, int shardIndex) {
+        this.responseCountShardId = generateId(feedbackSessionName, courseId, shardIndex);
+        this.feedbackSessionName = feedbackSessionName;
+        this.courseId = courseId;
+    }
+
+    public static String generateId(String feedbackSessionName, String courseId, int shardIndex) {
+        return feedbackSessionName + "%" + courseId + "%" + shardIndex;
+    }
+
+    public String getFeedbackSessionName() {
+        return feedbackSessionName;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public Text getResponseCountChangesByQuestion() {
+        return responseCountChangesByQuestion;
+    }
+
+    public void setResponseCountChangesByQuestion(Text responseCountChangesByQuestion) {
+        this.responseCountChangesByQuestion = responseCountChangesByQuestion;
+    }
+
+    public Text getResponseCountChangesByGiver() {
+        return responseCountChangesByGiver;
+    }
+
+    public void setResponseCountChangesByGiver(Text responseCountChangesByGiver) {
+        this.responseCountChangesByGiver = responseCountChangesByGiver;
+    }
+}
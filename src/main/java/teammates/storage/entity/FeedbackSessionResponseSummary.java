@@ -0,0 +1,101 @@
+package teammates.storage.entity;
+
+import java.util.Set;
+
+import javax.jdo.annotations.Extension;
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+
+import com.google.appengine.api.datastore.Text;
+
+/**
+ * Represents the response counts and expected respondents of a feedback session.<br>
+ * The counts are maintained as responses are created and deleted, so that the response rate
+ * of the session can be read without reading its responses.
+ */
+@PersistenceCapable
+public class FeedbackSessionResponseSummary {
+
+    // Format is feedbackSessionName%courseId, the same as the id of the FeedbackSession
+    // PMD.UnusedPrivateField and SingularField are suppressed
+    // as feedbackSessionResponseSummaryId is persisted to the database
+    @SuppressWarnings({"PMD.UnusedPrivateField", "PMD.SingularField"})
+    @PrimaryKey
+    @Persistent
+    private transient String feedbackSessionResponseSummaryId;
+
+    @Persistent
+    private String feedbackSessionName;
+
+    @Persistent
+    private String courseId;
+
+    /** Emails of the students who are expected to respond to the session */
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private Set<String> expectedStudents;
+
+    /** Emails of the instructors who are expected to respond to the session */
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private Set<String> expectedInstructors;
+
+    /** JSON map of feedback question id to the number of responses to that question */
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private Text responseCountsByQuestion;
+
+    /** JSON map of giver to the number of responses given */
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private Text responseCountsByGiver;
+
+    public FeedbackSessionResponseSummary(String feedbackSessionName, String courseId,
+                                          Set<String> expectedStudents, Set<String> expectedInstructors,
+                                          Text responseCountsByQuestion, Text responseCountsByGiver) {
+        this.feedbackSessionResponseSummaryId = generateId(feedbackSessionName, courseId);
+        this.feedbackSessionName = feedbackSessionName;
+        this.courseId = courseId;
+        this.expectedStudents = expectedStudents;
+        this.expectedInstructors = expectedInstructors;
+        this.responseCountsByQuestion = responseCountsByQuestion;
+        this.responseCountsByGiver = responseCountsByGiver;
+    }
+
+    public static String generateId(String feedbackSessionName, String courseId) {
+        return feedbackSessionName + "%" + courseId;
+    }
+
+    public String getFeedbackSessionName() {
+        return feedbackSessionName;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public Set<String> getExpectedStudents() {
+        return expectedStudents;
+    }
+
+    public Set<String> getExpectedInstructors() {
+        return expectedInstructors;
+    }
+
+    public Text getResponseCountsByQuestion() {
+        return responseCountsByQuestion;
+    }
+
+    public void setResponseCountsByQuestion(Text responseCountsByQuestion) {
+        this.responseCountsByQuestion = responseCountsByQuestion;
+    }
+
+    public Text getResponseCountsByGiver() {
+        return responseCountsByGiver;
+    }
+
+    public void setResponseCountsByGiver(Text responseCountsByGiver) {
+        this.responseCountsByGiver = responseCountsByGiver;
+    }
+}
@@ -76,7 +76,7 @@ public class Instructor {
         this.setDisplayedName(displayedName);
         this.setInstructorPrivilegeAsText(instructorPrivilegesAsText);
         // setId should be called after setting email and courseId
-        this.setUniqueId(this.getEmail() + '%' + this.getCourseId());
+        this.setUniqueId(generateId(this.getEmail(), this.getCourseId()));
         this.setRegistrationKey(generateRegistrationKey());
     }
 
@@ -95,10 +95,17 @@ public class Instructor {
         this.setDisplayedName(displayedName);
         this.setInstructorPrivilegeAsText(instructorPrivilegesAsText);
         // setId should be called after setting email and courseId
-        this.setUniqueId(this.getEmail() + '%' + this.getCourseId());
+        this.setUniqueId(generateId(this.getEmail(), this.getCourseId()));
         this.setRegistrationKey(key);
     }
 
+    /**
+     * @return the unique ID of the instructor with {@code email} in {@code courseId} (format: email%courseId).
+     */
+    public static String generateId(String email, String courseId) {
+        return email + '%' + courseId;
+    }
+
     /**
      * @return The unique ID of the entity (format: googleId%courseId).
      */
@@ -0,0 +1,57 @@
+package teammates.storage.entity;
+
+import javax.jdo.annotations.Extension;
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+
+import com.google.appengine.api.datastore.Text;
+
+/**
+ * Represents the courses and feedback sessions shown on the home page of a student, together with
+ * whether the student has submitted each session.<br>
+ * It is built from the roster, questions and responses of the courses of the student, so that the
+ * home page does not have to check each session separately.
+ */
+@PersistenceCapable
+public class StudentDashboard {
+
+    @PrimaryKey
+    @Persistent
+    private String googleId;
+
+    /** Increased on every write, so that a dashboard is only replaced if it has not changed since it was read */
+    @Persistent
+    private Long version;
+
+    /** JSON list of the courses in the dashboard with their sessions, or null if the dashboard has been discarded */
+    @Persistent
+    @Extension(vendorName = "datanucleus", key = "gae.unindexed", value = "true")
+    private Text courses;
+
+    public StudentDashboard(String googleId, long version, Text courses) {
+        this.googleId = googleId;
+        this.version = version;
+        this.courses = courses;
+    }
+
+    public String getGoogleId() {
+        return googleId;
+    }
+
+    public long getVersion() {
+        return version == null ? 0 : version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Text getCourses() {
+        return courses;
+    }
+
+    public void setCourses(Text courses) {
+        this.courses = courses;
+    }
+}
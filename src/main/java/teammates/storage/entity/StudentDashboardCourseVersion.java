@@ -0,0 +1,39 @@
+package teammates.storage.entity;
+
+import javax.jdo.annotations.PersistenceCapable;
+import javax.jdo.annotations.Persistent;
+import javax.jdo.annotations.PrimaryKey;
+
+/**
+ * Represents the version of the dashboards of the students of a course.<br>
+ * The version is increased whenever a change to the course may change what the dashboards show, and
+ * each dashboard records the versions of its courses when it was built, so that the dashboards of a
+ * course can be discarded by writing one entity instead of querying for them.
+ */
+@PersistenceCapable
+public class StudentDashboardCourseVersion {
+
+    @PrimaryKey
+    @Persistent
+    private String courseId;
+
+    @Persistent
+    private Long version;
+
+    public StudentDashboardCourseVersion(String courseId) {
+        this.courseId = courseId;
+        this.version = 0L;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public long getVersion() {
+        return version == null ? 0 : version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
@@ -14,10 +14,10 @@ import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.util.Const;
+import teammates.common.util.JsonCodecs;
 
 import com.google.appengine.api.search.Document;
 import com.google.appengine.api.search.Field;
-import com.google.gson.Gson;
 
 /**
  * The SearchDocument object that defines how we store {@link Document} for response comments
@@ -39,6 +39,11 @@ public class FeedbackResponseCommentSearchDocument extends SearchDocument {
         this.comment = comment;
     }
     
+    @Override
+    public String getDocumentId() {
+        return comment.getId().toString();
+    }
+    
     @Override
     protected void prepareData() {
         if (comment == null) {
@@ -204,20 +209,20 @@ public class FeedbackResponseCommentSearchDocument extends SearchDocument {
                                             .setDate(comment.createdAt))
                 // attribute field is used to convert a doc back to attribute
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.FEEDBACK_RESPONSE_COMMENT_ATTRIBUTE)
-                                            .setText(new Gson().toJson(comment)))
+                                            .setText(JsonCodecs.getCompactGson().toJson(comment)))
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.FEEDBACK_RESPONSE_ATTRIBUTE)
-                                            .setText(new Gson().toJson(relatedResponse)))
+                                            .setText(JsonCodecs.getCompactGson().toJson(relatedResponse)))
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.FEEDBACK_RESPONSE_GIVER_NAME)
-                                            .setText(new Gson().toJson(responseGiverName)))
+                                            .setText(JsonCodecs.getCompactGson().toJson(responseGiverName)))
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.FEEDBACK_RESPONSE_RECEIVER_NAME)
-                                            .setText(new Gson().toJson(responseRecipientName)))
+                                            .setText(JsonCodecs.getCompactGson().toJson(responseRecipientName)))
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.FEEDBACK_QUESTION_ATTRIBUTE)
-                                            .setText(new Gson().toJson(relatedQuestion)))
+                                            .setText(JsonCodecs.getCompactGson().toJson(relatedQuestion)))
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.FEEDBACK_SESSION_ATTRIBUTE)
-                                            .setText(new Gson().toJson(relatedSession)))
+                                            .setText(JsonCodecs.getCompactGson().toJson(relatedSession)))
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.FEEDBACK_RESPONSE_COMMENT_GIVER_NAME)
-                                            .setText(new Gson().toJson(displayedName)))
-                .setId(comment.getId().toString())
+                                            .setText(JsonCodecs.getCompactGson().toJson(displayedName)))
+                .setId(getDocumentId())
                 .build();
         return doc;
     }
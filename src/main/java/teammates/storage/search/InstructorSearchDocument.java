@@ -3,11 +3,11 @@ package teammates.storage.search;
 import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.util.Const;
+import teammates.common.util.JsonCodecs;
 import teammates.common.util.StringHelper;
 
 import com.google.appengine.api.search.Document;
 import com.google.appengine.api.search.Field;
-import com.google.gson.Gson;
 
 public class InstructorSearchDocument extends SearchDocument {
     
@@ -18,6 +18,11 @@ public class InstructorSearchDocument extends SearchDocument {
         this.instructor = instructor;
     }
     
+    @Override
+    public String getDocumentId() {
+        return StringHelper.encrypt(instructor.key);
+    }
+    
     @Override
     protected void prepareData() {
         if (instructor == null) {
@@ -51,8 +56,8 @@ public class InstructorSearchDocument extends SearchDocument {
                                                    .setText(searchableTextBuilder.toString()))
                        //attribute field is used to convert a doc back to attribute
                        .addField(Field.newBuilder().setName(Const.SearchDocumentField.INSTRUCTOR_ATTRIBUTE)
-                                                   .setText(new Gson().toJson(instructor)))
-                       .setId(StringHelper.encrypt(instructor.key))
+                                                   .setText(JsonCodecs.getCompactGson().toJson(instructor)))
+                       .setId(getDocumentId())
                        .build();
                 
         return doc;
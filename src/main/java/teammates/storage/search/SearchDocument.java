@@ -20,6 +20,11 @@ public abstract class SearchDocument {
         return toDocument();
     }
     
+    /**
+     * @return the id of the document, which is derived from the key of the entity it is built from.
+     */
+    public abstract String getDocumentId();
+    
     protected abstract void prepareData();
     
     protected abstract Document toDocument();
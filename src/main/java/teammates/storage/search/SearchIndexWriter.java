@@ -0,0 +1,18 @@
+package teammates.storage.search;
+
+import java.util.List;
+import java.util.Set;
+
+import com.google.appengine.api.search.Document;
+
+/**
+ * Puts batches of documents into search indices.
+ */
+public interface SearchIndexWriter {
+    
+    /**
+     * Puts the documents into the index in a single call.
+     * @return ids of the documents which were not put due to transient errors, and can be retried.
+     */
+    Set<String> putDocuments(String indexName, List<Document> documents);
+}
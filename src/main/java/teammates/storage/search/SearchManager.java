@@ -1,7 +1,10 @@
 package teammates.storage.search;
 
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 
 import teammates.common.exception.TeammatesException;
@@ -12,6 +15,7 @@ import teammates.common.util.Utils;
 import com.google.appengine.api.search.Document;
 import com.google.appengine.api.search.Index;
 import com.google.appengine.api.search.IndexSpec;
+import com.google.appengine.api.search.OperationResult;
 import com.google.appengine.api.search.PutException;
 import com.google.appengine.api.search.PutResponse;
 import com.google.appengine.api.search.Query;
@@ -52,13 +56,36 @@ public final class SearchManager {
             if (!isSuccessful) {
                 elapsedTime += ThreadHelper.WAIT_DURATION;
             }
-            log.info("TEST");
         }
         if (elapsedTime >= Config.PERSISTENCE_CHECK_DURATION) {
             log.severe(String.format(ERROR_EXCEED_DURATION, document, indexName));
         }
     }
     
+    /**
+     * Puts the documents into the index in a single call, without retrying.
+     * @return ids of the documents which were not put due to transient errors, and can be retried.
+     */
+    public static Set<String> putDocuments(String indexName, List<Document> documents) {
+        Set<String> failedIds = new HashSet<String>();
+        List<OperationResult> results;
+        try {
+            results = getIndex(indexName).put(documents).getResults();
+        } catch (PutException e) {
+            results = e.getResults();
+        }
+        for (int i = 0; i < documents.size(); i++) {
+            StatusCode code = i < results.size() ? results.get(i).getCode() : StatusCode.TRANSIENT_ERROR;
+            if (code == StatusCode.TRANSIENT_ERROR) {
+                failedIds.add(documents.get(i).getId());
+            } else if (code != StatusCode.OK) {
+                log.severe(String.format(ERROR_NON_TRANSIENT_BACKEND_ISSUE, documents.get(i), indexName)
+                           + " status: " + code);
+            }
+        }
+        return failedIds;
+    }
+    
     private static boolean tryPutDocument(String indexName, Document document) {
         Index index = getIndex(indexName);
         try {
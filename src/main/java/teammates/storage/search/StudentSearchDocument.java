@@ -3,10 +3,10 @@ package teammates.storage.search;
 import teammates.common.datatransfer.CourseAttributes;
 import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.util.Const;
+import teammates.common.util.JsonCodecs;
 
 import com.google.appengine.api.search.Document;
 import com.google.appengine.api.search.Field;
-import com.google.gson.Gson;
 
 public class StudentSearchDocument extends SearchDocument {
 
@@ -17,6 +17,11 @@ public class StudentSearchDocument extends SearchDocument {
         this.student = student;
     }
     
+    @Override
+    public String getDocumentId() {
+        return student.key;
+    }
+    
     @Override
     protected void prepareData() {
         if (student == null) {
@@ -52,8 +57,8 @@ public class StudentSearchDocument extends SearchDocument {
                                             .setText(searchableTextBuilder.toString()))
                 // attribute field is used to convert a doc back to attribute
                 .addField(Field.newBuilder().setName(Const.SearchDocumentField.STUDENT_ATTRIBUTE)
-                                            .setText(new Gson().toJson(student)))
-                .setId(student.key)
+                                            .setText(JsonCodecs.getCompactGson().toJson(student)))
+                .setId(getDocumentId())
                 .build();
         
         return doc;
@@ -14,6 +14,7 @@ import teammates.common.util.Const.StatusMessageColor;
 import teammates.common.util.Const.SystemParams;
 import teammates.common.util.FieldValidator;
 import teammates.common.util.GoogleCloudStorageHelper;
+import teammates.common.util.GroupReceiverListReader;
 import teammates.common.util.StatusMessage;
 import teammates.logic.api.GateKeeper;
 import teammates.logic.core.TaskQueuesLogic;
@@ -54,7 +55,11 @@ public class AdminEmailComposeSendAction extends Action {
         if (groupModeOn) {
             try {
                 groupReceiver.add(groupReceiverListFileKey);
-                GoogleCloudStorageHelper.getGroupReceiverList(new BlobKey(groupReceiverListFileKey));
+                GroupReceiverListReader groupReceiverListReader =
+                        GoogleCloudStorageHelper.openGroupReceiverList(new BlobKey(groupReceiverListFileKey), 0);
+                // reads the first address only, to check that the file can be read
+                groupReceiverListReader.hasNext();
+                groupReceiverListReader.close();
             } catch (Exception e) {
                 isError = true;
                 setStatusForException(e, "An error occurred when retrieving receiver list, please try again");
@@ -132,8 +137,7 @@ public class AdminEmailComposeSendAction extends Action {
         HashMap<String, String> paramMap = new HashMap<String, String>();
         paramMap.put(ParamsNames.ADMIN_EMAIL_ID, emailId);
         paramMap.put(ParamsNames.ADMIN_EMAIL_GROUP_RECEIVER_LIST_FILE_KEY, groupReceiverListFileKey);
-        paramMap.put(ParamsNames.ADMIN_GROUP_RECEIVER_EMAIL_LIST_INDEX, "0");
-        paramMap.put(ParamsNames.ADMIN_GROUP_RECEIVER_EMAIL_INDEX, "0");
+        paramMap.put(ParamsNames.ADMIN_GROUP_RECEIVER_EMAIL_OFFSET, "0");
         paramMap.put(ParamsNames.ADMIN_EMAIL_TASK_QUEUE_MODE, Const.ADMIN_EMAIL_TASK_QUEUE_GROUP_MODE);
         
         taskQueueLogic.createAndAddTask(SystemParams.ADMIN_PREPARE_EMAIL_TASK_QUEUE,
@@ -8,10 +8,9 @@ import javax.servlet.http.HttpServletResponse;
 
 import teammates.common.datatransfer.AccountAttributes;
 import teammates.common.util.Const;
+import teammates.common.util.JsonCodecs;
 import teammates.common.util.StatusMessage;
 
-import com.google.gson.Gson;
-
 public class AjaxResult extends ActionResult {
 
     public PageData data;
@@ -50,7 +49,7 @@ public class AjaxResult extends ActionResult {
         
         resp.setContentType("application/json");
         resp.setCharacterEncoding("UTF-8");
-        String jsonData = new Gson().toJson(data);
+        String jsonData = JsonCodecs.getCompactGson().toJson(data);
         
         resp.getWriter().write(jsonData);
     }
@@ -1,6 +1,8 @@
 package teammates.ui.controller;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -33,6 +35,13 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
     protected FeedbackSubmissionEditPageData data;
     protected boolean hasValidResponse;
     
+    /** The responses loaded on the submission page, by their id */
+    private Map<String, FeedbackResponseAttributes> existingResponses;
+    
+    private List<FeedbackResponseAttributes> responsesToPut = new ArrayList<FeedbackResponseAttributes>();
+    private List<FeedbackResponseAttributes> responsesToRecreate = new ArrayList<FeedbackResponseAttributes>();
+    private List<FeedbackResponseAttributes> responsesToDelete = new ArrayList<FeedbackResponseAttributes>();
+    
     @Override
     protected ActionResult execute() throws EntityDoesNotExistException {
         courseId = getRequestParamValue(Const.ParamsNames.COURSE_ID);
@@ -64,6 +73,13 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
         String userTeamForCourse = getUserTeamForCourse();
         String userSectionForCourse = getUserSectionForCourse();
         
+        existingResponses = new HashMap<String, FeedbackResponseAttributes>();
+        for (List<FeedbackResponseAttributes> responses : data.bundle.questionResponseBundle.values()) {
+            for (FeedbackResponseAttributes existingResponse : responses) {
+                existingResponses.put(existingResponse.getId(), existingResponse);
+            }
+        }
+        
         int numOfQuestionsToGet = data.bundle.questionResponseBundle.size();
         for (int questionIndx = 1; questionIndx <= numOfQuestionsToGet; questionIndx++) {
             String totalResponsesForQuestion =
@@ -127,7 +143,7 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
                 
                 if (response.responseMetaData.getValue().isEmpty()) {
                     // deletes the response since answer is empty
-                    saveResponse(response);
+                    addResponseToSave(response);
                 } else {
                     response.giver = questionAttributes.giverType.isTeam() ? userTeamForCourse
                                                                                 : userEmailForCourse;
@@ -147,7 +163,7 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
             
             if (errors.isEmpty()) {
                 for (FeedbackResponseAttributes response : responsesForQuestion) {
-                    saveResponse(response);
+                    addResponseToSave(response);
                 }
             } else {
                 List<StatusMessage> errorMessages = new ArrayList<StatusMessage>();
@@ -162,6 +178,8 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
             
         }
         
+        saveResponses();
+        
         if (!isError) {
             statusToUser.add(new StatusMessage(Const.StatusMessages.FEEDBACK_RESPONSES_SAVED, StatusMessageColor.SUCCESS));
         }
@@ -182,44 +200,59 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
      * @param response  a response which has non-null id
      */
     private boolean isExistingResponseValid(FeedbackResponseAttributes response) {
-       
-        String questionId = response.feedbackQuestionId;
-        FeedbackQuestionAttributes question = data.bundle.getQuestionAttributes(questionId);
-        
-        if (!data.bundle.questionResponseBundle.containsKey(question)) {
-            // question id is invalid
-            return false;
-        }
         
-        List<FeedbackResponseAttributes> existingResponses = data.bundle.questionResponseBundle.get(question);
-        List<String> existingResponsesId = new ArrayList<String>();
-        for (FeedbackResponseAttributes existingResponse : existingResponses) {
-            existingResponsesId.add(existingResponse.getId());
-        }
+        FeedbackResponseAttributes existingResponse = existingResponses.get(response.getId());
         
-        // checks if response id is valid
-        return existingResponsesId.contains(response.getId());
+        // checks if response id is valid, and belongs to the question
+        return existingResponse != null && existingResponse.feedbackQuestionId.equals(response.feedbackQuestionId);
     }
-
-    private void saveResponse(FeedbackResponseAttributes response)
-            throws EntityDoesNotExistException {
+    
+    /**
+     * Adds the {@code response} to the responses to be deleted, created or updated by {@link #saveResponses},
+     * comparing it with the responses loaded on the submission page.
+     */
+    private void addResponseToSave(FeedbackResponseAttributes response) {
         boolean isExistingResponse = response.getId() != null;
         if (isExistingResponse) {
             // Delete away response if any empty fields
             if (response.responseMetaData.getValue().isEmpty() || response.recipient.isEmpty()) {
-                logic.deleteFeedbackResponse(response);
+                responsesToDelete.add(response);
                 return;
             }
+            FeedbackResponseAttributes existingResponse = existingResponses.get(response.getId());
+            if (response.giver.equals(existingResponse.giver) && response.recipient.equals(existingResponse.recipient)) {
+                responsesToPut.add(response);
+            } else {
+                responsesToRecreate.add(response);
+            }
+        } else if (!response.responseMetaData.getValue().isEmpty()
+                   && !response.recipient.isEmpty()) {
+            responsesToPut.add(response);
+        }
+    }
+    
+    /**
+     * Deletes, recreates and creates or updates the responses added by {@link #addResponseToSave}.
+     * The responses to create or update are written in one batch.
+     */
+    private void saveResponses() throws EntityDoesNotExistException {
+        if (!responsesToDelete.isEmpty()) {
+            logic.deleteFeedbackResponses(responsesToDelete);
+        }
+        
+        // responses of which the giver or recipient changed are recreated one by one, with their comments
+        for (FeedbackResponseAttributes response : responsesToRecreate) {
             try {
                 logic.updateFeedbackResponse(response);
                 hasValidResponse = true;
             } catch (EntityAlreadyExistsException | InvalidParametersException e) {
                 setStatusForException(e);
             }
-        } else if (!response.responseMetaData.getValue().isEmpty()
-                   && !response.recipient.isEmpty()) {
+        }
+        
+        if (!responsesToPut.isEmpty()) {
             try {
-                logic.createFeedbackResponse(response);
+                logic.putFeedbackResponses(responsesToPut);
                 hasValidResponse = true;
             } catch (InvalidParametersException e) {
                 setStatusForException(e);
@@ -227,6 +260,25 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
         }
     }
     
+    /**
+     * @return true if any of the responses loaded on the submission page which were given by the user
+     *         is not deleted
+     */
+    private boolean hasExistingResponseLeft() {
+        Set<String> deletedResponseIds = new HashSet<String>();
+        for (FeedbackResponseAttributes response : responsesToDelete) {
+            deletedResponseIds.add(response.getId());
+        }
+        String userEmailForCourse = getUserEmailForCourse();
+        for (FeedbackResponseAttributes existingResponse : existingResponses.values()) {
+            if (existingResponse.giver.equals(userEmailForCourse)
+                    && !deletedResponseIds.contains(existingResponse.getId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     private FeedbackResponseAttributes extractFeedbackResponseData(
             Map<String, String[]> requestParameters, int questionIndx, int responseIndx,
             FeedbackQuestionAttributes feedbackQuestionAttributes) {
@@ -319,11 +371,12 @@ public abstract class FeedbackSubmissionEditSaveAction extends Action {
      * @return true if user has responses in the feedback session
      */
     protected boolean isUserRespondentOfSession() {
-        // if there is no valid response on the form submission,
-        // we need to use logic to check the database to handle cases where not all questions are displayed
+        // if there is no valid response on the form submission, and no response loaded on the submission page
+        // is left, we need to use logic to check the database to handle cases where not all questions are displayed
         // e.g. on FeedbackQuestionSubmissionEditSaveAction,
         // or if the submitter can submit both as a student and instructor
         return hasValidResponse
+            || hasExistingResponseLeft()
             || logic.hasGiverRespondedForSession(getUserEmailForCourse(), feedbackSessionName, courseId);
     }
     
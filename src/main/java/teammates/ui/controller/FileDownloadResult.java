@@ -2,19 +2,31 @@ package teammates.ui.controller;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.List;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import teammates.common.datatransfer.AccountAttributes;
+import teammates.common.util.Assumption;
 import teammates.common.util.Sanitizer;
 import teammates.common.util.StatusMessage;
 
 public class FileDownloadResult extends ActionResult {
     
+    /**
+     * Writes the content of a file directly to the response, so that large files
+     * do not need to be held in memory as a single string.
+     */
+    public interface FileContentWriter {
+        void writeTo(Writer writer) throws IOException;
+    }
+    
     String fileContent = "";
     String fileName = "";
+    FileContentWriter fileContentWriter;
 
     public FileDownloadResult(String destination, AccountAttributes account,
             List<StatusMessage> status) {
@@ -29,6 +41,15 @@ public class FileDownloadResult extends ActionResult {
         this.fileName = fileName;
         this.fileContent = fileContent;
     }
+    
+    public FileDownloadResult(
+            String destination, AccountAttributes account,
+            List<StatusMessage> status,
+            String fileName, FileContentWriter fileContentWriter) {
+        super(destination, account, status);
+        this.fileName = fileName;
+        this.fileContentWriter = fileContentWriter;
+    }
 
     @Override
     public void send(HttpServletRequest req, HttpServletResponse resp) throws IOException {
@@ -42,7 +63,11 @@ public class FileDownloadResult extends ActionResult {
         resp.setHeader("Content-Disposition", getContentDispositionHeader());
         PrintWriter writer = resp.getWriter();
         writer.write("\uFEFF");
-        writer.append(fileContent);
+        if (fileContentWriter == null) {
+            writer.append(fileContent);
+        } else {
+            fileContentWriter.writeTo(writer);
+        }
     }
     
     /**
@@ -66,8 +91,21 @@ public class FileDownloadResult extends ActionResult {
         return this.fileName;
     }
     
+    /**
+     * @return the content of the file; content which is written directly to the response
+     *         is generated in full by this method.
+     */
     public String getFileContent() {
-        return this.fileContent;
+        if (fileContentWriter == null) {
+            return this.fileContent;
+        }
+        StringWriter writer = new StringWriter();
+        try {
+            fileContentWriter.writeTo(writer);
+        } catch (IOException e) {
+            Assumption.fail("Failed to generate the content of " + fileName + ": " + e.getMessage());
+        }
+        return writer.toString();
     }
 
 }
@@ -60,7 +60,7 @@ public class InstructorCommentsPageAction extends Action {
         if (!coursePaginationList.isEmpty()) {
         //Load details of students and instructors once and pass it to callee methods
         //  (rather than loading them many times).
-            roster = new CourseRoster(logic.getStudentsForCourse(courseId), logic.getInstructorsForCourse(courseId));
+            roster = logic.getCourseRoster(courseId);
 
             //Prepare comments data
             giverEmailToCommentsMap = getGiverEmailToCommentsMap();
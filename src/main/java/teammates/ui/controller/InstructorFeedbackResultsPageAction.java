@@ -78,6 +78,7 @@ public class InstructorFeedbackResultsPageAction extends Action {
         }
         
         String questionId = getRequestParamValue(Const.ParamsNames.FEEDBACK_QUESTION_ID);
+        String cursor = getRequestParamValue(Const.ParamsNames.FEEDBACK_RESULTS_CURSOR);
         String isTestingAjax = getRequestParamValue(Const.ParamsNames.FEEDBACK_RESULTS_NEED_AJAX);
    
         if (ALL_SECTION_OPTION.equals(selectedSection) && questionId == null
@@ -93,18 +94,14 @@ public class InstructorFeedbackResultsPageAction extends Action {
                                                     selectedSection, sortType, questionId));
         } else if (Const.FeedbackSessionResults.GQR_SORT_TYPE.equals(sortType)
                 || Const.FeedbackSessionResults.GRQ_SORT_TYPE.equals(sortType)) {
-            data.setBundle(logic
-                    .getFeedbackSessionResultsForInstructorFromSectionWithinRange(feedbackSessionName, courseId,
-                                                                                  instructor.email,
-                                                                                  selectedSection,
-                                                                                  DEFAULT_SECTION_QUERY_RANGE));
+            data.setBundle(logic.getFeedbackSessionResultsForInstructorFromSectionByPage(
+                                          feedbackSessionName, courseId, instructor.email, selectedSection,
+                                          cursor, DEFAULT_SECTION_QUERY_RANGE));
         } else if (Const.FeedbackSessionResults.RQG_SORT_TYPE.equals(sortType)
                 || Const.FeedbackSessionResults.RGQ_SORT_TYPE.equals(sortType)) {
-            data.setBundle(logic
-                    .getFeedbackSessionResultsForInstructorToSectionWithinRange(feedbackSessionName, courseId,
-                                                                                instructor.email,
-                                                                                selectedSection,
-                                                                                DEFAULT_SECTION_QUERY_RANGE));
+            data.setBundle(logic.getFeedbackSessionResultsForInstructorToSectionByPage(
+                                          feedbackSessionName, courseId, instructor.email, selectedSection,
+                                          cursor, DEFAULT_SECTION_QUERY_RANGE));
         }
 
         if (data.getBundle() == null) {
@@ -113,8 +110,12 @@ public class InstructorFeedbackResultsPageAction extends Action {
         }
 
         // Warning for section wise viewing in case of many responses.
-        boolean isShowSectionWarningForQuestionView = data.isLargeNumberOfRespondents()
-                                                   && Const.FeedbackSessionResults.QUESTION_SORT_TYPE.equals(sortType);
+        boolean isQuestionView = Const.FeedbackSessionResults.QUESTION_SORT_TYPE.equals(sortType);
+        if (isQuestionView) {
+            // the question view decides whether to load the responses by ajax from the number of respondents
+            logic.addRespondentsTo(data.getBundle().feedbackSession);
+        }
+        boolean isShowSectionWarningForQuestionView = isQuestionView && data.isLargeNumberOfRespondents();
         boolean isShowSectionWarningForParticipantView = !data.getBundle().isComplete
                                                    && !Const.FeedbackSessionResults.QUESTION_SORT_TYPE.equals(sortType);
         if (selectedSection.equals(ALL_SECTION_OPTION) && (isShowSectionWarningForParticipantView
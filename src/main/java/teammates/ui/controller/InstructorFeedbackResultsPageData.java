@@ -25,6 +25,7 @@ import teammates.common.util.Assumption;
 import teammates.common.util.Const;
 import teammates.common.util.FieldValidator;
 import teammates.common.util.StringHelper;
+import teammates.common.util.Url;
 import teammates.ui.template.ElementTag;
 import teammates.ui.template.FeedbackResponseCommentRow;
 import teammates.ui.template.FeedbackSessionPublishButton;
@@ -1713,6 +1714,28 @@ public class InstructorFeedbackResultsPageData extends PageData {
                                                 Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_SESSION_COMMENT_IN_SECTIONS);
     }
     
+    /**
+     * @return link to the next page of responses of the selected section, or null if there is no next page
+     */
+    public String getNextPageLink() {
+        if (bundle.nextCursor == null) {
+            return null;
+        }
+        String link = getInstructorFeedbackSessionResultsLink();
+        link = Url.addParamToUrl(link, Const.ParamsNames.FEEDBACK_RESULTS_GROUPBYSECTION, selectedSection);
+        link = Url.addParamToUrl(link, Const.ParamsNames.FEEDBACK_RESULTS_SORTTYPE, sortType);
+        if (isGroupedByTeam()) {
+            link = Url.addParamToUrl(link, Const.ParamsNames.FEEDBACK_RESULTS_GROUPBYTEAM, groupByTeam);
+        }
+        if (isStatsShown()) {
+            link = Url.addParamToUrl(link, Const.ParamsNames.FEEDBACK_RESULTS_SHOWSTATS, showStats);
+        }
+        link = Url.addParamToUrl(link, Const.ParamsNames.FEEDBACK_RESULTS_INDICATE_MISSING_RESPONSES,
+                                 String.valueOf(isMissingResponsesShown));
+        link = Url.addParamToUrl(link, Const.ParamsNames.FEEDBACK_RESULTS_CURSOR, bundle.nextCursor);
+        return link;
+    }
+    
     public boolean isAllSectionsSelected() {
         return "All".equals(selectedSection);
     }
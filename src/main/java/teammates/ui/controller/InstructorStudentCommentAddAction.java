@@ -59,7 +59,6 @@ public class InstructorStudentCommentAddAction extends Action {
         
         try {
             CommentAttributes createdComment = logic.createComment(comment);
-            //TODO: move putDocument to Task Queue
             logic.putDocument(createdComment);
             
             statusToUser.add(new StatusMessage(Const.StatusMessages.COMMENT_ADDED, StatusMessageColor.SUCCESS));
@@ -49,7 +49,6 @@ public class InstructorStudentCommentEditAction extends Action {
         try {
             if ("edit".equals(editType)) {
                 CommentAttributes updatedComment = logic.updateComment(comment);
-                //TODO: move putDocument to task queue
                 logic.putDocument(updatedComment);
                 
                 statusToUser.add(new StatusMessage(Const.StatusMessages.COMMENT_EDITED, StatusMessageColor.SUCCESS));
@@ -67,9 +67,7 @@ public class StudentCommentsPageAction extends Action {
                 new HashMap<String, FeedbackSessionResultsBundle>();
         List<CommentAttributes> comments = new ArrayList<CommentAttributes>();
         if (!coursePaginationList.isEmpty()) {
-            roster = new CourseRoster(
-                    logic.getStudentsForCourse(courseId),
-                    logic.getInstructorsForCourse(courseId));
+            roster = logic.getCourseRoster(courseId);
 
             //Prepare comments data
             StudentAttributes student = roster.getStudentForEmail(studentEmail);
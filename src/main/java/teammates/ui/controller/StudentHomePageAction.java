@@ -9,6 +9,8 @@ import teammates.common.datatransfer.CourseDetailsBundle;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.FeedbackSessionDetailsBundle;
 import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentDashboardAttributes;
+import teammates.common.datatransfer.StudentDashboardAttributes.CourseEntry;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.util.Assumption;
 import teammates.common.util.Const;
@@ -28,8 +30,14 @@ public class StudentHomePageAction extends Action {
         Map<FeedbackSessionAttributes, Boolean> sessionSubmissionStatusMap = new HashMap<>();
         
         try {
-            courses = logic.getCourseDetailsListForStudent(account.googleId);
-            sessionSubmissionStatusMap = generateFeedbackSessionSubmissionStatusMap(courses, account.googleId);
+            StudentDashboardAttributes dashboard = logic.getStudentDashboard(account.googleId);
+            if (dashboard == null) {
+                courses = logic.getCourseDetailsListForStudent(account.googleId);
+                sessionSubmissionStatusMap = generateFeedbackSessionSubmissionStatusMap(courses, account.googleId);
+            } else {
+                courses = logic.getCourseDetailsListForStudent(dashboard);
+                sessionSubmissionStatusMap = generateFeedbackSessionSubmissionStatusMap(courses, dashboard);
+            }
             
             CourseDetailsBundle.sortDetailedCourses(courses);
             
@@ -73,6 +81,20 @@ public class StudentHomePageAction extends Action {
         return returnValue;
     }
 
+    private Map<FeedbackSessionAttributes, Boolean> generateFeedbackSessionSubmissionStatusMap(
+            List<CourseDetailsBundle> courses, StudentDashboardAttributes dashboard) {
+        Map<FeedbackSessionAttributes, Boolean> returnValue = new HashMap<>();
+        
+        for (CourseDetailsBundle c : courses) {
+            CourseEntry course = dashboard.getCourse(c.course.getId());
+            for (FeedbackSessionDetailsBundle fsb : c.feedbackSessions) {
+                FeedbackSessionAttributes f = fsb.feedbackSession;
+                returnValue.put(f, course.getSession(f.getFeedbackSessionName()).hasSubmitted);
+            }
+        }
+        return returnValue;
+    }
+
     private boolean getStudentStatusForSession(FeedbackSessionAttributes fs, String googleId) {
         StudentAttributes student = logic.getStudentForGoogleId(fs.getCourseId(), googleId);
         Assumption.assertNotNull(student);
@@ -220,6 +220,14 @@ public class BaseTestCase {
         AssertJUnit.assertNotNull(message, object);
     }
     
+    protected static void assertSame(Object expected, Object actual) {
+        AssertJUnit.assertSame(expected, actual);
+    }
+    
+    protected static void assertNotSame(Object expected, Object actual) {
+        AssertJUnit.assertNotSame(expected, actual);
+    }
+    
     protected static void fail(String message) {
         AssertJUnit.fail(message);
     }
@@ -1,6 +1,7 @@
 package teammates.test.cases.automated;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 
@@ -32,6 +33,7 @@ import teammates.logic.core.FeedbackQuestionsLogic;
 import teammates.logic.core.FeedbackResponsesLogic;
 import teammates.logic.core.FeedbackSessionsLogic;
 import teammates.logic.core.StudentsLogic;
+import teammates.logic.core.SubmissionAdjustmentJob;
 
 import com.google.appengine.api.urlfetch.URLFetchServicePb.URLFetchRequest;
 import com.google.gson.Gson;
@@ -58,9 +60,6 @@ public class SubmissionsAdjustmentTest extends BaseComponentUsingTaskQueueTestCa
             assertTrue(paramMap.containsKey(ParamsNames.ENROLLMENT_DETAILS));
             assertNotNull(paramMap.get(ParamsNames.ENROLLMENT_DETAILS));
             
-            assertTrue(paramMap.containsKey(ParamsNames.FEEDBACK_SESSION_NAME));
-            assertNotNull(paramMap.get(ParamsNames.FEEDBACK_SESSION_NAME));
-            
             SubmissionsAdjustmentTaskQueueCallback.taskCount++;
             return Const.StatusCodes.TASK_QUEUE_RESPONSE_OK;
         }
@@ -134,24 +133,16 @@ public class SubmissionsAdjustmentTest extends BaseComponentUsingTaskQueueTestCa
         enrollLines = "Section | Team | Name | Email | Comment" + Const.EOL
                     + newStudentLine + Const.EOL + "\t";
         
-        int counter = 0;
-        while (counter != 10) {
-            SubmissionsAdjustmentTaskQueueCallback.resetTaskCount();
-            studentsInfo = studentsLogic.enrollStudentsWithoutDocument(enrollLines, course1.getId());
+        SubmissionsAdjustmentTaskQueueCallback.resetTaskCount();
+        studentsInfo = studentsLogic.enrollStudentsWithoutDocument(enrollLines, course1.getId());
         
-            //Check whether students are present in database
-            assertNotNull(studentsLogic.getStudentForEmail(course1.getId(), "s@g"));
-
-            //Verify no tasks sent to the task queue
-            if (SubmissionsAdjustmentTaskQueueCallback.verifyTaskCount(
-                    fsLogic.getFeedbackSessionsForCourse(course1.getId()).size())) {
-                break;
-            }
-            counter++;
-        }
+        //Check whether students are present in database
+        assertNotNull(studentsLogic.getStudentForEmail(course1.getId(), "s@g"));
         
-        assertEquals(SubmissionsAdjustmentTaskQueueCallback.taskCount,
-                    fsLogic.getFeedbackSessionsForCourse(course1.getId()).size());
+        //Verify no tasks sent to the task queue, as new students have no responses to adjust
+        if (!SubmissionsAdjustmentTaskQueueCallback.verifyTaskCount(0)) {
+            assertEquals(SubmissionsAdjustmentTaskQueueCallback.taskCount, 0);
+        }
         
         
         ______TS("change an existing students email and verify update "
@@ -186,21 +177,12 @@ public class SubmissionsAdjustmentTest extends BaseComponentUsingTaskQueueTestCa
         studentInTeam1.team = "Team 1.2";
         enrollLines = "Section | Team | Name | Email | Comment" + studentInTeam1.toEnrollmentString();
         
-        counter = 0;
-        while (counter != 10) {
-            SubmissionsAdjustmentTaskQueueCallback.resetTaskCount();
-            studentsInfo = studentsLogic.enrollStudentsWithoutDocument(enrollLines, studentInTeam1.course);
-            
-            //Verify scheduling of adjustment of responses
-            if (SubmissionsAdjustmentTaskQueueCallback.verifyTaskCount(
-                    fsLogic.getFeedbackSessionsForCourse(studentInTeam1.course).size())) {
-                break;
-            }
-            counter++;
-        }
-        if (counter == 10) {
-            assertEquals(SubmissionsAdjustmentTaskQueueCallback.taskCount,
-                        fsLogic.getFeedbackSessionsForCourse(studentInTeam1.course).size());
+        SubmissionsAdjustmentTaskQueueCallback.resetTaskCount();
+        studentsInfo = studentsLogic.enrollStudentsWithoutDocument(enrollLines, studentInTeam1.course);
+        
+        //Verify scheduling of one adjustment of responses for all the sessions of the course
+        if (!SubmissionsAdjustmentTaskQueueCallback.verifyTaskCount(1)) {
+            assertEquals(SubmissionsAdjustmentTaskQueueCallback.taskCount, 1);
         }
        
         
@@ -275,6 +257,37 @@ public class SubmissionsAdjustmentTest extends BaseComponentUsingTaskQueueTestCa
         int numberOfNewResponses =
                 getAllResponsesForStudentForSession(student, session.getFeedbackSessionName()).size();
         assertEquals(0, numberOfNewResponses);
+        
+        ______TS("whole course, resumed from checkpoints");
+        StudentAttributes student2 = dataBundle.students.get("student2InCourse1");
+        student = studentsLogic.getStudentForEmail(student2.course, student2.email);
+        assertFalse(getAllTeamResponsesForStudent(student).isEmpty());
+        
+        newTeam = student.team + " (new)";
+        enrollDetails = new StudentEnrollDetails(UpdateStatus.MODIFIED, student.course, student.email,
+                                                 student.team, newTeam, null, student.section);
+        student.team = newTeam;
+        studentsLogic.updateStudentCascadeWithSubmissionAdjustmentScheduled(student.email, student, false);
+        
+        // adjust one response per run, and stop after each run as the deadline has passed
+        SubmissionAdjustmentJob adjustmentJob =
+                new SubmissionAdjustmentJob(student.course, Arrays.asList(enrollDetails), 1);
+        int numberOfRuns = 0;
+        String checkpoint = null;
+        do {
+            checkpoint = adjustmentJob.run(null, checkpoint, 0);
+            numberOfRuns++;
+        } while (checkpoint != null);
+        
+        assertTrue(numberOfRuns > 1);
+        assertTrue(getAllTeamResponsesForStudent(student).isEmpty());
+        
+        ______TS("enrollments without team or section changes need no adjustment");
+        enrollDetails = new StudentEnrollDetails(UpdateStatus.MODIFIED, student.course, student.email,
+                                                 null, newTeam, null, student.section);
+        adjustmentJob = new SubmissionAdjustmentJob(student.course, Arrays.asList(enrollDetails));
+        assertTrue(adjustmentJob.isEmpty());
+        assertNull(adjustmentJob.run(null, null, 0));
     }
 
     private List<FeedbackResponseAttributes> getAllTeamResponsesForStudent(StudentAttributes student) {
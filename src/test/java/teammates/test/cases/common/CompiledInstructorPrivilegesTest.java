@@ -0,0 +1,216 @@
+package teammates.test.cases.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.InstructorPrivileges;
+import teammates.common.util.Const;
+import teammates.test.cases.BaseTestCase;
+
+/**
+ * Checks the lookups of {@link InstructorPrivileges}, which go through its compiled form, against
+ * lookups made directly on its maps for every privilege, section and session of many configurations.
+ */
+public class CompiledInstructorPrivilegesTest extends BaseTestCase {
+
+    private static final List<String> PRIVILEGE_NAMES = Arrays.asList(
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_COURSE,
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_INSTRUCTOR,
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_SESSION,
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_STUDENT,
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_STUDENT_IN_SECTIONS,
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_COMMENT_IN_SECTIONS,
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_GIVE_COMMENT_IN_SECTIONS,
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_COMMENT_IN_SECTIONS,
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS,
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_SUBMIT_SESSION_IN_SECTIONS,
+            Const.ParamsNames.INSTRUCTOR_PERMISSION_MODIFY_SESSION_COMMENT_IN_SECTIONS);
+
+    private static final List<String> ROLES = Arrays.asList(
+            Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_COOWNER,
+            Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_MANAGER,
+            Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_OBSERVER,
+            Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_TUTOR,
+            Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_CUSTOM);
+
+    private static final List<String> SECTIONS = Arrays.asList("Section 1", "Section 2", "Section 3");
+    private static final List<String> SESSIONS = Arrays.asList("Session 1", "Session 2", "Session 3");
+
+    @BeforeClass
+    public static void setupClass() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testDefaultPrivileges() {
+
+        ______TS("no privileges");
+
+        assertSameAsMapLookups(new InstructorPrivileges());
+
+        ______TS("default privileges of each role");
+
+        for (String role : ROLES) {
+            assertSameAsMapLookups(new InstructorPrivileges(role));
+        }
+    }
+
+    @Test
+    public void testSpecialSettings() {
+
+        ______TS("sections and sessions with special settings");
+
+        InstructorPrivileges privileges =
+                new InstructorPrivileges(Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_TUTOR);
+        privileges.addSectionWithDefaultPrivileges("Section 1");
+        privileges.updatePrivilege("Section 1", Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_STUDENT_IN_SECTIONS,
+                                   false);
+        privileges.updatePrivilege("Section 2", "Session 1",
+                                   Const.ParamsNames.INSTRUCTOR_PERMISSION_SUBMIT_SESSION_IN_SECTIONS, false);
+        assertSameAsMapLookups(privileges);
+        assertFalse(privileges.isAllowedForPrivilege("Section 1",
+                Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_STUDENT_IN_SECTIONS));
+        assertTrue(privileges.isAllowedForPrivilege("Section 1", "Session 1",
+                Const.ParamsNames.INSTRUCTOR_PERMISSION_SUBMIT_SESSION_IN_SECTIONS));
+        assertFalse(privileges.isAllowedForPrivilege("Section 2", "Session 1",
+                Const.ParamsNames.INSTRUCTOR_PERMISSION_SUBMIT_SESSION_IN_SECTIONS));
+
+        ______TS("changes after a lookup are seen by the next lookup");
+
+        privileges.updatePrivilege("Section 1", "Session 1",
+                                   Const.ParamsNames.INSTRUCTOR_PERMISSION_SUBMIT_SESSION_IN_SECTIONS, false);
+        assertFalse(privileges.isAllowedForPrivilegeAnySection("Session 1",
+                Const.ParamsNames.INSTRUCTOR_PERMISSION_SUBMIT_SESSION_IN_SECTIONS));
+        assertSameAsMapLookups(privileges);
+
+        privileges.removeSessionPrivileges("Section 1", "Session 1");
+        assertTrue(privileges.isAllowedForPrivilegeAnySection("Session 1",
+                Const.ParamsNames.INSTRUCTOR_PERMISSION_SUBMIT_SESSION_IN_SECTIONS));
+        assertSameAsMapLookups(privileges);
+
+        privileges.removeSectionLevelPrivileges("Section 1");
+        assertTrue(privileges.isAllowedForPrivilege("Section 1",
+                Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_STUDENT_IN_SECTIONS));
+        assertSameAsMapLookups(privileges);
+    }
+
+    @Test
+    public void testRandomSettings() {
+
+        ______TS("random changes to random roles, checked after every change");
+
+        Random random = new Random(20161018L);
+        for (int i = 0; i < 200; i++) {
+            InstructorPrivileges privileges = new InstructorPrivileges(ROLES.get(random.nextInt(ROLES.size())));
+            for (int j = 0; j < 10; j++) {
+                applyRandomChange(privileges, random);
+                assertSameAsMapLookups(privileges);
+            }
+            privileges.validatePrivileges();
+            assertSameAsMapLookups(privileges);
+        }
+    }
+
+    private static void applyRandomChange(InstructorPrivileges privileges, Random random) {
+        String privilegeName = PRIVILEGE_NAMES.get(random.nextInt(PRIVILEGE_NAMES.size()));
+        String sectionName = SECTIONS.get(random.nextInt(SECTIONS.size()));
+        String sessionName = SESSIONS.get(random.nextInt(SESSIONS.size()));
+        boolean isAllowed = random.nextBoolean();
+        switch (random.nextInt(8)) {
+        case 0:
+            privileges.updatePrivilege(privilegeName, isAllowed);
+            break;
+        case 1:
+            privileges.updatePrivilege(sectionName, privilegeName, isAllowed);
+            break;
+        case 2:
+        case 3:
+            privileges.updatePrivilege(sectionName, sessionName, privilegeName, isAllowed);
+            break;
+        case 4:
+            privileges.addSectionWithDefaultPrivileges(sectionName);
+            break;
+        case 5:
+            privileges.addSessionWithDefaultPrivileges(sectionName, sessionName);
+            break;
+        case 6:
+            privileges.removeSessionPrivileges(sectionName, sessionName);
+            break;
+        default:
+            privileges.removeSectionLevelPrivileges(sectionName);
+            break;
+        }
+    }
+
+    private static void assertSameAsMapLookups(InstructorPrivileges privileges) {
+        List<String> sectionNames = new ArrayList<String>(SECTIONS);
+        sectionNames.add("Section without settings");
+        List<String> sessionNames = new ArrayList<String>(SESSIONS);
+        sessionNames.add("Session without settings");
+
+        for (String privilegeName : PRIVILEGE_NAMES) {
+            assertEquals(isAllowedInCourse(privileges, privilegeName),
+                         privileges.isAllowedForPrivilege(privilegeName));
+            for (String sectionName : sectionNames) {
+                assertEquals(isAllowedInSection(privileges, sectionName, privilegeName),
+                             privileges.isAllowedForPrivilege(sectionName, privilegeName));
+                for (String sessionName : sessionNames) {
+                    assertEquals(isAllowedInSession(privileges, sectionName, sessionName, privilegeName),
+                                 privileges.isAllowedForPrivilege(sectionName, sessionName, privilegeName));
+                }
+            }
+            for (String sessionName : sessionNames) {
+                assertEquals(isAllowedInAnySection(privileges, sessionName, privilegeName),
+                             privileges.isAllowedForPrivilegeAnySection(sessionName, privilegeName));
+            }
+        }
+    }
+
+    private static boolean isAllowedInCourse(InstructorPrivileges privileges, String privilegeName) {
+        return isAllowed(privileges.getCourseLevelPrivileges(), privilegeName);
+    }
+
+    private static boolean isAllowedInSection(InstructorPrivileges privileges, String sectionName,
+                                              String privilegeName) {
+        HashMap<String, Boolean> sectionPrivileges = privileges.getSectionLevelPrivileges().get(sectionName);
+        return sectionPrivileges == null
+               ? isAllowedInCourse(privileges, privilegeName)
+               : isAllowed(sectionPrivileges, privilegeName);
+    }
+
+    private static boolean isAllowedInSession(InstructorPrivileges privileges, String sectionName,
+                                              String sessionName, String privilegeName) {
+        HashMap<String, HashMap<String, Boolean>> sessionsPrivileges =
+                privileges.getSessionLevelPrivileges().get(sectionName);
+        if (sessionsPrivileges == null || !sessionsPrivileges.containsKey(sessionName)) {
+            return isAllowedInSection(privileges, sectionName, privilegeName);
+        }
+        return isAllowed(sessionsPrivileges.get(sessionName), privilegeName);
+    }
+
+    private static boolean isAllowedInAnySection(InstructorPrivileges privileges, String sessionName,
+                                                 String privilegeName) {
+        Set<String> sectionNames = new HashSet<String>(privileges.getSessionLevelPrivileges().keySet());
+        sectionNames.addAll(privileges.getSectionLevelPrivileges().keySet());
+        for (String sectionName : sectionNames) {
+            if (isAllowedInSession(privileges, sectionName, sessionName, privilegeName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAllowed(Map<String, Boolean> privileges, String privilegeName) {
+        return privileges.containsKey(privilegeName) && privileges.get(privilegeName);
+    }
+
+}
@@ -73,6 +73,24 @@ public class CourseRosterTest extends BaseTestCase {
         assertEquals(roster.getInstructorForEmail("ins2@email.com").email, "ins2@email.com");
         assertEquals(roster.getInstructorForEmail("ins2@email.com").name, "Jean");
         
+        ______TS("team and section indexes");
+        
+        assertEquals(2, roster.getStudentsInTeam("team 1").size());
+        assertEquals("s3@gmail.com", roster.getStudentsInTeam("team 2").get(0).email);
+        assertTrue(roster.getStudentsInTeam("non-existent team").isEmpty());
+        assertEquals(1, roster.getTeamsBySection().size());
+        assertEquals(2, roster.getTeamsInSection("section 1").size());
+        assertTrue(roster.getTeamsInSection("non-existent section").isEmpty());
+        
+        ______TS("roster is not modifiable");
+        
+        try {
+            roster.getStudents().add(new StudentAttributes());
+            signalFailureToDetectException("Roster should not be modifiable");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        
     }
 
     private List<StudentAttributes> createStudentList(String... studentData) {
@@ -81,6 +99,7 @@ public class CourseRosterTest extends BaseTestCase {
             StudentAttributes student = new StudentAttributes();
             student.team = studentData[i];
             student.email = studentData[i + 1];
+            student.section = "section 1";
             students.add(student);
         }
         return students;
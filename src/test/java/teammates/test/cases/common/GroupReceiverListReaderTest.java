@@ -0,0 +1,78 @@
+package teammates.test.cases.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.util.GroupReceiverListReader;
+import teammates.test.cases.BaseTestCase;
+
+public class GroupReceiverListReaderTest extends BaseTestCase {
+
+    @BeforeClass
+    public static void setupClass() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testRead() throws IOException {
+
+        ______TS("typical case: addresses separated by comma");
+
+        byte[] file = "alice@email.tmt,bob@email.tmt,charlie@email.tmt".getBytes("UTF8");
+        GroupReceiverListReader reader = openReader(file, 0);
+        assertEquals(0, reader.getOffset());
+        assertEquals("alice@email.tmt", reader.next());
+        assertEquals(16, reader.getOffset());
+        assertEquals(Arrays.asList("bob@email.tmt", "charlie@email.tmt"), readAll(reader));
+        assertEquals(file.length, reader.getOffset());
+
+        ______TS("resume from the offset of an earlier reader");
+
+        reader = openReader(file, 0);
+        reader.next();
+        reader.next();
+        // reading ahead does not move the offset
+        assertTrue(reader.hasNext());
+        long offset = reader.getOffset();
+        reader.close();
+        assertEquals(Arrays.asList("charlie@email.tmt"), readAll(openReader(file, offset)));
+
+        ______TS("empty addresses are skipped");
+
+        file = ",alice@email.tmt,,bob@email.tmt,".getBytes("UTF8");
+        assertEquals(Arrays.asList("alice@email.tmt", "bob@email.tmt"), readAll(openReader(file, 0)));
+        assertTrue(readAll(openReader(new byte[0], 0)).isEmpty());
+
+        ______TS("no more addresses");
+
+        reader = openReader(file, file.length);
+        assertFalse(reader.hasNext());
+        try {
+            reader.next();
+            signalFailureToDetectException();
+        } catch (NoSuchElementException e) {
+            ignoreExpectedException();
+        }
+    }
+
+    private GroupReceiverListReader openReader(byte[] file, long offset) {
+        return new GroupReceiverListReader(
+                new ByteArrayInputStream(file, (int) offset, file.length - (int) offset), offset);
+    }
+
+    private List<String> readAll(GroupReceiverListReader reader) throws IOException {
+        List<String> addresses = new ArrayList<String>();
+        while (reader.hasNext()) {
+            addresses.add(reader.next());
+        }
+        return addresses;
+    }
+
+}
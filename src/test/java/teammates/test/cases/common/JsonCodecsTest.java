@@ -0,0 +1,124 @@
+package teammates.test.cases.common;
+
+import java.text.DateFormat;
+
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.FeedbackConstantSumResponseDetails;
+import teammates.common.datatransfer.FeedbackContributionResponseDetails;
+import teammates.common.datatransfer.FeedbackMcqResponseDetails;
+import teammates.common.datatransfer.FeedbackMsqResponseDetails;
+import teammates.common.datatransfer.FeedbackNumericalScaleResponseDetails;
+import teammates.common.datatransfer.FeedbackQuestionType;
+import teammates.common.datatransfer.FeedbackRankOptionsResponseDetails;
+import teammates.common.datatransfer.FeedbackRankRecipientsResponseDetails;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackRubricResponseDetails;
+import teammates.common.datatransfer.FeedbackTextResponseDetails;
+import teammates.common.datatransfer.InstructorPrivileges;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.JsonCodecs;
+import teammates.common.util.Utils;
+import teammates.test.cases.BaseTestCase;
+
+import com.google.appengine.api.datastore.Text;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * SUT: {@link JsonCodecs}. The hand-written type adapters must give the same JSON
+ * as Gson's reflective adapters, which wrote the JSON already stored in the datastore.
+ */
+public class JsonCodecsTest extends BaseTestCase {
+
+    private static final Gson REFLECTIVE_GSON = new Gson();
+
+    private static final Gson REFLECTIVE_TEAMMATES_GSON = new GsonBuilder()
+            .setDateFormat(DateFormat.FULL)
+            .setDateFormat(Const.SystemParams.DEFAULT_DATE_TIME_FORMAT)
+            .setPrettyPrinting()
+            .create();
+
+    @Test
+    public void testSharedInstances() {
+        assertTrue(Utils.getTeammatesGson() == Utils.getTeammatesGson());
+        assertTrue(JsonCodecs.getCompactGson() == JsonCodecs.getCompactGson());
+    }
+
+    @Test
+    public void testStudentAttributes() {
+        ______TS("all fields set");
+        StudentAttributes student = new StudentAttributes("google.id", "student@email.com", "Student \"Name\"",
+                                                          "<b>comments</b>", "course.id", "Team 1", "Section 1");
+        student.key = "abcdef";
+        student.updateStatus = StudentAttributes.UpdateStatus.MODIFIED;
+        verifySameJson(student, StudentAttributes.class);
+
+        ______TS("null fields");
+        verifySameJson(new StudentAttributes(), StudentAttributes.class);
+    }
+
+    @Test
+    public void testFeedbackResponseAttributes() {
+        FeedbackResponseAttributes response = new FeedbackResponseAttributes(
+                "session name", "course.id", "question.id", FeedbackQuestionType.MCQ,
+                "giver@email.com", "Section 1", "recipient@email.com", "Section 2",
+                new Text("{\"answer\":\"A\",\"isOther\":false,\"otherFieldContent\":\"\",\"questionType\":\"MCQ\"}"));
+        response.setId("question.id%giver@email.com%recipient@email.com");
+        verifySameJson(response, FeedbackResponseAttributes.class);
+
+        ______TS("missing response");
+        response.responseMetaData = null;
+        verifySameJson(response, FeedbackResponseAttributes.class);
+    }
+
+    @Test
+    public void testInstructorPrivileges() {
+        InstructorPrivileges privileges =
+                new InstructorPrivileges(Const.InstructorPermissionRoleNames.INSTRUCTOR_PERMISSION_ROLE_CUSTOM);
+        privileges.updatePrivilege("Section 1", Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_STUDENT_IN_SECTIONS, true);
+        privileges.updatePrivilege("Section 1", "Session 1",
+                                   Const.ParamsNames.INSTRUCTOR_PERMISSION_VIEW_SESSION_IN_SECTIONS, false);
+        verifySameJson(privileges, InstructorPrivileges.class);
+
+        verifySameJson(new InstructorPrivileges(), InstructorPrivileges.class);
+    }
+
+    @Test
+    public void testResponseDetails() {
+        verifySameJson("{\"answer\":\"some text\",\"questionType\":\"TEXT\"}", FeedbackTextResponseDetails.class);
+        verifySameJson("{\"answer\":\"Other\",\"isOther\":true,\"otherFieldContent\":\"my <option>\","
+                       + "\"questionType\":\"MCQ\"}", FeedbackMcqResponseDetails.class);
+        verifySameJson("{\"answers\":[\"A\",\"B\"],\"isOther\":false,\"otherFieldContent\":\"\","
+                       + "\"questionType\":\"MSQ\"}", FeedbackMsqResponseDetails.class);
+        verifySameJson("{\"answer\":3.5,\"questionType\":\"NUMSCALE\"}", FeedbackNumericalScaleResponseDetails.class);
+        verifySameJson("{\"answers\":[30,70],\"questionType\":\"CONSTSUM\"}", FeedbackConstantSumResponseDetails.class);
+        verifySameJson("{\"answer\":110,\"questionType\":\"CONTRIB\"}", FeedbackContributionResponseDetails.class);
+        verifySameJson("{\"answers\":[2,1,3],\"questionType\":\"RANK_OPTIONS\"}",
+                       FeedbackRankOptionsResponseDetails.class);
+        verifySameJson("{\"answer\":2,\"questionType\":\"RANK_RECIPIENTS\"}", FeedbackRankRecipientsResponseDetails.class);
+        verifySameJson("{\"answer\":[0,1,-1],\"questionType\":\"RUBRIC\"}", FeedbackRubricResponseDetails.class);
+
+        ______TS("unknown and missing fields");
+        FeedbackMcqResponseDetails details = JsonCodecs.getCompactGson().fromJson(
+                "{\"answer\":\"A\",\"unknown\":{\"a\":[1,2]}}", FeedbackMcqResponseDetails.class);
+        assertEquals(REFLECTIVE_GSON.toJson(REFLECTIVE_GSON.fromJson(
+                             "{\"answer\":\"A\",\"unknown\":{\"a\":[1,2]}}", FeedbackMcqResponseDetails.class)),
+                     JsonCodecs.getCompactGson().toJson(details));
+    }
+
+    private void verifySameJson(String json, Class<?> type) {
+        verifySameJson(REFLECTIVE_GSON.fromJson(json, type), type);
+    }
+
+    private void verifySameJson(Object value, Class<?> type) {
+        String expectedJson = REFLECTIVE_GSON.toJson(value, type);
+        assertEquals(expectedJson, JsonCodecs.getCompactGson().toJson(value, type));
+        assertEquals(REFLECTIVE_TEAMMATES_GSON.toJson(value, type), Utils.getTeammatesGson().toJson(value, type));
+
+        Object parsedValue = JsonCodecs.getCompactGson().fromJson(expectedJson, type);
+        assertEquals(expectedJson, REFLECTIVE_GSON.toJson(parsedValue, type));
+    }
+
+}
@@ -0,0 +1,115 @@
+package teammates.test.cases.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.FeedbackParticipantType;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.ParticipantIndex;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.test.cases.BaseTestCase;
+
+public class ParticipantIndexTest extends BaseTestCase {
+
+    @Test
+    public void testNamesAndTeams() {
+        CourseRoster roster = new CourseRoster(createStudentList(), createInstructorList());
+        ParticipantIndex index = roster.getParticipantIndex();
+
+        ______TS("students and instructors");
+
+        assertTrue(index.isStudent("s1@gmail.tmt"));
+        assertFalse(index.isStudent("ins1@email.tmt"));
+        assertEquals("Team 1", index.getTeam("s1@gmail.tmt"));
+        assertEquals("Section 1", index.getSection("s1@gmail.tmt"));
+        assertEquals(Const.USER_TEAM_FOR_INSTRUCTOR, index.getTeam("ins1@email.tmt"));
+        assertEquals(Const.DEFAULT_SECTION, index.getSection("ins1@email.tmt"));
+
+        assertEquals(Arrays.asList("Student One", "One", "Team 1"),
+                     Arrays.asList(index.getNameTeamNamePair(FeedbackParticipantType.STUDENTS, "s1@gmail.tmt")));
+        assertEquals(Arrays.asList("Team 1", "Team 1", ""),
+                     Arrays.asList(index.getNameTeamNamePair(FeedbackParticipantType.TEAMS, "s1@gmail.tmt")));
+        assertEquals(Arrays.asList("John", "John", Const.USER_TEAM_FOR_INSTRUCTOR),
+                     Arrays.asList(index.getNameTeamNamePair(FeedbackParticipantType.INSTRUCTORS, "ins1@email.tmt")));
+
+        ______TS("identifiers not in the course");
+
+        assertEquals(-1, index.getPosition("non-existent@gmail.tmt"));
+        assertNull(index.getTeam("non-existent@gmail.tmt"));
+        assertEquals(Arrays.asList("Team 2", "Team 2", ""),
+                     Arrays.asList(index.getNameTeamNamePair(FeedbackParticipantType.TEAMS, "Team 2")));
+        assertEquals(Arrays.asList(Const.USER_IS_NOBODY, Const.USER_IS_NOBODY, ""),
+                     Arrays.asList(index.getNameTeamNamePair(FeedbackParticipantType.NONE, Const.GENERAL_QUESTION)));
+        assertEquals(Arrays.asList(Const.USER_IS_MISSING, Const.USER_IS_MISSING, ""),
+                     Arrays.asList(index.getNameTeamNamePair(FeedbackParticipantType.STUDENTS,
+                                                             "non-existent@gmail.tmt")));
+
+        ______TS("team and section tables");
+
+        assertEquals(3, index.getTeamNameMembersTable().size());
+        assertEquals(2, index.getTeamNameMembersTable().get("Team 1").size());
+        assertEquals(2, index.getTeamNameMembersTable().get(Const.USER_TEAM_FOR_INSTRUCTOR).size());
+        assertEquals(1, index.getSectionTeamNameTable().size());
+        assertEquals(2, index.getSectionTeamNameTable().get("Section 1").size());
+
+        try {
+            index.getTeamNameMembersTable().get("Team 1").add("new@gmail.tmt");
+            signalFailureToDetectException("Shared team table should not be modifiable");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testCaching() {
+        CourseRoster roster = new CourseRoster(createStudentList(), createInstructorList(), 1);
+        ParticipantIndex index = roster.getParticipantIndex();
+
+        ______TS("same roster read again: index is reused");
+
+        assertTrue(index == roster.getParticipantIndex());
+
+        ______TS("roster changed: the new version of the roster has its own index");
+
+        List<StudentAttributes> students = createStudentList();
+        students.get(0).team = "Team 3";
+        CourseRoster changedRoster = new CourseRoster(students, createInstructorList(), 2);
+
+        ParticipantIndex changedIndex = changedRoster.getParticipantIndex();
+        assertFalse(index == changedIndex);
+        assertEquals("Team 3", changedIndex.getTeam("s1@gmail.tmt"));
+        assertEquals("Team 1", index.getTeam("s1@gmail.tmt"));
+    }
+
+    private List<StudentAttributes> createStudentList() {
+        List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+        students.add(createStudent("s1@gmail.tmt", "Student One", "One", "Team 1"));
+        students.add(createStudent("s2@gmail.tmt", "Student Two", "Two", "Team 1"));
+        students.add(createStudent("s3@gmail.tmt", "Student Three", "Three", "Team 2"));
+        return students;
+    }
+
+    private StudentAttributes createStudent(String email, String name, String lastName, String team) {
+        StudentAttributes student = new StudentAttributes();
+        student.email = email;
+        student.name = name;
+        student.lastName = lastName;
+        student.team = team;
+        student.section = "Section 1";
+        return student;
+    }
+
+    private List<InstructorAttributes> createInstructorList() {
+        @SuppressWarnings("deprecation")
+        InstructorAttributes instructor1 = new InstructorAttributes("googleId1", "courseId", "John", "ins1@email.tmt");
+        @SuppressWarnings("deprecation")
+        InstructorAttributes instructor2 = new InstructorAttributes("googleId2", "courseId", "Jean", "ins2@email.tmt");
+        return new ArrayList<InstructorAttributes>(Arrays.asList(instructor1, instructor2));
+    }
+
+}
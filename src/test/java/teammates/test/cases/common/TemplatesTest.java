@@ -0,0 +1,107 @@
+package teammates.test.cases.common;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.util.Templates;
+import teammates.common.util.Templates.EmailTemplates;
+import teammates.common.util.Templates.FeedbackQuestion.FormTemplates;
+import teammates.common.util.Templates.FeedbackQuestion.Slots;
+import teammates.test.cases.BaseTestCase;
+
+public class TemplatesTest extends BaseTestCase {
+
+    @BeforeClass
+    public static void setupClass() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testPopulateTemplate() {
+
+        ______TS("typical case: same as replacing the values one after another");
+
+        verifyPopulateTemplate(EmailTemplates.USER_FEEDBACK_SESSION_CLOSING,
+                "${userName}", "Student Name",
+                "${courseName}", "Course Name",
+                "${courseId}", "course.id",
+                "${feedbackSessionName}", "Session Name",
+                "${deadline}", "Sun, 30 Oct 2016, 11:59 PM",
+                "${instructorFragment}", "",
+                "${submitUrl}", "http://submit.url",
+                "${reportUrl}", "http://report.url",
+                "${supportEmail}", "support@email.tmt",
+                "${status}", "is closing soon");
+
+        ______TS("placeholders without values are left in the template");
+
+        String populatedTemplate = Templates.populateTemplate(EmailTemplates.USER_FEEDBACK_SESSION_CLOSING,
+                                                              "${userName}", "Student Name");
+        assertTrue(populatedTemplate.contains("Student Name"));
+        assertTrue(populatedTemplate.contains("${status}"));
+        assertFalse(populatedTemplate.contains("${userName}"));
+
+        ______TS("placeholders in a value are replaced by the values after it only");
+
+        verifyPopulateTemplate(EmailTemplates.USER_COURSE_JOIN,
+                "${userName}", "${supportEmail} ${joinUrl}",
+                "${joinFragment}", EmailTemplates.FRAGMENT_STUDENT_COURSE_JOIN + "${userName}",
+                "${courseName}", "Course ${joinUrl} Name",
+                "${joinUrl}", "http://join.url ${courseName}",
+                "${supportEmail}", "support@email.tmt");
+
+        ______TS("partial placeholders in a value");
+
+        verifyPopulateTemplate(FormTemplates.RUBRIC_SUBMISSION_FORM_BODY_FRAGMENT,
+                Slots.DESCRIPTION, "${des${row}} ${col ${} $}{ ${",
+                Slots.ROW, "1",
+                Slots.COL, "2",
+                "${}", "empty");
+
+        ______TS("repeated keys: the first value is used");
+
+        verifyPopulateTemplate(FormTemplates.RUBRIC_SUBMISSION_FORM_BODY_FRAGMENT,
+                Slots.ROW, "1",
+                Slots.COL, "${row}",
+                Slots.ROW, "3");
+
+        ______TS("values which form placeholders with the text next to them");
+
+        verifyPopulateTemplate(FormTemplates.RUBRIC_SUBMISSION_FORM_BODY_FRAGMENT,
+                Slots.ROW, "${",
+                Slots.COL, "}",
+                "${-}", "joined");
+
+        ______TS("keys which are not placeholders");
+
+        verifyPopulateTemplate(EmailTemplates.USER_FEEDBACK_SESSION_CLOSING,
+                "${userName}", "Student Name",
+                "TEAMMATES", "Teammates",
+                "${courseName}", "Course Name");
+        verifyPopulateTemplate(Templates.INSTRUCTOR_SAMPLE_DATA,
+                "teammates.demo.instructor@demo.course", "instructor@email.tmt",
+                "Demo_Instructor", "Instructor Name");
+
+        ______TS("templates which are not loaded from files");
+
+        verifyPopulateTemplate("Dear ${userName}, ${status}",
+                "${userName}", "Student Name",
+                "${status}", "${userName}");
+    }
+
+    @Test
+    public void testFormTemplatesSlots() {
+        // loading the form templates checks that all their placeholders are declared slots
+        assertTrue(FormTemplates.TEXT_SUBMISSION_FORM.contains(Slots.TEXT_RECOMMENDED_LENGTH));
+        assertTrue(FormTemplates.TEXT_EDIT_FORM.contains(Slots.TEXT_RECOMMENDED_LENGTH));
+    }
+
+    private void verifyPopulateTemplate(String template, String... values) {
+        String expected = template;
+        for (int i = 0; i < values.length; i += 2) {
+            expected = expected.replace(values[i], values[i + 1]);
+        }
+        assertEquals(expected, Templates.populateTemplate(template, values));
+    }
+
+}
@@ -23,6 +23,7 @@ import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Const;
 import teammates.logic.core.AccountsLogic;
 import teammates.logic.core.CoursesLogic;
+import teammates.logic.core.FeedbackSessionsLogic;
 import teammates.logic.core.InstructorsLogic;
 import teammates.logic.core.StudentsLogic;
 import teammates.storage.api.AccountsDb;
@@ -826,6 +827,21 @@ public class CoursesLogicTest extends BaseComponentTestCase {
                 .getCoursesDetailsListForInstructor("idOfInstructor3", false);
         assertEquals(2, courseListForInstructor.size());
         
+        ______TS("Batched details are the same as details read per course");
+        
+        int totalSessions = 0;
+        for (CourseDetailsBundle cdd : courseListForInstructor.values()) {
+            CourseDetailsBundle expected = coursesLogic.getCourseSummary(cdd.course.getId());
+            assertEquals(expected.stats.studentsTotal, cdd.stats.studentsTotal);
+            assertEquals(expected.stats.unregisteredTotal, cdd.stats.unregisteredTotal);
+            assertEquals(expected.stats.teamsTotal, cdd.stats.teamsTotal);
+            assertEquals(expected.stats.sectionsTotal, cdd.stats.sectionsTotal);
+            assertEquals(expected.sections.size(), cdd.sections.size());
+            totalSessions += cdd.feedbackSessions.size();
+        }
+        assertEquals(FeedbackSessionsLogic.inst().getFeedbackSessionDetailsForInstructor("idOfInstructor3").size(),
+                     totalSessions);
+        
         ______TS("Instructor has an archived course");
 
         InstructorsLogic.inst().setArchiveStatusOfInstructor("idOfInstructor4", "idOfCourseNoEvals", true);
@@ -1,6 +1,9 @@
 package teammates.test.cases.logic;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import javax.mail.Message;
 import javax.mail.internet.InternetAddress;
@@ -17,12 +20,17 @@ import com.mailjet.client.resource.Email;
 import com.sendgrid.SendGrid;
 import com.sun.jersey.multipart.FormDataMultiPart;
 
+import teammates.common.util.Const;
 import teammates.common.util.EmailWrapper;
+import teammates.common.util.TaskWrapper;
 import teammates.logic.core.EmailSender;
 import teammates.logic.core.JavamailService;
+import teammates.logic.core.LocalTaskQueueService;
 import teammates.logic.core.MailgunService;
 import teammates.logic.core.MailjetService;
 import teammates.logic.core.SendgridService;
+import teammates.logic.core.TaskQueueService;
+import teammates.logic.core.TaskQueuesLogic;
 import teammates.test.cases.BaseComponentTestCase;
 
 /**
@@ -64,6 +72,59 @@ public class EmailSenderTest extends BaseComponentTestCase {
         new EmailSender().sendEmails(new ArrayList<EmailWrapper>());
     }
     
+    @Test
+    public void testSendEmailsInBatches() {
+        TaskQueuesLogic taskQueuesLogic = TaskQueuesLogic.inst();
+        TaskQueueService originalService = taskQueuesLogic.getTaskQueueService();
+        LocalTaskQueueService localService = new LocalTaskQueueService();
+        taskQueuesLogic.setTaskQueueService(localService);
+        
+        try {
+            List<EmailWrapper> messages = new ArrayList<EmailWrapper>();
+            for (int i = 0; i < 250; i++) {
+                EmailWrapper message = getTypicalEmailWrapper();
+                message.setRecipient("recipient" + i + "@email.com");
+                messages.add(message);
+            }
+            new EmailSender().sendEmails(messages);
+            
+            List<TaskWrapper> tasks = localService.getTasks(Const.SystemParams.SEND_EMAIL_TASK_QUEUE);
+            assertEquals(250, tasks.size());
+            assertEquals(3, localService.getNumberOfBatches());
+            
+            // emails are spread out 5 seconds apart, in the order given
+            assertEquals(0, tasks.get(0).getCountdownMillis());
+            assertEquals(249 * 5000, tasks.get(249).getCountdownMillis());
+            assertEquals("recipient249@email.com", tasks.get(249).getParam(Const.ParamsNames.EMAIL_RECEIVER));
+            assertEquals(Const.ActionURIs.SEND_EMAIL_WORKER, tasks.get(249).getWorkerUrl());
+            
+            ______TS("rejected email: only its own task is lost, the rest of its batch is added one at a time");
+            
+            localService.clear();
+            localService.rejectTasksWithParamValue("recipient42@email.com");
+            new EmailSender().sendEmails(messages);
+            
+            tasks = localService.getTasks(Const.SystemParams.SEND_EMAIL_TASK_QUEUE);
+            assertEquals(249, tasks.size());
+            for (TaskWrapper task : tasks) {
+                assertFalse("recipient42@email.com".equals(task.getParam(Const.ParamsNames.EMAIL_RECEIVER)));
+            }
+            // two full batches, and the 99 other tasks of the rejected batch
+            assertEquals(2 + 99, localService.getNumberOfBatches());
+            
+            List<Map<String, String>> paramMaps = new ArrayList<Map<String, String>>();
+            for (int i = 0; i < 3; i++) {
+                paramMaps.add(Collections.singletonMap(Const.ParamsNames.EMAIL_RECEIVER, "recipient4" + i + "@email.com"));
+            }
+            List<Map<String, String>> failedParamMaps = taskQueuesLogic.createAndAddDeferredTasks(
+                    Const.SystemParams.SEND_EMAIL_TASK_QUEUE, Const.ActionURIs.SEND_EMAIL_WORKER, paramMaps, 0);
+            assertEquals(1, failedParamMaps.size());
+            assertEquals("recipient42@email.com", failedParamMaps.get(0).get(Const.ParamsNames.EMAIL_RECEIVER));
+        } finally {
+            taskQueuesLogic.setTaskQueueService(originalService);
+        }
+    }
+    
     @Test
     public void testConvertToMimeMessage() throws Exception {
         EmailWrapper wrapper = getTypicalEmailWrapper();
@@ -0,0 +1,101 @@
+package teammates.test.cases.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentAttributes.UpdateStatus;
+import teammates.common.datatransfer.StudentEnrollDetails;
+import teammates.logic.core.EnrollmentPlan;
+import teammates.test.cases.BaseTestCase;
+
+public class EnrollmentPlanTest extends BaseTestCase {
+
+    private static final String COURSE_ID = "course.id";
+
+    @BeforeClass
+    public static void setUp() {
+        printTestClassHeader();
+    }
+
+    @Test
+    public void testChangeSet() {
+        List<StudentAttributes> studentsInCourse = Arrays.asList(
+                newStudent("Section 1", "Team 1", "unchanged@email.tmt"),
+                newStudent("Section 1", "Team 1", "modified@email.tmt"),
+                newStudent("Section 1", "Team 2", "not.enrolled@email.tmt"),
+                newStudent("Section 2", "Team 3", "Case@email.tmt"));
+        List<StudentAttributes> studentsToEnroll = Arrays.asList(
+                newStudent("Section 2", "Team 3", "new@email.tmt"),
+                newStudent("Section 1", "Team 1", "unchanged@email.tmt"),
+                newStudent("Section 2", "Team 3", "modified@email.tmt"),
+                newStudent("Section 2", "Team 3", "case@email.tmt"));
+
+        EnrollmentPlan enrollmentPlan = new EnrollmentPlan(studentsToEnroll, studentsInCourse, 100);
+
+        ______TS("students to create and update");
+
+        assertEquals(Arrays.asList(studentsToEnroll.get(0), studentsToEnroll.get(3)),
+                     enrollmentPlan.getStudentsToCreate());
+        assertEquals(Arrays.asList(studentsToEnroll.get(2)), enrollmentPlan.getStudentsToUpdate());
+        assertEquals(studentsInCourse.get(1), enrollmentPlan.getOriginalStudent(studentsToEnroll.get(2)));
+        assertNull(enrollmentPlan.getOriginalStudent(studentsToEnroll.get(0)));
+
+        ______TS("enrollment details");
+
+        List<StudentEnrollDetails> enrollmentDetails = enrollmentPlan.getEnrollmentDetails();
+        assertEquals(4, enrollmentDetails.size());
+        assertEquals(UpdateStatus.NEW, enrollmentDetails.get(0).updateStatus);
+        assertEquals(UpdateStatus.UNMODIFIED, enrollmentDetails.get(1).updateStatus);
+        assertEquals(UpdateStatus.MODIFIED, enrollmentDetails.get(2).updateStatus);
+        assertEquals("Team 1", enrollmentDetails.get(2).oldTeam);
+        assertEquals("Section 1", enrollmentDetails.get(2).oldSection);
+        assertEquals("Team 3", enrollmentDetails.get(2).newTeam);
+        assertEquals(UpdateStatus.NEW, enrollmentDetails.get(3).updateStatus);
+
+        ______TS("merged list leaves out students in the enroll list, ignoring the case of emails");
+
+        List<StudentAttributes> mergedList = enrollmentPlan.getMergedList();
+        assertEquals(5, mergedList.size());
+        assertEquals(studentsInCourse.get(2), mergedList.get(4));
+
+        enrollmentPlan.setUpdateStatuses();
+        assertEquals(UpdateStatus.MODIFIED, studentsToEnroll.get(2).updateStatus);
+        assertEquals(UpdateStatus.NOT_IN_ENROLL_LIST, studentsInCourse.get(2).updateStatus);
+    }
+
+    @Test
+    public void testSectionAndTeamViolations() {
+        List<StudentAttributes> studentsInCourse = new ArrayList<StudentAttributes>();
+        for (int i = 0; i < 3; i++) {
+            studentsInCourse.add(newStudent("Section B", "Team " + i, "b" + i + "@email.tmt"));
+        }
+        studentsInCourse.add(newStudent("Section A", "Team Z", "z@email.tmt"));
+
+        ______TS("no violations");
+
+        EnrollmentPlan enrollmentPlan = new EnrollmentPlan(
+                Arrays.asList(newStudent("Section A", "Team Z", "b0@email.tmt")), studentsInCourse, 3);
+        assertTrue(enrollmentPlan.getSectionsOverSizeLimit().isEmpty());
+        assertTrue(enrollmentPlan.getTeamsInMultipleSections().isEmpty());
+
+        ______TS("sections over the limit and teams in several sections, sorted by name");
+
+        List<StudentAttributes> studentsToEnroll = Arrays.asList(
+                newStudent("Section B", "Team Z", "new1@email.tmt"),
+                newStudent("Section A", "Team 1", "new2@email.tmt"),
+                newStudent("Section A", "Team 1", "new3@email.tmt"));
+        enrollmentPlan = new EnrollmentPlan(studentsToEnroll, studentsInCourse, 3);
+        assertEquals(Arrays.asList("Section B"), enrollmentPlan.getSectionsOverSizeLimit());
+        assertEquals(Arrays.asList("Team 1", "Team Z"), enrollmentPlan.getTeamsInMultipleSections());
+    }
+
+    private static StudentAttributes newStudent(String section, String team, String email) {
+        return new StudentAttributes(section, team, "Name of " + email, email, "", COURSE_ID);
+    }
+
+}
@@ -0,0 +1,153 @@
+package teammates.test.cases.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackChoiceStatistics;
+import teammates.common.datatransfer.FeedbackMcqResponseDetails;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackQuestionType;
+import teammates.common.datatransfer.FeedbackResponseAttributes;
+import teammates.common.datatransfer.FeedbackRubricStatistics;
+import teammates.logic.core.FeedbackQuestionStatisticsLogic;
+import teammates.storage.datastore.EntityCache;
+import teammates.storage.entity.FeedbackResponse;
+import teammates.test.cases.BaseComponentTestCase;
+
+public class FeedbackQuestionStatisticsLogicTest extends BaseComponentTestCase {
+
+    private static final FeedbackQuestionStatisticsLogic statisticsLogic = FeedbackQuestionStatisticsLogic.inst();
+    private static DataBundle dataBundle;
+    private static boolean isSharedTierEnabled;
+
+    @BeforeClass
+    public static void setupClass() {
+        printTestClassHeader();
+        dataBundle = loadDataBundle("/FeedbackSessionQuestionTypeTest.json");
+        isSharedTierEnabled = EntityCache.isSharedTierEnabled(EntityCache.Kind.QUESTION_STATISTICS);
+    }
+
+    @AfterClass
+    public static void classTearDown() {
+        EntityCache.setSharedTierEnabled(EntityCache.Kind.QUESTION_STATISTICS, isSharedTierEnabled);
+        printTestClassFooter();
+    }
+
+    @AfterMethod
+    public void tearDownMethod() {
+        EntityCache.invalidateAll(EntityCache.Kind.QUESTION_STATISTICS);
+    }
+
+    @Test
+    public void testGetStatistics() {
+        FeedbackQuestionAttributes question = getQuestion("qn1InSession1InCourse1", "FQSLT.mcqQuestion");
+        List<FeedbackResponseAttributes> responses = getResponses("response1ForQ1S1C1", "response2ForQ1S1C1");
+
+        ______TS("MCQ: number of times each choice is chosen");
+
+        FeedbackChoiceStatistics statistics =
+                (FeedbackChoiceStatistics) statisticsLogic.getStatistics(question, question.getQuestionDetails(),
+                                                                         responses);
+        assertEquals(1, statistics.getAnswerFrequency().get("It's good").intValue());
+        assertEquals(1, statistics.getAnswerFrequency().get("It's perfect").intValue());
+        assertEquals(2, statistics.getNumChoicesSelected());
+
+        ______TS("same question and responses: statistics are computed once");
+
+        EntityCache.setSharedTierEnabled(EntityCache.Kind.QUESTION_STATISTICS, true);
+        statistics = (FeedbackChoiceStatistics) statisticsLogic.getStatistics(question, question.getQuestionDetails(),
+                                                                             responses);
+        assertSame(statistics, statisticsLogic.getStatistics(question, question.getQuestionDetails(),
+                                                             getResponses("response1ForQ1S1C1", "response2ForQ1S1C1")));
+
+        ______TS("changed answer with the same update time: statistics are computed again once discarded");
+
+        List<FeedbackResponseAttributes> changedResponses =
+                getResponses("response1ForQ1S1C1", "response2ForQ1S1C1");
+        FeedbackMcqResponseDetails changedAnswer = new FeedbackMcqResponseDetails();
+        changedAnswer.extractResponseDetails(FeedbackQuestionType.MCQ, question.getQuestionDetails(),
+                                             new String[] {"It's good"});
+        changedResponses.get(1).setResponseDetails(changedAnswer);
+
+        // answers are not part of the key; the statistics are discarded when a response is written as well
+        assertSame(statistics, statisticsLogic.getStatistics(question, question.getQuestionDetails(),
+                                                             changedResponses));
+        EntityCache.invalidateByPrefix(EntityCache.Kind.QUESTION_STATISTICS, question.getId() + "%");
+        FeedbackChoiceStatistics changedStatistics =
+                (FeedbackChoiceStatistics) statisticsLogic.getStatistics(question, question.getQuestionDetails(),
+                                                                         changedResponses);
+        assertNotSame(statistics, changedStatistics);
+        assertEquals(2, changedStatistics.getAnswerFrequency().get("It's good").intValue());
+        assertEquals(0, changedStatistics.getAnswerFrequency().get("It's perfect").intValue());
+
+        ______TS("changed answer with a new update time, e.g. written through another instance: computed again");
+
+        List<FeedbackResponseAttributes> resubmittedResponses =
+                getResponses("response1ForQ1S1C1", "response2ForQ1S1C1");
+        FeedbackResponse resubmittedEntity = resubmittedResponses.get(1).toEntity();
+        resubmittedEntity.setLastUpdate(new Date());
+        FeedbackResponseAttributes resubmittedResponse = new FeedbackResponseAttributes(resubmittedEntity);
+        resubmittedResponse.setId("response2ForQ1S1C1");
+        resubmittedResponses.set(1, resubmittedResponse);
+
+        assertNotSame(changedStatistics, statisticsLogic.getStatistics(question, question.getQuestionDetails(),
+                                                                       resubmittedResponses));
+
+        ______TS("changed giver: statistics are computed again");
+
+        List<FeedbackResponseAttributes> anonymisedResponses =
+                getResponses("response1ForQ1S1C1", "response2ForQ1S1C1");
+        anonymisedResponses.get(0).giver = "Anonymous student";
+        assertNotSame(changedStatistics, statisticsLogic.getStatistics(question, question.getQuestionDetails(),
+                                                                       anonymisedResponses));
+
+        ______TS("deleted response: statistics are computed again");
+
+        FeedbackChoiceStatistics remainingStatistics =
+                (FeedbackChoiceStatistics) statisticsLogic.getStatistics(question, question.getQuestionDetails(),
+                                                                         getResponses("response1ForQ1S1C1"));
+        assertNotSame(changedStatistics, remainingStatistics);
+        assertEquals(1, remainingStatistics.getNumChoicesSelected());
+
+        ______TS("rubric: frequency and percentage of each choice of each sub-question");
+
+        FeedbackQuestionAttributes rubricQuestion = getQuestion("qn1InSession6InCourse1", "FQSLT.rubricQuestion");
+        FeedbackRubricStatistics rubricStatistics =
+                (FeedbackRubricStatistics) statisticsLogic.getStatistics(
+                        rubricQuestion, rubricQuestion.getQuestionDetails(),
+                        getResponses("response1ForQ1S6C1", "response2ForQ1S6C1",
+                                     "response3ForQ1S6C1", "response4ForQ1S6C1"));
+        assertEquals(2, rubricStatistics.getResponseFrequency(0, 0));
+        assertEquals(1, rubricStatistics.getResponseFrequency(0, 1));
+        assertEquals(3, rubricStatistics.getResponseFrequency(1, 0));
+        assertEquals(1, rubricStatistics.getResponseFrequency(1, 1));
+        assertEquals(2 / 3.0, rubricStatistics.getPercentageFrequencyOrAverage(0, 0), 0.0001);
+        assertEquals(0.25, rubricStatistics.getPercentageFrequencyOrAverage(1, 1), 0.0001);
+    }
+
+    private FeedbackQuestionAttributes getQuestion(String questionKey, String questionId) {
+        FeedbackQuestionAttributes question = dataBundle.feedbackQuestions.get(questionKey);
+        question.setId(questionId);
+        return question;
+    }
+
+    private List<FeedbackResponseAttributes> getResponses(String... responseKeys) {
+        List<FeedbackResponseAttributes> responses = new ArrayList<FeedbackResponseAttributes>();
+        for (String responseKey : Arrays.asList(responseKeys)) {
+            FeedbackResponseAttributes response = new FeedbackResponseAttributes(
+                    dataBundle.feedbackResponses.get(responseKey));
+            response.setId(responseKey);
+            responses.add(response);
+        }
+        return responses;
+    }
+
+}
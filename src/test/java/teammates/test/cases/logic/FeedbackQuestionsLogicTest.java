@@ -9,16 +9,20 @@ import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import teammates.common.datatransfer.CourseRoster;
 import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.FeedbackParticipantType;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackQuestionDetails;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.StudentAttributes;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Const;
 import teammates.common.util.FieldValidator;
 import teammates.logic.core.AccountsLogic;
+import teammates.logic.core.CoursesLogic;
 import teammates.logic.core.FeedbackQuestionsLogic;
 import teammates.logic.core.FeedbackResponsesLogic;
 import teammates.test.cases.BaseComponentTestCase;
@@ -40,6 +44,7 @@ public class FeedbackQuestionsLogicTest extends BaseComponentTestCase {
     @Test
     public void allTests() throws Exception {
         testGetRecipientsForQuestion();
+        testGetRecipientsForQuestions();
         testGetFeedbackQuestionsForInstructor();
         testGetFeedbackQuestionsForStudents();
         testIsQuestionHasResponses();
@@ -122,6 +127,50 @@ public class FeedbackQuestionsLogicTest extends BaseComponentTestCase {
 
     }
     
+    public void testGetRecipientsForQuestions() throws Exception {
+        
+        ______TS("same recipients as resolving each question from the roster snapshot of the course");
+        
+        String courseId = typicalBundle.courses.get("typicalCourse1").getId();
+        CourseRoster roster = CoursesLogic.inst().getCourseRoster(courseId);
+        
+        for (FeedbackSessionAttributes session : typicalBundle.feedbackSessions.values()) {
+            if (!session.getCourseId().equals(courseId)) {
+                continue;
+            }
+            List<FeedbackQuestionAttributes> questions =
+                    fqLogic.getFeedbackQuestionsForSession(session.getFeedbackSessionName(), courseId);
+            
+            List<FeedbackQuestionAttributes> studentQuestions = fqLogic.getFeedbackQuestionsForStudents(questions);
+            for (StudentAttributes student : roster.getStudents()) {
+                verifyRecipientsForQuestions(studentQuestions, student.email, null, student, roster);
+            }
+            
+            List<FeedbackQuestionAttributes> instructorQuestions = new ArrayList<FeedbackQuestionAttributes>();
+            for (FeedbackQuestionAttributes question : questions) {
+                if (question.giverType == FeedbackParticipantType.INSTRUCTORS
+                        || question.giverType == FeedbackParticipantType.SELF) {
+                    instructorQuestions.add(question);
+                }
+            }
+            for (InstructorAttributes instructor : roster.getInstructors()) {
+                verifyRecipientsForQuestions(instructorQuestions, instructor.email, instructor, null, roster);
+            }
+        }
+    }
+    
+    private void verifyRecipientsForQuestions(List<FeedbackQuestionAttributes> questions, String giver,
+            InstructorAttributes instructorGiver, StudentAttributes studentGiver, CourseRoster roster)
+            throws EntityDoesNotExistException {
+        Map<String, Map<String, String>> recipientsByQuestion =
+                fqLogic.getRecipientsForQuestions(questions, giver, instructorGiver, studentGiver, roster);
+        assertEquals(questions.size(), recipientsByQuestion.size());
+        for (FeedbackQuestionAttributes question : questions) {
+            assertEquals(fqLogic.getRecipientsForQuestion(question, giver, instructorGiver, studentGiver),
+                         recipientsByQuestion.get(question.getId()));
+        }
+    }
+    
     public void testUpdateQuestionNumber() throws Exception {
         ______TS("shift question up");
         List<FeedbackQuestionAttributes> expectedList = new ArrayList<FeedbackQuestionAttributes>();
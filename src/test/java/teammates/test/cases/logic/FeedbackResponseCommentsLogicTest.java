@@ -1,6 +1,7 @@
 package teammates.test.cases.logic;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.testng.annotations.BeforeClass;
@@ -11,15 +12,25 @@ import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.FeedbackQuestionAttributes;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackResponseCommentAttributes;
+import teammates.common.datatransfer.FeedbackResponseCommentSearchResultBundle;
+import teammates.common.datatransfer.InstructorAttributes;
 import teammates.common.exception.EntityDoesNotExistException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.logic.core.FeedbackQuestionsLogic;
 import teammates.logic.core.FeedbackResponseCommentsLogic;
 import teammates.logic.core.FeedbackResponsesLogic;
+import teammates.storage.api.FeedbackResponsesDb;
+import teammates.storage.search.FeedbackResponseCommentSearchDocument;
 import teammates.test.cases.BaseComponentTestCase;
 import teammates.test.driver.AssertHelper;
 
 import com.google.appengine.api.datastore.Text;
+import com.google.appengine.api.search.Document;
+import com.google.appengine.api.search.Field;
+import com.google.appengine.api.search.OperationResult;
+import com.google.appengine.api.search.Results;
+import com.google.appengine.api.search.ScoredDocument;
+import com.google.appengine.api.search.StatusCode;
 
 public class FeedbackResponseCommentsLogicTest extends BaseComponentTestCase {
 
@@ -302,6 +313,63 @@ public class FeedbackResponseCommentsLogicTest extends BaseComponentTestCase {
         assertEquals(0, frcList.size());
     }
     
+    @Test
+    public void testSearchResultBundleWithStaleDocuments() throws Exception {
+        List<InstructorAttributes> instructors = Arrays.asList(dataBundle.instructors.get("instructor1OfCourse1"));
+        FeedbackResponseCommentAttributes frComment = new FeedbackResponseCommentAttributes();
+        restoreFrCommentFromDataBundle(frComment, "comment1FromT1C1ToR1Q1S1C1");
+        FeedbackResponseCommentAttributes anotherFrComment = new FeedbackResponseCommentAttributes();
+        restoreFrCommentFromDataBundle(anotherFrComment, "comment1FromT1C1ToR1Q2S1C1");
+        
+        List<ScoredDocument> documents = new ArrayList<ScoredDocument>();
+        documents.add(getScoredDocument(frComment));
+        documents.add(getScoredDocument(anotherFrComment));
+        
+        ______TS("all documents match existing comments");
+        
+        FeedbackResponseCommentSearchResultBundle bundle =
+                new FeedbackResponseCommentSearchResultBundle().fromResults(getResults(documents), instructors);
+        assertEquals(2, bundle.getResultSize());
+        assertEquals(1, bundle.comments.get(frComment.feedbackResponseId).size());
+        assertEquals(1, bundle.comments.get(anotherFrComment.feedbackResponseId).size());
+        
+        ______TS("documents of deleted comments are dropped");
+        
+        frcLogic.deleteFeedbackResponseComment(anotherFrComment);
+        
+        bundle = new FeedbackResponseCommentSearchResultBundle().fromResults(getResults(documents), instructors);
+        assertEquals(1, bundle.getResultSize());
+        assertEquals(frComment.getId(), bundle.comments.get(frComment.feedbackResponseId).get(0).getId());
+        assertNull(bundle.comments.get(anotherFrComment.feedbackResponseId));
+        
+        ______TS("documents of comments on deleted responses are dropped");
+        
+        // the comment itself is left in place, so only the missing response can make the document stale
+        new FeedbackResponsesDb().deleteEntity(frLogic.getFeedbackResponse(frComment.feedbackResponseId));
+        assertNotNull(frcLogic.getFeedbackResponseComment(frComment.getId()));
+        
+        bundle = new FeedbackResponseCommentSearchResultBundle().fromResults(getResults(documents), instructors);
+        assertEquals(0, bundle.getResultSize());
+        assertTrue(bundle.comments.isEmpty());
+    }
+    
+    private static ScoredDocument getScoredDocument(FeedbackResponseCommentAttributes comment) {
+        Document document = new FeedbackResponseCommentSearchDocument(comment).build();
+        ScoredDocument.Builder builder = ScoredDocument.newBuilder();
+        builder.setId(document.getId());
+        for (Field field : document.getFields()) {
+            builder.addField(field);
+        }
+        return builder.build();
+    }
+    
+    private static Results<ScoredDocument> getResults(List<ScoredDocument> documents) {
+        return new Results<ScoredDocument>(new OperationResult(StatusCode.OK, null), documents,
+                                           documents.size(), documents.size(), null) {
+            private static final long serialVersionUID = 1L;
+        };
+    }
+    
     private void verifyExceptionThrownFromCreateFrComment(
             FeedbackResponseCommentAttributes frComment, String expectedMessage)
             throws InvalidParametersException {
@@ -1,6 +1,7 @@
 package teammates.test.cases.logic;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.testng.annotations.AfterClass;
@@ -357,6 +358,7 @@ public class FeedbackResponsesLogicTest extends BaseComponentTestCase {
 
     private int getResponseRate(String sessionName, String courseId) {
         FeedbackSessionAttributes sessionFromDataStore = fsLogic.getFeedbackSession(sessionName, courseId);
+        fsLogic.addRespondentsTo(Collections.singletonList(sessionFromDataStore));
         return sessionFromDataStore.getRespondingInstructorList().size()
                 + sessionFromDataStore.getRespondingStudentList().size();
     }
@@ -1,12 +1,15 @@
 package teammates.test.cases.logic;
 
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
 import org.testng.annotations.AfterClass;
@@ -23,6 +26,7 @@ import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackSessionAttributes;
 import teammates.common.datatransfer.FeedbackSessionDetailsBundle;
 import teammates.common.datatransfer.FeedbackSessionQuestionsBundle;
+import teammates.common.datatransfer.FeedbackSessionResponseSummaryAttributes;
 import teammates.common.datatransfer.FeedbackSessionResultsBundle;
 import teammates.common.datatransfer.FeedbackSessionStats;
 import teammates.common.datatransfer.FeedbackSessionType;
@@ -46,6 +50,7 @@ import teammates.logic.core.CoursesLogic;
 import teammates.logic.core.FeedbackQuestionsLogic;
 import teammates.logic.core.FeedbackResponsesLogic;
 import teammates.logic.core.FeedbackSessionsLogic;
+import teammates.logic.core.StudentsLogic;
 import teammates.test.cases.BaseComponentTestCase;
 import teammates.test.driver.AssertHelper;
 
@@ -55,6 +60,7 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
     private static FeedbackSessionsLogic fsLogic = FeedbackSessionsLogic.inst();
     private static FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
     private static FeedbackResponsesLogic frLogic = FeedbackResponsesLogic.inst();
+    private static StudentsLogic studentsLogic = StudentsLogic.inst();
     private DataBundle dataBundle = loadDataBundle("/FeedbackSessionsLogicTest.json");
 
     @BeforeClass
@@ -89,6 +95,8 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
         testIsFeedbackSessionCompletedByStudent();
         testIsFeedbackSessionCompletedByInstructor();
         testIsFeedbackSessionFullyCompletedByStudent();
+        testGetStudentsYetToFullyCompleteFeedbackSession();
+        testResponseSummary();
                 
         testSendReminderForFeedbackSession();
         testSendReminderForFeedbackSessionParticularUsers();
@@ -1061,6 +1069,38 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
         assertEquals(7, results.visibilityTable.size());
         // TODO: test student2 too.
         
+        /*** Test result bundle for instructor1 within a section, by page ***/
+        
+        Set<String> responseIdsInSection = new HashSet<String>();
+        for (FeedbackResponseAttributes response : results.responses) {
+            responseIdsInSection.add(response.getId());
+        }
+        
+        Set<String> pagedResponseIds = new HashSet<String>();
+        Set<String> giversOnPreviousPages = new HashSet<String>();
+        int numberOfPages = 0;
+        String cursor = null;
+        do {
+            results = fsLogic.getFeedbackSessionResultsForInstructorInSectionByPage(
+                    session.getFeedbackSessionName(), session.getCourseId(), instructor.email, "Section A",
+                    cursor, 3, Const.FeedbackSessionResults.GRQ_SORT_TYPE);
+            assertTrue(results.isComplete);
+            Set<String> giversOnPage = new HashSet<String>();
+            for (FeedbackResponseAttributes response : results.responses) {
+                assertTrue(pagedResponseIds.add(response.getId()));
+                giversOnPage.add(response.giver);
+            }
+            for (String giver : giversOnPage) {
+                // a giver's responses are never split across pages
+                assertTrue(giversOnPreviousPages.add(giver));
+            }
+            cursor = results.nextCursor;
+            numberOfPages++;
+        } while (cursor != null);
+        
+        assertTrue(numberOfPages > 1);
+        assertEquals(responseIdsInSection, pagedResponseIds);
+        
         ______TS("private session");
 
         session = responseBundle.feedbackSessions.get("private.session");
@@ -1770,6 +1810,54 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
         
         assertFalse(export.contains("Summary Statistics"));
         
+        ______TS("streamed export gives the same content");
+        
+        session = dataBundle.feedbackSessions.get("session1InCourse1");
+        instructor = dataBundle.instructors.get("instructor1OfCourse1");
+        
+        StringWriter writer = new StringWriter();
+        fsLogic.writeFeedbackSessionResultsSummaryInSectionAsCsv(
+                session.getFeedbackSessionName(), session.getCourseId(), instructor.email, null, null, true, true, writer);
+        assertEquals(fsLogic.getFeedbackSessionResultsSummaryAsCsv(
+                             session.getFeedbackSessionName(), session.getCourseId(), instructor.email, null, true, true),
+                     writer.toString());
+        
+        writer = new StringWriter();
+        fsLogic.writeFeedbackSessionResultsSummaryInSectionAsCsv(
+                session.getFeedbackSessionName(), session.getCourseId(), instructor.email, "Section 1",
+                "rate", false, false, writer);
+        assertEquals(fsLogic.getFeedbackSessionResultsSummaryInSectionAsCsv(
+                             session.getFeedbackSessionName(), session.getCourseId(), instructor.email, "Section 1",
+                             "rate", false, false),
+                     writer.toString());
+        
+        ______TS("streamed export of a section includes responses to other sections");
+        
+        StudentAttributes student1InSection1 = dataBundle.students.get("student1InCourse1");
+        StudentAttributes student5InSection2 = dataBundle.students.get("student5InCourse1");
+        FeedbackQuestionAttributes question = fqLogic.getFeedbackQuestion(
+                session.getFeedbackSessionName(), session.getCourseId(), 2);
+        FeedbackResponseAttributes crossSectionResponse =
+                new FeedbackResponseAttributes(session.getFeedbackSessionName(), session.getCourseId(),
+                                               question.getId(), question.questionType,
+                                               student1InSection1.email, student1InSection1.section,
+                                               student5InSection2.email, student5InSection2.section,
+                                               new Text("Response to another section"));
+        frLogic.createFeedbackResponse(crossSectionResponse);
+        
+        writer = new StringWriter();
+        fsLogic.writeFeedbackSessionResultsSummaryInSectionAsCsv(
+                session.getFeedbackSessionName(), session.getCourseId(), instructor.email, "Section 1",
+                null, false, false, writer);
+        AssertHelper.assertContains("Response to another section", writer.toString());
+        assertEquals(fsLogic.getFeedbackSessionResultsSummaryInSectionAsCsv(
+                             session.getFeedbackSessionName(), session.getCourseId(), instructor.email, "Section 1",
+                             null, false, false),
+                     writer.toString());
+        
+        frLogic.deleteFeedbackResponseAndCascade(
+                frLogic.getFeedbackResponse(question.getId(), student1InSection1.email, student5InSection2.email));
+        
         ______TS("Non-existent Course/Session");
         
         try {
@@ -1780,6 +1868,16 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
                          + "no course" + "/" + "non.existent",
                          e.getMessage());
         }
+        
+        try {
+            fsLogic.writeFeedbackSessionResultsSummaryInSectionAsCsv(
+                    "non.existent", "no course", instructor.email, null, null, true, true, new StringWriter());
+            signalFailureToDetectException("Failed to detect non-existent feedback session.");
+        } catch (EntityDoesNotExistException e) {
+            assertEquals("Trying to view a non-existent feedback session: "
+                         + "no course" + "/" + "non.existent",
+                         e.getMessage());
+        }
     }
     
     private String getStudentAnonEmail(DataBundle dataBundle, String studentKey) {
@@ -2027,6 +2125,118 @@ public class FeedbackSessionsLogicTest extends BaseComponentTestCase {
                                                                      student3OfCourse1.email));
     }
     
+    public void testGetStudentsYetToFullyCompleteFeedbackSession() throws Exception {
+        
+        ______TS("same students as checking each student of the course");
+        
+        for (FeedbackSessionAttributes fs : dataBundle.feedbackSessions.values()) {
+            if (fsLogic.getFeedbackSession(fs.getFeedbackSessionName(), fs.getCourseId()) == null) {
+                continue;
+            }
+            List<String> expectedEmails = new ArrayList<String>();
+            for (StudentAttributes student : studentsLogic.getStudentsForCourse(fs.getCourseId())) {
+                if (!fsLogic.isFeedbackSessionFullyCompletedByStudent(fs.getFeedbackSessionName(), fs.getCourseId(),
+                                                                      student.email)) {
+                    expectedEmails.add(student.email);
+                }
+            }
+            List<String> actualEmails = new ArrayList<String>();
+            for (StudentAttributes student : fsLogic.getStudentsYetToFullyCompleteFeedbackSession(fs)) {
+                actualEmails.add(student.email);
+            }
+            AssertHelper.assertSameContentIgnoreOrder(expectedEmails, actualEmails);
+        }
+        
+        ______TS("partially done by student 3, fully done by student 1");
+        
+        FeedbackSessionAttributes fs = dataBundle.feedbackSessions.get("session1InCourse1");
+        List<String> emails = new ArrayList<String>();
+        for (StudentAttributes student : fsLogic.getStudentsYetToFullyCompleteFeedbackSession(fs)) {
+            emails.add(student.email);
+        }
+        assertTrue(emails.contains(dataBundle.students.get("student3InCourse1").email));
+        assertFalse(emails.contains(dataBundle.students.get("student1InCourse1").email));
+    }
+    
+    public void testResponseSummary() throws Exception {
+        
+        FeedbackSessionAttributes fs = dataBundle.feedbackSessions.get("session1InCourse1");
+        String fsName = fs.getFeedbackSessionName();
+        String courseId = fs.getCourseId();
+        StudentAttributes student1OfCourse1 = dataBundle.students.get("student1InCourse1");
+        StudentAttributes student4OfCourse1 = dataBundle.students.get("student4InCourse1");
+        
+        ______TS("summary not built: response rate is computed from the roster");
+        
+        fsLogic.invalidateResponseSummary(fsName, courseId);
+        assertNull(fsLogic.getResponseSummary(fsName, courseId));
+        int expectedTotal = fsLogic.getFeedbackSessionDetails(fs).stats.expectedTotal;
+        
+        ______TS("repaired summary: same response rate, counts match the responses");
+        
+        fsLogic.repairResponseSummary(fsName, courseId);
+        FeedbackSessionResponseSummaryAttributes summary = fsLogic.getResponseSummary(fsName, courseId);
+        assertEquals(expectedTotal, summary.getExpectedRespondentCount());
+        assertEquals(expectedTotal, fsLogic.getFeedbackSessionDetails(fs).stats.expectedTotal);
+        
+        List<FeedbackResponseAttributes> responses = frLogic.getFeedbackResponsesForSession(fsName, courseId);
+        assertEquals(responses.size(), summary.getResponseCount());
+        int student1ResponseCount = 0;
+        for (FeedbackResponseAttributes response : responses) {
+            if (response.giver.equals(student1OfCourse1.email)) {
+                student1ResponseCount++;
+            }
+        }
+        assertEquals(student1ResponseCount, summary.getResponseCountFromGiver(student1OfCourse1.email));
+        assertEquals(0, summary.getResponseCountFromGiver(student4OfCourse1.email));
+        assertTrue(summary.getMissingRespondents().contains(student4OfCourse1.email));
+        assertFalse(summary.getMissingRespondents().contains(student1OfCourse1.email));
+        
+        ______TS("completion is read from the summary for students without responses");
+        
+        assertTrue(fsLogic.isFeedbackSessionFullyCompletedByStudent(fsName, courseId, student1OfCourse1.email));
+        assertFalse(fsLogic.isFeedbackSessionFullyCompletedByStudent(fsName, courseId, student4OfCourse1.email));
+        
+        ______TS("creating and deleting responses updates the counts");
+        
+        FeedbackQuestionAttributes question = fqLogic.getFeedbackQuestion(fsName, courseId, 1);
+        FeedbackResponseAttributes responseToAdd =
+                new FeedbackResponseAttributes(fsName, courseId, question.getId(), question.questionType,
+                                               student4OfCourse1.email, student4OfCourse1.section,
+                                               student4OfCourse1.email, student4OfCourse1.section,
+                                               new Text("Response to self"));
+        frLogic.createFeedbackResponse(responseToAdd);
+        
+        summary = fsLogic.getResponseSummary(fsName, courseId);
+        assertEquals(responses.size() + 1, summary.getResponseCount());
+        assertEquals(1, summary.getResponseCountFromGiver(student4OfCourse1.email));
+        assertFalse(summary.getMissingRespondents().contains(student4OfCourse1.email));
+        
+        ______TS("repair counts each response once: count changes recorded before the repair are discarded");
+        
+        fsLogic.repairResponseSummary(fsName, courseId);
+        summary = fsLogic.getResponseSummary(fsName, courseId);
+        assertEquals(responses.size() + 1, summary.getResponseCount());
+        assertEquals(1, summary.getResponseCountFromGiver(student4OfCourse1.email));
+        
+        frLogic.deleteFeedbackResponseAndCascade(
+                frLogic.getFeedbackResponse(question.getId(), student4OfCourse1.email, student4OfCourse1.email));
+        
+        summary = fsLogic.getResponseSummary(fsName, courseId);
+        assertEquals(responses.size(), summary.getResponseCount());
+        assertEquals(0, summary.getResponseCountFromGiver(student4OfCourse1.email));
+        
+        ______TS("changing the questions invalidates the summary");
+        
+        FeedbackQuestionAttributes newQuestion = getQuestionFromDatastore("qn1InSession1InCourse1");
+        newQuestion.questionNumber = -1;
+        newQuestion.setId(null);
+        fqLogic.createFeedbackQuestion(newQuestion);
+        assertNull(fsLogic.getResponseSummary(fsName, courseId));
+        fqLogic.deleteFeedbackQuestionCascade(fqLogic.getFeedbackQuestion(fsName, courseId, newQuestion.questionNumber)
+                                                     .getId());
+    }
+    
     public void testScheduleFeedbackSessionOpeningEmails() {
         // this method is tested in FeedbackSessionEmailTaskQueueTest.java
     }
@@ -0,0 +1,137 @@
+package teammates.test.cases.logic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CourseDetailsBundle;
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.FeedbackQuestionAttributes;
+import teammates.common.datatransfer.FeedbackSessionAttributes;
+import teammates.common.datatransfer.FeedbackSessionDetailsBundle;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.datatransfer.StudentDashboardAttributes;
+import teammates.common.datatransfer.StudentDashboardAttributes.CourseEntry;
+import teammates.logic.core.CoursesLogic;
+import teammates.logic.core.FeedbackQuestionsLogic;
+import teammates.logic.core.FeedbackSessionsLogic;
+import teammates.logic.core.StudentDashboardsLogic;
+import teammates.storage.api.StudentDashboardsDb;
+import teammates.test.cases.BaseComponentTestCase;
+
+import com.google.appengine.api.datastore.Text;
+
+public class StudentDashboardsLogicTest extends BaseComponentTestCase {
+
+    private static final StudentDashboardsLogic studentDashboardsLogic = StudentDashboardsLogic.inst();
+    private static final CoursesLogic coursesLogic = CoursesLogic.inst();
+    private static final FeedbackQuestionsLogic fqLogic = FeedbackQuestionsLogic.inst();
+    private static final FeedbackSessionsLogic fsLogic = FeedbackSessionsLogic.inst();
+    private static final StudentDashboardsDb studentDashboardsDb = new StudentDashboardsDb();
+    private static DataBundle dataBundle = getTypicalDataBundle();
+
+    @BeforeClass
+    public static void setupClass() throws Exception {
+        printTestClassHeader();
+        removeAndRestoreTypicalDataInDatastore();
+    }
+
+    @Test
+    public void testStudentDashboard() throws Exception {
+
+        StudentAttributes student = dataBundle.students.get("student1InCourse1");
+        FeedbackSessionAttributes session = dataBundle.feedbackSessions.get("session1InCourse1");
+        String fsName = session.getFeedbackSessionName();
+
+        ______TS("dashboard not built: null is returned");
+
+        studentDashboardsLogic.invalidateStudentDashboardsForCourse(student.course);
+        assertNull(studentDashboardsLogic.getStudentDashboard(student.googleId));
+
+        ______TS("student without courses: no dashboard");
+
+        studentDashboardsLogic.rebuildStudentDashboard("student.without.courses");
+        assertNull(studentDashboardsLogic.getStudentDashboard("student.without.courses"));
+
+        ______TS("rebuilt dashboard: same courses, sessions and submission statuses as the checks per session");
+
+        studentDashboardsLogic.rebuildStudentDashboard(student.googleId);
+        StudentDashboardAttributes dashboard = studentDashboardsLogic.getStudentDashboard(student.googleId);
+
+        List<CourseDetailsBundle> expectedCourses = coursesLogic.getCourseDetailsListForStudent(student.googleId);
+        List<CourseDetailsBundle> actualCourses = coursesLogic.getCourseDetailsListForStudent(dashboard);
+        assertEquals(getSessionIds(expectedCourses), getSessionIds(actualCourses));
+
+        for (CourseDetailsBundle course : expectedCourses) {
+            CourseEntry courseEntry = dashboard.getCourse(course.course.getId());
+            for (FeedbackSessionDetailsBundle fsb : course.feedbackSessions) {
+                assertEquals(fsLogic.isFeedbackSessionCompletedByStudent(fsb.feedbackSession, courseEntry.studentEmail),
+                             courseEntry.getSession(fsb.feedbackSession.getFeedbackSessionName()).hasSubmitted);
+            }
+        }
+
+        ______TS("submissions update the dashboard in place");
+
+        fsLogic.addStudentRespondant(student.email, fsName, student.course);
+        dashboard = studentDashboardsLogic.getStudentDashboard(student.googleId);
+        assertTrue(dashboard.getCourse(student.course).getSession(fsName).hasSubmitted);
+
+        fsLogic.deleteStudentFromRespondentList(student.email, fsName, student.course);
+        dashboard = studentDashboardsLogic.getStudentDashboard(student.googleId);
+        assertFalse(dashboard.getCourse(student.course).getSession(fsName).hasSubmitted);
+
+        ______TS("changing a question without changing who can see the session keeps the dashboard");
+
+        FeedbackQuestionAttributes question = fqLogic.getFeedbackQuestion(fsName, student.course, 1);
+        question.questionMetaData = new Text("New question text for dashboard");
+        fqLogic.updateFeedbackQuestion(question);
+        assertNotNull(studentDashboardsLogic.getStudentDashboard(student.googleId));
+
+        ______TS("creating a session without questions keeps the dashboards of students who cannot see it yet");
+
+        FeedbackSessionAttributes newSession = fsLogic.getFeedbackSession(fsName, student.course);
+        newSession.setFeedbackSessionName("New session for dashboard");
+        fsLogic.createFeedbackSession(newSession);
+        dashboard = studentDashboardsLogic.getStudentDashboard(student.googleId);
+        assertNull(dashboard.getCourse(student.course).getSession(newSession.getFeedbackSessionName()));
+
+        fsLogic.deleteFeedbackSessionCascade(newSession.getFeedbackSessionName(), student.course);
+
+        ______TS("dashboard written while it is rebuilt: the rebuilt dashboard is not written");
+
+        StudentDashboardAttributes rebuiltDashboard = studentDashboardsDb.getDashboard(student.googleId);
+        studentDashboardsDb.discardDashboard(student.googleId);
+        assertFalse(studentDashboardsDb.putDashboard(rebuiltDashboard));
+        assertNull(studentDashboardsLogic.getStudentDashboard(student.googleId));
+
+        studentDashboardsLogic.rebuildStudentDashboard(student.googleId);
+        assertNotNull(studentDashboardsLogic.getStudentDashboard(student.googleId));
+
+        ______TS("submission before the dashboard is built: the version is still increased");
+
+        String googleIdWithoutDashboard = "student.without.dashboard";
+        studentDashboardsDb.setSessionSubmitted(googleIdWithoutDashboard, student.course, fsName, true);
+        StudentDashboardAttributes discardedDashboard = studentDashboardsDb.getDashboard(googleIdWithoutDashboard);
+        assertTrue(discardedDashboard.isDiscarded);
+        assertEquals(1, discardedDashboard.version);
+
+        StudentDashboardAttributes dashboardBuiltBeforeSubmission = new StudentDashboardAttributes(googleIdWithoutDashboard);
+        assertFalse(studentDashboardsDb.putDashboard(dashboardBuiltBeforeSubmission));
+    }
+
+    private static List<String> getSessionIds(List<CourseDetailsBundle> courses) {
+        List<String> sessionIds = new ArrayList<String>();
+        for (CourseDetailsBundle course : courses) {
+            sessionIds.add(course.course.getId());
+            for (FeedbackSessionDetailsBundle fsb : course.feedbackSessions) {
+                sessionIds.add(course.course.getId() + "/" + fsb.feedbackSession.getFeedbackSessionName());
+            }
+        }
+        Collections.sort(sessionIds);
+        return sessionIds;
+    }
+
+}
@@ -1,6 +1,7 @@
 package teammates.test.cases.logic;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -36,6 +37,7 @@ import teammates.common.util.TimeHelper;
 import teammates.common.util.Utils;
 import teammates.logic.core.AccountsLogic;
 import teammates.logic.core.CoursesLogic;
+import teammates.logic.core.EnrollmentPlan;
 import teammates.logic.core.FeedbackQuestionsLogic;
 import teammates.logic.core.FeedbackResponsesLogic;
 import teammates.logic.core.FeedbackSessionsLogic;
@@ -1187,10 +1189,15 @@ public class StudentsLogicTest extends BaseComponentTestCase {
         }
     }
 
+    @SuppressWarnings("unchecked")
     private static StudentEnrollDetails enrollStudent(StudentAttributes student) throws Exception {
-        return (StudentEnrollDetails) invokeMethod(StudentsLogic.class, "enrollStudent",
-                                                   new Class<?>[] { StudentAttributes.class, Boolean.class },
-                                                   StudentsLogic.inst(), new Object[] { student, false });
+        EnrollmentPlan enrollmentPlan = new EnrollmentPlan(Arrays.asList(student),
+                                                           studentsLogic.getStudentsForCourse(student.course), 100);
+        List<StudentEnrollDetails> enrollmentList =
+                (List<StudentEnrollDetails>) invokeMethod(StudentsLogic.class, "persistEnrollment",
+                                                          new Class<?>[] { EnrollmentPlan.class, boolean.class },
+                                                          StudentsLogic.inst(), new Object[] { enrollmentPlan, false });
+        return enrollmentList.get(0);
     }
     
     @SuppressWarnings("unchecked")
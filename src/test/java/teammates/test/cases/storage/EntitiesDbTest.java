@@ -3,9 +3,13 @@ package teammates.test.cases.storage;
 import static teammates.common.util.FieldValidator.COURSE_ID_ERROR_MESSAGE;
 import static teammates.common.util.FieldValidator.REASON_INCORRECT_FORMAT;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.testng.annotations.Test;
 
 import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.EntityAttributes;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Const;
@@ -13,6 +17,7 @@ import teammates.common.util.FieldValidator;
 import teammates.storage.api.CoursesDb;
 import teammates.test.cases.BaseComponentTestCase;
 import teammates.test.driver.AssertHelper;
+import teammates.test.driver.DatastoreCallCounter;
 
 public class EntitiesDbTest extends BaseComponentTestCase {
 
@@ -68,4 +73,74 @@ public class EntitiesDbTest extends BaseComponentTestCase {
         }
     }
 
+    @Test
+    public void testCreateAndDeleteEntities() throws Exception {
+        //We are using CoursesDb to test the batched lookups of EntitiesDb here.
+        CoursesDb coursesDb = new CoursesDb();
+        
+        CourseAttributes existingCourse = new CourseAttributes("EDT.tCADE.existing", "Existing Course");
+        coursesDb.createEntity(existingCourse);
+        
+        // more courses than fit into a single IN filter, to span multiple batches
+        List<CourseAttributes> courses = new ArrayList<CourseAttributes>();
+        courses.add(existingCourse);
+        for (int i = 0; i < 40; i++) {
+            courses.add(new CourseAttributes("EDT.tCADE.new" + i, "New Course " + i));
+        }
+        
+        ______TS("success: only new entities are created, existing ones are returned");
+        List<EntityAttributes> coursesToUpdate = coursesDb.createEntities(courses);
+        assertEquals(1, coursesToUpdate.size());
+        assertEquals(existingCourse.getId(), ((CourseAttributes) coursesToUpdate.get(0)).getId());
+        for (CourseAttributes course : courses) {
+            verifyPresentInDatastore(course);
+        }
+        
+        ______TS("success: all entities are deleted, including non-existent ones");
+        courses.add(new CourseAttributes("EDT.tCADE.nonExistent", "Non-existent Course"));
+        coursesDb.deleteEntities(courses);
+        for (CourseAttributes course : courses) {
+            verifyAbsentInDatastore(course);
+        }
+        
+        ______TS("fails: invalid entity in the batch");
+        List<CourseAttributes> invalidCourses = new ArrayList<CourseAttributes>();
+        invalidCourses.add(new CourseAttributes("EDT.tCADE.valid", "Valid Course"));
+        invalidCourses.add(new CourseAttributes("invalid id spaces", "Invalid Course"));
+        try {
+            coursesDb.createEntities(invalidCourses);
+            signalFailureToDetectException();
+        } catch (InvalidParametersException e) {
+            AssertHelper.assertContains(invalidCourses.get(1).getId(), e.getMessage());
+        }
+        verifyAbsentInDatastore(invalidCourses.get(0));
+    }
+    
+    @Test
+    public void testLookupOfNonExistentEntities() throws Exception {
+        //We are using CoursesDb to test the batched lookups of EntitiesDb here.
+        CoursesDb coursesDb = new CoursesDb();
+        
+        List<CourseAttributes> courses = new ArrayList<CourseAttributes>();
+        for (int i = 0; i < 40; i++) {
+            courses.add(new CourseAttributes("EDT.tLONEE.nonExistent" + i, "Non-existent Course " + i));
+        }
+        
+        ______TS("success: non-existent entities are looked up with a single batch get");
+        DatastoreCallCounter datastoreCalls = DatastoreCallCounter.start();
+        try {
+            coursesDb.deleteEntities(courses);
+            assertEquals(1, datastoreCalls.getCallCount("Get"));
+        } finally {
+            datastoreCalls.stop();
+        }
+        
+        ______TS("success: existing entities are still found among non-existent ones");
+        CourseAttributes existingCourse = new CourseAttributes("EDT.tLONEE.existing", "Existing Course");
+        coursesDb.createEntity(existingCourse);
+        courses.add(existingCourse);
+        coursesDb.deleteEntities(courses);
+        verifyAbsentInDatastore(existingCourse);
+    }
+
 }
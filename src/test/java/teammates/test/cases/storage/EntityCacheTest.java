@@ -0,0 +1,165 @@
+package teammates.test.cases.storage;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.CourseAttributes;
+import teammates.common.datatransfer.CourseRoster;
+import teammates.common.datatransfer.InstructorAttributes;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.storage.api.CourseRosterSnapshots;
+import teammates.storage.api.CoursesDb;
+import teammates.storage.api.InstructorsDb;
+import teammates.storage.api.StudentsDb;
+import teammates.storage.datastore.EntityCache;
+import teammates.test.cases.BaseComponentTestCase;
+
+public class EntityCacheTest extends BaseComponentTestCase {
+
+    private CoursesDb coursesDb = new CoursesDb();
+    private StudentsDb studentsDb = new StudentsDb();
+    private InstructorsDb instructorsDb = new InstructorsDb();
+
+    @BeforeClass
+    public static void setupClass() {
+        printTestClassHeader();
+    }
+
+    @AfterMethod
+    public void tearDownMethod() {
+        EntityCache.endRequestScope();
+        EntityCache.setSharedTierEnabled(EntityCache.Kind.COURSE, false);
+        EntityCache.setRequestScopeEnabled(EntityCache.Kind.COURSE, true);
+        EntityCache.setRequestScopeEnabled(EntityCache.Kind.COURSE_ROSTER, true);
+    }
+
+    @Test
+    public void testRequestScope() throws Exception {
+        CourseAttributes course = new CourseAttributes("ECT.tRS.course", "Entity Cache Course");
+        coursesDb.createEntity(course);
+
+        ______TS("no request scope: nothing is cached");
+
+        EntityCache.resetCounters();
+        coursesDb.getCourse(course.getId());
+        coursesDb.getCourse(course.getId());
+        assertEquals(0, EntityCache.getRequestScopeHitCount(EntityCache.Kind.COURSE));
+        assertEquals(0, EntityCache.getMissCount(EntityCache.Kind.COURSE));
+
+        ______TS("request scope: second read is served from the cache");
+
+        EntityCache.beginRequestScope();
+        EntityCache.resetCounters();
+        coursesDb.getCourse(course.getId());
+        CourseAttributes cachedCourse = coursesDb.getCourse(course.getId());
+        assertEquals(1, EntityCache.getRequestScopeHitCount(EntityCache.Kind.COURSE));
+        assertEquals(1, EntityCache.getMissCount(EntityCache.Kind.COURSE));
+        assertEquals(course.getName(), cachedCourse.getName());
+
+        ______TS("returned copies do not affect the cached copy");
+
+        cachedCourse.isArchived = true;
+        assertFalse(coursesDb.getCourse(course.getId()).isArchived);
+
+        ______TS("update invalidates the cached copy");
+
+        coursesDb.updateCourse(new CourseAttributes(course.getId(), "New Course Name"));
+        assertEquals("New Course Name", coursesDb.getCourse(course.getId()).getName());
+
+        ______TS("delete invalidates the cached copy");
+
+        coursesDb.deleteCourse(course.getId());
+        assertNull(coursesDb.getCourse(course.getId()));
+
+        ______TS("kind switched off: nothing is cached");
+
+        coursesDb.createEntity(course);
+        EntityCache.setRequestScopeEnabled(EntityCache.Kind.COURSE, false);
+        EntityCache.resetCounters();
+        coursesDb.getCourse(course.getId());
+        coursesDb.getCourse(course.getId());
+        assertEquals(0, EntityCache.getRequestScopeHitCount(EntityCache.Kind.COURSE));
+
+        ______TS("end of request discards the cached copies");
+
+        EntityCache.setRequestScopeEnabled(EntityCache.Kind.COURSE, true);
+        coursesDb.getCourse(course.getId());
+        EntityCache.endRequestScope();
+        assertNull(EntityCache.get(EntityCache.Kind.COURSE, course.getId()));
+
+        coursesDb.deleteCourse(course.getId());
+    }
+
+    @Test
+    public void testSharedTier() throws Exception {
+        CourseAttributes course = new CourseAttributes("ECT.tST.course", "Entity Cache Course");
+        coursesDb.createEntity(course);
+        EntityCache.setSharedTierEnabled(EntityCache.Kind.COURSE, true);
+
+        ______TS("shared tier outlives the request scope");
+
+        EntityCache.beginRequestScope();
+        coursesDb.getCourse(course.getId());
+        EntityCache.endRequestScope();
+
+        EntityCache.resetCounters();
+        EntityCache.beginRequestScope();
+        coursesDb.getCourse(course.getId());
+        coursesDb.getCourse(course.getId());
+        assertEquals(1, EntityCache.getSharedTierHitCount(EntityCache.Kind.COURSE));
+        assertEquals(1, EntityCache.getRequestScopeHitCount(EntityCache.Kind.COURSE));
+        assertEquals(0, EntityCache.getMissCount(EntityCache.Kind.COURSE));
+        EntityCache.endRequestScope();
+
+        ______TS("delete invalidates the shared tier");
+
+        coursesDb.deleteCourse(course.getId());
+        assertNull(coursesDb.getCourse(course.getId()));
+    }
+
+    @SuppressWarnings("deprecation")
+    @Test
+    public void testCourseRosterSnapshots() throws Exception {
+        String courseId = "ECT.tCRS.course";
+        StudentAttributes student = new StudentAttributes("Section 1", "Team 1", "Student One",
+                                                          "s1@gmail.tmt", "", courseId);
+        studentsDb.createEntity(student);
+        EntityCache.setRequestScopeEnabled(EntityCache.Kind.COURSE_ROSTER, true);
+        EntityCache.beginRequestScope();
+
+        ______TS("second read is served from the cache");
+
+        CourseRoster roster = CourseRosterSnapshots.getCourseRoster(courseId);
+        assertTrue(roster == CourseRosterSnapshots.getCourseRoster(courseId));
+        assertEquals(1, roster.getStudents().size());
+        assertEquals(0, roster.getInstructors().size());
+
+        ______TS("student update: roster is rebuilt");
+
+        studentsDb.updateStudentWithoutSearchability(courseId, student.email, student.name, "Team 2",
+                                                     student.section, student.email, student.googleId,
+                                                     student.comments);
+        CourseRoster updatedRoster = CourseRosterSnapshots.getCourseRoster(courseId);
+        assertFalse(roster == updatedRoster);
+        assertTrue(updatedRoster.getVersion() > roster.getVersion());
+        assertTrue(updatedRoster.isStudentInTeam(student.email, "Team 2"));
+
+        ______TS("instructor created: roster is rebuilt");
+
+        InstructorAttributes instructor = new InstructorAttributes("ECT.tCRS.instr", courseId, "Instructor",
+                                                                   "ins1@email.tmt");
+        instructorsDb.createEntity(instructor);
+        assertTrue(CourseRosterSnapshots.getCourseRoster(courseId).isInstructorOfCourse(instructor.email));
+
+        ______TS("students of course deleted: roster is rebuilt");
+
+        studentsDb.deleteStudentsForCourseWithoutDocument(courseId);
+        assertTrue(CourseRosterSnapshots.getCourseRoster(courseId).getStudents().isEmpty());
+
+        instructorsDb.deleteInstructorsForCourse(courseId);
+        assertTrue(CourseRosterSnapshots.getCourseRoster(courseId).getInstructors().isEmpty());
+    }
+
+
+}
@@ -1,6 +1,9 @@
 package teammates.test.cases.storage;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -12,6 +15,7 @@ import teammates.common.datatransfer.DataBundle;
 import teammates.common.datatransfer.FeedbackQuestionType;
 import teammates.common.datatransfer.FeedbackResponseAttributes;
 import teammates.common.datatransfer.FeedbackResponseDetails;
+import teammates.common.datatransfer.FeedbackResponsesPage;
 import teammates.common.datatransfer.FeedbackTextResponseDetails;
 import teammates.common.exception.EntityAlreadyExistsException;
 import teammates.common.exception.EntityDoesNotExistException;
@@ -19,20 +23,24 @@ import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Const;
 import teammates.common.util.FieldValidator;
 import teammates.storage.api.FeedbackResponsesDb;
+import teammates.storage.datastore.EntityCache;
 import teammates.test.cases.BaseComponentTestCase;
 import teammates.test.driver.AssertHelper;
+import teammates.test.driver.DatastoreCallCounter;
 
 public class FeedbackResponsesDbTest extends BaseComponentTestCase {
     
     private static final FeedbackResponsesDb frDb = new FeedbackResponsesDb();
     private static DataBundle dataBundle = getTypicalDataBundle();
     private static HashMap<String, FeedbackResponseAttributes> fras;
+    private static boolean isStatisticsSharedTierEnabled;
     
     @BeforeClass
     public void classSetUp() throws Exception {
         printTestClassHeader();
         addResponsesToDb();
         fras = dataBundle.feedbackResponses;
+        isStatisticsSharedTierEnabled = EntityCache.isSharedTierEnabled(EntityCache.Kind.QUESTION_STATISTICS);
     }
     
     private static void addResponsesToDb() throws Exception {
@@ -268,6 +276,49 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
         assertTrue(frDb.getFeedbackResponsesForQuestionInSection("non-existent fq id", "Section 1").isEmpty());
     }
     
+    @Test
+    public void testGetFeedbackResponsesForQuestionFromOrToSection() throws Exception {
+        
+        ______TS("standard success case");
+        
+        String questionId = fras.get("response1ForQ1S1C1").feedbackQuestionId;
+        
+        List<FeedbackResponseAttributes> responses =
+                frDb.getFeedbackResponsesForQuestionFromOrToSection(questionId, "Section 1");
+        
+        assertEquals(3, responses.size());
+        
+        ______TS("responses to or from another section are included");
+        
+        FeedbackResponseAttributes crossSectionResponse = getResponseAttributes("response1ForQ1S1C1");
+        crossSectionResponse.recipient = "other.section.recipient@email.tmt";
+        crossSectionResponse.recipientSection = "Section 2";
+        frDb.createEntity(crossSectionResponse);
+        
+        assertEquals(4, frDb.getFeedbackResponsesForQuestionFromOrToSection(questionId, "Section 1").size());
+        assertEquals(1, frDb.getFeedbackResponsesForQuestionFromOrToSection(questionId, "Section 2").size());
+        assertEquals(3, frDb.getFeedbackResponsesForQuestionInSection(questionId, "Section 1").size());
+        
+        frDb.deleteEntity(frDb.getFeedbackResponse(questionId, crossSectionResponse.giver,
+                                                   crossSectionResponse.recipient));
+        
+        ______TS("null params");
+        
+        try {
+            frDb.getFeedbackResponsesForQuestionFromOrToSection(null, "Section 1");
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+
+        try {
+            frDb.getFeedbackResponsesForQuestionFromOrToSection(questionId, null);
+            signalFailureToDetectException();
+        } catch (AssertionError e) {
+            AssertHelper.assertContains(Const.StatusCodes.DBLEVEL_NULL_INPUT, e.getLocalizedMessage());
+        }
+    }
+    
     @Test
     public void testGetFeedbackResponsesForSession() {
         
@@ -662,6 +713,71 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
                 feedbackSessionName, "non-existent courseId", "Section 1").isEmpty());
     }
 
+    @Test
+    public void testGetFeedbackResponsesForSessionInSectionByPage() {
+        
+        ______TS("standard success case: pages add up to all responses in the section");
+        
+        String courseId = fras.get("response1ForQ1S1C1").courseId;
+        String feedbackSessionName = fras.get("response1ForQ1S1C1").feedbackSessionName;
+        
+        Set<String> responseIds = new HashSet<String>();
+        Set<String> giversOnPreviousPages = new HashSet<String>();
+        FeedbackResponsesPage page = null;
+        String cursor = null;
+        do {
+            page = frDb.getFeedbackResponsesForSessionInSection(feedbackSessionName, courseId, "Section 1",
+                                                                cursor, 1, false);
+            assertFalse(page.responses.isEmpty());
+            addResponseIds(responseIds, page);
+            Set<String> giversOnPage = new HashSet<String>();
+            for (FeedbackResponseAttributes response : page.responses) {
+                giversOnPage.add(response.giver);
+            }
+            assertEquals("a page of size 1 holds the responses of exactly one giver", 1, giversOnPage.size());
+            for (String giver : giversOnPage) {
+                assertTrue("the responses of a giver are all on the same page", giversOnPreviousPages.add(giver));
+            }
+            cursor = page.nextCursor;
+        } while (page.hasNextPage());
+        
+        assertEquals(5, responseIds.size());
+        
+        ______TS("paged by recipient: the responses to a recipient are all on the same page");
+        
+        responseIds.clear();
+        Set<String> recipientsOnPreviousPages = new HashSet<String>();
+        cursor = null;
+        do {
+            page = frDb.getFeedbackResponsesForSessionInSection(feedbackSessionName, courseId, "Section 1",
+                                                                cursor, 2, true);
+            addResponseIds(responseIds, page);
+            Set<String> recipientsOnPage = new HashSet<String>();
+            for (FeedbackResponseAttributes response : page.responses) {
+                recipientsOnPage.add(response.recipient);
+            }
+            for (String recipient : recipientsOnPage) {
+                assertTrue(recipientsOnPreviousPages.add(recipient));
+            }
+            cursor = page.nextCursor;
+        } while (page.hasNextPage());
+        
+        assertEquals(5, responseIds.size());
+        
+        ______TS("non-existent course");
+        
+        page = frDb.getFeedbackResponsesForSessionInSection(feedbackSessionName, "non-existent courseId",
+                                                            "Section 1", null, 2, false);
+        assertTrue(page.responses.isEmpty());
+        assertFalse(page.hasNextPage());
+    }
+    
+    private void addResponseIds(Set<String> responseIds, FeedbackResponsesPage page) {
+        for (FeedbackResponseAttributes response : page.responses) {
+            assertTrue(responseIds.add(response.getId()));
+        }
+    }
+
     @Test
     public void testGetFeedbackResponsesForSessionFromSection() {
         
@@ -821,6 +937,124 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
         
     }
     
+    @Test
+    public void testPutFeedbackResponses() throws Exception {
+        
+        ______TS("new and existing responses: created and updated in one go");
+        
+        FeedbackResponseAttributes newResponse = getNewFeedbackResponseAttributes();
+        FeedbackResponseAttributes existingResponse = getResponseAttributes("response1ForQ2S1C1");
+        existingResponse.setResponseDetails(new FeedbackTextResponseDetails("Put answer text"));
+        
+        frDb.putFeedbackResponses(Arrays.asList(newResponse, existingResponse));
+        
+        verifyPresentInDatastore(newResponse, true);
+        FeedbackResponseAttributes updatedResponse = frDb.getFeedbackResponse(
+                existingResponse.feedbackQuestionId, existingResponse.giver, existingResponse.recipient);
+        assertEquals("Put answer text", updatedResponse.getResponseDetails().getAnswerString());
+        
+        ______TS("existing response with id: updated");
+        
+        updatedResponse.setResponseDetails(new FeedbackTextResponseDetails("Put answer text again"));
+        frDb.putFeedbackResponses(Arrays.asList(updatedResponse));
+        assertEquals("Put answer text again",
+                     frDb.getFeedbackResponse(updatedResponse.getId()).getResponseDetails().getAnswerString());
+        
+        ______TS("existing response changed in place: cached statistics of its question are discarded");
+        
+        EntityCache.setSharedTierEnabled(EntityCache.Kind.QUESTION_STATISTICS, true);
+        String statisticsKey = updatedResponse.feedbackQuestionId + "%fingerprint";
+        String otherStatisticsKey = "otherQuestionId%fingerprint";
+        EntityCache.put(EntityCache.Kind.QUESTION_STATISTICS, statisticsKey, "statistics");
+        EntityCache.put(EntityCache.Kind.QUESTION_STATISTICS, otherStatisticsKey, "other statistics");
+        
+        updatedResponse.setResponseDetails(new FeedbackTextResponseDetails("Put answer text once more"));
+        frDb.putFeedbackResponses(Arrays.asList(updatedResponse));
+        assertNull(EntityCache.get(EntityCache.Kind.QUESTION_STATISTICS, statisticsKey));
+        assertEquals("other statistics", EntityCache.get(EntityCache.Kind.QUESTION_STATISTICS, otherStatisticsKey));
+        
+        EntityCache.put(EntityCache.Kind.QUESTION_STATISTICS, statisticsKey, "statistics");
+        frDb.updateFeedbackResponse(updatedResponse);
+        assertNull(EntityCache.get(EntityCache.Kind.QUESTION_STATISTICS, statisticsKey));
+        EntityCache.invalidateAll(EntityCache.Kind.QUESTION_STATISTICS);
+        
+        ______TS("first submission: new responses are looked up with a single batch get");
+        
+        List<FeedbackResponseAttributes> submittedResponses = new ArrayList<FeedbackResponseAttributes>();
+        for (int i = 0; i < 3; i++) {
+            FeedbackResponseAttributes response = getNewFeedbackResponseAttributes();
+            response.recipient = "put.recipient" + i + "@email.tmt";
+            submittedResponses.add(response);
+        }
+        
+        // starts from an empty persistence manager, as a new request would
+        frDb.commitOutstandingChanges();
+        DatastoreCallCounter datastoreCalls = DatastoreCallCounter.start();
+        try {
+            frDb.putFeedbackResponses(submittedResponses);
+            assertEquals(1, datastoreCalls.getCallCount("Get"));
+        } finally {
+            datastoreCalls.stop();
+        }
+        
+        ______TS("resubmission with new responses: existing responses are fetched after the batch get");
+        
+        int existingResponseCount = submittedResponses.size();
+        for (FeedbackResponseAttributes response : submittedResponses) {
+            response.setResponseDetails(new FeedbackTextResponseDetails("Resubmitted answer text"));
+        }
+        for (int i = existingResponseCount; i < existingResponseCount + 2; i++) {
+            FeedbackResponseAttributes response = getNewFeedbackResponseAttributes();
+            response.recipient = "put.recipient" + i + "@email.tmt";
+            submittedResponses.add(response);
+        }
+        
+        frDb.commitOutstandingChanges();
+        datastoreCalls = DatastoreCallCounter.start();
+        try {
+            frDb.putFeedbackResponses(submittedResponses);
+            // one batch get for all the responses, then one get per existing response by the persistence manager
+            assertEquals(1 + existingResponseCount, datastoreCalls.getCallCount("Get"));
+        } finally {
+            datastoreCalls.stop();
+        }
+        
+        for (int i = 0; i < submittedResponses.size(); i++) {
+            FeedbackResponseAttributes response = submittedResponses.get(i);
+            FeedbackResponseAttributes storedResponse =
+                    frDb.getFeedbackResponse(response.feedbackQuestionId, response.giver, response.recipient);
+            String expectedAnswer = i < existingResponseCount ? "Resubmitted answer text" : "Text response";
+            assertEquals(expectedAnswer, storedResponse.getResponseDetails().getAnswerString());
+            frDb.deleteEntity(storedResponse);
+        }
+        
+        ______TS("invalid response: no response is written");
+        
+        FeedbackResponseAttributes anotherNewResponse = getNewFeedbackResponseAttributes();
+        anotherNewResponse.recipient = "another.recipient@email.tmt";
+        FeedbackResponseAttributes invalidResponse = getNewFeedbackResponseAttributes();
+        invalidResponse.courseId = "invalid course id!";
+        
+        try {
+            frDb.putFeedbackResponses(Arrays.asList(anotherNewResponse, invalidResponse));
+            signalFailureToDetectException();
+        } catch (InvalidParametersException e) {
+            AssertHelper.assertContains("invalid course id!", e.getLocalizedMessage());
+        }
+        verifyAbsentInDatastore(anotherNewResponse);
+        
+        ______TS("delete responses with ids in one go");
+        
+        newResponse = frDb.getFeedbackResponse(newResponse.feedbackQuestionId, newResponse.giver,
+                                               newResponse.recipient);
+        frDb.deleteEntities(Arrays.asList(newResponse, updatedResponse));
+        verifyAbsentInDatastore(newResponse);
+        verifyAbsentInDatastore(updatedResponse);
+        
+        // restore the deleted response of the typical data bundle
+        frDb.createEntity(getResponseAttributes("response1ForQ2S1C1"));
+    }
+    
     private FeedbackResponseAttributes getNewFeedbackResponseAttributes() {
         FeedbackResponseAttributes fra = new FeedbackResponseAttributes();
         
@@ -851,6 +1085,7 @@ public class FeedbackResponsesDbTest extends BaseComponentTestCase {
     public static void classTearDown() {
         printTestClassFooter();
         deleteResponsesFromDb();
+        EntityCache.setSharedTierEnabled(EntityCache.Kind.QUESTION_STATISTICS, isStatisticsSharedTierEnabled);
     }
     
     private static void deleteResponsesFromDb() {
@@ -4,8 +4,11 @@ import static teammates.common.util.FieldValidator.SESSION_END_TIME_FIELD_NAME;
 import static teammates.common.util.FieldValidator.SESSION_START_TIME_FIELD_NAME;
 import static teammates.common.util.FieldValidator.TIME_FRAME_ERROR_MESSAGE;
 
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -24,6 +27,7 @@ import teammates.common.util.TimeHelper;
 import teammates.storage.api.FeedbackSessionsDb;
 import teammates.test.cases.BaseComponentTestCase;
 import teammates.test.driver.AssertHelper;
+import teammates.test.driver.DatastoreCallCounter;
 
 import com.google.appengine.api.datastore.Text;
 
@@ -265,6 +269,91 @@ public class FeedbackSessionsDbTest extends BaseComponentTestCase {
         verifyPresentInDatastore(modifiedSession);
     }
     
+    @Test
+    public void testRespondents() throws Exception {
+        FeedbackSessionAttributes fsa = getNewFeedbackSession();
+        fsa.setFeedbackSessionName("fsRespondentsTest");
+        fsDb.createEntity(fsa);
+        
+        ______TS("add respondents");
+        
+        List<String> students = new ArrayList<String>();
+        for (int i = 0; i < 40; i++) {
+            students.add("student" + i + "@email.com");
+        }
+        fsDb.addStudentRespondants(students, fsa);
+        fsDb.addStudentRespondant("student0@email.com", fsa);
+        fsDb.addInstructorRespondant("instructor@email.com", fsa);
+        
+        FeedbackSessionAttributes retrieved = getFeedbackSessionWithRespondents(fsa);
+        assertEquals(new HashSet<String>(students), retrieved.getRespondingStudentList());
+        assertEquals(Collections.singleton("instructor@email.com"), retrieved.getRespondingInstructorList());
+        
+        ______TS("respondents of many sessions are read with a single batch get");
+        
+        // most of these sessions have no shards yet
+        List<FeedbackSessionAttributes> sessions = fsDb.getFeedbackSessionsForCourse("idOfTypicalCourse1");
+        sessions.add(fsDb.getFeedbackSession(fsa.getCourseId(), fsa.getFeedbackSessionName()));
+        DatastoreCallCounter datastoreCalls = DatastoreCallCounter.start();
+        try {
+            fsDb.addRespondentsTo(sessions);
+            assertEquals(1, datastoreCalls.getCallCount("Get"));
+        } finally {
+            datastoreCalls.stop();
+        }
+        FeedbackSessionAttributes sessionWithRespondents = sessions.get(sessions.size() - 1);
+        assertEquals(40, sessionWithRespondents.getRespondingStudentList().size());
+        assertEquals(1, sessionWithRespondents.getRespondingInstructorList().size());
+        
+        ______TS("respondents are only read when asked for");
+        
+        retrieved = fsDb.getFeedbackSession(fsa.getCourseId(), fsa.getFeedbackSessionName());
+        assertTrue(retrieved.getRespondingStudentList().isEmpty());
+        assertTrue(fsDb.isRespondent(retrieved, "student0@email.com", false));
+        assertFalse(fsDb.isRespondent(retrieved, "student0@email.com", true));
+        assertTrue(fsDb.isRespondent(retrieved, "instructor@email.com", true));
+        assertFalse(fsDb.isRespondent(retrieved, "not.a.respondent@email.com", false));
+        
+        ______TS("update and delete respondents");
+        
+        fsDb.updateStudentRespondant("student1@email.com", "student1.new@email.com", fsa);
+        fsDb.updateStudentRespondant("not.a.respondent@email.com", "other@email.com", fsa);
+        fsDb.deleteStudentRespondent("student2@email.com", fsa);
+        fsDb.deleteInstructorRespondant("instructor@email.com", fsa);
+        
+        retrieved = getFeedbackSessionWithRespondents(fsa);
+        assertEquals(39, retrieved.getRespondingStudentList().size());
+        assertTrue(retrieved.getRespondingStudentList().contains("student1.new@email.com"));
+        assertFalse(retrieved.getRespondingStudentList().contains("student1@email.com"));
+        assertFalse(retrieved.getRespondingStudentList().contains("student2@email.com"));
+        assertFalse(retrieved.getRespondingStudentList().contains("other@email.com"));
+        assertTrue(retrieved.getRespondingInstructorList().isEmpty());
+        
+        ______TS("clear respondents");
+        
+        fsDb.addInstructorRespondant("instructor@email.com", fsa);
+        fsDb.clearStudentRespondants(fsa);
+        
+        retrieved = getFeedbackSessionWithRespondents(fsa);
+        assertTrue(retrieved.getRespondingStudentList().isEmpty());
+        assertEquals(Collections.singleton("instructor@email.com"), retrieved.getRespondingInstructorList());
+        
+        ______TS("respondents are not carried over to a new session with the same name");
+        
+        fsDb.deleteEntity(fsa);
+        fsDb.createEntity(fsa);
+        retrieved = getFeedbackSessionWithRespondents(fsa);
+        assertTrue(retrieved.getRespondingInstructorList().isEmpty());
+        
+        fsDb.deleteEntity(fsa);
+    }
+    
+    private FeedbackSessionAttributes getFeedbackSessionWithRespondents(FeedbackSessionAttributes fsa) {
+        FeedbackSessionAttributes retrieved = fsDb.getFeedbackSession(fsa.getCourseId(), fsa.getFeedbackSessionName());
+        fsDb.addRespondentsTo(Collections.singletonList(retrieved));
+        return retrieved;
+    }
+    
     private FeedbackSessionAttributes getNewFeedbackSession() {
         FeedbackSessionAttributes fsa = new FeedbackSessionAttributes();
         fsa.setFeedbackSessionType(FeedbackSessionType.STANDARD);
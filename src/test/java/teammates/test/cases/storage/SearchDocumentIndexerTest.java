@@ -0,0 +1,190 @@
+package teammates.test.cases.storage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import teammates.common.datatransfer.DataBundle;
+import teammates.common.datatransfer.StudentAttributes;
+import teammates.common.util.Const;
+import teammates.common.util.ThreadHelper;
+import teammates.storage.api.SearchDocumentIndexer;
+import teammates.storage.api.StudentsDb;
+import teammates.test.cases.BaseComponentTestCase;
+import teammates.test.driver.InMemorySearchIndex;
+
+import com.google.appengine.api.taskqueue.QueueFactory;
+import com.google.appengine.api.taskqueue.TaskOptions;
+import com.google.appengine.api.taskqueue.dev.LocalTaskQueue;
+import com.google.appengine.api.taskqueue.dev.QueueStateInfo.TaskStateInfo;
+import com.google.appengine.tools.development.testing.LocalTaskQueueTestConfig;
+
+public class SearchDocumentIndexerTest extends BaseComponentTestCase {
+    
+    private static final StudentsDb studentsDb = new StudentsDb();
+    private static DataBundle dataBundle = getTypicalDataBundle();
+    
+    @BeforeClass
+    public static void setupClass() throws Exception {
+        printTestClassHeader();
+        removeAndRestoreTypicalDataInDatastore();
+    }
+    
+    @Test
+    public void testPutDocuments() {
+        List<StudentAttributes> students = new ArrayList<StudentAttributes>();
+        List<String> studentKeys = new ArrayList<String>();
+        for (StudentAttributes student : dataBundle.students.values()) {
+            StudentAttributes storedStudent = studentsDb.getStudentForEmail(student.course, student.email);
+            students.add(storedStudent);
+            studentKeys.add(storedStudent.key);
+        }
+        
+        ______TS("documents are built once per id from the current entities");
+        
+        InMemorySearchIndex index = new InMemorySearchIndex();
+        List<String> documentIds = new ArrayList<String>(studentKeys);
+        documentIds.addAll(studentKeys);
+        
+        Set<String> failedIds = SearchDocumentIndexer.putDocuments(Const.SearchIndex.STUDENT, documentIds, index);
+        
+        assertTrue(failedIds.isEmpty());
+        assertEquals(Collections.singletonList(studentKeys.size()), index.getBatchSizes());
+        assertEquals(studentKeys.size(), index.getDocumentCount(Const.SearchIndex.STUDENT));
+        assertNotNull(index.getDocument(Const.SearchIndex.STUDENT, studentKeys.get(0)));
+        
+        ______TS("ids of entities which no longer exist are skipped");
+        
+        index = new InMemorySearchIndex();
+        studentsDb.deleteStudentWithoutDocument(students.get(0).course, students.get(0).email);
+        
+        failedIds = SearchDocumentIndexer.putDocuments(Const.SearchIndex.STUDENT, studentKeys, index);
+        
+        assertTrue(failedIds.isEmpty());
+        assertEquals(studentKeys.size() - 1, index.getDocumentCount(Const.SearchIndex.STUDENT));
+        assertNull(index.getDocument(Const.SearchIndex.STUDENT, studentKeys.get(0)));
+        
+        ______TS("transient failures are returned for retrying");
+        
+        index = new InMemorySearchIndex();
+        index.failTransiently(studentKeys.get(1));
+        
+        failedIds = SearchDocumentIndexer.putDocuments(Const.SearchIndex.STUDENT, studentKeys, index);
+        
+        assertEquals(Collections.singleton(studentKeys.get(1)), failedIds);
+        assertEquals(studentKeys.size() - 2, index.getDocumentCount(Const.SearchIndex.STUDENT));
+    }
+    
+    @Test
+    public void testIndexPendingDocuments() {
+        // testPutDocuments may have deleted one of the students
+        List<String> studentKeys = new ArrayList<String>();
+        for (StudentAttributes student : dataBundle.students.values()) {
+            StudentAttributes storedStudent = studentsDb.getStudentForEmail(student.course, student.email);
+            if (storedStudent != null) {
+                studentKeys.add(storedStudent.key);
+            }
+        }
+        String firstKey = studentKeys.get(0);
+        String secondKey = studentKeys.get(1);
+        LocalTaskQueue localTaskQueue = LocalTaskQueueTestConfig.getLocalTaskQueue();
+        localTaskQueue.flushQueue(Const.SystemParams.SEARCH_DOCUMENT_PULL_TASK_QUEUE);
+        localTaskQueue.flushQueue(Const.SystemParams.SEARCH_DOCUMENT_TASK_QUEUE);
+        
+        ______TS("no recorded documents: nothing is put");
+        
+        InMemorySearchIndex index = new InMemorySearchIndex();
+        SearchDocumentIndexer.indexPendingDocuments(Const.SearchIndex.STUDENT, index);
+        assertTrue(index.getBatchSizes().isEmpty());
+        
+        ______TS("ids recorded several times are put once, and their tasks are deleted");
+        
+        recordDocument(Const.SearchIndex.STUDENT, firstKey);
+        recordDocument(Const.SearchIndex.STUDENT, firstKey);
+        recordDocument(Const.SearchIndex.STUDENT, secondKey);
+        recordDocument(Const.SearchIndex.COMMENT, "1");
+        
+        SearchDocumentIndexer.indexPendingDocuments(Const.SearchIndex.STUDENT, index);
+        
+        assertEquals(Collections.singletonList(2), index.getBatchSizes());
+        assertNotNull(index.getDocument(Const.SearchIndex.STUDENT, firstKey));
+        assertNotNull(index.getDocument(Const.SearchIndex.STUDENT, secondKey));
+        // only the tasks of the index are leased
+        assertEquals(1, getTaskCount(Const.SystemParams.SEARCH_DOCUMENT_PULL_TASK_QUEUE));
+        
+        localTaskQueue.flushQueue(Const.SystemParams.SEARCH_DOCUMENT_PULL_TASK_QUEUE);
+        
+        ______TS("transient failures are leased again after a backoff, and indexing is scheduled for then");
+        
+        index = new InMemorySearchIndex();
+        index.failTransiently(secondKey);
+        recordDocument(Const.SearchIndex.STUDENT, firstKey);
+        recordDocument(Const.SearchIndex.STUDENT, secondKey);
+        long startTime = System.currentTimeMillis();
+        
+        SearchDocumentIndexer.indexPendingDocuments(Const.SearchIndex.STUDENT, index);
+        
+        assertEquals(1, index.getDocumentCount(Const.SearchIndex.STUDENT));
+        List<TaskStateInfo> pendingTasks = getTasks(Const.SystemParams.SEARCH_DOCUMENT_PULL_TASK_QUEUE);
+        assertEquals(1, pendingTasks.size());
+        assertTrue(pendingTasks.get(0).getEtaMillis() >= startTime + TimeUnit.SECONDS.toMillis(2));
+        waitForTask(Const.SystemParams.SEARCH_DOCUMENT_TASK_QUEUE);
+        assertEquals(1, getTaskCount(Const.SystemParams.SEARCH_DOCUMENT_TASK_QUEUE));
+        
+        // the failed task is not leased again before its backoff has passed
+        SearchDocumentIndexer.indexPendingDocuments(Const.SearchIndex.STUDENT, index);
+        assertEquals(1, index.getBatchSizes().size());
+        
+        localTaskQueue.flushQueue(Const.SystemParams.SEARCH_DOCUMENT_PULL_TASK_QUEUE);
+        localTaskQueue.flushQueue(Const.SystemParams.SEARCH_DOCUMENT_TASK_QUEUE);
+        
+        ______TS("a full lease schedules indexing again right away, as there may be more documents");
+        
+        index = new InMemorySearchIndex();
+        for (int i = 0; i < SearchDocumentIndexer.MAX_DOCUMENTS_PER_PUT + 1; i++) {
+            recordDocument(Const.SearchIndex.STUDENT, firstKey);
+        }
+        
+        SearchDocumentIndexer.indexPendingDocuments(Const.SearchIndex.STUDENT, index);
+        
+        assertEquals(Collections.singletonList(1), index.getBatchSizes());
+        assertEquals(1, getTaskCount(Const.SystemParams.SEARCH_DOCUMENT_PULL_TASK_QUEUE));
+        waitForTask(Const.SystemParams.SEARCH_DOCUMENT_TASK_QUEUE);
+        assertEquals(1, getTaskCount(Const.SystemParams.SEARCH_DOCUMENT_TASK_QUEUE));
+        
+        SearchDocumentIndexer.indexPendingDocuments(Const.SearchIndex.STUDENT, index);
+        
+        assertEquals(2, index.getBatchSizes().size());
+        assertEquals(0, getTaskCount(Const.SystemParams.SEARCH_DOCUMENT_PULL_TASK_QUEUE));
+        
+        localTaskQueue.flushQueue(Const.SystemParams.SEARCH_DOCUMENT_TASK_QUEUE);
+    }
+    
+    private static void recordDocument(String indexName, String documentId) {
+        QueueFactory.getQueue(Const.SystemParams.SEARCH_DOCUMENT_PULL_TASK_QUEUE)
+                    .add(TaskOptions.Builder.withMethod(TaskOptions.Method.PULL).tag(indexName).payload(documentId));
+    }
+    
+    private static List<TaskStateInfo> getTasks(String queueName) {
+        return LocalTaskQueueTestConfig.getLocalTaskQueue().getQueueStateInfo().get(queueName).getTaskInfo();
+    }
+    
+    private static int getTaskCount(String queueName) {
+        return getTasks(queueName).size();
+    }
+    
+    /**
+     * Waits for a task to appear in the queue, as the indexer adds its tasks asynchronously.
+     */
+    private static void waitForTask(String queueName) {
+        for (int i = 0; i < 50 && getTaskCount(queueName) == 0; i++) {
+            ThreadHelper.waitBriefly();
+        }
+    }
+    
+}
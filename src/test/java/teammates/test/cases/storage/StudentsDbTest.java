@@ -3,6 +3,9 @@ package teammates.test.cases.storage;
 import static teammates.common.util.FieldValidator.COURSE_ID_ERROR_MESSAGE;
 import static teammates.common.util.FieldValidator.REASON_INCORRECT_FORMAT;
 
+import java.util.Arrays;
+import java.util.List;
+
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
@@ -13,6 +16,7 @@ import teammates.common.exception.InvalidParametersException;
 import teammates.common.util.Const;
 import teammates.common.util.FieldValidator;
 import teammates.common.util.StringHelper;
+import teammates.storage.api.CourseRosterSnapshots;
 import teammates.storage.api.StudentsDb;
 import teammates.test.cases.BaseComponentTestCase;
 import teammates.test.driver.AssertHelper;
@@ -140,6 +144,10 @@ public class StudentsDbTest extends BaseComponentTestCase {
         assertNotNull(retrieved);
         assertNotNull(studentsDb.getStudentForRegistrationKey(StringHelper.encrypt(retrieved.key)));
         assertNull(studentsDb.getStudentForRegistrationKey(StringHelper.encrypt("notExistingKey")));
+        List<StudentAttributes> studentsForKeys =
+                studentsDb.getStudentsForKeys(Arrays.asList(retrieved.key, "notExistingKey"));
+        assertEquals(1, studentsForKeys.size());
+        assertEquals(retrieved.key, studentsForKeys.get(0).key);
         ______TS("non existant student case");
         retrieved = studentsDb.getStudentForEmail("any-course-id", "non-existent@email.com");
         assertNull(retrieved);
@@ -244,6 +252,67 @@ public class StudentsDbTest extends BaseComponentTestCase {
         assertTrue(updatedStudent.isEnrollInfoSameAs(s));
     }
 
+    @Test
+    public void testCreateAndUpdateStudents() throws Exception {
+        StudentAttributes existingStudent = createNewStudent();
+        StudentAttributes newStudent = new StudentAttributes();
+        newStudent.name = "batch student";
+        newStudent.course = existingStudent.course;
+        newStudent.email = "batch-fresh@email.com";
+        newStudent.team = "validTeamName";
+        newStudent.section = "validSectionName";
+        newStudent.comments = "";
+        newStudent.googleId = "";
+        studentsDb.deleteStudentWithoutDocument(newStudent.course, newStudent.email);
+        
+        ______TS("fail : one of the students exists already");
+        
+        try {
+            studentsDb.createStudents(Arrays.asList(newStudent, existingStudent), false);
+            signalFailureToDetectException();
+        } catch (EntityAlreadyExistsException e) {
+            AssertHelper.assertContains(
+                    String.format(StudentsDb.ERROR_CREATE_ENTITY_ALREADY_EXISTS, existingStudent.getEntityTypeAsString())
+                    + existingStudent.getIdentificationString(), e.getMessage());
+        }
+        assertNull(studentsDb.getStudentForEmail(newStudent.course, newStudent.email));
+        
+        ______TS("success : create new students");
+        
+        studentsDb.createStudents(Arrays.asList(newStudent), false);
+        verifyPresentInDatastore(newStudent);
+        
+        ______TS("success : update students");
+        
+        existingStudent.team = "new team";
+        newStudent.name = "batch student renamed";
+        newStudent.section = "new section";
+        studentsDb.updateStudents(Arrays.asList(existingStudent, newStudent), false);
+        
+        StudentAttributes updatedStudent = studentsDb.getStudentForEmail(existingStudent.course, existingStudent.email);
+        assertEquals("new team", updatedStudent.team);
+        updatedStudent = studentsDb.getStudentForEmail(newStudent.course, newStudent.email);
+        assertEquals("batch student renamed", updatedStudent.name);
+        assertEquals("renamed", updatedStudent.lastName);
+        assertEquals("new section", updatedStudent.section);
+        
+        ______TS("fail : one of the students does not exist");
+        
+        StudentAttributes nonExistentStudent = new StudentAttributes();
+        nonExistentStudent.course = newStudent.course;
+        nonExistentStudent.email = "non-existent@email.com";
+        try {
+            studentsDb.updateStudents(Arrays.asList(nonExistentStudent), false);
+            signalFailureToDetectException();
+        } catch (EntityDoesNotExistException e) {
+            assertEquals(StudentsDb.ERROR_UPDATE_NON_EXISTENT_STUDENT + nonExistentStudent.course + "/"
+                         + nonExistentStudent.email, e.getMessage());
+        }
+        
+        studentsDb.deleteStudentWithoutDocument(newStudent.course, newStudent.email);
+        studentsDb.deleteStudentWithoutDocument(existingStudent.course, existingStudent.email);
+    }
+
     @SuppressWarnings("deprecation")
     @Test
     public void testDeleteStudent() throws InvalidParametersException, EntityDoesNotExistException {
@@ -284,11 +353,31 @@ public class StudentsDbTest extends BaseComponentTestCase {
         }
         
         studentsDb.deleteStudent(s.course, s.email);
+        
+        ______TS("delete through deleteEntity: the roster of the course is rebuilt");
+        
+        s = createNewStudent();
+        assertTrue(isInRoster(s));
+        studentsDb.deleteEntity(s);
+        assertNull(studentsDb.getStudentForEmail(s.course, s.email));
+        assertFalse(isInRoster(s));
+        
+        // delete again - should fail silently
+        studentsDb.deleteEntity(s);
 
       //Untested case: The deletion is not persisted immediately (i.e. persistence delay)
       //       Reason: Difficult to reproduce a persistence delay during testing
     }
     
+    private static boolean isInRoster(StudentAttributes student) {
+        for (StudentAttributes studentInRoster : CourseRosterSnapshots.getCourseRoster(student.course).getStudents()) {
+            if (studentInRoster.email.equals(student.email)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     private StudentAttributes createNewStudent() throws InvalidParametersException {
         StudentAttributes s = new StudentAttributes();
         s.name = "valid student";
@@ -1,6 +1,7 @@
 package teammates.test.cases.ui;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 import org.testng.annotations.BeforeClass;
@@ -894,6 +895,173 @@ public class StudentFeedbackSubmissionEditSaveActionTest extends BaseActionTest
         assertEquals(Const.StatusMessages.FEEDBACK_SUBMISSIONS_NOT_OPEN, r.getStatusMessage());
     }
 
+    @Test
+    public void testSaveResponsesInBatch() throws Exception {
+        removeAndRestoreTypicalDataInDatastore();
+        
+        FeedbackQuestionsDb fqDb = new FeedbackQuestionsDb();
+        FeedbackResponsesDb frDb = new FeedbackResponsesDb();
+        FeedbackSessionsDb fsDb = new FeedbackSessionsDb();
+        StudentAttributes student1InCourse1 = dataBundle.students.get("student1InCourse1");
+        StudentAttributes student3InCourse1 = dataBundle.students.get("student3InCourse1");
+        gaeSimulation.loginAsStudent(student1InCourse1.googleId);
+        
+        ______TS("edited answer updated in place, changed recipient recreated, in one submission");
+        
+        FeedbackQuestionAttributes fq1 = fqDb.getFeedbackQuestion("First feedback session", "idOfTypicalCourse1", 1);
+        FeedbackQuestionAttributes fq2 = fqDb.getFeedbackQuestion("First feedback session", "idOfTypicalCourse1", 2);
+        FeedbackResponseAttributes selfResponse = dataBundle.feedbackResponses.get("response1ForQ1S1C1");
+        selfResponse = frDb.getFeedbackResponse(fq1.getId(), selfResponse.giver, selfResponse.recipient);
+        FeedbackResponseAttributes peerResponse = dataBundle.feedbackResponses.get("response2ForQ2S1C1");
+        peerResponse = frDb.getFeedbackResponse(fq2.getId(), peerResponse.giver, peerResponse.recipient);
+        
+        String[] submissionParams = new String[]{
+                Const.ParamsNames.FEEDBACK_SESSION_NAME, selfResponse.feedbackSessionName,
+                Const.ParamsNames.COURSE_ID, selfResponse.courseId,
+                Const.ParamsNames.FEEDBACK_QUESTION_RESPONSETOTAL + "-1", "1",
+                Const.ParamsNames.FEEDBACK_RESPONSE_ID + "-1-0", selfResponse.getId(),
+                Const.ParamsNames.FEEDBACK_QUESTION_ID + "-1", fq1.getId(),
+                Const.ParamsNames.FEEDBACK_RESPONSE_RECIPIENT + "-1-0", selfResponse.recipient,
+                Const.ParamsNames.FEEDBACK_QUESTION_TYPE + "-1", selfResponse.feedbackQuestionType.toString(),
+                Const.ParamsNames.FEEDBACK_RESPONSE_TEXT + "-1-0", "Edited self feedback",
+                Const.ParamsNames.FEEDBACK_QUESTION_RESPONSETOTAL + "-2", "1",
+                Const.ParamsNames.FEEDBACK_RESPONSE_ID + "-2-0", peerResponse.getId(),
+                Const.ParamsNames.FEEDBACK_QUESTION_ID + "-2", fq2.getId(),
+                Const.ParamsNames.FEEDBACK_RESPONSE_RECIPIENT + "-2-0", student3InCourse1.email,
+                Const.ParamsNames.FEEDBACK_QUESTION_TYPE + "-2", peerResponse.feedbackQuestionType.toString(),
+                Const.ParamsNames.FEEDBACK_RESPONSE_TEXT + "-2-0", peerResponse.getResponseDetails().getAnswerString()
+        };
+        
+        RedirectResult r = (RedirectResult) getAction(submissionParams).executeAndPostProcess();
+        
+        assertFalse(r.isError);
+        assertEquals(Const.StatusMessages.FEEDBACK_RESPONSES_SAVED, r.getStatusMessage());
+        FeedbackResponseAttributes updatedSelfResponse = frDb.getFeedbackResponse(selfResponse.getId());
+        assertEquals("Edited self feedback", updatedSelfResponse.getResponseDetails().getAnswerString());
+        assertEquals(selfResponse.getCreatedAt(), updatedSelfResponse.getCreatedAt());
+        assertNull(frDb.getFeedbackResponse(fq2.getId(), student1InCourse1.email, peerResponse.recipient));
+        FeedbackResponseAttributes recreatedPeerResponse =
+                frDb.getFeedbackResponse(fq2.getId(), student1InCourse1.email, student3InCourse1.email);
+        assertEquals(peerResponse.getResponseDetails().getAnswerString(),
+                     recreatedPeerResponse.getResponseDetails().getAnswerString());
+        
+        ______TS("one of two responses deleted: student is still a respondent");
+        
+        submissionParams = new String[]{
+                Const.ParamsNames.FEEDBACK_SESSION_NAME, selfResponse.feedbackSessionName,
+                Const.ParamsNames.COURSE_ID, selfResponse.courseId,
+                Const.ParamsNames.FEEDBACK_QUESTION_RESPONSETOTAL + "-1", "1",
+                Const.ParamsNames.FEEDBACK_RESPONSE_ID + "-1-0", selfResponse.getId(),
+                Const.ParamsNames.FEEDBACK_QUESTION_ID + "-1", fq1.getId(),
+                Const.ParamsNames.FEEDBACK_RESPONSE_RECIPIENT + "-1-0", selfResponse.recipient,
+                Const.ParamsNames.FEEDBACK_QUESTION_TYPE + "-1", selfResponse.feedbackQuestionType.toString(),
+                Const.ParamsNames.FEEDBACK_RESPONSE_TEXT + "-1-0", ""
+        };
+        
+        r = (RedirectResult) getAction(submissionParams).executeAndPostProcess();
+        
+        assertFalse(r.isError);
+        assertNull(frDb.getFeedbackResponse(selfResponse.getId()));
+        FeedbackSessionAttributes session = fsDb.getFeedbackSession(selfResponse.courseId,
+                                                                    selfResponse.feedbackSessionName);
+        assertTrue(fsDb.isRespondent(session, student1InCourse1.email, false));
+        
+        ______TS("last response deleted: student is no longer a respondent");
+        
+        submissionParams = new String[]{
+                Const.ParamsNames.FEEDBACK_SESSION_NAME, selfResponse.feedbackSessionName,
+                Const.ParamsNames.COURSE_ID, selfResponse.courseId,
+                Const.ParamsNames.FEEDBACK_QUESTION_RESPONSETOTAL + "-2", "1",
+                Const.ParamsNames.FEEDBACK_RESPONSE_ID + "-2-0", recreatedPeerResponse.getId(),
+                Const.ParamsNames.FEEDBACK_QUESTION_ID + "-2", fq2.getId(),
+                Const.ParamsNames.FEEDBACK_RESPONSE_RECIPIENT + "-2-0", recreatedPeerResponse.recipient,
+                Const.ParamsNames.FEEDBACK_QUESTION_TYPE + "-2", recreatedPeerResponse.feedbackQuestionType.toString(),
+                Const.ParamsNames.FEEDBACK_RESPONSE_TEXT + "-2-0", ""
+        };
+        
+        r = (RedirectResult) getAction(submissionParams).executeAndPostProcess();
+        
+        assertFalse(r.isError);
+        assertNull(frDb.getFeedbackResponse(recreatedPeerResponse.getId()));
+        session = fsDb.getFeedbackSession(selfResponse.courseId, selfResponse.feedbackSessionName);
+        assertFalse(fsDb.isRespondent(session, student1InCourse1.email, false));
+        
+        ______TS("team giver: existing response of the team updated in place");
+        
+        FeedbackSessionAttributes teamSession = fsDb.getFeedbackSession("idOfTypicalCourse1", "Second feedback session");
+        Date originalEndTime = teamSession.getEndTime();
+        teamSession.setEndTime(TimeHelper.getDateOffsetToCurrentTime(1));
+        fsDb.updateFeedbackSession(teamSession);
+        
+        FeedbackQuestionAttributes teamQuestion =
+                fqDb.getFeedbackQuestion(teamSession.getFeedbackSessionName(), teamSession.getCourseId(), 1);
+        submissionParams = new String[]{
+                Const.ParamsNames.FEEDBACK_SESSION_NAME, teamSession.getFeedbackSessionName(),
+                Const.ParamsNames.COURSE_ID, teamSession.getCourseId(),
+                Const.ParamsNames.FEEDBACK_QUESTION_RESPONSETOTAL + "-1", "1",
+                Const.ParamsNames.FEEDBACK_QUESTION_ID + "-1", teamQuestion.getId(),
+                Const.ParamsNames.FEEDBACK_RESPONSE_RECIPIENT + "-1-0", "Team 1.2",
+                Const.ParamsNames.FEEDBACK_QUESTION_TYPE + "-1", teamQuestion.questionType.toString(),
+                Const.ParamsNames.FEEDBACK_RESPONSE_TEXT + "-1-0", "Team feedback"
+        };
+        
+        r = (RedirectResult) getAction(submissionParams).executeAndPostProcess();
+        
+        assertFalse(r.isError);
+        FeedbackResponseAttributes teamResponse =
+                frDb.getFeedbackResponse(teamQuestion.getId(), student1InCourse1.team, "Team 1.2");
+        assertNotNull(teamResponse);
+        
+        submissionParams = new String[]{
+                Const.ParamsNames.FEEDBACK_SESSION_NAME, teamSession.getFeedbackSessionName(),
+                Const.ParamsNames.COURSE_ID, teamSession.getCourseId(),
+                Const.ParamsNames.FEEDBACK_QUESTION_RESPONSETOTAL + "-1", "1",
+                Const.ParamsNames.FEEDBACK_RESPONSE_ID + "-1-0", teamResponse.getId(),
+                Const.ParamsNames.FEEDBACK_QUESTION_ID + "-1", teamQuestion.getId(),
+                Const.ParamsNames.FEEDBACK_RESPONSE_RECIPIENT + "-1-0", "Team 1.2",
+                Const.ParamsNames.FEEDBACK_QUESTION_TYPE + "-1", teamQuestion.questionType.toString(),
+                Const.ParamsNames.FEEDBACK_RESPONSE_TEXT + "-1-0", "Edited team feedback"
+        };
+        
+        r = (RedirectResult) getAction(submissionParams).executeAndPostProcess();
+        
+        assertFalse(r.isError);
+        FeedbackResponseAttributes updatedTeamResponse = frDb.getFeedbackResponse(teamResponse.getId());
+        assertEquals("Edited team feedback", updatedTeamResponse.getResponseDetails().getAnswerString());
+        assertEquals(student1InCourse1.team, updatedTeamResponse.giver);
+        assertEquals(teamResponse.getCreatedAt(), updatedTeamResponse.getCreatedAt());
+        
+        ______TS("team giver: response of the team left does not keep the student a respondent");
+        
+        // as when checking the datastore, only responses given by the student count
+        FeedbackQuestionAttributes teamMembersQuestion =
+                fqDb.getFeedbackQuestion(teamSession.getFeedbackSessionName(), teamSession.getCourseId(), 2);
+        FeedbackResponseAttributes ownResponse = dataBundle.feedbackResponses.get("response2ForQ2S2C1");
+        ownResponse = frDb.getFeedbackResponse(teamMembersQuestion.getId(), ownResponse.giver, ownResponse.recipient);
+        submissionParams = new String[]{
+                Const.ParamsNames.FEEDBACK_SESSION_NAME, teamSession.getFeedbackSessionName(),
+                Const.ParamsNames.COURSE_ID, teamSession.getCourseId(),
+                Const.ParamsNames.FEEDBACK_QUESTION_RESPONSETOTAL + "-2", "1",
+                Const.ParamsNames.FEEDBACK_RESPONSE_ID + "-2-0", ownResponse.getId(),
+                Const.ParamsNames.FEEDBACK_QUESTION_ID + "-2", teamMembersQuestion.getId(),
+                Const.ParamsNames.FEEDBACK_RESPONSE_RECIPIENT + "-2-0", ownResponse.recipient,
+                Const.ParamsNames.FEEDBACK_QUESTION_TYPE + "-2", teamMembersQuestion.questionType.toString(),
+                Const.ParamsNames.FEEDBACK_RESPONSE_TEXT + "-2-0", ""
+        };
+        
+        r = (RedirectResult) getAction(submissionParams).executeAndPostProcess();
+        
+        assertFalse(r.isError);
+        assertNull(frDb.getFeedbackResponse(ownResponse.getId()));
+        assertNotNull(frDb.getFeedbackResponse(teamResponse.getId()));
+        teamSession = fsDb.getFeedbackSession(teamSession.getCourseId(), teamSession.getFeedbackSessionName());
+        assertFalse(fsDb.isRespondent(teamSession, student1InCourse1.email, false));
+        
+        teamSession.setEndTime(originalEndTime);
+        fsDb.updateFeedbackSession(teamSession);
+        gaeSimulation.logoutUser();
+    }
+
     private StudentFeedbackSubmissionEditSaveAction getAction(String... params) {
         return (StudentFeedbackSubmissionEditSaveAction) (gaeSimulation.getActionObject(uri, params));
     }
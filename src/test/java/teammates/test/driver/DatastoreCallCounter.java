@@ -0,0 +1,96 @@
+package teammates.test.driver;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.LogRecord;
+
+import com.google.apphosting.api.ApiProxy;
+import com.google.apphosting.api.ApiProxy.ApiConfig;
+import com.google.apphosting.api.ApiProxy.Delegate;
+import com.google.apphosting.api.ApiProxy.Environment;
+
+/**
+ * An API proxy delegate which counts the calls made to the Datastore before passing them on,
+ * so that the number of round trips an operation takes can be tested.<br>
+ * Install it with {@link #start()} after the local services are set up, and remove it with {@link #stop()}.
+ */
+public class DatastoreCallCounter implements Delegate<Environment> {
+    
+    private static final String DATASTORE_PACKAGE = "datastore_v3";
+    
+    private final Delegate<Environment> delegate;
+    private final Map<String, AtomicInteger> callCounts = new ConcurrentHashMap<String, AtomicInteger>();
+    
+    private DatastoreCallCounter(Delegate<Environment> delegate) {
+        this.delegate = delegate;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public static DatastoreCallCounter start() {
+        DatastoreCallCounter counter = new DatastoreCallCounter(ApiProxy.getDelegate());
+        ApiProxy.setDelegate(counter);
+        return counter;
+    }
+    
+    public void stop() {
+        ApiProxy.setDelegate(delegate);
+    }
+    
+    /**
+     * @return the number of calls of the Datastore method (e.g. "Get", "Put", "RunQuery") made since
+     *         the counter was started or last reset.
+     */
+    public int getCallCount(String method) {
+        AtomicInteger count = callCounts.get(method);
+        return count == null ? 0 : count.get();
+    }
+    
+    public void reset() {
+        callCounts.clear();
+    }
+    
+    @Override
+    public byte[] makeSyncCall(Environment environment, String packageName, String methodName, byte[] request)
+            throws ApiProxy.ApiProxyException {
+        count(packageName, methodName);
+        return delegate.makeSyncCall(environment, packageName, methodName, request);
+    }
+    
+    @Override
+    public Future<byte[]> makeAsyncCall(Environment environment, String packageName, String methodName,
+                                        byte[] request, ApiConfig apiConfig) {
+        count(packageName, methodName);
+        return delegate.makeAsyncCall(environment, packageName, methodName, request, apiConfig);
+    }
+    
+    @Override
+    public void log(Environment environment, LogRecord record) {
+        delegate.log(environment, record);
+    }
+    
+    @Override
+    public void flushLogs(Environment environment) {
+        delegate.flushLogs(environment);
+    }
+    
+    @Override
+    public List<Thread> getRequestThreads(Environment environment) {
+        return delegate.getRequestThreads(environment);
+    }
+    
+    private void count(String packageName, String methodName) {
+        if (!DATASTORE_PACKAGE.equals(packageName)) {
+            return;
+        }
+        AtomicInteger count = callCounts.get(methodName);
+        if (count == null) {
+            callCounts.put(methodName, new AtomicInteger());
+            count = callCounts.get(methodName);
+        }
+        count.incrementAndGet();
+    }
+
+}
@@ -0,0 +1,72 @@
+package teammates.test.driver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import teammates.storage.search.SearchIndexWriter;
+
+import com.google.appengine.api.search.Document;
+
+/**
+ * A search index kept in memory, which records the batches put into it so that the indexing
+ * of documents can be tested without the search service.
+ */
+public class InMemorySearchIndex implements SearchIndexWriter {
+    
+    private final Map<String, Map<String, Document>> documentsByIndex = new HashMap<String, Map<String, Document>>();
+    private final List<Integer> batchSizes = new ArrayList<Integer>();
+    private final Set<String> idsToFail = new HashSet<String>();
+    
+    @Override
+    public Set<String> putDocuments(String indexName, List<Document> documents) {
+        batchSizes.add(documents.size());
+        Set<String> failedIds = new HashSet<String>();
+        for (Document document : documents) {
+            if (idsToFail.contains(document.getId())) {
+                failedIds.add(document.getId());
+            } else {
+                getIndex(indexName).put(document.getId(), document);
+            }
+        }
+        return failedIds;
+    }
+    
+    /**
+     * Makes puts of the documents with the given ids fail with a transient error until {@link #clearFailures}.
+     */
+    public void failTransiently(String documentId) {
+        idsToFail.add(documentId);
+    }
+    
+    public void clearFailures() {
+        idsToFail.clear();
+    }
+    
+    public Document getDocument(String indexName, String documentId) {
+        return getIndex(indexName).get(documentId);
+    }
+    
+    public int getDocumentCount(String indexName) {
+        return getIndex(indexName).size();
+    }
+    
+    /**
+     * @return the number of documents in each put, in order.
+     */
+    public List<Integer> getBatchSizes() {
+        return batchSizes;
+    }
+    
+    private Map<String, Document> getIndex(String indexName) {
+        Map<String, Document> index = documentsByIndex.get(indexName);
+        if (index == null) {
+            index = new HashMap<String, Document>();
+            documentsByIndex.put(indexName, index);
+        }
+        return index;
+    }
+}